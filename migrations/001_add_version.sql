@@ -0,0 +1,6 @@
+-- Adds the VERSION column that changes to a contact are checked against, so that nobody writes over a change they
+-- haven't seen (see JdbcContactStore.update). Every existing contact starts at version 0.
+--
+-- Run once, before starting a version of the application that needs it:
+--   sqlplus <username>/<password>@<database> @migrations/001_add_version.sql
+ALTER TABLE ADDRESSENTRYTABLE ADD (VERSION NUMBER(19) DEFAULT 0 NOT NULL);
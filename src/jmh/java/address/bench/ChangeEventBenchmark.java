@@ -0,0 +1,79 @@
+package address.bench;
+
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.event.ChangeSubscriber;
+import address.event.ContactChange;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how much handing out changes adds to updating a contact in a one hundred thousand contact book: with
+ * nothing receiving them, with a listener called right away, and with a subscriber on another thread.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChangeEventBenchmark {
+
+  private static final int SIZE = 100_000;
+
+  @Param({"none", "listener", "subscriber"})
+  public String receiver;
+
+  private AddressBook book;
+  private ImmutableAddressEntry entry;
+  private ExecutorService executor;
+  private long received;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    book = new AddressBook();
+    for (int i = 0; i < SIZE; i++) {
+      book.add(DedupBenchmark.randomEntry(random));
+    }
+    entry = book.findImmutable("Last9", 0, 1).get(0);
+    executor = Executors.newSingleThreadExecutor();
+    switch (receiver) {
+      case "listener":
+        book.getChanges().addListener(changes -> received += changes.size());
+        break;
+      case "subscriber":
+        book.getChanges().subscribe(new ChangeSubscriber() {
+          @Override
+          public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+          }
+
+          @Override
+          public void onChanges(List<ContactChange> changes) {
+            received += changes.size();
+          }
+        }, executor, 10_000);
+        break;
+      default:
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Benchmark
+  public boolean update() {
+    return book.update(entry);
+  }
+
+}
@@ -0,0 +1,65 @@
+package address.bench;
+
+import address.AddressBook;
+import address.data.AddressEntry;
+import address.query.ContactQuery;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AddressBook#query(ContactQuery)} over one million contacts, for compound queries whose conditions
+ * have very different selectivity.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ContactQueryBenchmark {
+
+  private static final int SIZE = 1_000_000;
+  private static final String[] STATES = {"CA", "TX", "FL", "NY", "PA", "IL", "OH", "GA", "NC", "MI"};
+
+  private AddressBook book;
+  private ContactQuery stateAndName;
+  private ContactQuery cityAndState;
+  private ContactQuery stateOnly;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    book = new AddressBook();
+    for (int i = 0; i < SIZE; i++) {
+      AddressEntry entry = DedupBenchmark.randomEntry(random);
+      entry.getAddress().setState(STATES[random.nextInt(STATES.length)]);
+      book.add(entry);
+    }
+    // about 1 in 10 contacts are in the state, about 1 in 5000 have a matching last name
+    stateAndName = ContactQuery.builder().stateEquals("TX").lastNameStartsWith("Last123").limit(20).build();
+    // about 1 in 1000 contacts are in the city
+    cityAndState = ContactQuery.builder().cityEquals("City42").stateEquals("CA").limit(20).build();
+    stateOnly = ContactQuery.builder().stateEquals("NY").limit(20).build();
+  }
+
+  @Benchmark
+  public int stateAndName() {
+    return book.query(stateAndName).size();
+  }
+
+  @Benchmark
+  public int cityAndState() {
+    return book.query(cityAndState).size();
+  }
+
+  /** Needs every contact in the state to find the first 20 by name */
+  @Benchmark
+  public int stateOnly() {
+    return book.query(stateOnly).size();
+  }
+
+}
@@ -0,0 +1,66 @@
+package address.bench;
+
+import address.data.ImmutableAddressEntry;
+import address.io.CsvImporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to import a one million row CSV file with {@link CsvImporter}. Contacts are handed to a
+ * store that throws them away, so this measures the pipeline itself rather than the database. About one in ten rows is
+ * a copy of an earlier one, and about one in a hundred is invalid.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvImportBenchmark {
+
+  private static final int ROWS = 1_000_000;
+
+  private Path file;
+
+  @Setup
+  public void setup() throws IOException {
+    file = Files.createTempFile("contacts", ".csv");
+    Random random = new Random(401);
+    String[] rows = new String[ROWS];
+    try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+      writer.write("id,firstName,lastName,street,city,state,zip,phone,email\r\n");
+      for (int i = 0; i < ROWS; i++) {
+        if (i > 0 && random.nextInt(10) == 0) {
+          rows[i] = rows[random.nextInt(i)];
+        } else {
+          ImmutableAddressEntry entry = ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random));
+          rows[i] = "," + entry.getFirstName() + "," + entry.getLastName() + ",\"" + entry.getStreet() + "\"," +
+            entry.getCity() + "," + entry.getState() + "," + (random.nextInt(100) == 0 ? 0 : entry.getZip()) + "," +
+            entry.getPhone() + "-000," + entry.getEmail();
+        }
+        writer.write(rows[i]);
+        writer.write("\r\n");
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public CsvImporter.Result importMillionRows() throws IOException {
+    return new CsvImporter(mutations -> {}).importFrom(file, Collections.emptyList());
+  }
+
+}
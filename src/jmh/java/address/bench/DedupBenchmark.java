@@ -0,0 +1,78 @@
+package address.bench;
+
+import address.data.Address;
+import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
+import address.data.Name;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to remove duplicates from a one million entry import by putting every entry into a
+ * {@link HashSet}. About one in ten entries is a copy of an earlier one.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DedupBenchmark {
+
+  private static final int SIZE = 1_000_000;
+
+  private List<AddressEntry> entries;
+  private List<ImmutableAddressEntry> immutableEntries;
+
+  static AddressEntry randomEntry(Random random) {
+    return new AddressEntry(new UUID(random.nextLong(), random.nextLong()),
+      new Name("First" + random.nextInt(5000), "Last" + random.nextInt(50000)),
+      new Address(random.nextInt(10000) + " Main Street", "City" + random.nextInt(1000), "CA",
+        10000 + random.nextInt(90000)),
+      "555-" + (1000000 + random.nextInt(9000000)), "user" + random.nextInt(1000000) + "@example.com");
+  }
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    entries = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      if (i > 0 && random.nextInt(10) == 0) {
+        // an exact copy (not the same reference) of an earlier entry
+        entries.add(ImmutableAddressEntry.of(entries.get(random.nextInt(i))).toEntry());
+      } else {
+        entries.add(randomEntry(random));
+      }
+    }
+    immutableEntries = new ArrayList<>(SIZE);
+    entries.forEach(entry -> immutableEntries.add(ImmutableAddressEntry.of(entry)));
+  }
+
+  @Benchmark
+  public int dedupAddressEntries() {
+    return new HashSet<>(entries).size();
+  }
+
+  @Benchmark
+  public int dedupImmutableAddressEntries() {
+    return new HashSet<>(immutableEntries).size();
+  }
+
+  /**
+   * Like {@link #dedupAddressEntries()}, but with freshly made entries whose own hash codes haven't been cached yet,
+   * like a real import would have.
+   */
+  @Benchmark
+  public int dedupFreshAddressEntries() {
+    Set<AddressEntry> set = new HashSet<>();
+    for (AddressEntry entry : entries) {
+      set.add(new AddressEntry(entry.getId(), entry.getName(), entry.getAddress(), entry.getPhone(), entry.getEmail()));
+    }
+    return set.size();
+  }
+
+}
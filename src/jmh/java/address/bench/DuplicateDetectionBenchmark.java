@@ -0,0 +1,59 @@
+package address.bench;
+
+import address.data.ImmutableAddressEntry;
+import address.dedup.DuplicateDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes {@link DuplicateDetector} to find the duplicates in a one million contact book. About one
+ * in twenty contacts is a copy of an earlier one with a new ID and a slightly different spelling of the first name,
+ * or a different phone number, which only the other fields can tell apart.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DuplicateDetectionBenchmark {
+
+  private static final int SIZE = 1_000_000;
+
+  private List<ImmutableAddressEntry> entries;
+  private DuplicateDetector detector;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    entries = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      if (i > 0 && random.nextInt(20) == 0) {
+        ImmutableAddressEntry original = entries.get(random.nextInt(i));
+        ImmutableAddressEntry.Builder copy = original.toBuilder().id(new UUID(random.nextLong(), random.nextLong()));
+        if (random.nextBoolean()) {
+          copy.firstName(original.getFirstName() + "e");
+        } else {
+          copy.phone("555-" + (1000000 + random.nextInt(9000000)));
+        }
+        entries.add(copy.build());
+      } else {
+        entries.add(ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random)));
+      }
+    }
+    detector = new DuplicateDetector();
+  }
+
+  @Benchmark
+  public DuplicateDetector.Result findDuplicates() {
+    return detector.findDuplicates(entries);
+  }
+
+}
@@ -0,0 +1,77 @@
+package address.bench;
+
+import address.data.ImmutableAddressEntry;
+import address.io.EntryCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding a contact with {@link EntryCodec} against Java serialization. None of the contact
+ * classes are {@link Serializable}, so Java serialization is given the same fields as an <code>Object[]</code>, which is
+ * what a serializable contact class would boil down to.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EntryCodecBenchmark {
+
+  private ImmutableAddressEntry entry;
+  private ByteBuffer buffer;
+  private byte[] encoded;
+  private byte[] serialized;
+
+  private static Object[] fieldsOf(ImmutableAddressEntry entry) {
+    return new Object[] {entry.getId(), entry.getFirstName(), entry.getLastName(), entry.getStreet(), entry.getCity(),
+      entry.getState(), entry.getZip(), entry.getPhone(), entry.getEmail()};
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    entry = ImmutableAddressEntry.of(DedupBenchmark.randomEntry(new Random(401)));
+    buffer = ByteBuffer.allocate(1024);
+    encoded = EntryCodec.encode(entry);
+    serialized = javaSerialize();
+  }
+
+  @Benchmark
+  public ByteBuffer codecEncode() {
+    buffer.clear();
+    EntryCodec.encode(entry, buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public ImmutableAddressEntry codecDecode() {
+    return EntryCodec.decode(ByteBuffer.wrap(encoded));
+  }
+
+  @Benchmark
+  public byte[] javaSerialize() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(fieldsOf(entry));
+    }
+    return bytes.toByteArray();
+  }
+
+  @Benchmark
+  public ImmutableAddressEntry javaDeserialize() throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+      Object[] fields = (Object[]) in.readObject();
+      return ImmutableAddressEntry.builder().id((UUID) fields[0]).firstName((String) fields[1])
+        .lastName((String) fields[2]).street((String) fields[3]).city((String) fields[4]).state((String) fields[5])
+        .zip((Integer) fields[6]).phone((String) fields[7]).email((String) fields[8]).build();
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+package address.bench;
+
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.io.ContactWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to export a one million contact address book in every format, with and without gzip.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExportBenchmark {
+
+  private static final int SIZE = 1_000_000;
+
+  @Param({"CSV", "JSON_LINES", "VCARD"})
+  public ContactWriter.Format format;
+
+  @Param({"false", "true"})
+  public boolean gzip;
+
+  private AddressBook book;
+  private Path file;
+
+  @Setup
+  public void setup() throws IOException {
+    Random random = new Random(401);
+    book = new AddressBook();
+    for (int i = 0; i < SIZE; i++) {
+      book.add(ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random)));
+    }
+    file = Files.createTempFile("contacts", "." + format.getExtension());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public long export() throws IOException {
+    try (ContactWriter writer = ContactWriter.open(file, format, gzip)) {
+      return writer.writeAll(book.findStream("").iterator());
+    }
+  }
+
+}
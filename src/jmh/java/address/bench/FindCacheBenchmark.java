@@ -0,0 +1,62 @@
+package address.bench;
+
+import address.AddressBook;
+import address.data.AddressEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures repeated prefix searches over one million contacts, both when the results are cached and when an edit to
+ * an affected contact has just invalidated them.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class FindCacheBenchmark {
+
+  private static final int SIZE = 1_000_000;
+  /** Matches about 1100 contacts */
+  private static final String PREFIX = "Last123";
+
+  private AddressBook book;
+  private AddressEntry affected;
+  private AddressEntry unaffected;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    book = new AddressBook();
+    for (int i = 0; i < SIZE; i++) {
+      book.add(DedupBenchmark.randomEntry(random));
+    }
+    affected = book.find(PREFIX).get(0);
+    unaffected = book.find("Last9").get(0);
+  }
+
+  @Benchmark
+  public int repeatedFind() {
+    return book.findImmutable(PREFIX).size();
+  }
+
+  /** Every search has to walk the index again, since the edit could have changed the results */
+  @Benchmark
+  public int findAfterAffectingEdit() {
+    book.update(affected);
+    return book.findImmutable(PREFIX).size();
+  }
+
+  /** The edit can't change the results, so they stay cached */
+  @Benchmark
+  public int findAfterUnrelatedEdit() {
+    book.update(unaffected);
+    return book.findImmutable(PREFIX).size();
+  }
+
+}
@@ -0,0 +1,58 @@
+package address.bench;
+
+import address.AddressBook;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to fetch one screenful of contacts from one million, when every contact matches, compared
+ * to fetching every match and only keeping the first screenful.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class FindPageBenchmark {
+
+  private static final int SIZE = 1_000_000;
+  private static final int PAGE_SIZE = 100;
+
+  private AddressBook book;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    book = new AddressBook();
+    for (int i = 0; i < SIZE; i++) {
+      book.add(DedupBenchmark.randomEntry(random));
+    }
+  }
+
+  @Benchmark
+  public int firstPage() {
+    return book.findImmutable("", 0, PAGE_SIZE).size();
+  }
+
+  /** A page near the end, which has to skip past most contacts */
+  @Benchmark
+  public int lastPage() {
+    return book.findImmutable("", SIZE - PAGE_SIZE, PAGE_SIZE).size();
+  }
+
+  @Benchmark
+  public long firstPageStream() {
+    return book.findStream("").limit(PAGE_SIZE).count();
+  }
+
+  @Benchmark
+  public int firstPageOfFullFind() {
+    return book.findImmutable("").subList(0, PAGE_SIZE).size();
+  }
+
+}
@@ -0,0 +1,82 @@
+package address.bench;
+
+import address.data.ImmutableAddressEntry;
+import address.search.InvertedIndex;
+import address.search.InvertedIndex.Operator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures query latency of {@link InvertedIndex} over one million contacts, for queries of varying selectivity, and
+ * how long it takes to change one of them.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class FullTextSearchBenchmark {
+
+  private static final int SIZE = 1_000_000;
+
+  private InvertedIndex index;
+  private ImmutableAddressEntry[] entries;
+  private Random random;
+
+  @Setup
+  public void setup() {
+    random = new Random(401);
+    index = new InvertedIndex();
+    entries = new ImmutableAddressEntry[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      entries[i] = ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random));
+      index.add(entries[i]);
+    }
+  }
+
+  /** Moves a random contact to another city, which changes the middle of the lists of terms every contact has */
+  @Benchmark
+  public void update() {
+    int i = random.nextInt(SIZE);
+    ImmutableAddressEntry moved = entries[i].toBuilder().city("City" + random.nextInt(1000)).build();
+    index.remove(entries[i]);
+    index.add(moved);
+    entries[i] = moved;
+  }
+
+  /** A single term matching about 1 in 1000 contacts */
+  @Benchmark
+  public int singleTerm() {
+    return index.count("city123", Operator.AND);
+  }
+
+  /** A rare term combined with one that matches every contact */
+  @Benchmark
+  public int andSelective() {
+    return index.count("city123 main", Operator.AND);
+  }
+
+  /** Two terms matching about 1 in 1000 contacts each */
+  @Benchmark
+  public int or() {
+    return index.count("city123 city456", Operator.OR);
+  }
+
+  /** A prefix covering about 1 in 100 contacts, spread over 10 terms */
+  @Benchmark
+  public int prefix() {
+    return index.count("city12*", Operator.AND);
+  }
+
+  /** A point lookup by the last 4 digits of a phone number, combined with a city */
+  @Benchmark
+  public int phoneFragment() {
+    return index.count("4321 city1*", Operator.AND);
+  }
+
+}
@@ -0,0 +1,89 @@
+package address.bench;
+
+import address.util.IdGenerator;
+import address.util.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares random (version 4) IDs with time-ordered (version 7) ones: how fast they're made, on one thread and on
+ * four at once, and how fast a batch of contacts with them can be inserted into a sorted index. The index is a
+ * {@link TreeMap} keyed by the ID as text, the same way <code>ADDRESSENTRYTABLE</code> stores it, and stands in for the
+ * table's primary key. It's already holding a million IDs, so that random IDs land all over it while time-ordered ones
+ * keep landing at its end, the same as they would in the database's B-tree.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IdGeneratorBenchmark {
+
+  private static final int EXISTING = 1_000_000;
+  private static final int BATCH = 10_000;
+
+  @State(Scope.Benchmark)
+  public static class Generators {
+    final IdGenerator random = IdGenerator.RANDOM;
+    final IdGenerator timeOrdered = new TimeOrderedIdGenerator();
+  }
+
+  @State(Scope.Thread)
+  public static class Index {
+
+    @Param({"random", "timeOrdered"})
+    public String generator;
+
+    IdGenerator ids;
+    TreeMap<String, Boolean> index;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      ids = generator.equals("random") ? IdGenerator.RANDOM : new TimeOrderedIdGenerator();
+      index = new TreeMap<>();
+      for (int i = 0; i < EXISTING; i++) {
+        index.put(ids.next().toString(), Boolean.TRUE);
+      }
+    }
+
+  }
+
+  @Benchmark
+  public UUID random(Generators generators) {
+    return generators.random.next();
+  }
+
+  @Benchmark
+  public UUID timeOrdered(Generators generators) {
+    return generators.timeOrdered.next();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public UUID random_contended(Generators generators) {
+    return generators.random.next();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public UUID timeOrdered_contended(Generators generators) {
+    return generators.timeOrdered.next();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @OperationsPerInvocation(BATCH)
+  public int bulkInsert(Index index) {
+    for (int i = 0; i < BATCH; i++) {
+      index.index.put(index.ids.next().toString(), Boolean.TRUE);
+    }
+    return index.index.size();
+  }
+
+}
@@ -0,0 +1,72 @@
+package address.bench;
+
+import address.data.ImmutableAddressEntry;
+import address.store.Mutation;
+import address.store.MutationJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many mutations per second can be appended to a {@link MutationJournal} with each
+ * {@link MutationJournal.SyncPolicy}, from one thread and from eight threads at once. With group commit, the eight
+ * threads share syncs, so they should get close to eight times as many mutations to disk as a single thread.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JournalBenchmark {
+
+  @Param({"EVERY_WRITE", "GROUP_COMMIT", "PERIODIC", "NONE"})
+  public MutationJournal.SyncPolicy policy;
+
+  private Path file;
+  private MutationJournal journal;
+  private Mutation[] mutations;
+
+  @Setup
+  public void setup() throws IOException {
+    file = Files.createTempFile("journal", ".log");
+    journal = new MutationJournal(file, policy);
+    Random random = new Random(401);
+    mutations = new Mutation[1024];
+    for (int i = 0; i < mutations.length; i++) {
+      mutations[i] = Mutation.update(ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random)));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    journal.close();
+    Files.deleteIfExists(file);
+  }
+
+  private int next;
+
+  private Mutation nextMutation() {
+    // a data race on the index is harmless, since any mutation will do
+    int i = next++ & (mutations.length - 1);
+    return mutations[i];
+  }
+
+  @Benchmark
+  public void appendSingleThread() throws IOException {
+    journal.append(nextMutation());
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void appendEightThreads() throws IOException {
+    journal.append(nextMutation());
+  }
+
+}
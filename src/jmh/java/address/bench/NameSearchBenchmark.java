@@ -0,0 +1,77 @@
+package address.bench;
+
+import address.search.NameSearchEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures fuzzy last name lookups through {@link NameSearchEngine} over one million contacts. Every query is an
+ * existing last name with a single typo in it.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NameSearchBenchmark {
+
+  private static final int SIZE = 1_000_000;
+  private static final String[] SYLLABLES = {
+    "al", "an", "ber", "bran", "car", "dan", "der", "el", "fer", "gan", "har", "ing", "john", "kel", "la", "ley", "mac",
+    "mil", "mor", "ner", "ol", "per", "quin", "ros", "sen", "smith", "son", "ter", "ton", "wal", "wood", "zel"
+  };
+
+  private NameSearchEngine engine;
+  private String[] queries;
+  private int next;
+
+  static String randomLastName(Random random) {
+    StringBuilder sb = new StringBuilder();
+    int syllables = 2 + random.nextInt(2);
+    for (int i = 0; i < syllables; i++) {
+      sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+    return sb.toString();
+  }
+
+  private static String addTypo(String name, Random random) {
+    int i = 1 + random.nextInt(name.length() - 1);
+    char c = (char) ('a' + random.nextInt(26));
+    switch (random.nextInt(3)) {
+      case 0:
+        return name.substring(0, i) + c + name.substring(i);
+      case 1:
+        return name.substring(0, i) + name.substring(i + 1);
+      default:
+        return name.substring(0, i) + c + name.substring(i + 1);
+    }
+  }
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    engine = new NameSearchEngine();
+    for (int i = 0; i < SIZE; i++) {
+      engine.add(new UUID(random.nextLong(), random.nextLong()), randomLastName(random));
+    }
+    queries = new String[1024];
+    for (int i = 0; i < queries.length; i++) {
+      queries[i] = addTypo(randomLastName(random), random);
+    }
+  }
+
+  @Benchmark
+  public List<UUID> top10() {
+    next = (next + 1) % queries.length;
+    return engine.search(queries[next], 10);
+  }
+
+}
@@ -0,0 +1,68 @@
+package address.bench;
+
+import address.data.ImmutableAddressEntry;
+import address.query.ScanEngine;
+import address.util.UuidMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures how {@link ScanEngine} scales with the number of cores, for a condition that no index can help with. A
+ * parallelism of 1 is the same as a sequential scan.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class ParallelScanBenchmark {
+
+  /** Roughly 1 in 100 contacts match */
+  private static final Predicate<ImmutableAddressEntry> FILTER =
+    entry -> entry.getEmail().startsWith("user1") && entry.getStreet().endsWith("7 Main Street");
+
+  @Param({"1000000", "10000000"})
+  private int size;
+
+  @Param({"1", "2", "4", "8"})
+  private int parallelism;
+
+  private UuidMap<ImmutableAddressEntry> entries;
+  private ForkJoinPool pool;
+  private ScanEngine engine;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    entries = new UuidMap<>(size);
+    for (int i = 0; i < size; i++) {
+      ImmutableAddressEntry entry = ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random));
+      entries.put(entry.getId(), entry);
+    }
+    pool = new ForkJoinPool(parallelism);
+    engine = new ScanEngine(pool, ScanEngine.DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public int filter() {
+    return engine.filter(entries, FILTER).size();
+  }
+
+  @Benchmark
+  public long count() {
+    return engine.count(entries, FILTER);
+  }
+
+}
@@ -0,0 +1,82 @@
+package address.bench;
+
+import address.AddressBook;
+import address.PartitionedAddressBook;
+import address.data.ImmutableAddressEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how writes to a {@link PartitionedAddressBook} scale with the number of threads writing at once, compared
+ * with a single {@link AddressBook} behind one lock, and what fanning a search out to every partition costs. Run with
+ * <code>-t</code> set to the number of cores (and a few values below it) to see the scaling, such as
+ * <pre>./gradlew jmh -Pjmh.includes=PartitionedAddressBookBenchmark -Pjmh.threads=4</pre>
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class PartitionedAddressBookBenchmark {
+
+  private static final int SIZE = 200_000;
+  private static final int BATCH = 10_000;
+
+  /** 1 is the same as a single book behind one lock */
+  @Param({"1", "4", "16", "64"})
+  public int partitions;
+
+  private PartitionedAddressBook book;
+  private List<ImmutableAddressEntry> batch;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    Random random = new Random(401);
+    book = new PartitionedAddressBook(partitions);
+    List<ImmutableAddressEntry> entries = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      entries.add(ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random)));
+    }
+    book.addAll(entries);
+    batch = new ArrayList<>(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      batch.add(ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random)));
+    }
+  }
+
+  /** Adds a new contact, then removes it again so that the book stays the same size */
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public boolean addRemove() {
+    ImmutableAddressEntry entry = ImmutableAddressEntry.of(DedupBenchmark.randomEntry(ThreadLocalRandom.current()));
+    book.add(entry);
+    return book.remove(entry.getId());
+  }
+
+  /** Adds a batch of contacts at once, as an import does, then removes them again */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Threads(1)
+  public int addAll() {
+    int added = book.addAll(batch);
+    batch.forEach(entry -> book.remove(entry.getId()));
+    return added;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<ImmutableAddressEntry> findPage() {
+    return book.findImmutable("Last12", 0, 20);
+  }
+
+}
@@ -0,0 +1,136 @@
+package address.bench;
+
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.server.ContactServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of {@link ContactServer}: serves a book of 100,000 contacts on a local port, and sends it requests at a
+ * fixed rate over kept-alive connections, 80% of them looking up a single contact and 20% finding the first 20 contacts
+ * with a last name prefix. The latency of each request is measured from when it was meant to be sent, not from when
+ * it actually was, so a server that falls behind can't hide it by holding up the client. This isn't a JMH benchmark,
+ * so run it directly:
+ * <pre>java -cp build/classes/java/main:build/classes/java/jmh address.bench.ServerLoadTest [requests/s] [seconds] [connections]</pre>
+ * which defaults to 10,000 requests per second for 10 seconds over 32 connections, after 3 seconds of warming up.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class ServerLoadTest {
+
+  private static final int SIZE = 100_000;
+  private static final int WARMUP_SECONDS = 3;
+
+  private static void drain(HttpURLConnection conn) throws IOException {
+    int status = conn.getResponseCode();
+    // the whole response has to be read for the connection to be reused
+    try (InputStream in = status >= 400 ? conn.getErrorStream() : conn.getInputStream()) {
+      byte[] buffer = new byte[8192];
+      while (in != null && in.read(buffer) != -1) {
+        // discard
+      }
+    }
+    if (status != 200) {
+      throw new IOException("Unexpected status " + status);
+    }
+  }
+
+  /**
+   * Sends every <code>connections</code>th request of the schedule, starting at <code>first</code>, and records their
+   * latencies in microseconds.
+   */
+  private static long[] run(String base, List<UUID> ids, long start, double rate, int seconds, int first,
+                            int connections, AtomicLong errors) {
+    int count = (int) (rate * seconds) / connections;
+    long[] latencies = new long[count];
+    Random random = new Random(first);
+    double interval = TimeUnit.SECONDS.toNanos(1) / rate;
+    for (int i = 0; i < count; i++) {
+      long intended = start + (long) ((i * (long) connections + first) * interval);
+      long wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      String path = random.nextInt(5) == 0
+        ? "/contacts?limit=20&lastName=Last" + random.nextInt(1000)
+        : "/contacts/" + ids.get(random.nextInt(ids.size()));
+      try {
+        drain((HttpURLConnection) new URL(base + path).openConnection());
+      } catch (IOException e) {
+        errors.incrementAndGet();
+      }
+      latencies[i] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+    }
+    return latencies;
+  }
+
+  private static long[] runAll(String base, List<UUID> ids, double rate, int seconds, int connections,
+                               AtomicLong errors) throws InterruptedException {
+    long[][] results = new long[connections][];
+    Thread[] threads = new Thread[connections];
+    long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+    for (int t = 0; t < connections; t++) {
+      int first = t;
+      threads[t] = new Thread(() -> results[first] = run(base, ids, start, rate, seconds, first, connections, errors));
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    return Arrays.stream(results).flatMapToLong(Arrays::stream).sorted().toArray();
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100 * sorted.length) - 1)];
+  }
+
+  public static void main(String[] args) throws Exception {
+    double rate = args.length > 0 ? Double.parseDouble(args[0]) : 10_000;
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    int connections = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+    // otherwise only 5 connections to the same server are kept alive
+    System.setProperty("http.maxConnections", Integer.toString(connections));
+
+    Random random = new Random(401);
+    AddressBook book = new AddressBook();
+    List<UUID> ids = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      ImmutableAddressEntry entry = ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random));
+      book.add(entry);
+      ids.add(entry.getId());
+    }
+    try (ContactServer server = new ContactServer(book, mutations -> { }, new InetSocketAddress("127.0.0.1", 0),
+      connections)) {
+      server.start();
+      String base = "http://127.0.0.1:" + server.getPort();
+      AtomicLong errors = new AtomicLong();
+      System.out.printf("Warming up for %d s...%n", WARMUP_SECONDS);
+      runAll(base, ids, rate, WARMUP_SECONDS, connections, errors);
+      errors.set(0);
+
+      System.out.printf("Sending %,.0f requests/s for %d s over %d connections...%n", rate, seconds, connections);
+      long start = System.nanoTime();
+      long[] latencies = runAll(base, ids, rate, seconds, connections, errors);
+      double elapsed = (System.nanoTime() - start) / 1e9;
+      System.out.printf("%,d requests in %.1f s (%,.0f requests/s), %d errors%n", latencies.length, elapsed,
+        latencies.length / elapsed, errors.get());
+      System.out.printf("p50 %,d us  p90 %,d us  p99 %,d us  p99.9 %,d us  max %,d us%n", percentile(latencies, 50),
+        percentile(latencies, 90), percentile(latencies, 99), percentile(latencies, 99.9),
+        latencies[latencies.length - 1]);
+    }
+  }
+
+}
@@ -0,0 +1,65 @@
+package address.bench;
+
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what snapshots cost in a one million contact book: taking one, compared with copying every contact the way
+ * readers had to before, and how much keeping them up to date adds to updating a contact.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SnapshotBenchmark {
+
+  private static final int SIZE = 1_000_000;
+
+  private AddressBook book;
+  private ImmutableAddressEntry entry;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    book = new AddressBook();
+    for (int i = 0; i < SIZE; i++) {
+      book.add(DedupBenchmark.randomEntry(random));
+    }
+    entry = book.findImmutable("Last9", 0, 1).get(0);
+  }
+
+  @Benchmark
+  public AddressBook.Snapshot snapshot() {
+    return book.snapshot();
+  }
+
+  @Benchmark
+  public List<ImmutableAddressEntry> copyAll() {
+    return new ArrayList<>(book.findImmutable("", 0, Integer.MAX_VALUE));
+  }
+
+  @Benchmark
+  public boolean update() {
+    return book.update(entry);
+  }
+
+  @Benchmark
+  public int iterateSnapshot() {
+    int count = 0;
+    for (ImmutableAddressEntry ignored : book.snapshot().getAll()) {
+      count++;
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,110 @@
+package address.bench;
+
+import address.util.UuidMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the point operations of {@link UuidMap} against a {@link HashMap} keyed by {@link UUID}, both filled with
+ * one million entries.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UuidMapBenchmark {
+
+  private static final int SIZE = 1_000_000;
+
+  private UUID[] keys;
+  private UUID[] missingKeys;
+  private UuidMap<Object> uuidMap;
+  private Map<UUID, Object> hashMap;
+  private int next;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    keys = new UUID[SIZE];
+    missingKeys = new UUID[SIZE];
+    uuidMap = new UuidMap<>();
+    hashMap = new HashMap<>();
+    for (int i = 0; i < SIZE; i++) {
+      keys[i] = new UUID(random.nextLong(), random.nextLong());
+      missingKeys[i] = new UUID(random.nextLong(), random.nextLong());
+      uuidMap.put(keys[i], keys[i]);
+      hashMap.put(keys[i], keys[i]);
+    }
+  }
+
+  private int nextIndex() {
+    next = (next + 1) % SIZE;
+    return next;
+  }
+
+  @Benchmark
+  public Object getUuidMap() {
+    return uuidMap.get(keys[nextIndex()]);
+  }
+
+  @Benchmark
+  public Object getHashMap() {
+    return hashMap.get(keys[nextIndex()]);
+  }
+
+  @Benchmark
+  public Object getMissingUuidMap() {
+    return uuidMap.get(missingKeys[nextIndex()]);
+  }
+
+  @Benchmark
+  public Object getMissingHashMap() {
+    return hashMap.get(missingKeys[nextIndex()]);
+  }
+
+  // removes an entry and immediately puts it back, so the size of the map stays the same across invocations
+
+  @Benchmark
+  public Object removeAndPutUuidMap() {
+    UUID key = keys[nextIndex()];
+    Object value = uuidMap.remove(key);
+    return uuidMap.put(key, value);
+  }
+
+  @Benchmark
+  public Object removeAndPutHashMap() {
+    UUID key = keys[nextIndex()];
+    Object value = hashMap.remove(key);
+    return hashMap.put(key, value);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public Object fillUuidMap() {
+    UuidMap<Object> map = new UuidMap<>();
+    for (UUID key : keys) {
+      map.put(key, key);
+    }
+    return map;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public Object fillHashMap() {
+    Map<UUID, Object> map = new HashMap<>();
+    for (UUID key : keys) {
+      map.put(key, key);
+    }
+    return map;
+  }
+
+}
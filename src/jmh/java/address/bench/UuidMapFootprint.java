@@ -0,0 +1,61 @@
+package address.bench;
+
+import address.util.UuidMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Rough comparison of how much heap {@link UuidMap} and a {@link HashMap} keyed by {@link UUID} take up when holding
+ * one million entries. Every entry shares the same value, so only the overhead of the maps themselves (including the
+ * key objects that {@link HashMap} has to keep around) is measured. This isn't a JMH benchmark, so run it directly:
+ * <pre>java -cp build/classes/java/main:build/classes/java/jmh address.bench.UuidMapFootprint</pre>
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class UuidMapFootprint {
+
+  private static final int SIZE = 1_000_000;
+  private static final Object VALUE = new Object();
+
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static void measure(String name, Supplier<Object> factory) {
+    long before = usedMemory();
+    Object map = factory.get();
+    long after = usedMemory();
+    System.out.printf("%-8s %,d entries: %,d bytes (%.1f bytes/entry)%n", name, SIZE, after - before,
+      (after - before) / (double) SIZE);
+    // keep the map reachable until after the measurement
+    System.out.print(map.hashCode() == 0 ? " " : "");
+  }
+
+  public static void main(String[] args) {
+    measure("UuidMap", () -> {
+      Random random = new Random(401);
+      UuidMap<Object> map = new UuidMap<>();
+      for (int i = 0; i < SIZE; i++) {
+        map.put(new UUID(random.nextLong(), random.nextLong()), VALUE);
+      }
+      return map;
+    });
+    measure("HashMap", () -> {
+      Random random = new Random(401);
+      Map<UUID, Object> map = new HashMap<>();
+      for (int i = 0; i < SIZE; i++) {
+        map.put(new UUID(random.nextLong(), random.nextLong()), VALUE);
+      }
+      return map;
+    });
+  }
+
+}
@@ -0,0 +1,80 @@
+package address.bench;
+
+import address.Utils;
+import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
+import address.validation.ContactValidator;
+import address.validation.ValidationResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares checking a million contacts with {@link Utils#validateAddressEntry(AddressEntry)}, the way it was done
+ * before {@link ContactValidator} existed, against checking them with {@link ContactValidator} one at a time and all at
+ * once. A tenth of the contacts are invalid, so the cost of the exceptions thrown for them shows up too.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValidationBenchmark {
+
+  private static final int SIZE = 1_000_000;
+
+  private List<ImmutableAddressEntry> entries;
+  private List<AddressEntry> mutableEntries;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(401);
+    entries = new ArrayList<>(SIZE);
+    mutableEntries = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      ImmutableAddressEntry entry = ImmutableAddressEntry.of(DedupBenchmark.randomEntry(random));
+      if (random.nextInt(10) == 0) {
+        entry = entry.toBuilder().email("nobody").build();
+      }
+      entries.add(entry);
+      mutableEntries.add(entry.toEntry());
+    }
+  }
+
+  @Benchmark
+  public int exceptions() {
+    int invalid = 0;
+    for (AddressEntry entry : mutableEntries) {
+      try {
+        Utils.validateAddressEntry(entry);
+      } catch (IllegalArgumentException e) {
+        invalid++;
+      }
+    }
+    return invalid;
+  }
+
+  @Benchmark
+  public int validator() {
+    int invalid = 0;
+    ValidationResult result = new ValidationResult();
+    for (AddressEntry entry : mutableEntries) {
+      if (!ContactValidator.validate(entry, result)) {
+        invalid++;
+      }
+    }
+    return invalid;
+  }
+
+  @Benchmark
+  public int[] validateAll() {
+    return ContactValidator.validateAll(entries);
+  }
+
+}
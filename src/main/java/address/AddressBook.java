@@ -1,28 +1,183 @@
 package address;
 
 import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
+import address.dedup.DuplicateDetector;
+import address.event.ChangePublisher;
+import address.event.ContactChange;
+import address.query.ContactQuery;
+import address.query.QueryPlanner;
+import address.query.ScanEngine;
+import address.search.FindCache;
+import address.search.InvertedIndex;
+import address.search.LastNameIndex;
+import address.search.NameSearchEngine;
+import address.search.ValueIndex;
+import address.util.PersistentUuidMap;
+import address.util.UuidMap;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Stores a list of {@link AddressEntry} objects and several helper methods to manipulate this list, or retrieve data
- * from it.
+ * from it. Entries are stored internally as {@link ImmutableAddressEntry} objects, so anything handed out by this book
+ * can never change underneath whoever is holding onto it.
  * @author Corneilious Eanes
  * @since March 16, 2021
  */
 public class AddressBook {
 
+  /** How many different searches {@link #findImmutable(String)} remembers the results of */
+  private static final int FIND_CACHE_QUERIES = 64;
+  /** Searches with more results than this are quick to redo with paging, so they're never remembered */
+  private static final int FIND_CACHE_MAX_RESULTS = 10_000;
+
+  /**
+   * Collection of all stored {@link AddressEntry}s, keyed by their IDs.
+   */
+  private UuidMap<ImmutableAddressEntry> addressEntryList;
+  /**
+   * Index of all entries sorted by last name, used for finding entries by the start of their last names.
+   */
+  private LastNameIndex lastNames;
+  /**
+   * Index of all entries by state code.
+   */
+  private ValueIndex states;
+  /**
+   * Index of all last names, used for fuzzy lookups.
+   */
+  private NameSearchEngine nameSearch;
+  /**
+   * Index of every word in every field, used for full-text searches.
+   */
+  private InvertedIndex fullText;
+  /**
+   * Used for running {@link ContactQuery}s against all the above indexes.
+   */
+  private QueryPlanner planner;
+  /**
+   * Used for checking conditions against every entry, for conditions that no index can help with.
+   */
+  private ScanEngine scanEngine;
+  /**
+   * Used for finding contacts that are probably the same person.
+   */
+  private DuplicateDetector duplicateDetector;
+  /**
+   * Results of recent calls to {@link #findImmutable(String)}.
+   */
+  private FindCache findCache;
+  /**
+   * Hands out every change made to this book.
+   */
+  private ChangePublisher changes;
+  /**
+   * Changes made during {@link #batch(Runnable)}, which are handed out all at once at the end of it.
+   */
+  private List<ContactChange> pendingChanges;
+  private int batchDepth;
   /**
-   * Collection of all stored {@link AddressEntry}s, stored as a list.
+   * Every entry as of the last change, which readers on other threads can hold onto while this book keeps changing.
    */
-  private Map<UUID, AddressEntry> addressEntryList;
+  private volatile Snapshot snapshot;
 
   /**
    * Constructor for this class. The internal list of address entries defaults to having zero entries.
    */
   public AddressBook() {
-    addressEntryList = new HashMap<>();
+    addressEntryList = new UuidMap<>();
+    lastNames = new LastNameIndex();
+    states = new ValueIndex();
+    nameSearch = new NameSearchEngine();
+    fullText = new InvertedIndex();
+    scanEngine = new ScanEngine();
+    duplicateDetector = new DuplicateDetector();
+    findCache = new FindCache(FIND_CACHE_QUERIES, FIND_CACHE_MAX_RESULTS);
+    changes = new ChangePublisher();
+    snapshot = new Snapshot(PersistentUuidMap.empty(), 0);
+    planner = new QueryPlanner(addressEntryList, lastNames, states, fullText, scanEngine);
+  }
+
+  /**
+   * Get where the changes made to this book are handed out, so that anything built on top of this book can keep up
+   * with it one change at a time. Changes are only handed out after they have been made.
+   * @return The publisher of this book's changes
+   */
+  public ChangePublisher getChanges() {
+    return changes;
+  }
+
+  private void commit(PersistentUuidMap<ImmutableAddressEntry> entries) {
+    snapshot = new Snapshot(entries, snapshot.version + 1);
+  }
+
+  /**
+   * Get a consistent, unchanging view of every contact in this book as it is right now. Taking a snapshot costs next to
+   * nothing, no matter how many contacts there are, and it can be read from any thread while this book keeps changing.
+   * Use one for anything that reads every contact and takes a while, such as exporting, so that it neither sees half
+   * of a change nor holds up whoever is changing the book.
+   * @return A snapshot of this book
+   */
+  public Snapshot snapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Makes several changes to this book, and hands them out all at once at the end instead of one at a time. Batches
+   * can be nested, in which case the changes are handed out at the end of the outermost one.
+   * @param work Whatever changes this book, such as adding many contacts
+   */
+  public void batch(Runnable work) {
+    if (batchDepth++ == 0) {
+      pendingChanges = new ArrayList<>();
+    }
+    try {
+      work.run();
+    } finally {
+      if (--batchDepth == 0) {
+        List<ContactChange> batch = pendingChanges;
+        pendingChanges = null;
+        changes.publish(batch);
+      }
+    }
+  }
+
+  private void publish(ContactChange change) {
+    if (pendingChanges != null) {
+      pendingChanges.add(change);
+    } else {
+      changes.publish(Collections.singletonList(change));
+    }
+  }
+
+  /**
+   * Adds an entry that was just stored to every index. Any entry that is stored must be passed through here exactly
+   * once.
+   * @param entry The stored entry
+   */
+  private void index(ImmutableAddressEntry entry) {
+    lastNames.add(entry);
+    states.add(entry.getId(), entry.getState());
+    nameSearch.add(entry.getId(), entry.getLastName());
+    fullText.add(entry);
+    findCache.invalidate(entry.getLastName());
+  }
+
+  /**
+   * Removes an entry that is no longer stored from every index.
+   * @param entry The entry that was previously stored
+   */
+  private void unindex(ImmutableAddressEntry entry) {
+    lastNames.remove(entry);
+    states.remove(entry.getId(), entry.getState());
+    nameSearch.remove(entry.getId(), entry.getLastName());
+    fullText.remove(entry);
+    findCache.invalidate(entry.getLastName());
   }
 
   /**
@@ -42,11 +197,24 @@ public class AddressBook {
   }
 
   /**
-   * Gets a single contact based on the specified ID.
+   * Gets a single contact based on the specified ID. The returned entry is a copy, so modifying it has no effect on
+   * this book.
    * @param id The ID of the contact
    * @return The contact corresponding to the specified ID, or <code>null</code> if no contact was found with that ID.
+   * @see #getImmutable(UUID)
    */
   public AddressEntry get(UUID id) {
+    ImmutableAddressEntry entry = addressEntryList.get(id);
+    return entry == null ? null : entry.toEntry();
+  }
+
+  /**
+   * Gets a single contact based on the specified ID, without making a copy of it.
+   * @param id The ID of the contact
+   * @return The contact corresponding to the specified ID, or <code>null</code> if no contact was found with that ID.
+   * @see #get(UUID)
+   */
+  public ImmutableAddressEntry getImmutable(UUID id) {
     return addressEntryList.get(id);
   }
 
@@ -58,7 +226,12 @@ public class AddressBook {
    * @see #remove(AddressEntry)
    */
   public boolean remove(String lastName) {
-    return addressEntryList.entrySet().removeIf(entry -> entry.getValue().getName().getLastName().equals(lastName));
+    List<UUID> ids = addressEntryList.values().stream()
+      .filter(entry -> entry.getLastName().equals(lastName))
+      .map(ImmutableAddressEntry::getId)
+      .collect(Collectors.toList());
+    ids.forEach(this::remove);
+    return !ids.isEmpty();
   }
 
   /**
@@ -70,7 +243,15 @@ public class AddressBook {
    * @see #remove(UUID)
    */
   public boolean remove(AddressEntry contact) {
-    return addressEntryList.entrySet().removeIf(entry -> entry.getValue().equals(contact));
+    // IDs are unique, so the only entry that could possibly be equal is the one with the same ID
+    if (contact.getId() == null) {
+      return false;
+    }
+    ImmutableAddressEntry stored = addressEntryList.get(contact.getId());
+    if (stored != null && stored.equals(ImmutableAddressEntry.of(contact))) {
+      return remove(contact.getId());
+    }
+    return false;
   }
 
   /**
@@ -81,7 +262,16 @@ public class AddressBook {
    * @see #remove(AddressEntry)
    */
   public boolean remove(UUID id) {
-    return addressEntryList.remove(id) != null;
+    ImmutableAddressEntry removed = addressEntryList.remove(id);
+    if (removed == null) {
+      return false;
+    }
+    unindex(removed);
+    commit(snapshot.entries.remove(id));
+    if (changes.hasListeners()) {
+      publish(ContactChange.removed(removed));
+    }
+    return true;
   }
 
   /**
@@ -90,31 +280,313 @@ public class AddressBook {
    * @return True if the entry did not encounter an internal ID conflict and was successfully added, false otherwise
    */
   public boolean add(AddressEntry entry) {
+    return add(ImmutableAddressEntry.of(entry));
+  }
+
+  /**
+   * Adds a new address entry to the internal list. The entry is stored as-is, without being copied.
+   * @param entry The address entry to add to the book.
+   * @return True if the entry did not encounter an internal ID conflict and was successfully added, false otherwise
+   */
+  public boolean add(ImmutableAddressEntry entry) {
+    if (addressEntryList.putIfAbsent(entry.getId(), entry) != null) {
+      return false;
+    }
+    index(entry);
+    commit(snapshot.entries.put(entry.getId(), entry));
+    if (changes.hasListeners()) {
+      publish(ContactChange.added(entry));
+    }
+    return true;
+  }
+
+  /**
+   * Replaces a stored entry with an updated version of it. The entry to replace is selected by the ID of the specified
+   * entry.
+   * @param entry The updated address entry
+   * @return True if an entry with the same ID was found and replaced, false if no entry has that ID
+   */
+  public boolean update(AddressEntry entry) {
+    return update(ImmutableAddressEntry.of(entry));
+  }
+
+  /**
+   * Replaces a stored entry with an updated version of it, usually made with {@link ImmutableAddressEntry#toBuilder()}.
+   * The entry to replace is selected by the ID of the specified entry.
+   * @param entry The updated address entry
+   * @return True if an entry with the same ID was found and replaced, false if no entry has that ID
+   */
+  public boolean update(ImmutableAddressEntry entry) {
     if (!addressEntryList.containsKey(entry.getId())) {
-      addressEntryList.put(entry.getId(), entry);
-      return true;
+      return false;
     }
-    return false;
+    ImmutableAddressEntry old = addressEntryList.put(entry.getId(), entry);
+    unindex(old);
+    index(entry);
+    commit(snapshot.entries.put(entry.getId(), entry));
+    if (changes.hasListeners()) {
+      publish(ContactChange.updated(old, entry));
+    }
+    return true;
   }
 
   /**
    * A way to query this address book's contacts list. This will find and return all contacts that match the specified
-   * entry.
+   * entry, sorted by last name (case insensitive), then first name. The returned entries are copies, so modifying them
+   * has no effect on this book.
    * @param startOfLastName The query to send. Will match any entry whose last name starts with this (case insensitive)
    * @return A list of all entries that matched the specified query. The list will be empty if none were found.
+   * @see #findImmutable(String)
    */
   public List<AddressEntry> find(String startOfLastName) {
-    return addressEntryList.values().stream().sorted()
-      .filter(entry -> entry.getName().getLastName().regionMatches(true, 0, startOfLastName, 0, startOfLastName.length()))
+    return findImmutable(startOfLastName).stream().map(ImmutableAddressEntry::toEntry).collect(Collectors.toList());
+  }
+
+  /**
+   * Same as {@link #find(String)}, except the stored entries are returned directly instead of being copied. The
+   * results of recent searches are cached, see {@link #getFindCacheStats()}.
+   * @param startOfLastName The query to send. Will match any entry whose last name starts with this (case insensitive)
+   * @return A list of all entries that matched the specified query. The list will be empty if none were found.
+   */
+  public List<ImmutableAddressEntry> findImmutable(String startOfLastName) {
+    List<ImmutableAddressEntry> result = findCache.get(startOfLastName);
+    if (result == null) {
+      result = findImmutable(startOfLastName, 0, Integer.MAX_VALUE);
+      findCache.put(startOfLastName, result);
+      return result;
+    }
+    return new ArrayList<>(result);
+  }
+
+  /**
+   * Same as {@link #find(String)}, except only one page of the results is returned. Contacts before the page are
+   * skipped without being looked at one by one, and no contacts after the page are looked at, so a page costs about
+   * the same no matter how many contacts match.
+   * @param startOfLastName The query to send. Will match any entry whose last name starts with this (case insensitive)
+   * @param offset How many of the first matching entries to skip
+   * @param limit The maximum number of entries to return
+   * @return A list of at most <code>limit</code> matching entries, in the same order as {@link #find(String)}
+   * @see #count(String)
+   */
+  public List<AddressEntry> find(String startOfLastName, int offset, int limit) {
+    return findImmutable(startOfLastName, offset, limit).stream().map(ImmutableAddressEntry::toEntry)
       .collect(Collectors.toList());
   }
 
+  /**
+   * Same as {@link #find(String, int, int)}, except the stored entries are returned directly instead of being copied.
+   * @param startOfLastName The query to send. Will match any entry whose last name starts with this (case insensitive)
+   * @param offset How many of the first matching entries to skip
+   * @param limit The maximum number of entries to return
+   * @return A list of at most <code>limit</code> matching entries, in the same order as {@link #find(String)}
+   */
+  public List<ImmutableAddressEntry> findImmutable(String startOfLastName, int offset, int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+    }
+    List<ImmutableAddressEntry> result = new ArrayList<>(Math.min(limit, 64));
+    Iterator<ImmutableAddressEntry> iterator = lastNames.iterator(startOfLastName, offset);
+    while (result.size() < limit && iterator.hasNext()) {
+      result.add(iterator.next());
+    }
+    return result;
+  }
+
+  /**
+   * Same as {@link #findImmutable(String)}, except the results are looked up lazily as the stream is consumed, so
+   * something like <code>findStream("S").limit(20)</code> never looks at more than 20 contacts. This book must not be
+   * modified until the stream has been fully consumed.
+   * @param startOfLastName The query to send. Will match any entry whose last name starts with this (case insensitive)
+   * @return A sequential stream of all matching entries, in the same order as {@link #find(String)}
+   */
+  public Stream<ImmutableAddressEntry> findStream(String startOfLastName) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(lastNames.iterator(startOfLastName),
+      Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Counts how many contacts {@link #find(String)} would return, without looking at any of them.
+   * @param startOfLastName Will match any entry whose last name starts with this (case insensitive)
+   * @return The number of matching entries
+   */
+  public int count(String startOfLastName) {
+    return lastNames.count(startOfLastName, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Finds all contacts matching a query, using whichever of this book's indexes are the best fit.
+   * @param query The query
+   * @return A list of all entries that matched the query, in the order requested by the query. The list will be empty
+   *         if none were found.
+   * @see #explain(ContactQuery)
+   */
+  public List<ImmutableAddressEntry> query(ContactQuery query) {
+    return planner.plan(query).execute();
+  }
+
+  /**
+   * Describes how {@link #query(ContactQuery)} would run a query, without actually running it.
+   * @param query The query
+   * @return A multi-line description of which indexes would be used, and how
+   * @see address.query.QueryPlan#explain()
+   */
+  public String explain(ContactQuery query) {
+    return planner.plan(query).explain();
+  }
+
+  /**
+   * Finds every contact meeting an arbitrary condition by checking it against every single contact. Large books are
+   * split up and checked on several cores at once, so the condition must be safe to call from several threads.
+   * Prefer {@link #query(ContactQuery)} whenever the condition can be expressed as one, since that can use indexes.
+   * @param filter The condition
+   * @return A sorted list of all matching entries. The list will be empty if none were found.
+   * @see ScanEngine
+   */
+  public List<ImmutableAddressEntry> scan(Predicate<? super ImmutableAddressEntry> filter) {
+    List<ImmutableAddressEntry> result = scanEngine.filter(addressEntryList, filter);
+    result.sort(null);
+    return result;
+  }
+
+  /**
+   * A more forgiving way to query this address book's contacts list, which will also find contacts whose last names
+   * are misspelled in the query or sound like the query. Unlike {@link #find(String)}, the whole last name is matched
+   * rather than only the start of it.
+   * @param lastName The last name to search for
+   * @param limit The maximum number of contacts to return
+   * @return The contacts with the most similar last names, most similar first. The list will be empty if none were
+   *         found.
+   * @see NameSearchEngine#search(String, int)
+   */
+  public List<ImmutableAddressEntry> findSimilar(String lastName, int limit) {
+    return nameSearch.search(lastName, limit).stream().map(addressEntryList::get).collect(Collectors.toList());
+  }
+
+  /**
+   * Searches every field of every contact for the specified words, such as part of a street address, a city, an email
+   * address, or a phone number. For example, <code>search("main francisco", InvertedIndex.Operator.AND)</code> finds
+   * everyone living on a Main Street in San Francisco.
+   * @param query The words to search for, separated by whitespace. A word ending with <code>*</code> matches any word
+   *              that starts with it.
+   * @param operator Whether contacts must contain every word, or just one of them
+   * @return A sorted list of all matching entries. The list will be empty if none were found.
+   * @see InvertedIndex
+   */
+  public List<ImmutableAddressEntry> search(String query, InvertedIndex.Operator operator) {
+    return fullText.search(query, operator).stream().map(addressEntryList::get).sorted().collect(Collectors.toList());
+  }
+
+  /**
+   * Looks for contacts that are probably the same person entered more than once, even with different IDs or slightly
+   * different spellings. Only contacts sharing a last name sound and zip code, a phone number, or the start of an email
+   * address are compared, so this stays quick for large books. The contacts are read from a {@link #snapshot()}, so
+   * this can run on another thread while the book is being changed.
+   * @return Every cluster of probable duplicates found
+   * @see DuplicateDetector
+   */
+  public DuplicateDetector.Result findDuplicates() {
+    return duplicateDetector.findDuplicates(snapshot.entries.values());
+  }
+
+  /**
+   * Get statistics of the cache used by {@link #find(String)} and {@link #findImmutable(String)}, to check whether
+   * searches are actually being repeated often enough for the cache to help.
+   * @return A snapshot of the cache's statistics
+   */
+  public FindCache.Stats getFindCacheStats() {
+    return findCache.stats();
+  }
+
   /**
    * Clears out all locally-stored contacts. Only use if you really know what you're doing.
    * @see AddressBookApplication#refreshContactsList()
    */
   public void clear() {
     addressEntryList.clear();
+    lastNames.clear();
+    states.clear();
+    nameSearch.clear();
+    fullText.clear();
+    findCache.clear();
+    commit(PersistentUuidMap.empty());
+    if (pendingChanges != null) {
+      pendingChanges.clear();
+    }
+    changes.publishReset();
+  }
+
+  /**
+   * Every contact of an {@link AddressBook} as it was at some point in time. A snapshot never changes, and it shares
+   * almost everything with the book and with other snapshots, so any number of them can be held onto cheaply and read
+   * from any thread. Snapshots don't have any of the book's indexes, so searching one looks at every contact.
+   */
+  public static final class Snapshot {
+
+    private final PersistentUuidMap<ImmutableAddressEntry> entries;
+    private final long version;
+
+    private Snapshot(PersistentUuidMap<ImmutableAddressEntry> entries, long version) {
+      this.entries = entries;
+      this.version = version;
+    }
+
+    /**
+     * Get how many changes had been made to the book when this snapshot was taken. Two snapshots of the same book with
+     * the same version have exactly the same contacts.
+     * @return The version of the book
+     */
+    public long getVersion() {
+      return version;
+    }
+
+    /**
+     * Get the number of contacts in this snapshot.
+     * @return The number of contacts
+     */
+    public int count() {
+      return entries.size();
+    }
+
+    /**
+     * Gets a single contact based on the specified ID.
+     * @param id The ID of the contact
+     * @return The contact, or <code>null</code> if no contact had that ID
+     */
+    public ImmutableAddressEntry get(UUID id) {
+      return entries.get(id);
+    }
+
+    /**
+     * Get every contact in this snapshot.
+     * @return An unmodifiable collection of all contacts, in no particular order
+     */
+    public Collection<ImmutableAddressEntry> getAll() {
+      return entries.values();
+    }
+
+    /**
+     * Get every contact in this snapshot in the same order as {@link AddressBook#find(String)}: by last name (case
+     * insensitive), then first name. The contacts are sorted on several cores at once.
+     * @return A new list of all contacts
+     */
+    public List<ImmutableAddressEntry> sorted() {
+      ImmutableAddressEntry[] array = entries.values().toArray(new ImmutableAddressEntry[0]);
+      Arrays.parallelSort(array, LastNameIndex.ORDER);
+      return Arrays.asList(array);
+    }
+
+    /**
+     * Finds every contact whose last name starts with a prefix, the same way as {@link AddressBook#find(String)}.
+     * @param startOfLastName Will match any entry whose last name starts with this (case insensitive)
+     * @return A sorted list of all matching entries. The list will be empty if none were found.
+     */
+    public List<ImmutableAddressEntry> find(String startOfLastName) {
+      return entries.values().stream()
+        .filter(entry -> entry.getLastName().regionMatches(true, 0, startOfLastName, 0, startOfLastName.length()))
+        .sorted(LastNameIndex.ORDER)
+        .collect(Collectors.toList());
+    }
+
   }
 
 }
@@ -1,22 +1,33 @@
 package address;
 
-import address.data.Address;
+import address.cli.AddressBookCli;
 import address.data.AddressEntry;
-import address.data.Name;
+import address.data.ImmutableAddressEntry;
 import address.gui.MainPanel;
+import address.store.DatabaseSettings;
+import address.store.JdbcContactStore;
+import address.store.Mutation;
+import address.store.MutationJournal;
+import address.store.UpdateResult;
+import address.store.WriteBehindQueue;
+import address.util.IdGenerator;
 
 import javax.swing.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.FileReader;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Both stores the main method for the application and acts as the main container for all objects in the
@@ -28,10 +39,15 @@ import java.util.UUID;
 public class AddressBookApplication {
 
   /**
-   * The main entry point into the address book application.
-   * @param args This is ignored, please don't use it
+   * The main entry point into the address book application. Without arguments, the graphical application is started.
+   * With arguments, a single command is run without a window and without loading every contact; see
+   * {@link AddressBookCli}.
+   * @param args A command and its arguments, or nothing to start the graphical application
    */
   public static void main(String[] args) {
+    if (args.length > 0) {
+      System.exit(AddressBookCli.run(args));
+    }
     try {
       Utils.info("Checking SQL driver...");
       Class.forName("oracle.jdbc.OracleDriver");
@@ -43,6 +59,12 @@ public class AddressBookApplication {
     }
   }
 
+  /** When this class was loaded, which startup times are measured from */
+  private static final long STARTED = System.nanoTime();
+  private static final String TITLE = "Address Book Application";
+  /** How many contacts are read from the database before they're added to the address book */
+  private static final int LOAD_CHUNK_SIZE = 500;
+
   /**
    * The frame used to contain an instance of {@link MainPanel}
    */
@@ -52,9 +74,28 @@ public class AddressBookApplication {
    */
   private AddressBook book;
   /**
-   * The connection object used to connect to the database that stores instances of {@link AddressEntry}
+   * Writes changes to contacts to the database that stores instances of {@link AddressEntry}, and holds the connection
+   * to it
+   */
+  private JdbcContactStore store;
+  /**
+   * Writes changes to the database in the background, recording them in a journal until they are written. Changes only
+   * go through it when they can't be written right away, unless {@link #writeInBackground} is set.
+   */
+  private WriteBehindQueue writeBehind;
+  /**
+   * Whether every change is written in the background. Enabled by starting the application with
+   * <code>-Daddressbook.writeBehind=true</code>.
    */
-  private Connection conn;
+  private boolean writeInBackground;
+  /**
+   * Changes recovered from the journal, which are applied to the address book once its contacts are loaded
+   */
+  private List<Mutation> recovered;
+  /**
+   * The contacts that are still being read from the database, or <code>null</code> if they have all been read
+   */
+  private volatile ContactLoader loading;
 
   /**
    * The default constructor for the application. Will automatically create an instance of {@link JFrame} that contains
@@ -71,41 +112,38 @@ public class AddressBookApplication {
     instance = this;
     book = new AddressBook();
 
-    // reads a file called "credentials.txt" from the project root directory. this stores the username and password
-    // needed to connect to the remote database.
-    if (!Files.exists(Paths.get("credentials.txt"))) {
+    // reads the username and password needed to connect to the remote database, from either the environment or a file
+    // called "credentials.txt" in the project root directory
+    DatabaseSettings settings;
+    try {
+      settings = DatabaseSettings.load();
+    } catch (NoSuchFileException e) {
       JOptionPane.showMessageDialog(null, "Could not open credentials.txt", "Cannot open file", JOptionPane.ERROR_MESSAGE);
       throw new RuntimeException("Could not connect to database as credentials.txt is missing");
-    }
-    String username;
-    String password;
-    try (FileReader reader = new FileReader("credentials.txt")) {
-      Scanner scanner = new Scanner(reader);
-      username = scanner.nextLine();
-      password = scanner.nextLine();
     } catch (IOException e) {
       JOptionPane.showMessageDialog(null, "Could not read credentials.txt", "Cannot read file", JOptionPane.ERROR_MESSAGE);
 
       throw new RuntimeException("Could not read credentials", e);
     }
 
+    JdbcContactStore.ConnectionFactory connectionFactory = settings.connectionFactory();
     try {
-      Utils.info("Establishing connection to database server...");
-      conn = DriverManager.getConnection("jdbc:oracle:thin:@adcsdb01.csueastbay.edu:1521:mcspdb.ad.csueastbay.edu",
-        username, password);
-      Utils.info("Connection successful");
+      store = new JdbcContactStore(connectionFactory.connect(), connectionFactory);
     } catch (SQLException e) {
       JOptionPane.showMessageDialog(null, "Invalid username/password.  Logon denied", "Invalid logon", JOptionPane.ERROR_MESSAGE);
 
       throw new RuntimeException("Could not establish connection to database server", e);
     }
-    Utils.info("Initializing contacts in address book...");
-    refreshContactsList();
-    Utils.info("Read %d contacts", book.count());
 
+    writeInBackground = Boolean.getBoolean("addressbook.writeBehind");
+    startJournal(Paths.get("journal.log"));
+
+    // the window is shown right away, and contacts are added to it as they're read
     Utils.info("Starting Swing application...");
-    frame = new JFrame("Address Book Application");
-    frame.setContentPane(new MainPanel());
+    frame = new JFrame(TITLE);
+    MainPanel panel = new MainPanel();
+    panel.whenFirstPainted(() -> Utils.info("Window first painted %d ms after startup", millisSinceStartup()));
+    frame.setContentPane(panel);
     frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
     frame.pack();
 
@@ -115,7 +153,12 @@ public class AddressBookApplication {
       @Override
       public void windowClosing(WindowEvent event) {
         try {
-          conn.close();
+          writeBehind.close();
+        } catch (IOException e) {
+          Utils.warn(e, "Could not close journal");
+        }
+        try {
+          store.close();
           Utils.info("Database connection successfully closed");
         } catch (SQLException e) {
           Utils.warn(e, "Could not close database connection");
@@ -124,6 +167,103 @@ public class AddressBookApplication {
     });
 
     frame.setVisible(true);
+
+    Utils.info("Loading contacts in the background...");
+    refreshContactsList();
+  }
+
+  /**
+   * Get how long it's been since this class was loaded, which happens right as the application starts.
+   */
+  private static long millisSinceStartup() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - STARTED);
+  }
+
+  /**
+   * Opens the journal that records changes until they are written to the database. Any changes left in it by an
+   * earlier run that were never written are queued to be written, and applied to the address book once it's loaded.
+   * How often the journal is forced to disk can be chosen with <code>-Daddressbook.journalSync=</code> followed by the
+   * name of a {@link MutationJournal.SyncPolicy}, and defaults to {@link MutationJournal.SyncPolicy#GROUP_COMMIT}.
+   * @param journalFile Where changes are recorded until they are written
+   */
+  private void startJournal(Path journalFile) {
+    try {
+      MutationJournal.SyncPolicy policy = MutationJournal.SyncPolicy.valueOf(
+        System.getProperty("addressbook.journalSync", MutationJournal.SyncPolicy.GROUP_COMMIT.name()));
+      MutationJournal journal = new MutationJournal(journalFile, policy);
+      List<Mutation> leftover = journal.getRecovered();
+      writeBehind = new WriteBehindQueue(store, journal, 1000, 500);
+      if (!leftover.isEmpty()) {
+        Utils.info("Recovering %d unwritten changes from %s", leftover.size(), journalFile);
+        // they're applied to the address book once its contacts are loaded, so that they aren't overwritten by the
+        // older contacts still in the database
+        recovered = leftover;
+        writeBehind.recover(leftover);
+      }
+      if (writeInBackground) {
+        Utils.info("Writing changes in the background, journaled to %s", journalFile);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      throw new RuntimeException("Could not open journal " + journalFile, e);
+    }
+  }
+
+  /**
+   * Applies a change to the address book only, without writing it to the database.
+   */
+  private void applyToBook(Mutation mutation) {
+    switch (mutation.getType()) {
+      case INSERT:
+      case UPDATE:
+        if (!book.update(mutation.getEntry())) {
+          book.add(mutation.getEntry());
+        }
+        break;
+      default:
+        removeFromBook(mutation.getId());
+    }
+  }
+
+  /**
+   * Removes a contact from the address book, making sure it isn't added back by contacts that are still being read.
+   * @return Whether the contact was in the address book
+   */
+  private boolean removeFromBook(UUID id) {
+    ContactLoader loader = loading;
+    if (loader != null) {
+      loader.removed.add(id);
+    }
+    return book.remove(id);
+  }
+
+  /**
+   * Writes a change to the database, either right away or in the background.
+   */
+  private void write(Mutation mutation) throws SQLException {
+    // changes must reach the database in order, so nothing can skip ahead of changes that are still queued
+    if (!writeInBackground && writeBehind.isIdle()) {
+      try {
+        store.write(Collections.singletonList(mutation));
+        return;
+      } catch (SQLException e) {
+        if (!JdbcContactStore.isConnectionProblem(e)) {
+          throw e;
+        }
+        Utils.warn(e, "Could not reach the database, the change will be written once it can be reached again");
+      }
+    }
+    submit(mutation);
+  }
+
+  /**
+   * Queues a change to be written to the database in the background.
+   */
+  private void submit(Mutation mutation) throws SQLException {
+    try {
+      writeBehind.submit(mutation);
+    } catch (IOException e) {
+      throw new SQLException("Could not record change in journal", e);
+    }
   }
 
   /**
@@ -135,11 +275,12 @@ public class AddressBookApplication {
   }
 
   /**
-   * Get the application's connection to the remote database.
+   * Get the application's connection to the remote database, reconnecting if the last connection was lost.
    * @return The application's connection object
+   * @throws SQLException If the connection was lost, and a new one could not be made
    */
-  public Connection getConnection() {
-    return conn;
+  public Connection getConnection() throws SQLException {
+    return store.getConnection();
   }
 
   /**
@@ -151,57 +292,106 @@ public class AddressBookApplication {
   }
 
   /**
-   * Will refresh the contents of {@link #getBook()}, querying the remote database in the process.
+   * Will refresh the contents of {@link #getBook()}, querying the remote database in the process. Contacts are read on
+   * a background thread, and added to the book on the event dispatch thread every {@link #LOAD_CHUNK_SIZE} contacts,
+   * so that the window can be used, and the book searched, while the rest are still being read.
+   * @return The background task, which is already running
    */
-  public void refreshContactsList() {
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery("SELECT * FROM ADDRESSENTRYTABLE");
-      while (rs.next()) {
-        AddressEntry contact = new AddressEntry(
-          UUID.fromString(rs.getString("ID")),
-          new Name(
-            rs.getString("FIRSTNAME"),
-            rs.getString("LASTNAME")
-          ),
-          new Address(
-            rs.getString("STREET"),
-            rs.getString("CITY"),
-            rs.getString("STATE"),
-            rs.getInt("ZIP")
-          ),
-          rs.getString("PHONE"),
-          rs.getString("EMAIL")
-        );
-        book.add(contact);
-        Utils.info("Contact added: %s (%s)", contact.getId(), contact.getName());
+  public SwingWorker<Integer, List<ImmutableAddressEntry>> refreshContactsList() {
+    ContactLoader loader = new ContactLoader();
+    loading = loader;
+    loader.execute();
+    return loader;
+  }
+
+  /**
+   * Reads every contact from the database, and hands them to the event dispatch thread in chunks to be added to the
+   * address book.
+   */
+  private class ContactLoader extends SwingWorker<Integer, List<ImmutableAddressEntry>> {
+
+    private final long start = System.nanoTime();
+    /** Contacts removed while this is running, which may still be read, but mustn't be added back */
+    private final Set<UUID> removed = ConcurrentHashMap.newKeySet();
+    private boolean first = true;
+
+    @Override
+    protected Integer doInBackground() throws SQLException {
+      int read = 0;
+      try (Statement stmt = getConnection().createStatement()) {
+        stmt.setFetchSize(LOAD_CHUNK_SIZE);
+        ResultSet rs = stmt.executeQuery("SELECT * FROM ADDRESSENTRYTABLE");
+        List<ImmutableAddressEntry> chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+        while (rs.next()) {
+          chunk.add(JdbcContactStore.readContact(rs));
+          read++;
+          if (chunk.size() == LOAD_CHUNK_SIZE) {
+            publish(chunk);
+            chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+          }
+        }
+        if (!chunk.isEmpty()) {
+          publish(chunk);
+        }
+      }
+      return read;
+    }
+
+    @Override
+    protected void process(List<List<ImmutableAddressEntry>> chunks) {
+      // contacts added or changed by the user in the meantime are already in the book, and are kept as they are, and
+      // contacts removed in the meantime stay removed
+      book.batch(() -> chunks.forEach(chunk -> chunk.forEach(entry -> {
+        if (!removed.contains(entry.getId())) {
+          book.add(entry);
+        }
+      })));
+      if (first) {
+        first = false;
+        Utils.info("First contacts shown %d ms after startup", millisSinceStartup());
+      }
+      frame.setTitle(String.format("%s (loading, %,d contacts so far)", TITLE, book.count()));
+    }
+
+    @Override
+    protected void done() {
+      if (loading == this) {
+        loading = null;
+      }
+      frame.setTitle(TITLE);
+      try {
+        int read = get();
+        Utils.info("Read %d contacts in %d ms, fully loaded %d ms after startup", read,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), millisSinceStartup());
+      } catch (InterruptedException | ExecutionException e) {
+        Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+        Utils.error(cause, "Could not load every contact, only %d were loaded", book.count());
+        JOptionPane.showMessageDialog(frame, "Could not load every contact: " + cause.getMessage(),
+          "Could not load contacts", JOptionPane.ERROR_MESSAGE);
+      }
+      if (recovered != null) {
+        List<Mutation> changes = recovered;
+        recovered = null;
+        book.batch(() -> changes.forEach(AddressBookApplication.this::applyToBook));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException("Could not initialize contacts list", e);
     }
+
   }
 
   /**
-   * Inserts a new contact to the remote database.
+   * Inserts a new contact to the remote database. If changes are written in the background, or the database can't be
+   * reached, this returns as soon as the contact is added to the address book and recorded in the journal.
    * @param contact The contact to add to the database
-   * @return The randomly-generated UUID associated with the specified contact information
+   * @return The newly-generated UUID associated with the specified contact information, made by
+   *         {@link IdGenerator#getDefault()}
    */
   public UUID addContact(AddressEntry contact) {
-    UUID id = UUID.randomUUID();
+    UUID id = IdGenerator.getDefault().next();
     try {
-      PreparedStatement stmt = conn.prepareStatement("INSERT INTO ADDRESSENTRYTABLE VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
-      stmt.setString(1, id.toString());
-      stmt.setString(2, contact.getName().getFirstName());
-      stmt.setString(3, contact.getName().getLastName());
-      stmt.setString(4, contact.getAddress().getStreet());
-      stmt.setString(5, contact.getAddress().getCity());
-      stmt.setString(6, contact.getAddress().getState());
-      stmt.setInt(7, contact.getAddress().getZip());
-      stmt.setString(8, contact.getPhone());
-      stmt.setString(9, contact.getEmail());
-      stmt.execute();
+      ImmutableAddressEntry entry = ImmutableAddressEntry.of(contact).toBuilder().id(id).build();
+      write(Mutation.insert(entry));
       contact.setId(id);
-      if (!book.add(contact)) {
+      if (!book.add(entry)) {
         Utils.warn("Cache mismatch: Could not add contact to internal cache: %1$s (%2$s)", contact.getId(), contact.getName());
       }
       Utils.info("Added new contact to database: %1$s (%2$s)", id, contact.getName());
@@ -217,10 +407,8 @@ public class AddressBookApplication {
    */
   public void removeContact(UUID id) {
     try {
-      PreparedStatement stmt = conn.prepareStatement("DELETE FROM ADDRESSENTRYTABLE WHERE id=?");
-      stmt.setString(1, id.toString());
-      stmt.execute();
-      if (!book.remove(id)) {
+      write(Mutation.delete(id));
+      if (!removeFromBook(id)) {
         Utils.warn("Cache mismatch: attempted to remove entry from internal cache: %s", id);
       }
       Utils.info("Removed contact from database: %s", id);
@@ -237,7 +425,7 @@ public class AddressBookApplication {
   public List<UUID> findContacts(String lastNameQuery) {
     try {
       ArrayList<UUID> ids = new ArrayList<>();
-      PreparedStatement stmt = conn.prepareStatement("SELECT (id) FROM ADDRESSENTRYTABLE WHERE LASTNAME LIKE ?% ORDER BY LASTNAME, FIRSTNAME");
+      PreparedStatement stmt = getConnection().prepareStatement("SELECT (id) FROM ADDRESSENTRYTABLE WHERE LASTNAME LIKE ?% ORDER BY LASTNAME, FIRSTNAME");
       stmt.setString(1, lastNameQuery);
       ResultSet rs = stmt.executeQuery();
       while (rs.next()) {
@@ -251,24 +439,71 @@ public class AddressBookApplication {
   }
 
   /**
-   * Updates a specific contact from the remote database.
-   * @param contact The entry to update. Will use {@link AddressEntry#getId()} for selecting the exact contact entry
+   * Updates a specific contact in the remote database and the address book, unless someone else changed or removed the
+   * contact in the database since it was read. If so, the address book is given the contact as it's stored now instead,
+   * without reading any other contact again.
+   * <p>
+   * If changes are written in the background, or the database can't be reached, the change can't be checked, so it's
+   * always made and replaces any change made by someone else once it's written.
+   * @param contact The entry to update, with the {@link ImmutableAddressEntry#getVersion() version} it had when it was
+   *                read. Will use {@link ImmutableAddressEntry#getId()} for selecting the exact contact entry
+   * @return What happened to the change, with the contact as the address book now has it:
+   *         <ul>
+   *           <li>{@link UpdateResult.Status#UPDATED UPDATED} - the change was written, and the contact has its new
+   *               version</li>
+   *           <li>{@link UpdateResult.Status#PENDING PENDING} - the change will be written in the background, and
+   *               the contact already has the version it will be written with</li>
+   *           <li>{@link UpdateResult.Status#CONFLICT CONFLICT} - nothing was written, since someone else changed the
+   *               contact first. The contact is theirs, and the change can be made again with its version to keep
+   *               it anyway.</li>
+   *           <li>{@link UpdateResult.Status#REMOVED REMOVED} - nothing was written, since someone else removed the
+   *               contact first, and it's removed from the address book too. There's no contact.</li>
+   *         </ul>
    * @throws SQLException If one of the contact's fields conflict with the remote database's constraints. Most likely,
-   *                      this will be thrown if a string-based field is too long.
+   *                      this will be thrown if a string-based field is too long. If changes are written in the
+   *                      background, or the database can't be reached, such problems are only logged once the change
+   *                      is written, and this is only thrown if the change could not be recorded in the journal.
    */
-  public void updateContact(AddressEntry contact) throws SQLException {
-    PreparedStatement stmt = conn.prepareStatement("UPDATE ADDRESSENTRYTABLE SET FIRSTNAME=?, LASTNAME=?, STREET=?, CITY=?, STATE=?, ZIP=?, PHONE=?, EMAIL=? WHERE ID=?");
-    stmt.setString(1, contact.getName().getFirstName());
-    stmt.setString(2, contact.getName().getLastName());
-    stmt.setString(3, contact.getAddress().getStreet());
-    stmt.setString(4, contact.getAddress().getCity());
-    stmt.setString(5, contact.getAddress().getState());
-    stmt.setInt(6, contact.getAddress().getZip());
-    stmt.setString(7, contact.getPhone());
-    stmt.setString(8, contact.getEmail());
-    stmt.setString(9, contact.getId().toString());
-    stmt.execute();
-    Utils.info("Contact has been updated: %s (%s)", contact.getId(), contact.getName());
+  public UpdateResult updateContact(ImmutableAddressEntry contact) throws SQLException {
+    UpdateResult result = null;
+    // changes must reach the database in order, so nothing can skip ahead of changes that are still queued
+    if (!writeInBackground && writeBehind.isIdle()) {
+      try {
+        result = store.update(contact);
+      } catch (SQLException e) {
+        if (!JdbcContactStore.isConnectionProblem(e)) {
+          throw e;
+        }
+        Utils.warn(e, "Could not reach the database, the change will be written once it can be reached again");
+      }
+    }
+    if (result == null) {
+      // written with the next version, which is what the database will hold once every queued change is written
+      ImmutableAddressEntry pending = contact.toBuilder().version(contact.getVersion() + 1).build();
+      submit(Mutation.update(pending));
+      result = UpdateResult.pending(pending);
+    }
+    switch (result.getStatus()) {
+      case REMOVED:
+        removeFromBook(contact.getId());
+        Utils.warn("Contact was removed by someone else before it could be updated: %s (%s %s)", contact.getId(),
+          contact.getFirstName(), contact.getLastName());
+        break;
+      case CONFLICT:
+        Utils.warn("Contact was changed by someone else before it could be updated: %s (%s %s)", contact.getId(),
+          contact.getFirstName(), contact.getLastName());
+        // fall through
+      default:
+        if (!book.update(result.getEntry())) {
+          Utils.warn("Cache mismatch: attempted to update entry missing from internal cache: %s", contact.getId());
+          book.add(result.getEntry());
+        }
+    }
+    if (result.getStatus() == UpdateResult.Status.UPDATED || result.getStatus() == UpdateResult.Status.PENDING) {
+      Utils.info("Contact has been updated: %s (%s %s)", contact.getId(), contact.getFirstName(),
+        contact.getLastName());
+    }
+    return result;
   }
 
   /**
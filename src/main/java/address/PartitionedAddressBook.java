@@ -0,0 +1,252 @@
+package address;
+
+import address.data.ImmutableAddressEntry;
+import address.search.LastNameIndex;
+import address.util.UuidMap;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * An address book that can be changed from many threads at once, such as by imports and syncs writing contacts in
+ * parallel. Contacts are split up between several independent {@link AddressBook}s, called partitions, by a hash of
+ * their IDs. Each partition has its own indexes and its own lock, so changes to contacts in different partitions never
+ * wait for each other, and with enough partitions writes scale with the number of cores.
+ * <p>
+ * Anything involving a single contact only locks the one partition it belongs to. Finding contacts by last name asks
+ * every partition in parallel, and merges their already sorted results, so the results are in the same order as
+ * {@link AddressBook#find(String)}. Counting and finding look at each partition in turn rather than all at once, so
+ * they can see some of the changes made to other partitions while they run, but never half of a change.
+ * <p>
+ * Unlike {@link AddressBook}, changes made to this book aren't published.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class PartitionedAddressBook {
+
+  private final AddressBook[] partitions;
+
+  /**
+   * Constructor for this class. The book starts off empty.
+   * @param partitionCount How many partitions contacts are split between
+   */
+  public PartitionedAddressBook(int partitionCount) {
+    if (partitionCount < 1) {
+      throw new IllegalArgumentException("Partition count must be positive: " + partitionCount);
+    }
+    partitions = new AddressBook[partitionCount];
+    for (int i = 0; i < partitionCount; i++) {
+      partitions[i] = new AddressBook();
+    }
+  }
+
+  /**
+   * Constructor for this class, which has four partitions per core. The book starts off empty.
+   */
+  public PartitionedAddressBook() {
+    this(Runtime.getRuntime().availableProcessors() * 4);
+  }
+
+  /**
+   * Get how many partitions contacts are split between.
+   * @return The number of partitions
+   */
+  public int getPartitionCount() {
+    return partitions.length;
+  }
+
+  /**
+   * Finds the partition a contact belongs to. The highest bits of the hash are used, since each partition's own map
+   * uses the lowest ones.
+   */
+  private int partitionOf(UUID id) {
+    return (int) (((UuidMap.hash(id) & 0xFFFFFFFFL) * partitions.length) >>> 32);
+  }
+
+  private AddressBook partition(UUID id) {
+    return partitions[partitionOf(id)];
+  }
+
+  /**
+   * Adds a new address entry to this book.
+   * @param entry The address entry to add
+   * @return True if the entry did not encounter an internal ID conflict and was successfully added, false otherwise
+   */
+  public boolean add(ImmutableAddressEntry entry) {
+    AddressBook partition = partition(entry.getId());
+    synchronized (partition) {
+      return partition.add(entry);
+    }
+  }
+
+  /**
+   * Adds many new address entries to this book at once. Entries are sorted into their partitions first, and then every
+   * partition adds its entries in parallel, locking it only once.
+   * @param entries The address entries to add
+   * @return How many entries were added, which is fewer than given if some of their IDs were already in this book
+   */
+  public int addAll(Collection<ImmutableAddressEntry> entries) {
+    List<List<ImmutableAddressEntry>> groups = new ArrayList<>(partitions.length);
+    for (int i = 0; i < partitions.length; i++) {
+      groups.add(new ArrayList<>(entries.size() / partitions.length + 16));
+    }
+    for (ImmutableAddressEntry entry : entries) {
+      groups.get(partitionOf(entry.getId())).add(entry);
+    }
+    return IntStream.range(0, partitions.length).parallel().map(i -> {
+      AddressBook partition = partitions[i];
+      int added = 0;
+      synchronized (partition) {
+        for (ImmutableAddressEntry entry : groups.get(i)) {
+          if (partition.add(entry)) {
+            added++;
+          }
+        }
+      }
+      return added;
+    }).sum();
+  }
+
+  /**
+   * Replaces a stored entry with an updated version of it. The entry to replace is selected by the ID of the specified
+   * entry.
+   * @param entry The updated address entry
+   * @return True if an entry with the same ID was found and replaced, false if no entry has that ID
+   */
+  public boolean update(ImmutableAddressEntry entry) {
+    AddressBook partition = partition(entry.getId());
+    synchronized (partition) {
+      return partition.update(entry);
+    }
+  }
+
+  /**
+   * Removes an entry from this book.
+   * @param id The ID of the entry to remove
+   * @return True if the entry was found and removed, false otherwise
+   */
+  public boolean remove(UUID id) {
+    AddressBook partition = partition(id);
+    synchronized (partition) {
+      return partition.remove(id);
+    }
+  }
+
+  /**
+   * Gets a single entry based on the specified ID.
+   * @param id The ID of the entry
+   * @return The entry, or <code>null</code> if no entry has that ID
+   */
+  public ImmutableAddressEntry getImmutable(UUID id) {
+    AddressBook partition = partition(id);
+    synchronized (partition) {
+      return partition.getImmutable(id);
+    }
+  }
+
+  /**
+   * Get the number of entries in this book.
+   * @return The number of entries
+   */
+  public int count() {
+    int count = 0;
+    for (AddressBook partition : partitions) {
+      synchronized (partition) {
+        count += partition.count();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get the number of entries whose last name starts with a prefix.
+   * @param startOfLastName Will match any entry whose last name starts with this (case insensitive)
+   * @return The number of matching entries
+   */
+  public int count(String startOfLastName) {
+    int count = 0;
+    for (AddressBook partition : partitions) {
+      synchronized (partition) {
+        count += partition.count(startOfLastName);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Finds every entry whose last name starts with a prefix, the same way as {@link AddressBook#findImmutable(String)}.
+   * @param startOfLastName Will match any entry whose last name starts with this (case insensitive)
+   * @return A sorted list of all matching entries. The list will be empty if none were found.
+   */
+  public List<ImmutableAddressEntry> findImmutable(String startOfLastName) {
+    return findImmutable(startOfLastName, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Finds a page of the entries whose last name starts with a prefix, the same way as
+   * {@link AddressBook#findImmutable(String, int, int)}. Every partition finds its first <code>offset + limit</code>
+   * matches in parallel, and those are merged in order until the page is full.
+   * @param startOfLastName Will match any entry whose last name starts with this (case insensitive)
+   * @param offset How many of the matching entries to skip
+   * @param limit The most entries to return
+   * @return A sorted list of the matching entries in the page
+   */
+  @SuppressWarnings("unchecked")
+  public List<ImmutableAddressEntry> findImmutable(String startOfLastName, int offset, int limit) {
+    if (offset < 0 || limit < 0) {
+      throw new IllegalArgumentException("Offset and limit cannot be negative: " + offset + ", " + limit);
+    }
+    int needed = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+    List<List<ImmutableAddressEntry>> results = Arrays.asList(new List[partitions.length]);
+    IntStream.range(0, partitions.length).parallel().forEach(i -> {
+      AddressBook partition = partitions[i];
+      synchronized (partition) {
+        results.set(i, partition.findImmutable(startOfLastName, 0, needed));
+      }
+    });
+    return merge(results, offset, limit);
+  }
+
+  /**
+   * Merges sorted lists into one, skipping the first <code>offset</code> entries and stopping after <code>limit</code>.
+   */
+  private static List<ImmutableAddressEntry> merge(List<List<ImmutableAddressEntry>> lists, int offset, int limit) {
+    // each cursor is a list and the position of the next entry in it, and the queue holds one per unfinished list
+    PriorityQueue<int[]> cursors = new PriorityQueue<>(lists.size(),
+      (a, b) -> LastNameIndex.ORDER.compare(lists.get(a[0]).get(a[1]), lists.get(b[0]).get(b[1])));
+    int total = 0;
+    for (int i = 0; i < lists.size(); i++) {
+      total += lists.get(i).size();
+      if (!lists.get(i).isEmpty()) {
+        cursors.add(new int[] {i, 0});
+      }
+    }
+    List<ImmutableAddressEntry> merged = new ArrayList<>(Math.max(0, Math.min(limit, total - offset)));
+    int skipped = 0;
+    while (merged.size() < limit && !cursors.isEmpty()) {
+      int[] cursor = cursors.poll();
+      List<ImmutableAddressEntry> list = lists.get(cursor[0]);
+      if (skipped < offset) {
+        skipped++;
+      } else {
+        merged.add(list.get(cursor[1]));
+      }
+      if (++cursor[1] < list.size()) {
+        cursors.add(cursor);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Removes every entry from this book.
+   */
+  public void clear() {
+    for (AddressBook partition : partitions) {
+      synchronized (partition) {
+        partition.clear();
+      }
+    }
+  }
+
+}
@@ -1,8 +1,10 @@
 package address;
 
 import address.data.AddressEntry;
+import address.validation.ContactValidator;
+import address.validation.ValidationResult;
 
-import java.util.regex.Pattern;
+import java.io.PrintStream;
 
 /**
  * A collection of utility methods used throughout this application.
@@ -18,8 +20,12 @@ public class Utils {
       LEVEL_WARN = "WARN",
       LEVEL_ERROR = "ERROR";
 
+  /** Where log messages are printed */
+  private static volatile PrintStream logOutput = System.out;
+
   /**
-   * Prints out a formatted message to {@link System#out} in the following format:
+   * Prints out a formatted message to {@link System#out} (unless changed with {@link #setLogOutput(PrintStream)}) in
+   * the following format:
    * <pre>[{level}] {message}</pre>
    * @param level The level of importance of the message. More of an aesthetic choice than anything
    * @param pattern The pattern of the formatted message utilizing the rules of
@@ -34,7 +40,16 @@ public class Utils {
    * @see #error(Throwable, String, Object...)
    */
   public static void log(String level, String pattern, Object... args) {
-    System.out.printf("[%s] %s%n", level, String.format(pattern, args));
+    logOutput.printf("[%s] %s%n", level, String.format(pattern, args));
+  }
+
+  /**
+   * Changes where log messages are printed, such as to {@link System#err} when {@link System#out} is used for
+   * something else.
+   * @param output Where to print log messages from now on
+   */
+  public static void setLogOutput(PrintStream output) {
+    logOutput = output;
   }
 
   /**
@@ -69,7 +84,7 @@ public class Utils {
    */
   public static void warn(Throwable t, String pattern, Object... args) {
     warn(pattern, args);
-    t.printStackTrace(System.out);
+    t.printStackTrace(logOutput);
   }
 
   /**
@@ -94,21 +109,19 @@ public class Utils {
    */
   public static void error(Throwable t, String pattern, Object... args) {
     error(pattern, args);
-    t.printStackTrace(System.out);
+    t.printStackTrace(logOutput);
   }
 
-  // simple, but gets the job done. essentially checks if there is at least 1 character for each part of the email
-  private static final Pattern EMAIL_PATTERN = Pattern.compile("^.+@.+\\..+$");
-
   /**
    * Checks whether or not the specified email address is a valid one. It's not an exhaustive check, but it'll conform
    * to most resolvable email addresses encountered in a production environment.
    * @param email The email address to validate
    * @return Whether the email address has at least 1 character for each part (the local-part, the domain name, and the
    * domain extension).
+   * @see ContactValidator#isEmailValid(String)
    */
   public static boolean isEmailValid(String email) {
-    return EMAIL_PATTERN.matcher(email).matches();
+    return ContactValidator.isEmailValid(email);
   }
 
   /**
@@ -117,13 +130,7 @@ public class Utils {
    * @return Whether the phone number contains at least 10 digits (0-9)
    */
   public static boolean isPhoneNumberValid(String phone) {
-    int digitsCount = 0;
-    for (int i = 0; i < phone.length(); i++) {
-      if (Character.isDigit(phone.charAt(i))) {
-        digitsCount++;
-      }
-    }
-    return digitsCount >= 10;
+    return ContactValidator.countDigits(phone) >= 10;
   }
 
   /**
@@ -141,33 +148,13 @@ public class Utils {
    * </ul>
    * @param entry The entry to validate
    * @throws IllegalArgumentException If the entry is considered invalid. The message will contain the reasoning as to
-   *                                  why.
+   *                                  why. Only the first invalid field is mentioned; use {@link ContactValidator}
+   *                                  to find all of them.
    */
   public static void validateAddressEntry(AddressEntry entry) throws IllegalArgumentException {
-    if (entry.getName().getFirstName().isEmpty()) {
-      throw new IllegalArgumentException("First name cannot be empty");
-    }
-    if (entry.getName().getLastName().isEmpty()) {
-      throw new IllegalArgumentException("Last name cannot be empty");
-    }
-    if (entry.getAddress().getStreet().isEmpty()) {
-      throw new IllegalArgumentException("Street address cannot be empty");
-    }
-    if (entry.getAddress().getCity().isEmpty()) {
-      throw new IllegalArgumentException("City name cannot be empty");
-    }
-    if (entry.getAddress().getState().length() != 2) {
-      throw new IllegalArgumentException("State code must be 2 characters");
-    }
-    int zip = entry.getAddress().getZip();
-    if (zip < 10000 || zip > 99999) {
-      throw new IllegalArgumentException("Zip code must be 5 characters");
-    }
-    if (!isPhoneNumberValid(entry.getPhone())) {
-      throw new IllegalArgumentException("Phone number must have at least 10 digits");
-    }
-    if (!isEmailValid(entry.getEmail())) {
-      throw new IllegalArgumentException("Improperly formatted email address");
+    ValidationResult result = new ValidationResult();
+    if (!ContactValidator.validate(entry, result)) {
+      throw new IllegalArgumentException(result.getFirstFailure().getMessage());
     }
   }
 
@@ -0,0 +1,526 @@
+package address.cli;
+
+import address.AddressBook;
+import address.Utils;
+import address.data.ImmutableAddressEntry;
+import address.io.ContactWriter;
+import address.io.CsvImporter;
+import address.replication.ReplicationFollower;
+import address.replication.ReplicationLeader;
+import address.server.ContactServer;
+import address.store.DatabaseSettings;
+import address.store.JdbcContactStore;
+import address.store.Mutation;
+import address.util.IdGenerator;
+import address.validation.ContactValidator;
+import address.validation.ValidationResult;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs a single command against the database without a window, for scripted jobs. Unlike the graphical application,
+ * contacts are never all loaded into an address book first; each command only connects to the database once it knows
+ * its arguments are valid, and only queries what it needs. Contacts are streamed to standard output as they're read,
+ * while log messages go to standard error.
+ * <p>
+ * The commands are:
+ * <ul>
+ *   <li><code>find &lt;prefix&gt; [--format csv|jsonl|vcf] [--limit n]</code> - writes every contact whose last name
+ *       starts with the prefix, ignoring case like {@link AddressBook#find(String)}</li>
+ *   <li><code>add --first .. --last .. --street .. --city .. --state .. --zip .. --phone .. --email ..</code> - adds a
+ *       contact and prints its ID</li>
+ *   <li><code>import &lt;file&gt; [--dedup]</code> - imports contacts from a CSV file, see {@link CsvImporter}</li>
+ *   <li><code>export &lt;file|-&gt; [--format csv|jsonl|vcf] [--gzip]</code> - exports every contact, to standard
+ *       output if the file is <code>-</code></li>
+ *   <li><code>stats</code> - prints how many contacts there are, in total and per state</li>
+ *   <li><code>serve [--port n] [--threads n] [--replicate port]</code> - loads every contact and serves them over HTTP
+ *       until stopped, see {@link ContactServer}. With <code>--replicate</code>, every change is also streamed to
+ *       followers connecting to that port, see {@link ReplicationLeader}.</li>
+ *   <li><code>follow &lt;host:port&gt; [--port n] [--threads n]</code> - keeps a copy of the contacts of a server
+ *       started with <code>--replicate</code>, without connecting to the database, and serves reads of them over HTTP
+ *       until stopped, see {@link ReplicationFollower}</li>
+ *   <li><code>help</code> - prints these commands</li>
+ * </ul>
+ * The database and credentials are read as described by {@link DatabaseSettings}.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public final class AddressBookCli {
+
+  /** Returned when the command succeeded */
+  public static final int EXIT_OK = 0;
+  /** Returned when the command failed, such as when the database couldn't be reached */
+  public static final int EXIT_FAILED = 1;
+  /** Returned when the command or its arguments are invalid */
+  public static final int EXIT_USAGE = 2;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int FETCH_SIZE = 1000;
+  private static final int DEFAULT_PORT = 8080;
+  private static final String USAGE = String.join(System.lineSeparator(),
+    "Usage: <command> [arguments]",
+    "Commands:",
+    "  find <prefix> [--format csv|jsonl|vcf] [--limit n]",
+    "      Writes every contact whose last name starts with the prefix, ignoring case, to standard output",
+    "  add --first <name> --last <name> --street <street> --city <city> --state <XX> --zip <zip> --phone <phone>",
+    "      --email <email>",
+    "      Adds a contact and prints its ID",
+    "  import <file> [--dedup]",
+    "      Imports contacts from a CSV file. With --dedup, contacts already in the database are skipped.",
+    "  export <file|-> [--format csv|jsonl|vcf] [--gzip]",
+    "      Exports every contact, to standard output if the file is -",
+    "  stats",
+    "      Prints how many contacts there are, in total and per state",
+    "  serve [--port n] [--threads n] [--replicate port]",
+    "      Loads every contact and serves them as a JSON API over HTTP until stopped. With --replicate, changes are",
+    "      also streamed to followers connecting to that port.",
+    "  follow <host:port> [--port n] [--threads n]",
+    "      Keeps a copy of the contacts of a server started with --replicate, and serves reads of them over HTTP",
+    "  help",
+    "      Prints this message",
+    "Credentials are read from ADDRESSBOOK_USER and ADDRESSBOOK_PASSWORD, or credentials.txt.");
+  /** Options that don't take a value */
+  private static final Set<String> FLAGS = new HashSet<>(Arrays.asList("gzip", "dedup"));
+  private static final String[] ADD_OPTIONS = {"first", "last", "street", "city", "state", "zip", "phone", "email"};
+
+  /** Thrown when a command or its arguments are invalid */
+  private static final class UsageException extends Exception {
+    UsageException(String message) {
+      super(message);
+    }
+  }
+
+  /** The arguments of a command, split into positional arguments and <code>--name value</code> options */
+  private static final class Arguments {
+
+    final List<String> positional = new ArrayList<>();
+    final Map<String, String> options = new HashMap<>();
+
+    Arguments(String[] args, int start) throws UsageException {
+      for (int i = start; i < args.length; i++) {
+        String arg = args[i];
+        if (!arg.startsWith("--")) {
+          positional.add(arg);
+          continue;
+        }
+        String name = arg.substring(2);
+        if (FLAGS.contains(name)) {
+          options.put(name, "true");
+        } else if (i + 1 < args.length) {
+          options.put(name, args[++i]);
+        } else {
+          throw new UsageException("Missing value for " + arg);
+        }
+      }
+    }
+
+    String positional(int index, String name) throws UsageException {
+      if (index >= positional.size()) {
+        throw new UsageException("Missing " + name);
+      }
+      return positional.get(index);
+    }
+
+    String option(String name, String fallback) {
+      return options.getOrDefault(name, fallback);
+    }
+
+    boolean flag(String name) {
+      return options.containsKey(name);
+    }
+
+    /** Rejects anything not used by the command, so that typos aren't silently ignored */
+    void expect(int positionalCount, String... names) throws UsageException {
+      if (positional.size() > positionalCount) {
+        throw new UsageException("Unexpected argument " + positional.get(positionalCount));
+      }
+      Set<String> unknown = new TreeSet<>(options.keySet());
+      unknown.removeAll(Arrays.asList(names));
+      if (!unknown.isEmpty()) {
+        throw new UsageException("Unknown option --" + unknown.iterator().next());
+      }
+    }
+
+  }
+
+  private final JdbcContactStore.ConnectionFactory factory;
+  private final PrintStream out;
+  private final PrintStream err;
+
+  /**
+   * Constructor for this class.
+   * @param factory Connects to the database. Only used by commands that need the database, once their arguments have
+   *                been checked.
+   * @param out Where results are written
+   * @param err Where errors are written
+   */
+  public AddressBookCli(JdbcContactStore.ConnectionFactory factory, PrintStream out, PrintStream err) {
+    this.factory = factory;
+    this.out = out;
+    this.err = err;
+  }
+
+  /**
+   * The main entry point of the command-line application. Exits with {@link #EXIT_OK}, {@link #EXIT_FAILED} or
+   * {@link #EXIT_USAGE}.
+   * @param args A command and its arguments
+   */
+  public static void main(String[] args) {
+    System.exit(run(args));
+  }
+
+  /**
+   * Runs a command using the database and credentials described by {@link DatabaseSettings}, writing results to
+   * {@link System#out}, and errors and log messages to {@link System#err}.
+   * @param args A command and its arguments
+   * @return {@link #EXIT_OK}, {@link #EXIT_FAILED} or {@link #EXIT_USAGE}
+   */
+  public static int run(String[] args) {
+    Utils.setLogOutput(System.err);
+    JdbcContactStore.ConnectionFactory factory = () -> {
+      DatabaseSettings settings;
+      try {
+        settings = DatabaseSettings.load();
+      } catch (IOException e) {
+        throw new SQLException("Could not read credentials: " + e, e);
+      }
+      return settings.connectionFactory().connect();
+    };
+    return new AddressBookCli(factory, System.out, System.err).execute(args);
+  }
+
+  /**
+   * Runs a command.
+   * @param args The command and its arguments
+   * @return {@link #EXIT_OK}, {@link #EXIT_FAILED} or {@link #EXIT_USAGE}
+   */
+  public int execute(String... args) {
+    if (args.length == 0) {
+      err.println(USAGE);
+      return EXIT_USAGE;
+    }
+    try {
+      Arguments arguments = new Arguments(args, 1);
+      switch (args[0]) {
+        case "find": return find(arguments);
+        case "add": return add(arguments);
+        case "import": return importFile(arguments);
+        case "export": return export(arguments);
+        case "stats": return stats(arguments);
+        case "serve": return serve(arguments);
+        case "follow": return follow(arguments);
+        case "help":
+        case "--help":
+        case "-h":
+          out.println(USAGE);
+          return EXIT_OK;
+        default:
+          throw new UsageException("Unknown command " + args[0]);
+      }
+    } catch (UsageException e) {
+      err.println(e.getMessage());
+      err.println("Run with 'help' to see every command");
+      return EXIT_USAGE;
+    } catch (IOException | SQLException e) {
+      Utils.error(e, "%s failed", args[0]);
+      return EXIT_FAILED;
+    } finally {
+      out.flush();
+    }
+  }
+
+  /**
+   * Turns a prefix into a <code>LIKE</code> pattern matching every string that starts with it, escaping the wildcards
+   * <code>%</code> and <code>_</code> with a backslash.
+   * @param prefix The prefix, taken literally
+   * @return The pattern
+   */
+  public static String likePrefix(String prefix) {
+    StringBuilder pattern = new StringBuilder(prefix.length() + 2);
+    for (int i = 0; i < prefix.length(); i++) {
+      char c = prefix.charAt(i);
+      if (c == '%' || c == '_' || c == '\\') {
+        pattern.append('\\');
+      }
+      pattern.append(c);
+    }
+    return pattern.append('%').toString();
+  }
+
+  private static ContactWriter.Format parseFormat(String name) throws UsageException {
+    for (ContactWriter.Format format : ContactWriter.Format.values()) {
+      if (format.getExtension().equalsIgnoreCase(name)) {
+        return format;
+      }
+    }
+    throw new UsageException("Unknown format " + name);
+  }
+
+  private static int parseInt(String value, String name) throws UsageException {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new UsageException("Invalid " + name + ": " + value);
+    }
+  }
+
+  /**
+   * Opens a writer to {@link #out} that never closes it.
+   */
+  private ContactWriter openOut(ContactWriter.Format format, boolean gzip) throws IOException {
+    OutputStream stream = new FilterOutputStream(out) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        flush();
+      }
+    };
+    if (gzip) {
+      stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+    }
+    return format.create(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE));
+  }
+
+  private int find(Arguments args) throws UsageException, IOException, SQLException {
+    args.expect(1, "format", "limit");
+    String prefix = args.positional(0, "last name prefix");
+    ContactWriter.Format format = parseFormat(args.option("format", "csv"));
+    int limit = parseInt(args.option("limit", "0"), "limit");
+    try (Connection conn = factory.connect();
+         PreparedStatement stmt = conn.prepareStatement(
+           "SELECT * FROM ADDRESSENTRYTABLE WHERE UPPER(LASTNAME) LIKE UPPER(?) ESCAPE '\\' "
+             + "ORDER BY LASTNAME, FIRSTNAME");
+         ContactWriter writer = openOut(format, false)) {
+      stmt.setFetchSize(FETCH_SIZE);
+      stmt.setMaxRows(Math.max(0, limit));
+      stmt.setString(1, likePrefix(prefix));
+      try (ResultSet rs = stmt.executeQuery()) {
+        while (rs.next()) {
+          writer.write(JdbcContactStore.readContact(rs));
+        }
+      }
+      Utils.info("Found %d contacts", writer.getCount());
+    }
+    return EXIT_OK;
+  }
+
+  private int add(Arguments args) throws UsageException, SQLException {
+    args.expect(0, ADD_OPTIONS);
+    for (String name : ADD_OPTIONS) {
+      if (!args.options.containsKey(name)) {
+        throw new UsageException("Missing --" + name);
+      }
+    }
+    ImmutableAddressEntry entry = ImmutableAddressEntry.builder()
+      .id(IdGenerator.getDefault().next())
+      .firstName(args.option("first", "").trim())
+      .lastName(args.option("last", "").trim())
+      .street(args.option("street", "").trim())
+      .city(args.option("city", "").trim())
+      .state(args.option("state", "").trim())
+      .zip(parseInt(args.option("zip", ""), "zip"))
+      .phone(args.option("phone", "").trim())
+      .email(args.option("email", "").trim())
+      .build();
+    int failures = ContactValidator.validate(entry);
+    if (failures != 0) {
+      err.println("Invalid contact: " + ValidationResult.describe(failures));
+      return EXIT_FAILED;
+    }
+    try (JdbcContactStore store = new JdbcContactStore(factory.connect())) {
+      store.write(Collections.singletonList(Mutation.insert(entry)));
+    }
+    out.println(entry.getId());
+    return EXIT_OK;
+  }
+
+  private int importFile(Arguments args) throws UsageException, IOException, SQLException {
+    args.expect(1, "dedup");
+    Path file = Paths.get(args.positional(0, "file"));
+    try (JdbcContactStore store = new JdbcContactStore(factory.connect())) {
+      List<ImmutableAddressEntry> existing = new ArrayList<>();
+      // only read the whole table when asked to, as most imports are of contacts that are all new
+      if (args.flag("dedup")) {
+        try (Statement stmt = store.getConnection().createStatement()) {
+          stmt.setFetchSize(FETCH_SIZE);
+          try (ResultSet rs = stmt.executeQuery("SELECT * FROM ADDRESSENTRYTABLE")) {
+            while (rs.next()) {
+              existing.add(JdbcContactStore.readContact(rs));
+            }
+          }
+        }
+        Utils.info("Read %d existing contacts", existing.size());
+      }
+      CsvImporter.Result result = new CsvImporter(store).importFrom(file, existing);
+      result.getRejects().forEach(reject -> err.println("Rejected " + reject));
+      out.println("Imported " + result);
+      if (result.getError() != null) {
+        Utils.error(result.getError(), "Import of %s stopped early", file);
+        return EXIT_FAILED;
+      }
+    }
+    return EXIT_OK;
+  }
+
+  private int export(Arguments args) throws UsageException, IOException, SQLException {
+    args.expect(1, "format", "gzip");
+    String target = args.positional(0, "file");
+    boolean toOut = target.equals("-");
+    boolean gzip = args.flag("gzip");
+    String formatName = args.option("format", null);
+    if (formatName == null) {
+      // guess the format from the file's extension, ignoring a trailing .gz
+      String name = toOut ? "" : target.toLowerCase(Locale.ROOT);
+      if (name.endsWith(".gz")) {
+        name = name.substring(0, name.length() - 3);
+        gzip = true;
+      }
+      int dot = name.lastIndexOf('.');
+      formatName = dot == -1 ? "csv" : name.substring(dot + 1);
+    }
+    ContactWriter.Format format = parseFormat(formatName);
+    long start = System.nanoTime();
+    try (Connection conn = factory.connect();
+         Statement stmt = conn.createStatement();
+         ContactWriter writer = toOut ? openOut(format, gzip) : ContactWriter.open(Paths.get(target), format, gzip)) {
+      stmt.setFetchSize(FETCH_SIZE);
+      try (ResultSet rs = stmt.executeQuery("SELECT * FROM ADDRESSENTRYTABLE ORDER BY LASTNAME, FIRSTNAME")) {
+        while (rs.next()) {
+          writer.write(JdbcContactStore.readContact(rs));
+        }
+      }
+      Utils.info("Exported %d contacts to %s in %d ms", writer.getCount(), toOut ? "standard output" : target,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+    return EXIT_OK;
+  }
+
+  private int stats(Arguments args) throws UsageException, SQLException {
+    args.expect(0);
+    try (Connection conn = factory.connect(); Statement stmt = conn.createStatement()) {
+      long total = 0;
+      StringBuilder states = new StringBuilder();
+      try (ResultSet rs = stmt.executeQuery(
+        "SELECT STATE, COUNT(*) FROM ADDRESSENTRYTABLE GROUP BY STATE ORDER BY COUNT(*) DESC, STATE")) {
+        while (rs.next()) {
+          long count = rs.getLong(2);
+          total += count;
+          states.append(String.format("  %-4s %d%n", rs.getString(1), count));
+        }
+      }
+      out.printf("Contacts: %d%n", total);
+      out.print(states);
+    }
+    return EXIT_OK;
+  }
+
+  private static int parseThreads(Arguments args) throws UsageException {
+    int threads = parseInt(args.option("threads", Integer.toString(Runtime.getRuntime().availableProcessors() * 4)),
+      "threads");
+    if (threads < 1) {
+      throw new UsageException("Invalid threads: " + threads);
+    }
+    return threads;
+  }
+
+  /**
+   * Blocks until the application is stopped, then closes everything given, in order.
+   */
+  private static void awaitShutdown(Closeable... resources) {
+    CountDownLatch stopped = new CountDownLatch(1);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      Utils.info("Stopping server...");
+      for (Closeable resource : resources) {
+        try {
+          resource.close();
+        } catch (IOException e) {
+          Utils.warn(e, "Could not close %s", resource);
+        }
+      }
+      stopped.countDown();
+    }));
+    try {
+      stopped.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private int serve(Arguments args) throws UsageException, IOException, SQLException {
+    args.expect(0, "port", "threads", "replicate");
+    int port = parseInt(args.option("port", Integer.toString(DEFAULT_PORT)), "port");
+    int threads = parseThreads(args);
+    String replicate = args.option("replicate", null);
+    int replicationPort = replicate == null ? -1 : parseInt(replicate, "replication port");
+    long start = System.nanoTime();
+    AddressBook book = new AddressBook();
+    JdbcContactStore store = new JdbcContactStore(factory.connect(), factory);
+    try (Statement stmt = store.getConnection().createStatement()) {
+      stmt.setFetchSize(FETCH_SIZE);
+      try (ResultSet rs = stmt.executeQuery("SELECT * FROM ADDRESSENTRYTABLE")) {
+        while (rs.next()) {
+          book.add(JdbcContactStore.readContact(rs));
+        }
+      }
+    } catch (SQLException e) {
+      store.close();
+      throw e;
+    }
+    Utils.info("Loaded %d contacts in %d ms", book.count(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    ReplicationLeader leader = null;
+    if (replicate != null) {
+      leader = new ReplicationLeader(book, new InetSocketAddress(replicationPort));
+      leader.start();
+    }
+    ContactServer server = new ContactServer(book, store, new InetSocketAddress(port), threads);
+    server.start();
+    Closeable closeStore = () -> {
+      try {
+        store.close();
+      } catch (SQLException e) {
+        Utils.warn(e, "Could not close database connection");
+      }
+    };
+    if (leader != null) {
+      awaitShutdown(server, leader, closeStore);
+    } else {
+      awaitShutdown(server, closeStore);
+    }
+    return EXIT_OK;
+  }
+
+  private int follow(Arguments args) throws UsageException, IOException {
+    args.expect(1, "port", "threads");
+    String leaderAddress = args.positional(0, "leader address");
+    int colon = leaderAddress.lastIndexOf(':');
+    if (colon <= 0) {
+      throw new UsageException("Leader address must be host:port: " + leaderAddress);
+    }
+    int leaderPort = parseInt(leaderAddress.substring(colon + 1), "leader port");
+    int port = parseInt(args.option("port", Integer.toString(DEFAULT_PORT)), "port");
+    int threads = parseThreads(args);
+    AddressBook book = new AddressBook();
+    // the follower changes the book while holding its monitor, so the server locks the same thing
+    ContactServer server = new ContactServer(book, null, book, new InetSocketAddress(port), threads);
+    ReplicationFollower follower = new ReplicationFollower(book,
+      new InetSocketAddress(leaderAddress.substring(0, colon), leaderPort));
+    follower.start();
+    server.start();
+    awaitShutdown(server, follower);
+    return EXIT_OK;
+  }
+
+}
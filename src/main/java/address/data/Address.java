@@ -17,6 +17,8 @@ public class Address {
   private String state;
   /** ZIP code (5 digits) */
   private int zip;
+  /** Cached hash code, or 0 if it hasn't been computed since the last change */
+  private int hash;
 
   /**
    * The "fill-all" constructor for this class. Each passed argument will initialize each corresponding field as-is.
@@ -71,14 +73,32 @@ public class Address {
    */
   @Override
   public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
     if (obj instanceof Address) {
       Address address = (Address) obj;
-      return Objects.equals(address.street, street) && Objects.equals(address.city, city) &&
-        Objects.equals(address.state, state) && address.zip == zip;
+      return address.zip == zip && address.hashCode() == hashCode() && Objects.equals(address.street, street) &&
+        Objects.equals(address.city, city) && Objects.equals(address.state, state);
     }
     return false;
   }
 
+  /**
+   * Computes a hash code consistent with {@link #equals(Object)}. The result is cached until any part of this address
+   * is changed.
+   * @return The hash code of this address
+   */
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0) {
+      h = Objects.hash(street, city, state, zip);
+      hash = h;
+    }
+    return h;
+  }
+
   /**
    * Get the street address of this address.
    * @return This address's street address
@@ -93,6 +113,7 @@ public class Address {
    */
   public void setStreet(String street) {
     this.street = street;
+    hash = 0;
   }
 
   /**
@@ -109,6 +130,7 @@ public class Address {
    */
   public void setCity(String city) {
     this.city = city;
+    hash = 0;
   }
 
   /**
@@ -125,6 +147,7 @@ public class Address {
    */
   public void setState(String state) {
     this.state = state;
+    hash = 0;
   }
 
   /**
@@ -141,5 +164,6 @@ public class Address {
    */
   public void setZip(int zip) {
     this.zip = zip;
+    hash = 0;
   }
 }
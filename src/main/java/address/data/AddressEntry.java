@@ -20,6 +20,12 @@ public class AddressEntry implements Comparable<AddressEntry> {
   private String phone;
   /** The email address of this contact/ */
   private String email;
+  /**
+   * Cached hash code of only the <code>id</code>, <code>phone</code>, and <code>email</code> fields, or 0 if it hasn't
+   * been computed since the last change. The name and address cache their own hash codes, and can be changed without
+   * this entry knowing about it, so they're left out.
+   */
+  private int hash;
 
   /**
    * The "fill-all" constructor of the address entry class. Every passed argument will initialize the corresponding
@@ -81,7 +87,8 @@ public class AddressEntry implements Comparable<AddressEntry> {
   }
 
   /**
-   * To test for value or reference equality.
+   * To test for value or reference equality. Checks are done from cheapest to most expensive: reference, then hash
+   * code, then ID, then every other field.
    * @param obj The object to test against.
    * @return Whether the specified object refers to the same reference as this object or if the specified object is an
    * instance of this object and its <code>id</code>, <code>name</code>, <code>address</code>, <code>phone</code>, and
@@ -94,13 +101,28 @@ public class AddressEntry implements Comparable<AddressEntry> {
     }
     if (obj instanceof AddressEntry) {
       AddressEntry entry = (AddressEntry) obj;
-      return Objects.equals(entry.id, id) && Objects.equals(entry.name, name) &&
+      return entry.hashCode() == hashCode() && Objects.equals(entry.id, id) && Objects.equals(entry.name, name) &&
         Objects.equals(entry.address, address) && Objects.equals(entry.phone, phone) &&
         Objects.equals(entry.email, email);
     }
     return false;
   }
 
+  /**
+   * Computes a hash code consistent with {@link #equals(Object)}. Every part of the result is cached, so calling this
+   * repeatedly is cheap.
+   * @return The hash code of this entry
+   */
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0) {
+      h = Objects.hash(id, phone, email);
+      hash = h;
+    }
+    return 31 * (31 * h + Objects.hashCode(name)) + Objects.hashCode(address);
+  }
+
   /**
    * Compare this entry's name to another. Mainly used for sorting purposes.
    * @param other The contact object to compare against
@@ -135,6 +157,7 @@ public class AddressEntry implements Comparable<AddressEntry> {
    */
   public void setId(UUID id) {
     this.id = id;
+    hash = 0;
   }
 
   /**
@@ -183,6 +206,7 @@ public class AddressEntry implements Comparable<AddressEntry> {
    */
   public void setPhone(String phone) {
     this.phone = phone;
+    hash = 0;
   }
 
   /**
@@ -199,6 +223,7 @@ public class AddressEntry implements Comparable<AddressEntry> {
    */
   public void setEmail(String email) {
     this.email = email;
+    hash = 0;
   }
 
 }
@@ -0,0 +1,320 @@
+package address.data;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * An unmodifiable counterpart to {@link AddressEntry}. Since none of its fields can ever change, instances can be
+ * freely shared between readers (and threads) without having to copy them first, and the hash code is computed once
+ * upon creation. Edits are done by creating a modified copy through {@link #toBuilder()}.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see AddressEntry
+ */
+public final class ImmutableAddressEntry implements Comparable<ImmutableAddressEntry> {
+
+  private final UUID id;
+  private final String firstName;
+  private final String lastName;
+  private final String street;
+  private final String city;
+  private final String state;
+  private final int zip;
+  private final String phone;
+  private final String email;
+  private final long version;
+  private final int hash;
+
+  private ImmutableAddressEntry(Builder builder) {
+    id = builder.id;
+    firstName = builder.firstName;
+    lastName = builder.lastName;
+    street = builder.street;
+    city = builder.city;
+    state = builder.state;
+    zip = builder.zip;
+    phone = builder.phone;
+    email = builder.email;
+    version = builder.version;
+    hash = Objects.hash(id, firstName, lastName, street, city, state, zip, phone, email);
+  }
+
+  /**
+   * Creates an unmodifiable copy of a mutable address entry.
+   * @param entry The entry to copy
+   * @return An unmodifiable copy of the entry
+   */
+  public static ImmutableAddressEntry of(AddressEntry entry) {
+    Name name = entry.getName();
+    Address address = entry.getAddress();
+    return builder()
+      .id(entry.getId())
+      .firstName(name.getFirstName())
+      .lastName(name.getLastName())
+      .street(address.getStreet())
+      .city(address.getCity())
+      .state(address.getState())
+      .zip(address.getZip())
+      .phone(entry.getPhone())
+      .email(entry.getEmail())
+      .build();
+  }
+
+  /**
+   * Creates a new builder in which all string-based fields are empty and the zip code is 0, mirroring
+   * {@link AddressEntry#AddressEntry()}.
+   * @return A new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Creates a new builder that starts off with all the values of this entry, for creating a modified copy of it.
+   * @return A new builder
+   */
+  public Builder toBuilder() {
+    return new Builder()
+      .id(id)
+      .firstName(firstName)
+      .lastName(lastName)
+      .street(street)
+      .city(city)
+      .state(state)
+      .zip(zip)
+      .phone(phone)
+      .email(email)
+      .version(version);
+  }
+
+  /**
+   * Creates a mutable copy of this entry. Changes to the copy have no effect on this entry.
+   * @return A new mutable address entry with the same values as this one
+   */
+  public AddressEntry toEntry() {
+    return new AddressEntry(id, new Name(firstName, lastName), new Address(street, city, state, zip), phone, email);
+  }
+
+  /**
+   * Creates a string representation of this entry, formatted exactly like {@link AddressEntry#toString()}.
+   * @return A fully string-formatted address entry
+   */
+  @Override
+  public String toString() {
+    return lastName + ", " + firstName + '\n' +
+      '\t' + street + '\n' +
+      '\t' + city + ", " + state + " " + zip + '\n' +
+      '\t' + email + '\n' +
+      '\t' + phone;
+  }
+
+  /**
+   * To test for value or reference equality. Since hash codes are precomputed, entries that differ are usually
+   * rejected without comparing any of their fields.
+   * @param obj The object to test against
+   * @return Whether the specified object is an {@link ImmutableAddressEntry} with the same values as this one. The
+   *         {@link #getVersion() version} isn't compared, since it isn't part of the contact's information.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof ImmutableAddressEntry) {
+      ImmutableAddressEntry other = (ImmutableAddressEntry) obj;
+      return other.hash == hash && Objects.equals(other.id, id) && Objects.equals(other.firstName, firstName) &&
+        Objects.equals(other.lastName, lastName) && Objects.equals(other.street, street) &&
+        Objects.equals(other.city, city) && Objects.equals(other.state, state) && other.zip == zip &&
+        Objects.equals(other.phone, phone) && Objects.equals(other.email, email);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  /**
+   * Compare this entry's name to another, the same way that {@link Name#compareTo(Name)} does.
+   * @param other The entry to compare against
+   * @return A positive integer, zero, or a negative integer if this entry's name is lexicographically greater than,
+   *         equal to, or less than the argument's
+   */
+  @Override
+  public int compareTo(ImmutableAddressEntry other) {
+    return Name.compare(lastName, firstName, other.lastName, other.firstName);
+  }
+
+  /**
+   * Get the internal ID referring to this contact.
+   * @return This contact's internal ID
+   */
+  public UUID getId() {
+    return id;
+  }
+
+  /**
+   * Get the version of this contact's row in the database when it was read, which goes up by one every time the row
+   * is changed. Used to tell whether someone else changed the contact since, see
+   * {@link address.store.JdbcContactStore#update(ImmutableAddressEntry)}.
+   * @return The version, or 0 if this contact wasn't read from the database
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Get the first name of this contact.
+   * @return This contact's first name
+   */
+  public String getFirstName() {
+    return firstName;
+  }
+
+  /**
+   * Get the last name of this contact.
+   * @return This contact's last name
+   */
+  public String getLastName() {
+    return lastName;
+  }
+
+  /**
+   * Get the full name of this contact, formatted the same way as {@link Name#toString()}.
+   * @return A string formatted as <pre>{lastName}, {firstName}</pre>
+   */
+  public String getFullName() {
+    return lastName + ", " + firstName;
+  }
+
+  /**
+   * Get the street address of this contact.
+   * @return This contact's street address
+   */
+  public String getStreet() {
+    return street;
+  }
+
+  /**
+   * Get the city name of this contact.
+   * @return This contact's city name
+   */
+  public String getCity() {
+    return city;
+  }
+
+  /**
+   * Get the state code of this contact.
+   * @return This contact's state code
+   */
+  public String getState() {
+    return state;
+  }
+
+  /**
+   * Get the ZIP code of this contact.
+   * @return This contact's ZIP code
+   */
+  public int getZip() {
+    return zip;
+  }
+
+  /**
+   * Get the phone number of this contact.
+   * @return This contact's phone number
+   */
+  public String getPhone() {
+    return phone;
+  }
+
+  /**
+   * Get the e-mail address of this contact.
+   * @return This contact's e-mail address
+   */
+  public String getEmail() {
+    return email;
+  }
+
+  /**
+   * Used to create new instances of {@link ImmutableAddressEntry}, either from scratch or as a modified copy of an
+   * existing one.
+   * @see ImmutableAddressEntry#builder()
+   * @see ImmutableAddressEntry#toBuilder()
+   */
+  public static final class Builder {
+
+    private UUID id = null;
+    private String firstName = "";
+    private String lastName = "";
+    private String street = "";
+    private String city = "";
+    private String state = "";
+    private int zip = 0;
+    private String phone = "";
+    private String email = "";
+    private long version = 0;
+
+    private Builder() {}
+
+    public Builder id(UUID id) {
+      this.id = id;
+      return this;
+    }
+
+    public Builder firstName(String firstName) {
+      this.firstName = firstName;
+      return this;
+    }
+
+    public Builder lastName(String lastName) {
+      this.lastName = lastName;
+      return this;
+    }
+
+    public Builder street(String street) {
+      this.street = street;
+      return this;
+    }
+
+    public Builder city(String city) {
+      this.city = city;
+      return this;
+    }
+
+    public Builder state(String state) {
+      this.state = state;
+      return this;
+    }
+
+    public Builder zip(int zip) {
+      this.zip = zip;
+      return this;
+    }
+
+    public Builder phone(String phone) {
+      this.phone = phone;
+      return this;
+    }
+
+    public Builder email(String email) {
+      this.email = email;
+      return this;
+    }
+
+    public Builder version(long version) {
+      this.version = version;
+      return this;
+    }
+
+    /**
+     * Creates a new entry out of the values given to this builder. The builder can be reused afterwards.
+     * @return A new unmodifiable entry
+     */
+    public ImmutableAddressEntry build() {
+      return new ImmutableAddressEntry(this);
+    }
+
+  }
+
+}
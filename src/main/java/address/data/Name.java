@@ -13,6 +13,8 @@ public class Name implements Comparable<Name> {
   private String firstName;
   /** The last name */
   private String lastName;
+  /** Cached hash code, or 0 if it hasn't been computed since the last change */
+  private int hash;
 
   /**
    * The "fill-all" constructor for this object. Will initialize the first and last name to the specified arguments.
@@ -49,13 +51,31 @@ public class Name implements Comparable<Name> {
    */
   @Override
   public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
     if (obj instanceof Name) {
       Name other = (Name) obj;
-      return Objects.equals(other.firstName, firstName) && Objects.equals(other.lastName, lastName);
+      return other.hashCode() == hashCode() && Objects.equals(other.firstName, firstName) &&
+        Objects.equals(other.lastName, lastName);
     }
     return false;
   }
 
+  /**
+   * Computes a hash code consistent with {@link #equals(Object)}. The result is cached until either name is changed.
+   * @return The hash code of this name
+   */
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0) {
+      h = Objects.hash(firstName, lastName);
+      hash = h;
+    }
+    return h;
+  }
+
   /**
    * lexicographically compare the last name, then first name of this and another object.
    * @param other The name object to compare against
@@ -65,7 +85,26 @@ public class Name implements Comparable<Name> {
    */
   @Override
   public int compareTo(Name other) {
-    return (lastName + firstName).compareTo(other.lastName + other.firstName);
+    return compare(lastName, firstName, other.lastName, other.firstName);
+  }
+
+  /**
+   * Lexicographically compares two names as if each name's last and first name were concatenated, without actually
+   * creating the concatenated strings.
+   * @return The same result as <code>(lastName1 + firstName1).compareTo(lastName2 + firstName2)</code>
+   */
+  static int compare(String lastName1, String firstName1, String lastName2, String firstName2) {
+    int length1 = lastName1.length() + firstName1.length();
+    int length2 = lastName2.length() + firstName2.length();
+    int length = Math.min(length1, length2);
+    for (int i = 0; i < length; i++) {
+      char c1 = i < lastName1.length() ? lastName1.charAt(i) : firstName1.charAt(i - lastName1.length());
+      char c2 = i < lastName2.length() ? lastName2.charAt(i) : firstName2.charAt(i - lastName2.length());
+      if (c1 != c2) {
+        return c1 - c2;
+      }
+    }
+    return length1 - length2;
   }
 
   /**
@@ -82,6 +121,7 @@ public class Name implements Comparable<Name> {
    */
   public void setFirstName(String firstName) {
     this.firstName = firstName;
+    hash = 0;
   }
 
   /**
@@ -98,6 +138,7 @@ public class Name implements Comparable<Name> {
    */
   public void setLastName(String lastName) {
     this.lastName = lastName;
+    hash = 0;
   }
 
 }
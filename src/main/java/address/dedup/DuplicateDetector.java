@@ -0,0 +1,485 @@
+package address.dedup;
+
+import address.data.ImmutableAddressEntry;
+import address.search.Phonetics;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Finds contacts that are probably the same person entered more than once, even if they were spelled differently or
+ * given different IDs (e.g. <code>"Jon Smith"</code> and <code>"John Smith"</code> with the same phone number).
+ * <p>
+ * Comparing every contact with every other one would take far too long for a large book, so contacts are first put
+ * into blocks that share one of these keys, and only contacts in the same block are compared:
+ * <ul>
+ *   <li>The {@link Phonetics#soundex(String) Soundex code} of the last name together with the zip code</li>
+ *   <li>The last 10 digits of the phone number</li>
+ *   <li>The part of the email address before the <code>@</code>, ignoring case and any <code>+tag</code></li>
+ * </ul>
+ * Each pair of contacts sharing a block is then given a {@link #score(ImmutableAddressEntry, ImmutableAddressEntry)
+ * score} based on how similar their fields are, and the pairs scoring at least the threshold are grouped into clusters.
+ * If A matches B and B matches C, all three end up in the same cluster. Blocks are compared in parallel on a
+ * {@link ForkJoinPool}.
+ * <p>
+ * Blocks with more than a certain number of contacts are skipped, since a key that common (such as a placeholder phone
+ * number) says nothing about whether two contacts are the same, and comparing everything in it would take as long as
+ * not blocking at all.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class DuplicateDetector {
+
+  /** The score two contacts need by default to be considered duplicates */
+  public static final double DEFAULT_THRESHOLD = 0.85;
+  /** The most contacts a block can have by default before it's skipped */
+  public static final int DEFAULT_MAX_BLOCK_SIZE = 500;
+
+  // how much each field counts towards the score
+  private static final double
+    FIRST_NAME_WEIGHT = 0.3,
+    LAST_NAME_WEIGHT = 0.25,
+    STREET_WEIGHT = 0.1,
+    ZIP_WEIGHT = 0.05,
+    PHONE_WEIGHT = 0.15,
+    EMAIL_WEIGHT = 0.15;
+
+  /**
+   * Contacts are compared on however many fields both of them have, but if that's less than this much of the total
+   * weight, there isn't enough to go on and they're never considered duplicates.
+   */
+  private static final double MIN_WEIGHT = 0.5;
+
+  private static final int KEY_TYPES = 3;
+  /**
+   * Every key is packed into a long along with the index of its contact, so that all of them can be grouped into
+   * blocks by sorting a single array: 2 bits for the type of key, 38 bits for a hash of the key, and 24 bits for the
+   * index. Two different keys with the same hash only means a few extra pairs are compared.
+   */
+  private static final int INDEX_BITS = 24;
+  private static final int HASH_BITS = 38;
+  private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+  private static final long HASH_MASK = (1L << HASH_BITS) - 1;
+  /** Marks a contact that has no key of some type */
+  private static final long NO_KEY = -1;
+
+  /**
+   * The most contacts that can be checked at once.
+   */
+  public static final int MAX_SIZE = 1 << INDEX_BITS;
+
+  private final ForkJoinPool pool;
+  private final double threshold;
+  private final int maxBlockSize;
+
+  /**
+   * Constructor for this class.
+   * @param pool The pool to compare blocks on
+   * @param threshold The score, from 0 to 1, two contacts need to be considered duplicates
+   * @param maxBlockSize Blocks with more contacts than this are skipped
+   */
+  public DuplicateDetector(ForkJoinPool pool, double threshold, int maxBlockSize) {
+    if (threshold < 0 || threshold > 1) {
+      throw new IllegalArgumentException("Threshold must be between 0 and 1: " + threshold);
+    }
+    if (maxBlockSize < 2) {
+      throw new IllegalArgumentException("Blocks must be allowed at least 2 contacts: " + maxBlockSize);
+    }
+    this.pool = pool;
+    this.threshold = threshold;
+    this.maxBlockSize = maxBlockSize;
+  }
+
+  /**
+   * Constructor for this class, which compares blocks on the {@link ForkJoinPool#commonPool() common pool} with the
+   * {@link #DEFAULT_THRESHOLD default threshold} and {@link #DEFAULT_MAX_BLOCK_SIZE default maximum block size}.
+   */
+  public DuplicateDetector() {
+    this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, DEFAULT_MAX_BLOCK_SIZE);
+  }
+
+  /**
+   * The outcome of looking for duplicates.
+   */
+  public static final class Result {
+
+    private final List<List<ImmutableAddressEntry>> clusters;
+    private final long comparisons;
+    private final long matches;
+    private final int skippedBlocks;
+    private final long elapsedNanos;
+
+    Result(List<List<ImmutableAddressEntry>> clusters, long comparisons, long matches, int skippedBlocks,
+           long elapsedNanos) {
+      this.clusters = Collections.unmodifiableList(clusters);
+      this.comparisons = comparisons;
+      this.matches = matches;
+      this.skippedBlocks = skippedBlocks;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get every group of contacts that are probably the same person.
+     * @return The clusters, largest first, each with at least 2 contacts in sorted order
+     */
+    public List<List<ImmutableAddressEntry>> getClusters() {
+      return clusters;
+    }
+
+    /**
+     * Get the number of contacts that are in a cluster, but aren't its first contact. This is how many contacts would
+     * be left over if each cluster were merged into one.
+     * @return The number of duplicates
+     */
+    public long getDuplicateCount() {
+      long count = 0;
+      for (List<ImmutableAddressEntry> cluster : clusters) {
+        count += cluster.size() - 1;
+      }
+      return count;
+    }
+
+    /**
+     * Get how many pairs of contacts were compared.
+     * @return The number of pairs
+     */
+    public long getComparisons() {
+      return comparisons;
+    }
+
+    /**
+     * Get how many of the compared pairs scored at least the threshold.
+     * @return The number of pairs
+     */
+    public long getMatches() {
+      return matches;
+    }
+
+    /**
+     * Get how many blocks had too many contacts to be compared.
+     * @return The number of blocks
+     */
+    public int getSkippedBlocks() {
+      return skippedBlocks;
+    }
+
+    /**
+     * Get how long it took to find the duplicates.
+     * @return The time taken in milliseconds
+     */
+    public long getElapsedMillis() {
+      return elapsedNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d clusters (%d duplicates) from %d comparisons, %d blocks skipped, %d ms",
+        clusters.size(), getDuplicateCount(), comparisons, skippedBlocks, getElapsedMillis());
+    }
+
+  }
+
+  /**
+   * 64-bit FNV-1a hash of a string, with the type of key mixed in first so that different types never share a block.
+   */
+  private static long hash(int type, CharSequence key) {
+    long hash = 0xcbf29ce484222325L ^ type;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static String digits(String s) {
+    StringBuilder sb = new StringBuilder(s.length());
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c >= '0' && c <= '9') {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Normalizes a phone number to its last 10 digits, so that the same number with or without a country code, or with
+   * different punctuation, is the same.
+   */
+  private static String normalizePhone(String phone) {
+    String digits = digits(phone);
+    return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+  }
+
+  /**
+   * Normalizes the part of an email address before the <code>@</code>, or returns an empty string if there's no
+   * <code>@</code>.
+   */
+  private static String emailLocalPart(String email) {
+    int at = email.lastIndexOf('@');
+    if (at <= 0) {
+      return "";
+    }
+    String local = email.substring(0, at).toLowerCase(Locale.ROOT);
+    int plus = local.indexOf('+');
+    return plus > 0 ? local.substring(0, plus) : local;
+  }
+
+  /**
+   * Computes the keys of a contact, without the index.
+   */
+  private static void computeKeys(ImmutableAddressEntry entry, long[] keys, int offset) {
+    String soundex = Phonetics.soundex(entry.getLastName());
+    keys[offset] = soundex.isEmpty() ? NO_KEY : hash(0, soundex + entry.getZip());
+    String phone = normalizePhone(entry.getPhone());
+    // anything shorter isn't specific enough to say much
+    keys[offset + 1] = phone.length() < 7 ? NO_KEY : hash(1, phone);
+    String local = emailLocalPart(entry.getEmail());
+    keys[offset + 2] = local.isEmpty() ? NO_KEY : hash(2, local);
+    for (int type = 0; type < KEY_TYPES; type++) {
+      if (keys[offset + type] != NO_KEY) {
+        keys[offset + type] = (long) type << (HASH_BITS + INDEX_BITS)
+          | (keys[offset + type] & HASH_MASK) << INDEX_BITS;
+      }
+    }
+  }
+
+  /**
+   * How similar two strings are, from 0 (nothing in common) to 1 (the same).
+   */
+  private static double similarity(String a, String b) {
+    if (a.equals(b)) {
+      return 1;
+    }
+    return 1 - (double) Phonetics.editDistance(a, b) / Math.max(a.length(), b.length());
+  }
+
+  /**
+   * Strips everything but letters and digits and makes it lowercase. Unlike {@link Phonetics#normalize(String)}, digits
+   * are kept, since they tell apart street numbers.
+   */
+  private static String normalize(String value) {
+    StringBuilder sb = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        sb.append(Character.toLowerCase(c));
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Scores how likely two contacts are to be the same person, by comparing their names, street addresses, zip codes,
+   * phone numbers and email addresses, ignoring capitalization and punctuation. Names, streets and email addresses
+   * count partly if they're spelled slightly differently, but zip codes and phone numbers have to be the same. Each
+   * field counts for a fixed share of the score, and a field that either contact leaves empty doesn't count at all.
+   * @param a A contact
+   * @param b Another contact
+   * @return The score, from 0 (nothing alike) to 1 (the same apart from formatting). If the contacts don't have enough
+   *         fields in common to tell, the score is 0.
+   */
+  public static double score(ImmutableAddressEntry a, ImmutableAddressEntry b) {
+    return score(a, b, 0);
+  }
+
+  /**
+   * Scores two contacts, but gives up as soon as the score can no longer reach a cutoff, since most pairs sharing a
+   * block aren't duplicates and comparing spellings is the slow part.
+   * @return The score, or something less than the cutoff if it would have been less
+   */
+  private static double score(ImmutableAddressEntry a, ImmutableAddressEntry b, double cutoff) {
+    String[][] fields = {
+      {normalize(a.getFirstName()), normalize(b.getFirstName())},
+      {normalize(a.getLastName()), normalize(b.getLastName())},
+      {a.getEmail().toLowerCase(Locale.ROOT), b.getEmail().toLowerCase(Locale.ROOT)},
+      {normalize(a.getStreet()), normalize(b.getStreet())}
+    };
+    double[] weights = {FIRST_NAME_WEIGHT, LAST_NAME_WEIGHT, EMAIL_WEIGHT, STREET_WEIGHT};
+    // which fields count is known before comparing any of them, so the best possible score is known all along
+    double weight = ZIP_WEIGHT;
+    double total = a.getZip() == b.getZip() ? ZIP_WEIGHT : 0;
+    // phone numbers that are a digit apart are still different numbers
+    String phoneA = normalizePhone(a.getPhone());
+    String phoneB = normalizePhone(b.getPhone());
+    if (!phoneA.isEmpty() && !phoneB.isEmpty()) {
+      total += phoneA.equals(phoneB) ? PHONE_WEIGHT : 0;
+      weight += PHONE_WEIGHT;
+    }
+    double remaining = 0;
+    for (int i = 0; i < fields.length; i++) {
+      if (fields[i][0].isEmpty() || fields[i][1].isEmpty()) {
+        weights[i] = 0;
+      }
+      remaining += weights[i];
+    }
+    weight += remaining;
+    if (weight < MIN_WEIGHT) {
+      return 0;
+    }
+    for (int i = 0; i < fields.length; i++) {
+      if (weights[i] == 0) {
+        continue;
+      }
+      if ((total + remaining) / weight < cutoff) {
+        return (total + remaining) / weight;
+      }
+      total += weights[i] * similarity(fields[i][0], fields[i][1]);
+      remaining -= weights[i];
+    }
+    return total / weight;
+  }
+
+  private static int find(int[] parents, int i) {
+    while (parents[i] != i) {
+      // halve the path on the way up, so later lookups are quicker
+      parents[i] = parents[parents[i]];
+      i = parents[i];
+    }
+    return i;
+  }
+
+  /**
+   * Finds every cluster of contacts that are probably the same person.
+   * @param entries The contacts to check, which must not change until this returns
+   * @return What was found
+   * @throws IllegalArgumentException If there are more than {@link #MAX_SIZE} contacts
+   */
+  public Result findDuplicates(Collection<ImmutableAddressEntry> entries) {
+    long start = System.nanoTime();
+    if (entries.size() > MAX_SIZE) {
+      throw new IllegalArgumentException("Cannot check more than " + MAX_SIZE + " contacts at once: " + entries.size());
+    }
+    ImmutableAddressEntry[] array = entries.toArray(new ImmutableAddressEntry[0]);
+    int n = array.length;
+
+    long[] keys = new long[n * KEY_TYPES];
+    run(() -> IntStream.range(0, n).parallel().forEach(i -> computeKeys(array[i], keys, i * KEY_TYPES)));
+    long[] sorted = new long[keys.length];
+    int count = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != NO_KEY) {
+        sorted[count++] = keys[i] | i / KEY_TYPES;
+      }
+    }
+    Arrays.parallelSort(sorted, 0, count);
+
+    // the start of every block, and one past the end of the last one
+    int[] bounds = new int[count + 1];
+    int blocks = 0;
+    // the keys of the skipped blocks, in sorted order
+    long[] skippedKeys = new long[count / (maxBlockSize + 1)];
+    int skipped = 0;
+    for (int i = 0, j; i < count; i = j) {
+      j = i + 1;
+      while (j < count && (sorted[j] & ~INDEX_MASK) == (sorted[i] & ~INDEX_MASK)) {
+        j++;
+      }
+      if (j - i > maxBlockSize) {
+        skippedKeys[skipped++] = sorted[i] & ~INDEX_MASK;
+      } else if (j - i > 1) {
+        bounds[blocks * 2] = i;
+        bounds[blocks * 2 + 1] = j;
+        blocks++;
+      }
+    }
+    int[] blockBounds = Arrays.copyOf(bounds, blocks * 2);
+    long[] oversized = Arrays.copyOf(skippedKeys, skipped);
+
+    LongAdder comparisons = new LongAdder();
+    long[] matches = call(() -> IntStream.range(0, blockBounds.length / 2).parallel().boxed().flatMapToLong(block -> {
+      int from = blockBounds[block * 2];
+      int to = blockBounds[block * 2 + 1];
+      int type = (int) (sorted[from] >>> (HASH_BITS + INDEX_BITS));
+      long[] found = new long[4];
+      int foundCount = 0;
+      for (int i = from; i < to; i++) {
+        int a = (int) (sorted[i] & INDEX_MASK);
+        for (int j = i + 1; j < to; j++) {
+          int b = (int) (sorted[j] & INDEX_MASK);
+          if (isComparedEarlier(keys, oversized, a, b, type)) {
+            continue;
+          }
+          comparisons.increment();
+          if (score(array[a], array[b], threshold) >= threshold) {
+            if (foundCount == found.length) {
+              found = Arrays.copyOf(found, foundCount * 2);
+            }
+            found[foundCount++] = (long) a << 32 | b;
+          }
+        }
+      }
+      return Arrays.stream(found, 0, foundCount);
+    }).toArray());
+
+    int[] parents = new int[n];
+    for (int i = 0; i < n; i++) {
+      parents[i] = i;
+    }
+    for (long match : matches) {
+      int a = find(parents, (int) (match >>> 32));
+      int b = find(parents, (int) match);
+      if (a != b) {
+        parents[Math.max(a, b)] = Math.min(a, b);
+      }
+    }
+    Map<Integer, List<ImmutableAddressEntry>> byRoot = new HashMap<>();
+    for (long match : matches) {
+      byRoot.computeIfAbsent(find(parents, (int) (match >>> 32)), root -> new ArrayList<>());
+    }
+    for (int i = 0; i < n; i++) {
+      List<ImmutableAddressEntry> cluster = byRoot.get(find(parents, i));
+      if (cluster != null) {
+        cluster.add(array[i]);
+      }
+    }
+    List<List<ImmutableAddressEntry>> clusters = new ArrayList<>(byRoot.values());
+    clusters.forEach(cluster -> cluster.sort(null));
+    clusters.sort(Comparator.<List<ImmutableAddressEntry>>comparingInt(List::size).reversed()
+      .thenComparing(cluster -> cluster.get(0)));
+    return new Result(clusters, comparisons.sum(), matches.length, skipped, System.nanoTime() - start);
+  }
+
+  /**
+   * Whether two contacts in a block of some type of key also share a key of an earlier type, in which case they were
+   * already compared in that block instead, unless that block was skipped for being too large.
+   */
+  private static boolean isComparedEarlier(long[] keys, long[] oversized, int a, int b, int type) {
+    for (int earlier = 0; earlier < type; earlier++) {
+      long key = keys[a * KEY_TYPES + earlier];
+      if (key != NO_KEY && key == keys[b * KEY_TYPES + earlier] && Arrays.binarySearch(oversized, key) < 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Runs a parallel stream operation on this detector's pool rather than whichever pool the caller is on.
+   */
+  private <T> T call(Callable<T> operation) {
+    try {
+      return pool.submit(operation).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while looking for duplicates", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private void run(Runnable operation) {
+    call(() -> {
+      operation.run();
+      return null;
+    });
+  }
+
+}
@@ -0,0 +1,29 @@
+package address.event;
+
+import java.util.List;
+
+/**
+ * Receives the changes made to an {@link address.AddressBook}, so that whatever is built on top of the book can be
+ * updated one change at a time instead of being rebuilt from every contact.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see ChangePublisher#addListener(ChangeListener)
+ */
+@FunctionalInterface
+public interface ChangeListener {
+
+  /**
+   * Called with one or more changes, in the order they were made. The book already contains the changes.
+   * @param changes The changes, which must not be modified
+   */
+  void onChanges(List<ContactChange> changes);
+
+  /**
+   * Called instead of {@link #onChanges(List)} when the changes can't be given one by one, such as when the book was
+   * cleared, or when a {@link ChangeSubscriber} fell too far behind and changes had to be thrown away. Anything built
+   * on top of the book should be rebuilt from scratch. Does nothing by default.
+   */
+  default void onReset() {
+  }
+
+}
@@ -0,0 +1,238 @@
+package address.event;
+
+import address.Utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Hands out the changes made to an {@link address.AddressBook} to anything that wants to keep up with them. There are
+ * two ways of receiving changes:
+ * <ul>
+ *   <li>A {@link ChangeListener} is called right away, on whichever thread made the change. This costs next to
+ *       nothing, but a slow listener holds up whoever is changing the book.</li>
+ *   <li>A {@link ChangeSubscriber} is called on an executor of its choice, and only after it has asked for more. Changes
+ *       made in the meantime are held back in a bounded buffer and handed over together, so a slow subscriber gets
+ *       fewer, larger batches. If it falls so far behind that the buffer fills up, the held back changes are thrown
+ *       away and it's told to {@link ChangeListener#onReset() reset} instead, so the book is never held up and memory
+ *       use never grows without bound.</li>
+ * </ul>
+ * A listener or subscriber that throws an exception is logged and stops receiving changes, so it can't break the book.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class ChangePublisher {
+
+  private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+  private final List<BufferedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+  /**
+   * Starts calling a listener with every change, on whichever thread made it.
+   * @param listener The listener
+   */
+  public void addListener(ChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Stops calling a listener.
+   * @param listener The listener
+   * @return True if the listener was being called, false otherwise
+   */
+  public boolean removeListener(ChangeListener listener) {
+    return listeners.remove(listener);
+  }
+
+  /**
+   * Starts handing changes to a subscriber. {@link ChangeSubscriber#onSubscribe(ChangeSubscriber.Subscription)} is
+   * called right away on the calling thread, and everything else on the executor, one call at a time.
+   * @param subscriber The subscriber
+   * @param executor What to call the subscriber on, such as {@link javax.swing.SwingUtilities#invokeLater(Runnable)}
+   *                 for a subscriber that updates the GUI
+   * @param capacity The most changes held back for the subscriber before they're thrown away and it's told to reset
+   *                 instead. This is also the largest a single batch can be.
+   * @return The subscription, which is the same one given to the subscriber
+   */
+  public ChangeSubscriber.Subscription subscribe(ChangeSubscriber subscriber, Executor executor, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    BufferedSubscription subscription = new BufferedSubscription(subscriber, executor, capacity);
+    subscriber.onSubscribe(subscription);
+    subscriptions.add(subscription);
+    return subscription;
+  }
+
+  /**
+   * Checks whether anything is receiving changes, so that changes don't need to be made at all if nothing is.
+   * @return True if there is at least one listener or subscriber, false otherwise
+   */
+  public boolean hasListeners() {
+    return !listeners.isEmpty() || !subscriptions.isEmpty();
+  }
+
+  /**
+   * Hands out changes that were just made.
+   * @param changes The changes, in the order they were made. The list must not be modified afterwards.
+   */
+  public void publish(List<ContactChange> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    List<ContactChange> unmodifiable = Collections.unmodifiableList(changes);
+    for (ChangeListener listener : listeners) {
+      try {
+        listener.onChanges(unmodifiable);
+      } catch (RuntimeException e) {
+        Utils.warn(e, "Change listener %s failed, and will no longer be called", listener);
+        listeners.remove(listener);
+      }
+    }
+    for (BufferedSubscription subscription : subscriptions) {
+      subscription.offer(changes);
+    }
+  }
+
+  /**
+   * Tells everything receiving changes to rebuild from scratch, such as after the book was cleared.
+   */
+  public void publishReset() {
+    for (ChangeListener listener : listeners) {
+      try {
+        listener.onReset();
+      } catch (RuntimeException e) {
+        Utils.warn(e, "Change listener %s failed, and will no longer be called", listener);
+        listeners.remove(listener);
+      }
+    }
+    for (BufferedSubscription subscription : subscriptions) {
+      subscription.offerReset();
+    }
+  }
+
+  /**
+   * Holds back changes for a single subscriber until it asks for them.
+   */
+  private class BufferedSubscription implements ChangeSubscriber.Subscription {
+
+    private final ChangeSubscriber subscriber;
+    private final Executor executor;
+    private final int capacity;
+    // everything below is guarded by this
+    private final ArrayDeque<ContactChange> buffer = new ArrayDeque<>();
+    private boolean reset;
+    private long demand;
+    /** Whether a task delivering changes has been handed to the executor and hasn't finished yet */
+    private boolean scheduled;
+    private boolean cancelled;
+
+    BufferedSubscription(ChangeSubscriber subscriber, Executor executor, int capacity) {
+      this.subscriber = subscriber;
+      this.executor = executor;
+      this.capacity = capacity;
+    }
+
+    synchronized void offer(List<ContactChange> changes) {
+      if (cancelled) {
+        return;
+      }
+      if (reset || buffer.size() + changes.size() > capacity) {
+        buffer.clear();
+        reset = true;
+      } else {
+        buffer.addAll(changes);
+      }
+      schedule();
+    }
+
+    synchronized void offerReset() {
+      if (cancelled) {
+        return;
+      }
+      buffer.clear();
+      reset = true;
+      schedule();
+    }
+
+    @Override
+    public synchronized void request(long n) {
+      if (n <= 0) {
+        throw new IllegalArgumentException("Must request a positive number of batches: " + n);
+      }
+      // saturate rather than overflow, so that requesting Long.MAX_VALUE means "everything"
+      demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (this) {
+        cancelled = true;
+        buffer.clear();
+      }
+      subscriptions.remove(this);
+    }
+
+    private void schedule() {
+      if (scheduled || cancelled || demand == 0 || (!reset && buffer.isEmpty())) {
+        return;
+      }
+      scheduled = true;
+      try {
+        executor.execute(this::deliver);
+      } catch (RejectedExecutionException e) {
+        Utils.warn(e, "Could not deliver changes to %s, which will no longer receive them", subscriber);
+        scheduled = false;
+        cancelled = true;
+        buffer.clear();
+        subscriptions.remove(this);
+      }
+    }
+
+    /**
+     * Hands over batches for as long as the subscriber asks for them and there are any.
+     */
+    private void deliver() {
+      while (true) {
+        List<ContactChange> batch;
+        synchronized (this) {
+          if (cancelled || demand == 0 || (!reset && buffer.isEmpty())) {
+            scheduled = false;
+            return;
+          }
+          if (demand != Long.MAX_VALUE) {
+            demand--;
+          }
+          if (reset) {
+            reset = false;
+            batch = null;
+          } else {
+            batch = Collections.unmodifiableList(new ArrayList<>(buffer));
+            buffer.clear();
+          }
+        }
+        try {
+          if (batch == null) {
+            subscriber.onReset();
+          } else {
+            subscriber.onChanges(batch);
+          }
+        } catch (RuntimeException e) {
+          Utils.warn(e, "Change subscriber %s failed, and will no longer receive changes", subscriber);
+          synchronized (this) {
+            scheduled = false;
+          }
+          cancel();
+          return;
+        }
+      }
+    }
+
+  }
+
+}
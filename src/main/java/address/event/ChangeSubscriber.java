@@ -0,0 +1,37 @@
+package address.event;
+
+/**
+ * A {@link ChangeListener} that receives changes on an executor of its choice, only as quickly as it asks for them.
+ * Changes made while the subscriber is busy are held back and handed over together in the next batch.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see ChangePublisher#subscribe(ChangeSubscriber, java.util.concurrent.Executor, int)
+ */
+public interface ChangeSubscriber extends ChangeListener {
+
+  /**
+   * Called once before anything else. Nothing is handed over until {@link Subscription#request(long)} is called.
+   * @param subscription Used to ask for more batches, or to stop receiving them
+   */
+  void onSubscribe(Subscription subscription);
+
+  /**
+   * Controls how many batches of changes a {@link ChangeSubscriber} receives.
+   */
+  interface Subscription {
+
+    /**
+     * Asks for more batches. Each call to {@link ChangeListener#onChanges(java.util.List)} or
+     * {@link ChangeListener#onReset()} uses up one.
+     * @param n How many more batches can be handed over, which must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stops receiving changes. Any held back changes are thrown away.
+     */
+    void cancel();
+
+  }
+
+}
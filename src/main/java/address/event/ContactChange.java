@@ -0,0 +1,104 @@
+package address.event;
+
+import address.data.ImmutableAddressEntry;
+
+import java.util.UUID;
+
+/**
+ * A single change made to an {@link address.AddressBook}: a contact that was added, updated or removed. Both the old
+ * and the new version of the contact are kept, so whoever receives the change can undo whatever they did with the old
+ * version without having to look it up.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see ChangePublisher
+ */
+public final class ContactChange {
+
+  /**
+   * What kind of change was made.
+   */
+  public enum Type {
+    /** A contact was added, so there's only a new version */
+    ADDED,
+    /** A contact was replaced, so there's both an old and a new version */
+    UPDATED,
+    /** A contact was removed, so there's only an old version */
+    REMOVED
+  }
+
+  private final Type type;
+  private final ImmutableAddressEntry oldEntry;
+  private final ImmutableAddressEntry newEntry;
+
+  private ContactChange(Type type, ImmutableAddressEntry oldEntry, ImmutableAddressEntry newEntry) {
+    this.type = type;
+    this.oldEntry = oldEntry;
+    this.newEntry = newEntry;
+  }
+
+  /**
+   * Creates a change adding a contact.
+   * @param entry The contact that was added
+   * @return A new change
+   */
+  public static ContactChange added(ImmutableAddressEntry entry) {
+    return new ContactChange(Type.ADDED, null, entry);
+  }
+
+  /**
+   * Creates a change replacing a contact.
+   * @param oldEntry The contact as it was before
+   * @param newEntry The contact as it is now, with the same ID
+   * @return A new change
+   */
+  public static ContactChange updated(ImmutableAddressEntry oldEntry, ImmutableAddressEntry newEntry) {
+    return new ContactChange(Type.UPDATED, oldEntry, newEntry);
+  }
+
+  /**
+   * Creates a change removing a contact.
+   * @param entry The contact that was removed
+   * @return A new change
+   */
+  public static ContactChange removed(ImmutableAddressEntry entry) {
+    return new ContactChange(Type.REMOVED, entry, null);
+  }
+
+  /**
+   * Get what kind of change this is.
+   * @return The type of change
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Get the ID of the contact that changed.
+   * @return The ID
+   */
+  public UUID getId() {
+    return (newEntry != null ? newEntry : oldEntry).getId();
+  }
+
+  /**
+   * Get the contact as it was before the change.
+   * @return The old version, or <code>null</code> if the contact was {@link Type#ADDED added}
+   */
+  public ImmutableAddressEntry getOldEntry() {
+    return oldEntry;
+  }
+
+  /**
+   * Get the contact as it is after the change.
+   * @return The new version, or <code>null</code> if the contact was {@link Type#REMOVED removed}
+   */
+  public ImmutableAddressEntry getNewEntry() {
+    return newEntry;
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + getId();
+  }
+
+}
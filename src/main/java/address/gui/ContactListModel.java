@@ -0,0 +1,116 @@
+package address.gui;
+
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.event.ContactChange;
+
+import javax.swing.*;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * List model showing the full names of every contact whose last name starts with a certain prefix, in the same order
+ * as {@link AddressBook#find(String)}. Rather than holding onto every matching contact, only the page of contacts
+ * that is currently being shown is kept around, and other pages are looked up as the list is scrolled. This keeps
+ * memory use the same no matter how many contacts match.
+ * <p>
+ * Since pages are looked up lazily, the model has to be told whenever the book is modified, with
+ * {@link #applyChanges(List)} or {@link #reset()}.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class ContactListModel extends AbstractListModel<String> {
+
+  private static final int PAGE_SIZE = 100;
+
+  private final AddressBook book;
+  private final String startOfLastName;
+  private int size;
+  private int pageOffset;
+  private List<ImmutableAddressEntry> page;
+
+  /**
+   * Constructor for this class.
+   * @param book The address book to show the contacts of
+   * @param startOfLastName Only contacts whose last name starts with this (case insensitive) are shown
+   */
+  public ContactListModel(AddressBook book, String startOfLastName) {
+    this.book = book;
+    this.startOfLastName = startOfLastName;
+    size = book.count(startOfLastName);
+    page = Collections.emptyList();
+  }
+
+  /**
+   * Get the contact shown at a certain position, loading the page it is in if needed.
+   * @param index The position in the list
+   * @return The contact at that position, or <code>null</code> if the book has changed since this model was made and
+   *         there is no longer a contact there
+   */
+  public ImmutableAddressEntry getEntryAt(int index) {
+    if (index < pageOffset || index >= pageOffset + page.size()) {
+      pageOffset = index - index % PAGE_SIZE;
+      page = book.findImmutable(startOfLastName, pageOffset, PAGE_SIZE);
+      if (index >= pageOffset + page.size()) {
+        return null;
+      }
+    }
+    return page.get(index - pageOffset);
+  }
+
+  private boolean matches(ImmutableAddressEntry entry) {
+    return entry != null && entry.getLastName().regionMatches(true, 0, startOfLastName, 0, startOfLastName.length());
+  }
+
+  /**
+   * Catches up with changes made to the book since this model was made, or since it last caught up. Only the number of
+   * contacts shown is adjusted; the contacts themselves are looked up again as they're shown.
+   * @param changes The changes, in the order they were made
+   */
+  public void applyChanges(List<ContactChange> changes) {
+    int oldSize = size;
+    for (ContactChange change : changes) {
+      if (matches(change.getOldEntry())) {
+        size--;
+      }
+      if (matches(change.getNewEntry())) {
+        size++;
+      }
+    }
+    refresh(oldSize);
+  }
+
+  /**
+   * Catches up with the book after changes that can't be told apart, such as the book being cleared.
+   */
+  public void reset() {
+    int oldSize = size;
+    size = book.count(startOfLastName);
+    refresh(oldSize);
+  }
+
+  private void refresh(int oldSize) {
+    page = Collections.emptyList();
+    pageOffset = 0;
+    if (size > oldSize) {
+      fireIntervalAdded(this, oldSize, size - 1);
+    } else if (size < oldSize) {
+      fireIntervalRemoved(this, size, oldSize - 1);
+    }
+    if (Math.min(size, oldSize) > 0) {
+      fireContentsChanged(this, 0, Math.min(size, oldSize) - 1);
+    }
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public String getElementAt(int index) {
+    ImmutableAddressEntry entry = getEntryAt(index);
+    return entry == null ? "" : entry.getFullName();
+  }
+
+}
@@ -11,7 +11,7 @@ import java.awt.event.WindowEvent;
 
 /**
  * Dialog window for adding a new contact. If a new contact is successfully added, then the parent window's list of
- * entries are subsequently updated.
+ * entries picks it up from the address book's changes.
  * @author Corneilious Eanes
  * @since March 15, 2021
  */
@@ -31,8 +31,7 @@ public class CreateContactDialog extends JDialog {
   private JTextField phoneField;
 
   /**
-   * Constructor for this dialog. Needs to know about its parent panel to update its contents if a contact is
-   * successfully added. Is automatically visible when a new instance is created.
+   * Constructor for this dialog. Is automatically visible when a new instance is created.
    * @param parent The parent of this dialog
    */
   public CreateContactDialog(MainPanel parent) {
@@ -147,7 +146,6 @@ public class CreateContactDialog extends JDialog {
     try {
       AddressEntry contact = createContact();
       AddressBookApplication.getInstance().addContact(contact);
-      parent.displayContacts();
       closeDialog();
     } catch (IllegalArgumentException e) {
       JOptionPane.showMessageDialog(this, e.getMessage(), "Could not add contact!", JOptionPane.ERROR_MESSAGE);
@@ -2,11 +2,10 @@ package address.gui;
 
 import address.AddressBookApplication;
 import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
 
 import javax.swing.*;
 import java.awt.event.WindowEvent;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Dialog window allowing the user to search through the locally stored {@link AddressEntry} objects in
@@ -24,7 +23,7 @@ public class FindContactDialog extends JDialog {
   private JTextArea contactInfoArea;
 
   // used to keep track of the listed address entries
-  private List<AddressEntry> listData;
+  private ContactListModel listModel;
 
   /**
    * Constructor for this dialog. Is automatically visible when a new instance is created.
@@ -32,6 +31,7 @@ public class FindContactDialog extends JDialog {
   public FindContactDialog() {
     displayList = new JList<>();
     displayList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    displayList.setPrototypeCellValue("Lastname, Firstname");
     JScrollPane displayPane = new JScrollPane(displayList);
     contactInfoArea = new JTextArea();
     contactInfoArea.setEditable(false);
@@ -41,7 +41,6 @@ public class FindContactDialog extends JDialog {
     searchButton = new JButton("Search");
     cancelButton = new JButton("Cancel");
 
-    listData = new ArrayList<>();
     displayList.addListSelectionListener(e -> updateContactInfoArea());
     searchButton.addActionListener(e -> searchForContacts());
     cancelButton.addActionListener(e -> closeDialog());
@@ -87,8 +86,8 @@ public class FindContactDialog extends JDialog {
    */
   private void updateContactInfoArea() {
     int selected = displayList.getSelectedIndex();
-    if (selected != -1) {
-      AddressEntry entry = listData.get(selected);
+    ImmutableAddressEntry entry = selected == -1 ? null : listModel.getEntryAt(selected);
+    if (entry != null) {
       contactInfoArea.setText(entry.toString().replace("\t", ""));
     }
   }
@@ -100,10 +99,8 @@ public class FindContactDialog extends JDialog {
     // check to see if input last name matches any of the entries
     String lastNameQuery = findField.getText();
     if (!lastNameQuery.isEmpty()) {
-      List<AddressEntry> contacts = AddressBookApplication.getInstance().getBook().find(lastNameQuery);
-      listData.clear();
-      listData.addAll(contacts);
-      displayList.setListData(contacts.stream().map(entry -> entry.getName().toString()).toArray(String[]::new));
+      listModel = new ContactListModel(AddressBookApplication.getInstance().getBook(), lastNameQuery);
+      displayList.setModel(listModel);
     }
   }
 
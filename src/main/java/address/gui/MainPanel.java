@@ -2,12 +2,13 @@ package address.gui;
 
 import address.AddressBookApplication;
 import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
+import address.event.ChangeSubscriber;
+import address.event.ContactChange;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.UUID;
-import java.util.Vector;
+import java.util.List;
 
 /**
  * The landing page of sorts for the application. Gives access to all other parts of the application.
@@ -17,9 +18,18 @@ import java.util.Vector;
  */
 public class MainPanel extends JPanel {
 
+  /** How many changes to the book can pile up before the list of contacts is just rebuilt instead */
+  private static final int CHANGE_BUFFER_SIZE = 1000;
+
   private JTextArea contactInfoArea;
   private JList<String> displayList;
-  private ArrayList<UUID> entryIds;
+  private ContactListModel listModel;
+  /**
+   * Whether {@link #listModel} was made since changes were last handed over, in which case it already counts some of
+   * the changes that are about to be handed over, and has to be reset instead
+   */
+  private boolean listModelReplaced;
+  private Runnable firstPaintListener;
 
   /**
    * The constructor for this panel. Needs to be attached to a window of some sort, preferably a {@link JFrame}.
@@ -37,10 +47,10 @@ public class MainPanel extends JPanel {
 
     displayList = new JList<>();
     displayList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    // otherwise the list would look at every single contact to figure out how wide and tall its cells should be
+    displayList.setPrototypeCellValue("Lastname, Firstname");
     JScrollPane displayPane = new JScrollPane(displayList);
 
-    entryIds = new ArrayList<>();
-
     // add action listeners
     displayButton.addActionListener(e -> displayContacts());
     newButton.addActionListener(e -> new CreateContactDialog(this));
@@ -85,31 +95,83 @@ public class MainPanel extends JPanel {
     setPreferredSize(new Dimension(500, 300));
 
     displayContacts();
+    subscribeToChanges();
+  }
+
+  /**
+   * Keeps the list of contacts up to date with the address book, no matter where the book is changed from. Changes are
+   * handed over on the event dispatch thread, and any made while the list is being updated are handed over together
+   * afterwards.
+   */
+  private void subscribeToChanges() {
+    AddressBookApplication.getInstance().getBook().getChanges().subscribe(new ChangeSubscriber() {
+      private Subscription subscription;
+
+      @Override
+      public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+      }
+
+      @Override
+      public void onChanges(List<ContactChange> changes) {
+        if (listModelReplaced) {
+          listModel.reset();
+        } else {
+          listModel.applyChanges(changes);
+        }
+        listModelReplaced = false;
+        updateContactInfoArea();
+        subscription.request(1);
+      }
+
+      @Override
+      public void onReset() {
+        listModel.reset();
+        listModelReplaced = false;
+        updateContactInfoArea();
+        subscription.request(1);
+      }
+    }, SwingUtilities::invokeLater, CHANGE_BUFFER_SIZE);
+  }
+
+  /**
+   * Runs something once this panel is painted for the first time, such as to measure how long startup took.
+   * @param listener Run on the event dispatch thread right after the first paint
+   */
+  public void whenFirstPainted(Runnable listener) {
+    firstPaintListener = listener;
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+    if (firstPaintListener != null) {
+      Runnable listener = firstPaintListener;
+      firstPaintListener = null;
+      SwingUtilities.invokeLater(listener);
+    }
   }
 
   /**
    * Queries the local database and refreshes the entries in the GUI's list of contacts.
    */
   public void displayContacts() {
-    Vector<String> entryNames = new Vector<>();
-    entryIds.clear();
-    AddressBookApplication.getInstance().getBook().find("").forEach(entry -> {
-      entryNames.add(entry.getName().toString());
-      entryIds.add(entry.getId());
-    });
-    displayList.setListData(entryNames);
+    listModel = new ContactListModel(AddressBookApplication.getInstance().getBook(), "");
+    listModelReplaced = true;
+    displayList.setModel(listModel);
   }
 
   /**
-   * Create a {@link AddressEntry} based on what the user selected in the list.
+   * Get the {@link AddressEntry} corresponding to what the user selected in the list.
    * @return An address entry corresponding to what the user selected, or <code>null</code> if either the corresponding
    *         ID does not exist or if nothing is selected.
    */
-  private AddressEntry getSelectedEntry() {
+  private ImmutableAddressEntry getSelectedEntry() {
     int selected = displayList.getSelectedIndex();
     if (selected != -1) {
-      UUID selectedId = entryIds.get(selected);
-      return AddressBookApplication.getInstance().getBook().get(selectedId);
+      ImmutableAddressEntry entry = listModel.getEntryAt(selected);
+      return entry == null ? null : AddressBookApplication.getInstance().getBook().getImmutable(entry.getId());
     }
     return null;
   }
@@ -118,7 +180,7 @@ public class MainPanel extends JPanel {
    * Will update the contact info text area whenever the user selects an entry in the list.
    */
   private void updateContactInfoArea() {
-    AddressEntry entry = getSelectedEntry();
+    ImmutableAddressEntry entry = getSelectedEntry();
     if (entry != null) {
       contactInfoArea.setText(entry.toString().replace("\t", ""));
     }
@@ -128,7 +190,7 @@ public class MainPanel extends JPanel {
    * Creates an instance of {@link UpdateContactDialog}, allowing the user to update a selected entry.
    */
   private void updateContact() {
-    AddressEntry entry = getSelectedEntry();
+    ImmutableAddressEntry entry = getSelectedEntry();
     if (entry != null) {
       new UpdateContactDialog(this, entry);
     }
@@ -138,14 +200,13 @@ public class MainPanel extends JPanel {
    * Allows the user to remove a selected contact, first prompting them with a confirmation message box.
    */
   private void removeContact() {
-    AddressEntry entry = getSelectedEntry();
+    ImmutableAddressEntry entry = getSelectedEntry();
     if (entry != null) {
       int result = JOptionPane.showConfirmDialog(this, "Are you sure you wish to delete the contact information for " +
-        entry.getName().toString() + "?", "Confirm deletion", JOptionPane.YES_NO_OPTION);
+        entry.getFullName() + "?", "Confirm deletion", JOptionPane.YES_NO_OPTION);
       if (result == 0) {
         AddressBookApplication.getInstance().removeContact(entry.getId());
         JOptionPane.showMessageDialog(this, "Contact deleted", "Contact deleted", JOptionPane.INFORMATION_MESSAGE);
-        displayContacts();
       }
     }
   }
@@ -1,19 +1,20 @@
 package address.gui;
 
-import address.AddressBook;
 import address.AddressBookApplication;
 import address.Utils;
 import address.data.Address;
 import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
 import address.data.Name;
+import address.store.UpdateResult;
 
 import javax.swing.*;
 import java.awt.event.WindowEvent;
 import java.sql.SQLException;
 
 /**
- * Dialog window allowing the user to update pre-existing entries in the remote database. Any successful updates will
- * be updated in the parent window.
+ * Dialog window allowing the user to update pre-existing entries in the remote database. Any successful updates are
+ * picked up by the parent window from the address book's changes.
  * @author Corneilious Eanes
  * @since March 15, 2021
  * @see CreateContactDialog
@@ -25,7 +26,7 @@ public class UpdateContactDialog extends JDialog {
   private static final int GAP_SIZE = 10;
 
   private MainPanel parent;
-  private AddressEntry origEntry;
+  private ImmutableAddressEntry origEntry;
   private JTextField firstNameField;
   private JTextField lastNameField;
   private JTextField streetField;
@@ -40,22 +41,22 @@ public class UpdateContactDialog extends JDialog {
    * @param parent The parent panel
    * @param entry The entry the user wants to update
    */
-  public UpdateContactDialog(MainPanel parent, AddressEntry entry) {
+  public UpdateContactDialog(MainPanel parent, ImmutableAddressEntry entry) {
     this.parent = parent;
     this.origEntry = entry;
 
     JLabel firstNameLabel = new JLabel("First name");
-    firstNameField = new JTextField(origEntry.getName().getFirstName());
+    firstNameField = new JTextField(origEntry.getFirstName());
     JLabel lastNameLabel = new JLabel("Last name");
-    lastNameField = new JTextField(origEntry.getName().getLastName());
+    lastNameField = new JTextField(origEntry.getLastName());
     JLabel streetLabel = new JLabel("Street address");
-    streetField = new JTextField(origEntry.getAddress().getStreet());
+    streetField = new JTextField(origEntry.getStreet());
     JLabel cityLabel = new JLabel("City name");
-    cityField = new JTextField(origEntry.getAddress().getCity());
+    cityField = new JTextField(origEntry.getCity());
     JLabel stateLabel = new JLabel("State code");
-    stateField = new JTextField(origEntry.getAddress().getState());
+    stateField = new JTextField(origEntry.getState());
     JLabel zipLabel = new JLabel("Zip code");
-    zipField = new JTextField(Integer.toString(origEntry.getAddress().getZip()));
+    zipField = new JTextField(Integer.toString(origEntry.getZip()));
     JLabel emailLabel = new JLabel("Email address");
     emailField = new JTextField(origEntry.getEmail());
     JLabel phoneLabel = new JLabel("Phone number");
@@ -145,10 +146,13 @@ public class UpdateContactDialog extends JDialog {
    *   <li>The user did not provide information sufficient for a valid contact</li>
    *   <li>No changes are detected between the original contact and the user-provided information</li>
    *   <li>Attempting to update the remote database results in an exception being thrown</li>
+   *   <li>Someone else changed or removed the contact since this dialog was opened</li>
    * </ul>
    * If any of these conditions are reached, the user is notified about it via a message dialog, and more details about
-   * the condition are printed to the console. Otherwise, both remote and local databases are successfully updated and
-   * then dialog automatically closes.
+   * the condition are printed to the console. If someone else changed the contact, the user can choose to keep their
+   * own changes anyway, or to use the other changes instead, or close the message to leave their changes in the dialog
+   * without updating anything. Otherwise, both remote and local databases are successfully updated and then dialog
+   * automatically closes.
    * @see #createContact()
    */
   private void updateContactInformation() {
@@ -159,24 +163,61 @@ public class UpdateContactDialog extends JDialog {
       JOptionPane.showMessageDialog(this, e.getMessage(), "Could not update contact", JOptionPane.ERROR_MESSAGE);
       return;
     }
-    if (updatedEntry.equals(origEntry)) {
+    ImmutableAddressEntry updatedSnapshot = ImmutableAddressEntry.of(updatedEntry);
+    if (updatedSnapshot.equals(origEntry)) {
       JOptionPane.showMessageDialog(this, "No changes detected. Database has not been updated.", "No changes detected", JOptionPane.INFORMATION_MESSAGE);
       return;
     }
+    UpdateResult result;
     try {
-      AddressBookApplication.getInstance().updateContact(updatedEntry);
+      result = AddressBookApplication.getInstance()
+        .updateContact(updatedSnapshot.toBuilder().version(origEntry.getVersion()).build());
     } catch (SQLException e) {
       Utils.error(e, "Could not update contact information for %s (%s)", updatedEntry.getName(), updatedEntry.getId());
       JOptionPane.showMessageDialog(this, "Could not update contact in remote database! Check the console for more details.", "Could not update contact", JOptionPane.ERROR_MESSAGE);
       return;
     }
-    // there is no update method in AddressBook, so just delete and add the contact instead
-    AddressBook book = AddressBookApplication.getInstance().getBook();
-    book.remove(updatedEntry.getId());
-    book.add(updatedEntry);
-    // update contacts list in parent
-    parent.displayContacts();
-    closeDialog();
+    switch (result.getStatus()) {
+      case REMOVED:
+        JOptionPane.showMessageDialog(this, "This contact was removed by someone else, so it could not be updated.", "Contact removed", JOptionPane.WARNING_MESSAGE);
+        closeDialog();
+        break;
+      case CONFLICT:
+        ImmutableAddressEntry current = result.getEntry();
+        Object[] options = {"Keep my changes", "Use their changes"};
+        int choice = JOptionPane.showOptionDialog(this, "This contact was changed by someone else since you opened it:\n"
+            + current.getFirstName() + " " + current.getLastName() + "\n" + current.getStreet() + ", " + current.getCity()
+            + ", " + current.getState() + " " + current.getZip() + "\n" + current.getPhone() + "\n" + current.getEmail(),
+          "Contact changed", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE, null, options, options[0]);
+        if (choice == JOptionPane.CLOSED_OPTION) {
+          // closed without choosing, so nothing changes until the user tries again
+          break;
+        }
+        origEntry = current;
+        if (choice == 0) {
+          updateContactInformation();
+        } else {
+          fillFields(current);
+        }
+        break;
+      default:
+        closeDialog();
+    }
+  }
+
+  /**
+   * Replaces the text of every text field with the information of a contact.
+   * @param entry The contact
+   */
+  private void fillFields(ImmutableAddressEntry entry) {
+    firstNameField.setText(entry.getFirstName());
+    lastNameField.setText(entry.getLastName());
+    streetField.setText(entry.getStreet());
+    cityField.setText(entry.getCity());
+    stateField.setText(entry.getState());
+    zipField.setText(Integer.toString(entry.getZip()));
+    emailField.setText(entry.getEmail());
+    phoneField.setText(entry.getPhone());
   }
 
   /**
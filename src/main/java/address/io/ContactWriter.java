@@ -0,0 +1,170 @@
+package address.io;
+
+import address.data.ImmutableAddressEntry;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes contacts to a file one at a time, so that exporting any number of contacts never needs more memory than a
+ * single buffer. Nothing is built up in memory before being written; each contact goes straight into a buffered
+ * {@link Writer} on top of a {@link FileChannel}, optionally compressed with gzip on the way.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see CsvContactWriter
+ * @see JsonLinesContactWriter
+ * @see VCardContactWriter
+ */
+public abstract class ContactWriter implements Closeable, Flushable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * The formats contacts can be written in.
+   */
+  public enum Format {
+    /** Comma-separated values, readable by {@link CsvImporter} */
+    CSV("csv", CsvContactWriter::new),
+    /** One JSON object per line */
+    JSON_LINES("jsonl", JsonLinesContactWriter::new),
+    /** vCard 4.0, as described by RFC 6350 */
+    VCARD("vcf", VCardContactWriter::new);
+
+    private final String extension;
+    private final Function<Writer, ContactWriter> factory;
+
+    Format(String extension, Function<Writer, ContactWriter> factory) {
+      this.extension = extension;
+      this.factory = factory;
+    }
+
+    /**
+     * Get the usual file extension of this format.
+     * @return The extension, without a leading dot
+     */
+    public String getExtension() {
+      return extension;
+    }
+
+    /**
+     * Creates a writer of this format.
+     * @param out Where the contacts are written. It's closed along with the returned writer.
+     * @return A new writer
+     */
+    public ContactWriter create(Writer out) {
+      return factory.apply(out);
+    }
+  }
+
+  /** Where contacts are written */
+  protected final Writer out;
+  private long count;
+  private boolean started;
+
+  /**
+   * Constructor for this class.
+   * @param out Where contacts are written, which should be buffered. It's closed along with this writer.
+   */
+  protected ContactWriter(Writer out) {
+    this.out = out;
+  }
+
+  /**
+   * Opens a UTF-8 encoded file for writing contacts to, replacing anything already in it.
+   * @param file The file
+   * @param format The format to write contacts in
+   * @param gzip Whether to compress the file with gzip
+   * @return A new writer
+   * @throws IOException If the file could not be opened
+   */
+  public static ContactWriter open(Path file, Format format, boolean gzip) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING);
+    Writer writer;
+    if (gzip) {
+      writer = new OutputStreamWriter(new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE),
+        StandardCharsets.UTF_8);
+    } else {
+      writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE);
+    }
+    return format.create(new BufferedWriter(writer, BUFFER_SIZE));
+  }
+
+  /**
+   * Writes whatever comes before the first contact, such as a header. Called once, right before the first contact is
+   * written, or when closing if no contacts were written at all.
+   * @throws IOException If writing failed
+   */
+  protected void writeStart() throws IOException {
+  }
+
+  /**
+   * Writes a single contact.
+   * @param entry The contact
+   * @throws IOException If writing failed
+   */
+  protected abstract void writeEntry(ImmutableAddressEntry entry) throws IOException;
+
+  private void start() throws IOException {
+    if (!started) {
+      started = true;
+      writeStart();
+    }
+  }
+
+  /**
+   * Writes a contact after all the ones written so far.
+   * @param entry The contact
+   * @throws IOException If writing failed
+   */
+  public void write(ImmutableAddressEntry entry) throws IOException {
+    start();
+    writeEntry(entry);
+    count++;
+  }
+
+  /**
+   * Writes every remaining contact of an iterator.
+   * @param entries The contacts
+   * @return The number of contacts written
+   * @throws IOException If writing failed
+   */
+  public long writeAll(Iterator<ImmutableAddressEntry> entries) throws IOException {
+    long written = 0;
+    while (entries.hasNext()) {
+      write(entries.next());
+      written++;
+    }
+    return written;
+  }
+
+  /**
+   * Get the number of contacts written so far.
+   * @return The number of contacts
+   */
+  public long getCount() {
+    return count;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      start();
+    } finally {
+      out.close();
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+package address.io;
+
+import address.data.ImmutableAddressEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes contacts as comma-separated values, as described by RFC 4180. The file starts with a header naming every
+ * column, and can be read back in with {@link CsvImporter}. Fields containing commas, double quotes or line breaks are
+ * wrapped in double quotes.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class CsvContactWriter extends ContactWriter {
+
+  private static final String HEADER = "id,firstName,lastName,street,city,state,zip,phone,email\r\n";
+
+  /**
+   * Constructor for this class.
+   * @param out Where contacts are written, which should be buffered. It's closed along with this writer.
+   */
+  public CsvContactWriter(Writer out) {
+    super(out);
+  }
+
+  private void writeField(String value) throws IOException {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+    }
+    if (!quote) {
+      out.write(value);
+      return;
+    }
+    out.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        out.write('"');
+      }
+      out.write(c);
+    }
+    out.write('"');
+  }
+
+  @Override
+  protected void writeStart() throws IOException {
+    out.write(HEADER);
+  }
+
+  @Override
+  protected void writeEntry(ImmutableAddressEntry entry) throws IOException {
+    out.write(entry.getId().toString());
+    out.write(',');
+    writeField(entry.getFirstName());
+    out.write(',');
+    writeField(entry.getLastName());
+    out.write(',');
+    writeField(entry.getStreet());
+    out.write(',');
+    writeField(entry.getCity());
+    out.write(',');
+    writeField(entry.getState());
+    out.write(',');
+    out.write(Integer.toString(entry.getZip()));
+    out.write(',');
+    writeField(entry.getPhone());
+    out.write(',');
+    writeField(entry.getEmail());
+    out.write("\r\n");
+  }
+
+}
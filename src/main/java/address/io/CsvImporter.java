@@ -0,0 +1,568 @@
+package address.io;
+
+import address.data.ImmutableAddressEntry;
+import address.store.ContactStore;
+import address.store.Mutation;
+import address.util.IdGenerator;
+import address.validation.ContactValidator;
+import address.validation.ValidationResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports contacts in bulk from a CSV file. The file is processed by a pipeline of stages running on their own threads,
+ * connected by small bounded queues, so that a slow stage makes the stages before it wait instead of piling up rows in
+ * memory:
+ * <ol>
+ *   <li>The calling thread reads records with a {@link CsvReader}, and hands them on in chunks.</li>
+ *   <li>Several threads turn chunks of records into contacts, and check them with a {@link ContactValidator}. A
+ *       rejected row lists every invalid field, not just the first.</li>
+ *   <li>One thread puts the chunks back into the order they were read in, and drops contacts that are already in the
+ *       address book or earlier in the file.</li>
+ *   <li>One thread writes the remaining contacts to the {@link ContactStore} in batches.</li>
+ * </ol>
+ * The file must start with a header naming its columns, in any order: <code>firstName</code>, <code>lastName</code>,
+ * <code>street</code>, <code>city</code>, <code>state</code>, <code>zip</code>, <code>phone</code> and
+ * <code>email</code>, and optionally <code>id</code>. Other columns are ignored. Contacts without an ID are given a
+ * new one by {@link IdGenerator#getDefault()}.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class CsvImporter {
+
+  /** How many contacts are written to the store at once by default */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+  /** How many records are handed from one stage to the next at once */
+  private static final int CHUNK_SIZE = 512;
+  /** How many chunks can wait between two stages before the earlier stage has to wait */
+  private static final int QUEUE_CAPACITY = 16;
+  private static final String[] REQUIRED_COLUMNS = {
+    "firstName", "lastName", "street", "city", "state", "zip", "phone", "email"
+  };
+  private static final int ID = REQUIRED_COLUMNS.length;
+
+  /**
+   * A row that was not imported because it's invalid.
+   */
+  public static final class Reject {
+
+    private final long line;
+    private final String reason;
+
+    Reject(long line, String reason) {
+      this.line = line;
+      this.reason = reason;
+    }
+
+    /**
+     * Get the line of the file the row starts on.
+     * @return The line number, counting from 1
+     */
+    public long getLine() {
+      return line;
+    }
+
+    /**
+     * Get why the row is invalid.
+     * @return A human-readable reason
+     */
+    public String getReason() {
+      return reason;
+    }
+
+    @Override
+    public String toString() {
+      return "Line " + line + ": " + reason;
+    }
+
+  }
+
+  /**
+   * What happened to every row of an imported file.
+   */
+  public static final class Result {
+
+    private final long rows;
+    private final List<ImmutableAddressEntry> imported;
+    private final long duplicates;
+    private final List<Reject> rejects;
+    private final long elapsedNanos;
+    private final Exception error;
+
+    Result(long rows, List<ImmutableAddressEntry> imported, long duplicates, List<Reject> rejects, long elapsedNanos,
+           Exception error) {
+      this.rows = rows;
+      this.imported = Collections.unmodifiableList(imported);
+      this.duplicates = duplicates;
+      this.rejects = Collections.unmodifiableList(rejects);
+      this.elapsedNanos = elapsedNanos;
+      this.error = error;
+    }
+
+    /**
+     * Get the number of rows read from the file, not counting the header or blank lines.
+     * @return The number of rows
+     */
+    public long getRowCount() {
+      return rows;
+    }
+
+    /**
+     * Get the contacts that were written to the store, in the order they appear in the file. They still have to be
+     * added to the address book.
+     * @return The imported contacts
+     */
+    public List<ImmutableAddressEntry> getImported() {
+      return imported;
+    }
+
+    /**
+     * Get the number of valid rows that were skipped, because the same contact is already in the address book or
+     * earlier in the file.
+     * @return The number of duplicate rows
+     */
+    public long getDuplicateCount() {
+      return duplicates;
+    }
+
+    /**
+     * Get every invalid row.
+     * @return The rejected rows, in the order they appear in the file
+     */
+    public List<Reject> getRejects() {
+      return rejects;
+    }
+
+    /**
+     * Get how long the import took.
+     * @return The time in milliseconds
+     */
+    public long getElapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * Get how quickly rows were imported.
+     * @return The number of rows read per second
+     */
+    public double getRowsPerSecond() {
+      return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get what stopped the import early, if anything did. Contacts in {@link #getImported()} were written before the
+     * problem happened, and everything after them was not.
+     * @return An {@link IOException} if the file could not be read, a {@link SQLException} if contacts could not be
+     *         written to the store, or <code>null</code> if the whole file was imported
+     */
+    public Exception getError() {
+      return error;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d rows in %d ms (%.0f rows/s): %d imported, %d duplicates, %d rejected", rows,
+        getElapsedMillis(), getRowsPerSecond(), imported.size(), duplicates, rejects.size());
+    }
+
+  }
+
+  /** Records handed from one stage to the next, along with what later stages made of them */
+  private static final class Chunk {
+
+    /** Marks the end of the file. Never processed, only passed on. */
+    static final Chunk END = new Chunk(-1);
+
+    final long sequence;
+    final List<String[]> records = new ArrayList<>(CHUNK_SIZE);
+    final long[] lines = new long[CHUNK_SIZE];
+    final List<ImmutableAddressEntry> entries = new ArrayList<>(CHUNK_SIZE);
+    final List<Reject> rejects = new ArrayList<>();
+
+    Chunk(long sequence) {
+      this.sequence = sequence;
+    }
+
+  }
+
+  /** Thrown inside a stage when another stage has failed, to stop it */
+  private static final class AbortedException extends Exception {
+    AbortedException() {
+      super(null, null, false, false);
+    }
+  }
+
+  private final ContactStore store;
+  private final int parallelism;
+  private final int batchSize;
+
+  /**
+   * Constructor for this class.
+   * @param store Where imported contacts are written, or <code>null</code> to not write them anywhere
+   * @param parallelism How many threads turn records into contacts
+   * @param batchSize How many contacts are written to the store at once
+   */
+  public CsvImporter(ContactStore store, int parallelism, int batchSize) {
+    if (parallelism < 1 || batchSize < 1) {
+      throw new IllegalArgumentException("Parallelism and batch size must be positive");
+    }
+    this.store = store;
+    this.parallelism = parallelism;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Constructor for this class, which turns records into contacts on every core but the two used by the other stages,
+   * and writes {@link #DEFAULT_BATCH_SIZE} contacts at once.
+   * @param store Where imported contacts are written, or <code>null</code> to not write them anywhere
+   */
+  public CsvImporter(ContactStore store) {
+    this(store, Math.max(1, Runtime.getRuntime().availableProcessors() - 2), DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Imports every contact from a UTF-8 encoded CSV file.
+   * @param file The file
+   * @param existing Every contact already in the address book, which won't be imported again. Must not change until
+   *                 this returns.
+   * @return What happened to every row
+   * @throws IOException If the file could not be opened, or its header is missing a column. Problems found later are
+   *                     reported by {@link Result#getError()} instead.
+   */
+  public Result importFrom(Path file, Collection<ImmutableAddressEntry> existing) throws IOException {
+    try (CsvReader reader = CsvReader.open(file)) {
+      return importFrom(reader, existing);
+    }
+  }
+
+  /**
+   * Imports every contact from a CSV file.
+   * @param reader Reads the file, which must be at its start
+   * @param existing Every contact already in the address book, which won't be imported again. Must not change until
+   *                 this returns.
+   * @return What happened to every row
+   * @throws IOException If the file's header is missing a column. Problems found later are reported by
+   *                     {@link Result#getError()} instead.
+   */
+  public Result importFrom(CsvReader reader, Collection<ImmutableAddressEntry> existing) throws IOException {
+    long start = System.nanoTime();
+    String[] header = reader.next();
+    if (header == null) {
+      throw new IOException("File is empty");
+    }
+    int[] columns = mapColumns(header);
+    return new Pipeline(reader, columns, existing).run(start);
+  }
+
+  /**
+   * Finds which field of a record holds each column.
+   * @return The field index of every required column in {@link #REQUIRED_COLUMNS} order, followed by the ID column's,
+   *         which is -1 if there is none
+   */
+  private static int[] mapColumns(String[] header) throws IOException {
+    int[] columns = new int[ID + 1];
+    Arrays.fill(columns, -1);
+    for (int i = 0; i < header.length; i++) {
+      String name = header[i].trim();
+      if (name.equalsIgnoreCase("id")) {
+        columns[ID] = i;
+      }
+      for (int j = 0; j < REQUIRED_COLUMNS.length; j++) {
+        if (name.equalsIgnoreCase(REQUIRED_COLUMNS[j])) {
+          columns[j] = i;
+        }
+      }
+    }
+    for (int j = 0; j < REQUIRED_COLUMNS.length; j++) {
+      if (columns[j] == -1) {
+        throw new IOException("Header is missing the " + REQUIRED_COLUMNS[j] + " column");
+      }
+    }
+    return columns;
+  }
+
+  /**
+   * Turns a record into a contact.
+   * @throws IllegalArgumentException If the record isn't a valid contact. The message says why.
+   */
+  private static ImmutableAddressEntry parse(String[] record, int[] columns) {
+    int needed = 0;
+    for (int column : columns) {
+      needed = Math.max(needed, column + 1);
+    }
+    if (record.length < needed) {
+      throw new IllegalArgumentException("Expected " + needed + " fields but found " + record.length);
+    }
+    UUID id;
+    if (columns[ID] == -1 || record[columns[ID]].isEmpty()) {
+      id = IdGenerator.getDefault().next();
+    } else {
+      try {
+        id = UUID.fromString(record[columns[ID]].trim());
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid ID " + record[columns[ID]]);
+      }
+    }
+    int zip;
+    try {
+      zip = Integer.parseInt(record[columns[5]].trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Zip code must be a number");
+    }
+    ImmutableAddressEntry entry = ImmutableAddressEntry.builder()
+      .id(id)
+      .firstName(record[columns[0]])
+      .lastName(record[columns[1]])
+      .street(record[columns[2]])
+      .city(record[columns[3]])
+      .state(record[columns[4]])
+      .zip(zip)
+      .phone(record[columns[6]])
+      .email(record[columns[7]])
+      .build();
+    int failures = ContactValidator.validate(entry);
+    if (failures != 0) {
+      throw new IllegalArgumentException(ValidationResult.describe(failures));
+    }
+    return entry;
+  }
+
+  /**
+   * Checks whether a record is an empty line, which is skipped rather than rejected.
+   */
+  private static boolean isBlank(String[] record) {
+    return record.length == 1 && record[0].trim().isEmpty();
+  }
+
+  /**
+   * The state of a single import, shared by all of its stages.
+   */
+  private final class Pipeline {
+
+    private final CsvReader reader;
+    private final int[] columns;
+    private final Collection<ImmutableAddressEntry> existing;
+    private final BlockingQueue<Chunk> records = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<Chunk> parsed = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<List<ImmutableAddressEntry>> unique = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicInteger runningParsers = new AtomicInteger(parallelism);
+
+    /** The first thing that went wrong in any stage, which stops all of them */
+    private volatile Exception error;
+    /** Only touched by the deduplicating stage until it's done */
+    private final List<Reject> rejects = new ArrayList<>();
+    private long duplicates;
+    /** Only touched by the writing stage until it's done */
+    private final List<ImmutableAddressEntry> imported = new ArrayList<>();
+    private long rows;
+
+    Pipeline(CsvReader reader, int[] columns, Collection<ImmutableAddressEntry> existing) {
+      this.reader = reader;
+      this.columns = columns;
+      this.existing = existing;
+    }
+
+    private void fail(Exception e) {
+      synchronized (this) {
+        if (error == null) {
+          error = e;
+        }
+      }
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item) throws AbortedException, InterruptedException {
+      while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+        if (error != null) {
+          throw new AbortedException();
+        }
+      }
+    }
+
+    private <T> T take(BlockingQueue<T> queue) throws AbortedException, InterruptedException {
+      T item;
+      while ((item = queue.poll(100, TimeUnit.MILLISECONDS)) == null) {
+        if (error != null) {
+          throw new AbortedException();
+        }
+      }
+      return item;
+    }
+
+    private Thread start(String name, Runnable stage) {
+      Thread thread = new Thread(() -> {
+        try {
+          stage.run();
+        } catch (RuntimeException e) {
+          fail(e);
+        }
+      }, name);
+      thread.setDaemon(true);
+      thread.start();
+      return thread;
+    }
+
+    Result run(long start) {
+      List<Thread> threads = new ArrayList<>();
+      for (int i = 0; i < parallelism; i++) {
+        threads.add(start("csv-import-parse-" + i, this::parseStage));
+      }
+      threads.add(start("csv-import-dedup", this::dedupStage));
+      threads.add(start("csv-import-write", this::writeStage));
+      try {
+        readStage();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(e);
+      }
+      for (Thread thread : threads) {
+        try {
+          thread.join();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          fail(e);
+          break;
+        }
+      }
+      return new Result(rows, imported, duplicates, rejects, System.nanoTime() - start, error);
+    }
+
+    private void readStage() throws InterruptedException {
+      try {
+        long sequence = 0;
+        Chunk chunk = new Chunk(sequence++);
+        String[] record;
+        while ((record = reader.next()) != null) {
+          if (isBlank(record)) {
+            continue;
+          }
+          rows++;
+          chunk.lines[chunk.records.size()] = reader.getLineNumber();
+          chunk.records.add(record);
+          if (chunk.records.size() == CHUNK_SIZE) {
+            put(records, chunk);
+            chunk = new Chunk(sequence++);
+          }
+        }
+        if (!chunk.records.isEmpty()) {
+          put(records, chunk);
+        }
+        put(records, Chunk.END);
+      } catch (IOException e) {
+        fail(e);
+      } catch (AbortedException e) {
+        // another stage already failed
+      }
+    }
+
+    private void parseStage() {
+      try {
+        while (true) {
+          Chunk chunk = take(records);
+          if (chunk == Chunk.END) {
+            // the other parsers have to see it too
+            put(records, chunk);
+            break;
+          }
+          for (int i = 0; i < chunk.records.size(); i++) {
+            try {
+              chunk.entries.add(parse(chunk.records.get(i), columns));
+            } catch (IllegalArgumentException e) {
+              chunk.rejects.add(new Reject(chunk.lines[i], e.getMessage()));
+            }
+          }
+          put(parsed, chunk);
+        }
+        if (runningParsers.decrementAndGet() == 0) {
+          put(parsed, Chunk.END);
+        }
+      } catch (AbortedException e) {
+        // another stage already failed
+      } catch (InterruptedException e) {
+        fail(e);
+      }
+    }
+
+    private void dedupStage() {
+      try {
+        Set<ImmutableAddressEntry> seen = new HashSet<>(existing.size() * 2);
+        Set<UUID> ids = new HashSet<>(existing.size() * 2);
+        for (ImmutableAddressEntry entry : existing) {
+          // contacts are compared without their IDs, since every row gets a new one
+          seen.add(entry.toBuilder().id(null).build());
+          ids.add(entry.getId());
+        }
+        // parsers can finish chunks out of order, so they're held back until every earlier chunk is done
+        Map<Long, Chunk> waiting = new HashMap<>();
+        long next = 0;
+        Chunk chunk;
+        while ((chunk = take(parsed)) != Chunk.END) {
+          waiting.put(chunk.sequence, chunk);
+          while ((chunk = waiting.remove(next)) != null) {
+            next++;
+            rejects.addAll(chunk.rejects);
+            List<ImmutableAddressEntry> batch = new ArrayList<>(chunk.entries.size());
+            for (ImmutableAddressEntry entry : chunk.entries) {
+              if (ids.add(entry.getId()) && seen.add(entry.toBuilder().id(null).build())) {
+                batch.add(entry);
+              } else {
+                duplicates++;
+              }
+            }
+            if (!batch.isEmpty()) {
+              put(unique, batch);
+            }
+          }
+        }
+        put(unique, Collections.emptyList());
+      } catch (AbortedException e) {
+        // another stage already failed
+      } catch (InterruptedException e) {
+        fail(e);
+      }
+    }
+
+    private void write(List<ImmutableAddressEntry> batch) throws SQLException {
+      if (batch.isEmpty()) {
+        return;
+      }
+      if (store != null) {
+        List<Mutation> mutations = new ArrayList<>(batch.size());
+        batch.forEach(entry -> mutations.add(Mutation.insert(entry)));
+        store.write(mutations);
+      }
+      imported.addAll(batch);
+    }
+
+    private void writeStage() {
+      try {
+        List<ImmutableAddressEntry> batch = new ArrayList<>(batchSize);
+        List<ImmutableAddressEntry> entries;
+        while (!(entries = take(unique)).isEmpty()) {
+          for (ImmutableAddressEntry entry : entries) {
+            batch.add(entry);
+            if (batch.size() == batchSize) {
+              write(batch);
+              batch.clear();
+            }
+          }
+        }
+        write(batch);
+      } catch (SQLException e) {
+        fail(e);
+      } catch (AbortedException e) {
+        // another stage already failed
+      } catch (InterruptedException e) {
+        fail(e);
+      }
+    }
+
+  }
+
+}
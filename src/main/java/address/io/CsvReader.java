@@ -0,0 +1,218 @@
+package address.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV files as described by RFC 4180, one record at a time, so that files of any size can be read without
+ * holding more than a small buffer of them in memory. The file is read straight from a channel into a byte buffer and
+ * decoded in place, without going through a stream or a line-based reader.
+ * <p>
+ * Fields are separated by commas, and records by either <code>CRLF</code> or a lone <code>LF</code>. Fields wrapped in
+ * double quotes may contain commas, line breaks, and double quotes written twice (<code>""</code>). A byte order mark at
+ * the start of the file is skipped.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class CsvReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final ReadableByteChannel channel;
+  private final CharsetDecoder decoder;
+  private final ByteBuffer bytes;
+  private final CharBuffer chars;
+  private boolean endOfInput;
+  private boolean flushed;
+
+  private final StringBuilder field = new StringBuilder();
+  private final List<String> fields = new ArrayList<>();
+  /** The line the next character is on */
+  private long line = 1;
+  /** The line the last record returned by {@link #next()} started on */
+  private long recordLine;
+  private boolean first = true;
+
+  /**
+   * Constructor for this class.
+   * @param channel Where the file is read from. It's closed along with this reader.
+   * @param charset The character set the file is written in. Malformed characters are replaced rather than rejected.
+   */
+  public CsvReader(ReadableByteChannel channel, Charset charset) {
+    this.channel = channel;
+    decoder = charset.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    chars = CharBuffer.allocate(BUFFER_SIZE);
+    chars.flip();
+  }
+
+  /**
+   * Opens a UTF-8 encoded CSV file.
+   * @param file The file
+   * @return A new reader
+   * @throws IOException If the file could not be opened
+   */
+  public static CsvReader open(Path file) throws IOException {
+    return new CsvReader(FileChannel.open(file, StandardOpenOption.READ), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Decodes more characters into the character buffer.
+   * @return False if the end of the file has been reached and every character has been read, true otherwise
+   */
+  private boolean fill() throws IOException {
+    chars.compact();
+    try {
+      while (chars.position() == 0 && !flushed) {
+        if (!endOfInput && channel.read(bytes) == -1) {
+          endOfInput = true;
+        }
+        bytes.flip();
+        CoderResult result = decoder.decode(bytes, chars, endOfInput);
+        bytes.compact();
+        if (result.isError()) {
+          result.throwException();
+        }
+        if (endOfInput) {
+          decoder.flush(chars);
+          flushed = true;
+        }
+      }
+      return chars.position() > 0;
+    } finally {
+      chars.flip();
+    }
+  }
+
+  /**
+   * Reads the next character, or -1 at the end of the file.
+   */
+  private int read() throws IOException {
+    if (!chars.hasRemaining() && !fill()) {
+      return -1;
+    }
+    return chars.get();
+  }
+
+  /**
+   * Looks at the next character without reading it, or -1 at the end of the file.
+   */
+  private int peek() throws IOException {
+    if (!chars.hasRemaining() && !fill()) {
+      return -1;
+    }
+    return chars.get(chars.position());
+  }
+
+  private void endField() {
+    fields.add(field.toString());
+    field.setLength(0);
+  }
+
+  /**
+   * Reads the next record.
+   * @return The fields of the record, or <code>null</code> if there are no more records
+   * @throws IOException If the file could not be read, or a quoted field is never closed
+   */
+  public String[] next() throws IOException {
+    fields.clear();
+    field.setLength(0);
+    int c = read();
+    if (first) {
+      first = false;
+      if (c == '\uFEFF') {
+        c = read();
+      }
+    }
+    if (c == -1) {
+      return null;
+    }
+    recordLine = line;
+    while (true) {
+      if (c == '"' && field.length() == 0) {
+        readQuoted();
+        c = read();
+        continue;
+      }
+      switch (c) {
+        case -1:
+          endField();
+          return fields.toArray(new String[0]);
+        case ',':
+          endField();
+          break;
+        case '\r':
+          if (peek() != '\n') {
+            field.append('\r');
+            break;
+          }
+          read();
+          // fall through to the line feed
+        case '\n':
+          line++;
+          endField();
+          return fields.toArray(new String[0]);
+        default:
+          field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  /**
+   * Reads the rest of a field whose opening double quote was just read, up to and including its closing double quote.
+   */
+  private void readQuoted() throws IOException {
+    long startLine = line;
+    while (true) {
+      int c = read();
+      switch (c) {
+        case -1:
+          throw new IOException("Quoted field starting on line " + startLine + " is never closed");
+        case '"':
+          if (peek() != '"') {
+            return;
+          }
+          read();
+          field.append('"');
+          break;
+        case '\n':
+          line++;
+          field.append('\n');
+          break;
+        default:
+          field.append((char) c);
+      }
+    }
+  }
+
+  /**
+   * Get the line the last record returned by {@link #next()} started on. Lines are counted from 1, and a record with
+   * line breaks inside quoted fields spans several lines.
+   * @return The line number
+   */
+  public long getLineNumber() {
+    return recordLine;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+}
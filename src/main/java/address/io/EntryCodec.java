@@ -0,0 +1,447 @@
+package address.io;
+
+import address.data.Address;
+import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
+import address.data.Name;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * A compact binary format for contacts, for storing them in files or caches, or sending them elsewhere in bulk. An
+ * encoded contact is usually less than half the size of its {@link AddressEntry#toString()}, and a small fraction of
+ * its Java serialized form.
+ * <p>
+ * Every encoded contact starts with the version of the format it was written in, so that the format can change later
+ * without making older data unreadable. Contacts are always written in the latest version, 2, which is laid out as
+ * follows:
+ * <ol>
+ *   <li>The version, as a single byte</li>
+ *   <li>A byte of flags. Bit 0 is set if the contact has an ID.</li>
+ *   <li>The ID as 16 bytes, most significant half first, if the contact has one</li>
+ *   <li>The name: first name, then last name</li>
+ *   <li>The address: street, city, state, then the zip code as a varint</li>
+ *   <li>The phone number, then the email address</li>
+ *   <li>The {@link ImmutableAddressEntry#getVersion() version} of the contact's row as a varint, which is always 0 for
+ *       an {@link AddressEntry}</li>
+ * </ol>
+ * Version 1 is the same, without the row version at the end, and is decoded as if the row version were 0.
+ * Every string is its length in UTF-8 bytes as a varint, followed by those bytes. Varints are unsigned LEB128: 7 bits
+ * per byte, least significant first, with the top bit set on every byte but the last. Zip codes are zigzag encoded
+ * first, so that the odd negative one doesn't take 5 bytes.
+ * <p>
+ * Contacts are decoded straight from a {@link ByteBuffer}, without any stream in between. For buffers backed by an
+ * array, each string is made directly from the bytes in the array, so nothing is copied besides into the strings
+ * themselves.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public final class EntryCodec {
+
+  private EntryCodec() {}
+
+  /** The version contacts are encoded in */
+  public static final int VERSION = 2;
+  /** The oldest version that can still be decoded */
+  private static final int OLDEST_VERSION = 1;
+
+  private static final int FLAG_ID = 1;
+
+  private static int varintSize(int value) {
+    int size = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  private static void putVarint(ByteBuffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  private static int getVarint(ByteBuffer buffer) {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  private static int varlongSize(long value) {
+    int size = 1;
+    while ((value & ~0x7FL) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  private static void putVarlong(ByteBuffer buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  private static long getVarlong(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  private static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static int unzigzag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static int utf8Length(String value) {
+    int length = value.length();
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 0x80) {
+        if (c < 0x800) {
+          length++;
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+          // 4 bytes for the pair
+          length += 2;
+          i++;
+        } else {
+          length += 2;
+        }
+      }
+    }
+    return length;
+  }
+
+  private static int stringSize(String value) {
+    int length = utf8Length(value);
+    return varintSize(length) + length;
+  }
+
+  private static void putString(ByteBuffer buffer, String value) {
+    putVarint(buffer, utf8Length(value));
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c < 0x800) {
+        buffer.put((byte) (0xC0 | (c >> 6)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer.put((byte) (0xF0 | (codePoint >> 18)));
+        buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+      } else {
+        // a lone surrogate isn't a character on its own, so it's replaced with U+FFFD, which also takes 3 bytes
+        if (Character.isSurrogate(c)) {
+          c = '\uFFFD';
+        }
+        buffer.put((byte) (0xE0 | (c >> 12)));
+        buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      }
+    }
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = getVarint(buffer);
+    if (length < 0) {
+      throw new IllegalArgumentException("Invalid string length " + (length & 0xFFFFFFFFL));
+    }
+    if (length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    String value;
+    if (buffer.hasArray()) {
+      value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+    } else {
+      byte[] bytes = new byte[length];
+      buffer.duplicate().get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+    buffer.position(buffer.position() + length);
+    return value;
+  }
+
+  private static void skipString(ByteBuffer buffer) {
+    int length = getVarint(buffer);
+    if (length < 0) {
+      throw new IllegalArgumentException("Invalid string length " + (length & 0xFFFFFFFFL));
+    }
+    if (length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    buffer.position(buffer.position() + length);
+  }
+
+  /**
+   * Get how many bytes a name takes once encoded with {@link #encode(Name, ByteBuffer)}.
+   * @param name The name
+   * @return The size in bytes
+   */
+  public static int encodedSize(Name name) {
+    return stringSize(name.getFirstName()) + stringSize(name.getLastName());
+  }
+
+  /**
+   * Encodes a name, without a version.
+   * @param name The name
+   * @param buffer Where to write the name, starting at its position
+   * @throws java.nio.BufferOverflowException If the buffer doesn't have {@link #encodedSize(Name)} bytes remaining
+   */
+  public static void encode(Name name, ByteBuffer buffer) {
+    putString(buffer, name.getFirstName());
+    putString(buffer, name.getLastName());
+  }
+
+  /**
+   * Decodes a name written by {@link #encode(Name, ByteBuffer)}.
+   * @param buffer Where to read the name from, starting at its position
+   * @return The name
+   * @throws BufferUnderflowException If the buffer ends before the name does
+   */
+  public static Name decodeName(ByteBuffer buffer) {
+    return new Name(getString(buffer), getString(buffer));
+  }
+
+  /**
+   * Get how many bytes an address takes once encoded with {@link #encode(Address, ByteBuffer)}.
+   * @param address The address
+   * @return The size in bytes
+   */
+  public static int encodedSize(Address address) {
+    return stringSize(address.getStreet()) + stringSize(address.getCity()) + stringSize(address.getState()) +
+      varintSize(zigzag(address.getZip()));
+  }
+
+  /**
+   * Encodes an address, without a version.
+   * @param address The address
+   * @param buffer Where to write the address, starting at its position
+   * @throws java.nio.BufferOverflowException If the buffer doesn't have {@link #encodedSize(Address)} bytes remaining
+   */
+  public static void encode(Address address, ByteBuffer buffer) {
+    putString(buffer, address.getStreet());
+    putString(buffer, address.getCity());
+    putString(buffer, address.getState());
+    putVarint(buffer, zigzag(address.getZip()));
+  }
+
+  /**
+   * Decodes an address written by {@link #encode(Address, ByteBuffer)}.
+   * @param buffer Where to read the address from, starting at its position
+   * @return The address
+   * @throws BufferUnderflowException If the buffer ends before the address does
+   */
+  public static Address decodeAddress(ByteBuffer buffer) {
+    return new Address(getString(buffer), getString(buffer), getString(buffer), unzigzag(getVarint(buffer)));
+  }
+
+  /**
+   * Get how many bytes a contact takes once encoded with {@link #encode(ImmutableAddressEntry, ByteBuffer)}.
+   * @param entry The contact
+   * @return The size in bytes
+   */
+  public static int encodedSize(ImmutableAddressEntry entry) {
+    return 2 + (entry.getId() == null ? 0 : 16) +
+      stringSize(entry.getFirstName()) + stringSize(entry.getLastName()) +
+      stringSize(entry.getStreet()) + stringSize(entry.getCity()) + stringSize(entry.getState()) +
+      varintSize(zigzag(entry.getZip())) +
+      stringSize(entry.getPhone()) + stringSize(entry.getEmail()) + varlongSize(entry.getVersion());
+  }
+
+  /**
+   * Get how many bytes a contact takes once encoded with {@link #encode(AddressEntry, ByteBuffer)}.
+   * @param entry The contact
+   * @return The size in bytes
+   */
+  public static int encodedSize(AddressEntry entry) {
+    return 2 + (entry.getId() == null ? 0 : 16) + encodedSize(entry.getName()) + encodedSize(entry.getAddress()) +
+      stringSize(entry.getPhone()) + stringSize(entry.getEmail()) + varlongSize(0);
+  }
+
+  private static void putHeader(ByteBuffer buffer, UUID id) {
+    buffer.put((byte) VERSION);
+    buffer.put((byte) (id == null ? 0 : FLAG_ID));
+    if (id != null) {
+      buffer.putLong(id.getMostSignificantBits());
+      buffer.putLong(id.getLeastSignificantBits());
+    }
+  }
+
+  /**
+   * Encodes a contact.
+   * @param entry The contact
+   * @param buffer Where to write the contact, starting at its position
+   * @throws java.nio.BufferOverflowException If the buffer doesn't have
+   *                                          {@link #encodedSize(ImmutableAddressEntry)} bytes remaining
+   */
+  public static void encode(ImmutableAddressEntry entry, ByteBuffer buffer) {
+    putHeader(buffer, entry.getId());
+    putString(buffer, entry.getFirstName());
+    putString(buffer, entry.getLastName());
+    putString(buffer, entry.getStreet());
+    putString(buffer, entry.getCity());
+    putString(buffer, entry.getState());
+    putVarint(buffer, zigzag(entry.getZip()));
+    putString(buffer, entry.getPhone());
+    putString(buffer, entry.getEmail());
+    putVarlong(buffer, entry.getVersion());
+  }
+
+  /**
+   * Encodes a mutable contact, exactly the same way as {@link #encode(ImmutableAddressEntry, ByteBuffer)}.
+   * @param entry The contact
+   * @param buffer Where to write the contact, starting at its position
+   * @throws java.nio.BufferOverflowException If the buffer doesn't have {@link #encodedSize(AddressEntry)} bytes
+   *                                          remaining
+   */
+  public static void encode(AddressEntry entry, ByteBuffer buffer) {
+    putHeader(buffer, entry.getId());
+    encode(entry.getName(), buffer);
+    encode(entry.getAddress(), buffer);
+    putString(buffer, entry.getPhone());
+    putString(buffer, entry.getEmail());
+    putVarlong(buffer, 0);
+  }
+
+  /**
+   * Encodes a contact into a new array.
+   * @param entry The contact
+   * @return The encoded contact
+   */
+  public static byte[] encode(ImmutableAddressEntry entry) {
+    byte[] bytes = new byte[encodedSize(entry)];
+    encode(entry, ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  /**
+   * Reads the version of the format an encoded contact was written in.
+   * @return The version
+   */
+  private static int getVersion(ByteBuffer buffer) {
+    int version = buffer.get() & 0xFF;
+    if (version < OLDEST_VERSION || version > VERSION) {
+      throw new IllegalArgumentException("Unsupported version " + version);
+    }
+    return version;
+  }
+
+  /**
+   * Reads the flags of an encoded contact, then its ID.
+   * @return The ID, or <code>null</code> if the contact doesn't have one
+   */
+  private static UUID getId(ByteBuffer buffer) {
+    int flags = buffer.get();
+    return (flags & FLAG_ID) == 0 ? null : new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  /**
+   * Reads the version of a contact's row, which contacts written before version 2 don't have.
+   */
+  private static long getRowVersion(ByteBuffer buffer, int version) {
+    return version < 2 ? 0 : getVarlong(buffer);
+  }
+
+  /**
+   * Decodes a contact written by {@link #encode(ImmutableAddressEntry, ByteBuffer)} or
+   * {@link #encode(AddressEntry, ByteBuffer)}. The buffer's position is moved to right after the contact.
+   * @param buffer Where to read the contact from, starting at its position
+   * @return The contact
+   * @throws BufferUnderflowException If the buffer ends before the contact does
+   * @throws IllegalArgumentException If the contact was written in a version of the format this doesn't understand,
+   *                                  or is malformed
+   */
+  public static ImmutableAddressEntry decode(ByteBuffer buffer) {
+    int version = getVersion(buffer);
+    return ImmutableAddressEntry.builder()
+      .id(getId(buffer))
+      .firstName(getString(buffer))
+      .lastName(getString(buffer))
+      .street(getString(buffer))
+      .city(getString(buffer))
+      .state(getString(buffer))
+      .zip(unzigzag(getVarint(buffer)))
+      .phone(getString(buffer))
+      .email(getString(buffer))
+      .version(getRowVersion(buffer, version))
+      .build();
+  }
+
+  /**
+   * Decodes a contact into a mutable {@link AddressEntry}, the same way as {@link #decode(ByteBuffer)}.
+   * @param buffer Where to read the contact from, starting at its position
+   * @return The contact
+   * @throws BufferUnderflowException If the buffer ends before the contact does
+   * @throws IllegalArgumentException If the contact was written in a version of the format this doesn't understand,
+   *                                  or is malformed
+   */
+  public static AddressEntry decodeEntry(ByteBuffer buffer) {
+    int version = getVersion(buffer);
+    UUID id = getId(buffer);
+    AddressEntry entry = new AddressEntry(id, decodeName(buffer), decodeAddress(buffer), getString(buffer),
+      getString(buffer));
+    // mutable contacts don't have a version
+    getRowVersion(buffer, version);
+    return entry;
+  }
+
+  /**
+   * Reads only the ID of an encoded contact, without decoding anything else or moving the buffer's position. Useful
+   * for finding a contact among many encoded ones.
+   * @param buffer Where the contact is encoded, starting at its position
+   * @return The ID, or <code>null</code> if the contact doesn't have one
+   * @throws IllegalArgumentException If the contact was written in a version of the format this doesn't understand
+   */
+  public static UUID peekId(ByteBuffer buffer) {
+    ByteBuffer header = buffer.duplicate();
+    getVersion(header);
+    return getId(header);
+  }
+
+  /**
+   * Moves a buffer's position past an encoded contact, without decoding any of its strings.
+   * @param buffer Where the contact is encoded, starting at its position
+   * @throws BufferUnderflowException If the buffer ends before the contact does
+   * @throws IllegalArgumentException If the contact was written in a version of the format this doesn't understand
+   */
+  public static void skip(ByteBuffer buffer) {
+    int version = getVersion(buffer);
+    getId(buffer);
+    for (int i = 0; i < 5; i++) {
+      skipString(buffer);
+    }
+    getVarint(buffer);
+    skipString(buffer);
+    skipString(buffer);
+    getRowVersion(buffer, version);
+  }
+
+}
@@ -0,0 +1,208 @@
+package address.io;
+
+import address.data.ImmutableAddressEntry;
+
+/**
+ * Reads a contact from a single JSON object, in the same form written by {@link JsonLinesContactWriter}, such as
+ * <pre>{"firstName":"John","lastName":"Smith",...,"zip":12345,...}</pre>
+ * Only a flat object is understood: every value must be a string, a number, <code>true</code>, <code>false</code> or
+ * <code>null</code>. Fields that aren't part of a contact are ignored, as is <code>id</code>, which is up to whoever
+ * stores the contact. A <code>zip</code> can be given either as a number or as a string of digits.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public final class JsonContactReader {
+
+  private final CharSequence json;
+  private int pos;
+
+  private JsonContactReader(CharSequence json) {
+    this.json = json;
+  }
+
+  /**
+   * Reads a contact's fields from a JSON object into a builder. Fields missing from the object are left as they are in
+   * the builder, so an existing contact can be changed by reading only the fields that changed.
+   * @param json The JSON object
+   * @param builder Where the fields are set
+   * @return The same builder
+   * @throws IllegalArgumentException If the JSON is malformed, or a field has the wrong type
+   */
+  public static ImmutableAddressEntry.Builder read(CharSequence json, ImmutableAddressEntry.Builder builder) {
+    new JsonContactReader(json).readObject(builder);
+    return builder;
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at position " + pos);
+  }
+
+  private void skipWhitespace() {
+    while (pos < json.length()) {
+      char c = json.charAt(pos);
+      if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+        return;
+      }
+      pos++;
+    }
+  }
+
+  private char peek() {
+    skipWhitespace();
+    if (pos >= json.length()) {
+      throw error("Unexpected end of JSON");
+    }
+    return json.charAt(pos);
+  }
+
+  private void expect(char c) {
+    if (peek() != c) {
+      throw error("Expected '" + c + "'");
+    }
+    pos++;
+  }
+
+  private void readObject(ImmutableAddressEntry.Builder builder) {
+    expect('{');
+    if (peek() == '}') {
+      pos++;
+    } else {
+      do {
+        String name = readString();
+        expect(':');
+        Object value = readValue();
+        set(builder, name, value);
+      } while (next());
+    }
+    skipWhitespace();
+    if (pos < json.length()) {
+      throw error("Unexpected content after object");
+    }
+  }
+
+  /** Reads the comma between two fields, or the closing brace after the last one */
+  private boolean next() {
+    char c = peek();
+    pos++;
+    if (c == ',') {
+      return true;
+    }
+    if (c == '}') {
+      return false;
+    }
+    pos--;
+    throw error("Expected ',' or '}'");
+  }
+
+  private Object readValue() {
+    char c = peek();
+    if (c == '"') {
+      return readString();
+    }
+    if (c == '-' || (c >= '0' && c <= '9')) {
+      return readNumber();
+    }
+    for (String literal : new String[] {"true", "false", "null"}) {
+      if (json.length() - pos >= literal.length()
+        && json.subSequence(pos, pos + literal.length()).toString().equals(literal)) {
+        pos += literal.length();
+        return literal.equals("null") ? null : Boolean.valueOf(literal);
+      }
+    }
+    throw error("Expected a string, number, true, false or null");
+  }
+
+  private Double readNumber() {
+    int start = pos;
+    while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) != -1) {
+      pos++;
+    }
+    try {
+      return Double.valueOf(json.subSequence(start, pos).toString());
+    } catch (NumberFormatException e) {
+      pos = start;
+      throw error("Malformed number");
+    }
+  }
+
+  private String readString() {
+    expect('"');
+    StringBuilder value = new StringBuilder();
+    while (true) {
+      if (pos >= json.length()) {
+        throw error("String is never closed");
+      }
+      char c = json.charAt(pos++);
+      if (c == '"') {
+        return value.toString();
+      }
+      if (c < 0x20) {
+        throw error("Unescaped control character in string");
+      }
+      if (c != '\\') {
+        value.append(c);
+        continue;
+      }
+      if (pos >= json.length()) {
+        throw error("String is never closed");
+      }
+      char escaped = json.charAt(pos++);
+      switch (escaped) {
+        case '"': case '\\': case '/': value.append(escaped); break;
+        case 'b': value.append('\b'); break;
+        case 'f': value.append('\f'); break;
+        case 'n': value.append('\n'); break;
+        case 'r': value.append('\r'); break;
+        case 't': value.append('\t'); break;
+        case 'u':
+          if (json.length() - pos < 4) {
+            throw error("Malformed unicode escape");
+          }
+          try {
+            value.append((char) Integer.parseInt(json.subSequence(pos, pos + 4).toString(), 16));
+          } catch (NumberFormatException e) {
+            throw error("Malformed unicode escape");
+          }
+          pos += 4;
+          break;
+        default:
+          throw error("Unknown escape \\" + escaped);
+      }
+    }
+  }
+
+  private static String text(String name, Object value) {
+    if (value == null) {
+      return "";
+    }
+    if (!(value instanceof String)) {
+      throw new IllegalArgumentException("Field " + name + " must be a string");
+    }
+    return ((String) value).trim();
+  }
+
+  private static void set(ImmutableAddressEntry.Builder builder, String name, Object value) {
+    switch (name) {
+      case "firstName": builder.firstName(text(name, value)); break;
+      case "lastName": builder.lastName(text(name, value)); break;
+      case "street": builder.street(text(name, value)); break;
+      case "city": builder.city(text(name, value)); break;
+      case "state": builder.state(text(name, value)); break;
+      case "phone": builder.phone(text(name, value)); break;
+      case "email": builder.email(text(name, value)); break;
+      case "zip":
+        if (value instanceof Double && (Double) value == Math.rint((Double) value)
+          && Math.abs((Double) value) <= Integer.MAX_VALUE) {
+          builder.zip(((Double) value).intValue());
+        } else if (value instanceof String && ((String) value).trim().matches("\\d{1,9}")) {
+          builder.zip(Integer.parseInt(((String) value).trim()));
+        } else {
+          throw new IllegalArgumentException("Field zip must be a whole number");
+        }
+        break;
+      default:
+        // ids are chosen by whoever stores the contact, and anything else isn't part of a contact
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+package address.io;
+
+import address.data.ImmutableAddressEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes contacts as JSON Lines: one JSON object per contact, each on its own line, such as
+ * <pre>{"id":"...","firstName":"John","lastName":"Smith",...,"zip":12345,...}</pre>
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class JsonLinesContactWriter extends ContactWriter {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * Constructor for this class.
+   * @param out Where contacts are written, which should be buffered. It's closed along with this writer.
+   */
+  public JsonLinesContactWriter(Writer out) {
+    super(out);
+  }
+
+  private void writeString(String value) throws IOException {
+    out.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"': out.write("\\\""); break;
+        case '\\': out.write("\\\\"); break;
+        case '\n': out.write("\\n"); break;
+        case '\r': out.write("\\r"); break;
+        case '\t': out.write("\\t"); break;
+        default:
+          if (c < 0x20) {
+            out.write("\\u00");
+            out.write(HEX[c >> 4]);
+            out.write(HEX[c & 0xF]);
+          } else {
+            out.write(c);
+          }
+      }
+    }
+    out.write('"');
+  }
+
+  private void writeField(String name, String value) throws IOException {
+    out.write(",\"");
+    out.write(name);
+    out.write("\":");
+    writeString(value);
+  }
+
+  @Override
+  protected void writeEntry(ImmutableAddressEntry entry) throws IOException {
+    out.write("{\"id\":\"");
+    out.write(entry.getId().toString());
+    out.write('"');
+    writeField("firstName", entry.getFirstName());
+    writeField("lastName", entry.getLastName());
+    writeField("street", entry.getStreet());
+    writeField("city", entry.getCity());
+    writeField("state", entry.getState());
+    out.write(",\"zip\":");
+    out.write(Integer.toString(entry.getZip()));
+    writeField("phone", entry.getPhone());
+    writeField("email", entry.getEmail());
+    out.write("}\n");
+  }
+
+}
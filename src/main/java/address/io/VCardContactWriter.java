@@ -0,0 +1,113 @@
+package address.io;
+
+import address.data.ImmutableAddressEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes contacts as vCard 4.0, as described by RFC 6350, one <code>BEGIN:VCARD</code> ... <code>END:VCARD</code> block
+ * per contact. Commas, semicolons, backslashes and line breaks in values are escaped, and lines longer than 75 bytes
+ * are folded onto continuation lines.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class VCardContactWriter extends ContactWriter {
+
+  /** The longest a line can be in UTF-8 bytes, not counting the line break */
+  private static final int MAX_LINE_BYTES = 75;
+
+  private final StringBuilder line = new StringBuilder(128);
+
+  /**
+   * Constructor for this class.
+   * @param out Where contacts are written, which should be buffered. It's closed along with this writer.
+   */
+  public VCardContactWriter(Writer out) {
+    super(out);
+  }
+
+  private void escape(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\': line.append("\\\\"); break;
+        case ',': line.append("\\,"); break;
+        case ';': line.append("\\;"); break;
+        case '\n': line.append("\\n"); break;
+        case '\r': break;
+        default: line.append(c);
+      }
+    }
+  }
+
+  private static int utf8Length(char c) {
+    if (c < 0x80) {
+      return 1;
+    }
+    if (c < 0x800) {
+      return 2;
+    }
+    // half of a surrogate pair, which together take 4 bytes
+    return Character.isSurrogate(c) ? 2 : 3;
+  }
+
+  /**
+   * Writes the line built up so far, folding it if it's too long, and starts a new one.
+   */
+  private void endLine() throws IOException {
+    int bytes = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      int length = utf8Length(c);
+      // never fold between the two halves of a surrogate pair
+      if (bytes + length > MAX_LINE_BYTES && !Character.isLowSurrogate(c)) {
+        out.write("\r\n ");
+        // the leading space of a continuation line counts towards its length
+        bytes = 1;
+      }
+      out.write(c);
+      bytes += length;
+    }
+    out.write("\r\n");
+    line.setLength(0);
+  }
+
+  @Override
+  protected void writeEntry(ImmutableAddressEntry entry) throws IOException {
+    out.write("BEGIN:VCARD\r\nVERSION:4.0\r\n");
+    line.append("UID:urn:uuid:").append(entry.getId());
+    endLine();
+    line.append("FN:");
+    escape(entry.getFirstName());
+    line.append(' ');
+    escape(entry.getLastName());
+    endLine();
+    line.append("N:");
+    escape(entry.getLastName());
+    line.append(';');
+    escape(entry.getFirstName());
+    line.append(";;;");
+    endLine();
+    line.append("ADR;TYPE=home:;;");
+    escape(entry.getStreet());
+    line.append(';');
+    escape(entry.getCity());
+    line.append(';');
+    escape(entry.getState());
+    line.append(';').append(entry.getZip()).append(';');
+    endLine();
+    if (!entry.getPhone().isEmpty()) {
+      line.append("TEL;VALUE=text:");
+      escape(entry.getPhone());
+      endLine();
+    }
+    if (!entry.getEmail().isEmpty()) {
+      line.append("EMAIL:");
+      escape(entry.getEmail());
+      endLine();
+    }
+    out.write("END:VCARD\r\n");
+  }
+
+}
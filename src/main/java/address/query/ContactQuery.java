@@ -0,0 +1,301 @@
+package address.query;
+
+import address.data.ImmutableAddressEntry;
+import address.search.LastNameIndex;
+
+import java.util.*;
+
+/**
+ * A description of which contacts to look up, made up of any number of conditions that all have to be met, along
+ * with how to order the results and which part of them to return. Queries are created through {@link #builder()},
+ * and are run with {@link address.AddressBook#query(ContactQuery)}. For example, the first 10 contacts in California
+ * whose last names start with "Sm":
+ * <pre>
+ *ContactQuery.builder()
+ *  .stateEquals("CA")
+ *  .lastNameStartsWith("Sm")
+ *  .limit(10)
+ *  .build();
+ * </pre>
+ * All text comparisons ignore case. Phone numbers are compared using only their digits.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public final class ContactQuery {
+
+  /**
+   * The fields of a contact that conditions can check.
+   */
+  public enum Field {
+    FIRST_NAME, LAST_NAME, STREET, CITY, STATE, ZIP, PHONE, EMAIL;
+
+    String valueOf(ImmutableAddressEntry entry) {
+      switch (this) {
+        case FIRST_NAME: return entry.getFirstName();
+        case LAST_NAME: return entry.getLastName();
+        case STREET: return entry.getStreet();
+        case CITY: return entry.getCity();
+        case STATE: return entry.getState();
+        case ZIP: return Integer.toString(entry.getZip());
+        case PHONE: return digitsOf(entry.getPhone());
+        default: return entry.getEmail();
+      }
+    }
+  }
+
+  /**
+   * How a field is compared against the value of a condition.
+   */
+  public enum Operator {
+    EQUALS, STARTS_WITH, CONTAINS
+  }
+
+  /**
+   * The order that results are returned in.
+   */
+  public enum Order {
+    /** By last name, then first name. This is the same order that {@link address.AddressBook#find(String)} uses. */
+    NAME(LastNameIndex.ORDER),
+    CITY(Comparator.comparing(ImmutableAddressEntry::getCity, String.CASE_INSENSITIVE_ORDER)
+      .thenComparing(LastNameIndex.ORDER)),
+    STATE(Comparator.comparing(ImmutableAddressEntry::getState, String.CASE_INSENSITIVE_ORDER)
+      .thenComparing(LastNameIndex.ORDER)),
+    ZIP(Comparator.comparingInt(ImmutableAddressEntry::getZip).thenComparing(LastNameIndex.ORDER));
+
+    final Comparator<ImmutableAddressEntry> comparator;
+
+    Order(Comparator<ImmutableAddressEntry> comparator) {
+      this.comparator = comparator;
+    }
+  }
+
+  /**
+   * A single condition that a contact must meet, such as "the state equals CA".
+   */
+  public static final class Condition {
+
+    private final Field field;
+    private final Operator operator;
+    private final String value;
+
+    Condition(Field field, Operator operator, String value) {
+      this.field = field;
+      this.operator = operator;
+      this.value = field == Field.PHONE ? digitsOf(value) : value;
+    }
+
+    public Field getField() {
+      return field;
+    }
+
+    public Operator getOperator() {
+      return operator;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    /**
+     * Checks whether a contact meets this condition.
+     * @param entry The contact
+     * @return True if the contact meets this condition, false otherwise
+     */
+    public boolean test(ImmutableAddressEntry entry) {
+      String fieldValue = field.valueOf(entry);
+      switch (operator) {
+        case EQUALS:
+          return fieldValue.equalsIgnoreCase(value);
+        case STARTS_WITH:
+          return fieldValue.regionMatches(true, 0, value, 0, value.length());
+        default:
+          return fieldValue.toLowerCase().contains(value.toLowerCase());
+      }
+    }
+
+    /**
+     * Creates a string representation of this condition, such as <code>STATE EQUALS "CA"</code>.
+     * @return A string representation of this condition
+     */
+    @Override
+    public String toString() {
+      return field + " " + operator + " \"" + value + '"';
+    }
+
+  }
+
+  private final List<Condition> conditions;
+  private final Order order;
+  private final int offset;
+  private final int limit;
+
+  private ContactQuery(Builder builder) {
+    conditions = Collections.unmodifiableList(new ArrayList<>(builder.conditions));
+    order = builder.order;
+    offset = builder.offset;
+    limit = builder.limit;
+  }
+
+  private static String digitsOf(String text) {
+    StringBuilder sb = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      if (Character.isDigit(text.charAt(i))) {
+        sb.append(text.charAt(i));
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Creates a new builder for a query that matches every contact, in {@link Order#NAME} order, without a limit.
+   * @return A new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Checks whether a contact meets every condition of this query.
+   * @param entry The contact
+   * @return True if the contact meets every condition, false otherwise
+   */
+  public boolean test(ImmutableAddressEntry entry) {
+    for (Condition condition : conditions) {
+      if (!condition.test(entry)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public List<Condition> getConditions() {
+    return conditions;
+  }
+
+  public Order getOrder() {
+    return order;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  /**
+   * Get the maximum number of results to return.
+   * @return The maximum number of results, or {@link Integer#MAX_VALUE} if there is no limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Used to create new instances of {@link ContactQuery}.
+   * @see ContactQuery#builder()
+   */
+  public static final class Builder {
+
+    private final List<Condition> conditions = new ArrayList<>();
+    private Order order = Order.NAME;
+    private int offset = 0;
+    private int limit = Integer.MAX_VALUE;
+
+    private Builder() {}
+
+    /**
+     * Adds a condition that contacts must meet.
+     * @param field The field to check
+     * @param operator How to compare the field
+     * @param value The value to compare the field against
+     * @return This builder
+     */
+    public Builder where(Field field, Operator operator, String value) {
+      conditions.add(new Condition(field, operator, Objects.requireNonNull(value, "value")));
+      return this;
+    }
+
+    public Builder firstNameEquals(String firstName) {
+      return where(Field.FIRST_NAME, Operator.EQUALS, firstName);
+    }
+
+    public Builder firstNameStartsWith(String prefix) {
+      return where(Field.FIRST_NAME, Operator.STARTS_WITH, prefix);
+    }
+
+    public Builder lastNameEquals(String lastName) {
+      return where(Field.LAST_NAME, Operator.EQUALS, lastName);
+    }
+
+    public Builder lastNameStartsWith(String prefix) {
+      return where(Field.LAST_NAME, Operator.STARTS_WITH, prefix);
+    }
+
+    public Builder streetContains(String text) {
+      return where(Field.STREET, Operator.CONTAINS, text);
+    }
+
+    public Builder cityEquals(String city) {
+      return where(Field.CITY, Operator.EQUALS, city);
+    }
+
+    public Builder stateEquals(String state) {
+      return where(Field.STATE, Operator.EQUALS, state);
+    }
+
+    public Builder zipEquals(int zip) {
+      return where(Field.ZIP, Operator.EQUALS, Integer.toString(zip));
+    }
+
+    public Builder phoneEquals(String phone) {
+      return where(Field.PHONE, Operator.EQUALS, phone);
+    }
+
+    public Builder phoneContains(String digits) {
+      return where(Field.PHONE, Operator.CONTAINS, digits);
+    }
+
+    public Builder emailEquals(String email) {
+      return where(Field.EMAIL, Operator.EQUALS, email);
+    }
+
+    public Builder emailContains(String text) {
+      return where(Field.EMAIL, Operator.CONTAINS, text);
+    }
+
+    public Builder orderBy(Order order) {
+      this.order = Objects.requireNonNull(order, "order");
+      return this;
+    }
+
+    /**
+     * Sets how many of the first results to skip, for paging through results.
+     * @param offset The number of results to skip
+     * @return This builder
+     */
+    public Builder offset(int offset) {
+      if (offset < 0) {
+        throw new IllegalArgumentException("Offset cannot be negative: " + offset);
+      }
+      this.offset = offset;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of results to return.
+     * @param limit The maximum number of results
+     * @return This builder
+     */
+    public Builder limit(int limit) {
+      if (limit < 0) {
+        throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+      }
+      this.limit = limit;
+      return this;
+    }
+
+    public ContactQuery build() {
+      return new ContactQuery(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,130 @@
+package address.query;
+
+import address.data.ImmutableAddressEntry;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The result of planning a {@link ContactQuery}: which index is used to read contacts, which other indexes are used
+ * to narrow them down, and whether the results still need to be sorted. A plan can be run any number of times, as
+ * long as the address book it was made for doesn't change in between.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see QueryPlanner#plan(ContactQuery)
+ */
+public class QueryPlan {
+
+  private final ContactQuery query;
+  private final QueryPlanner.Source driver;
+  private final List<QueryPlanner.AccessPath> intersections;
+  private final List<QueryPlanner.AccessPath> skipped;
+
+  QueryPlan(ContactQuery query, QueryPlanner.Source driver, List<QueryPlanner.AccessPath> intersections,
+            List<QueryPlanner.AccessPath> skipped) {
+    this.query = query;
+    this.driver = driver;
+    this.intersections = intersections;
+    this.skipped = skipped;
+  }
+
+  /**
+   * Runs this plan, returning the results lazily. If the index being read already returns contacts in the requested
+   * order, contacts are only read as the stream is consumed, and reading stops once the limit is reached. Otherwise,
+   * all matching contacts have to be read and sorted before the first result is returned.
+   * @return A stream of the results, in order
+   */
+  public Stream<ImmutableAddressEntry> stream() {
+    Predicate<ImmutableAddressEntry> filter = query::test;
+    for (QueryPlanner.AccessPath intersection : intersections) {
+      Set<UUID> ids = intersection.ids();
+      Predicate<ImmutableAddressEntry> rest = filter;
+      filter = entry -> ids.contains(entry.getId()) && rest.test(entry);
+    }
+    Stream<ImmutableAddressEntry> stream = driver.stream(filter);
+    Comparator<ImmutableAddressEntry> comparator = query.getOrder().comparator;
+    if (!driver.isOrderedBy(query.getOrder())) {
+      long wanted = (long) query.getOffset() + query.getLimit();
+      stream = wanted < Integer.MAX_VALUE ? topK(stream, comparator, (int) wanted).stream() : stream.sorted(comparator);
+    }
+    return stream.skip(query.getOffset()).limit(query.getLimit());
+  }
+
+  /**
+   * Runs this plan.
+   * @return A list of the results, in order
+   */
+  public List<ImmutableAddressEntry> execute() {
+    return stream().collect(Collectors.toList());
+  }
+
+  /**
+   * Finds the first <code>k</code> contacts in order, without sorting all of them. Only the best <code>k</code>
+   * contacts seen so far are ever kept around.
+   */
+  private static List<ImmutableAddressEntry> topK(Stream<ImmutableAddressEntry> stream,
+                                                  Comparator<ImmutableAddressEntry> comparator, int k) {
+    if (k == 0) {
+      return Collections.emptyList();
+    }
+    // the head of the queue is the worst of the best contacts seen so far
+    PriorityQueue<ImmutableAddressEntry> best = new PriorityQueue<>(Math.min(k, 1024), comparator.reversed());
+    stream.forEach(entry -> {
+      if (best.size() < k) {
+        best.add(entry);
+      } else if (comparator.compare(entry, best.peek()) < 0) {
+        best.poll();
+        best.add(entry);
+      }
+    });
+    List<ImmutableAddressEntry> result = new ArrayList<>(best);
+    result.sort(comparator);
+    return result;
+  }
+
+  /**
+   * Describes how this plan runs its query, for figuring out why a query is slow. For example:
+   * <pre>
+   *access: last name index range "Sm" (estimated 120 contacts)
+   *intersect: state index lookup "CA" (estimated 400 contacts)
+   *filter: LAST_NAME STARTS_WITH "Sm", STATE EQUALS "CA"
+   *order: NAME (already in order)
+   *offset: 0, limit: 10
+   * </pre>
+   * @return A multi-line description of this plan
+   */
+  public String explain() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("access: ").append(driver).append('\n');
+    for (QueryPlanner.AccessPath intersection : intersections) {
+      sb.append("intersect: ").append(intersection).append('\n');
+    }
+    for (QueryPlanner.AccessPath path : skipped) {
+      sb.append("not used: ").append(path).append('\n');
+    }
+    if (!query.getConditions().isEmpty()) {
+      sb.append("filter: ").append(query.getConditions().stream().map(Object::toString)
+        .collect(Collectors.joining(", "))).append('\n');
+    }
+    sb.append("order: ").append(query.getOrder());
+    if (driver.isOrderedBy(query.getOrder())) {
+      sb.append(" (already in order)");
+    } else if ((long) query.getOffset() + query.getLimit() < Integer.MAX_VALUE) {
+      sb.append(" (top ").append(query.getOffset() + query.getLimit()).append(')');
+    } else {
+      sb.append(" (full sort)");
+    }
+    sb.append('\n');
+    sb.append("offset: ").append(query.getOffset()).append(", limit: ")
+      .append(query.getLimit() == Integer.MAX_VALUE ? "none" : Integer.toString(query.getLimit()));
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return explain();
+  }
+
+}
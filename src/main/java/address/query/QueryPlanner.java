@@ -0,0 +1,318 @@
+package address.query;
+
+import address.data.ImmutableAddressEntry;
+import address.search.InvertedIndex;
+import address.search.LastNameIndex;
+import address.search.ValueIndex;
+import address.util.UuidMap;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decides how to run a {@link ContactQuery} using the indexes of an address book. For every condition that an index
+ * can answer, the planner estimates how many contacts that index would return, then:
+ * <ol>
+ *   <li>reads contacts through the most selective index (or, if no index applies, looks at every contact),</li>
+ *   <li>unless only a few results are wanted in {@link ContactQuery.Order#NAME} order, and walking through every
+ *   contact in that order would find them sooner,</li>
+ *   <li>narrows those down by intersecting them with the results of any other index that is nearly as selective,</li>
+ *   <li>checks every condition against what's left, and finally</li>
+ *   <li>sorts the results, unless the index already returned them in the right order.</li>
+ * </ol>
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see QueryPlan
+ */
+public class QueryPlanner {
+
+  /**
+   * An index is only used to narrow down results if it returns at most this many times as many contacts as the most
+   * selective index. Otherwise, reading its results would cost more than simply checking the condition on every
+   * contact returned by the most selective index.
+   */
+  static final int INTERSECT_RATIO = 4;
+
+  private final UuidMap<ImmutableAddressEntry> entries;
+  private final LastNameIndex lastNames;
+  private final ValueIndex states;
+  private final InvertedIndex fullText;
+  private final ScanEngine scanEngine;
+
+  /**
+   * Constructor for this class.
+   * @param entries Every contact, keyed by ID
+   * @param lastNames The last name index of the same contacts
+   * @param states The state code index of the same contacts
+   * @param fullText The full-text index of the same contacts
+   * @param scanEngine Used when a query has to look at every contact
+   */
+  public QueryPlanner(UuidMap<ImmutableAddressEntry> entries, LastNameIndex lastNames, ValueIndex states,
+                      InvertedIndex fullText, ScanEngine scanEngine) {
+    this.entries = entries;
+    this.lastNames = lastNames;
+    this.states = states;
+    this.fullText = fullText;
+    this.scanEngine = scanEngine;
+  }
+
+  /**
+   * Constructor for this class, which scans contacts using a default {@link ScanEngine}.
+   * @param entries Every contact, keyed by ID
+   * @param lastNames The last name index of the same contacts
+   * @param states The state code index of the same contacts
+   * @param fullText The full-text index of the same contacts
+   */
+  public QueryPlanner(UuidMap<ImmutableAddressEntry> entries, LastNameIndex lastNames, ValueIndex states,
+                      InvertedIndex fullText) {
+    this(entries, lastNames, states, fullText, new ScanEngine());
+  }
+
+  /**
+   * Figures out which index (if any) could be used to answer a single condition, and how selective it would be.
+   * @return The way to access the contacts meeting the condition, or <code>null</code> if no index can be used
+   */
+  private AccessPath accessPathFor(ContactQuery.Condition condition, int bestEstimate) {
+    String value = condition.getValue();
+    ContactQuery.Field field = condition.getField();
+    if (field == ContactQuery.Field.LAST_NAME && condition.getOperator() != ContactQuery.Operator.CONTAINS) {
+      return new NameRange(value, lastNames.count(value, bestEstimate));
+    }
+    if (condition.getOperator() != ContactQuery.Operator.EQUALS) {
+      return null;
+    }
+    if (field == ContactQuery.Field.STATE) {
+      return new ValueLookup(value, states.count(value));
+    }
+    int estimate = fullText.estimateWords(value);
+    return estimate == -1 ? null : new WordsLookup(field, value, estimate);
+  }
+
+  /**
+   * Figures out the cheapest way to run a query.
+   * @param query The query
+   * @return The plan for running the query
+   */
+  public QueryPlan plan(ContactQuery query) {
+    List<AccessPath> paths = new ArrayList<>();
+    int bestEstimate = entries.size();
+    for (ContactQuery.Condition condition : query.getConditions()) {
+      AccessPath path = accessPathFor(condition, bestEstimate);
+      if (path != null) {
+        paths.add(path);
+        bestEstimate = Math.min(bestEstimate, path.estimate);
+      }
+    }
+    paths.sort(Comparator.comparingInt(path -> path.estimate));
+
+    Source driver;
+    if (paths.isEmpty()) {
+      // walking through the last name index visits every contact just like a plain scan, but already in order
+      driver = query.getOrder() == ContactQuery.Order.NAME ? new NameRange("", entries.size()) : new FullScan();
+    } else if (query.getOrder() == ContactQuery.Order.NAME && !(paths.get(0) instanceof NameRange)
+      && orderedScanCost(query, paths.get(0).estimate) < paths.get(0).estimate) {
+      // few results are wanted, and the index returns so many contacts that walking through all contacts in order
+      // finds enough of them sooner than reading (and sorting) everything the index returns
+      NameRange everyone = new NameRange("", entries.size());
+      paths.add(0, everyone);
+      driver = everyone;
+    } else {
+      driver = paths.get(0);
+    }
+    List<AccessPath> intersections = new ArrayList<>();
+    List<AccessPath> skipped = new ArrayList<>();
+    boolean orderedScan = driver.estimate == entries.size() && driver instanceof NameRange;
+    for (int i = 1; i < paths.size(); i++) {
+      AccessPath path = paths.get(i);
+      // an ordered scan stops early, so reading every contact of another index up front would defeat its purpose
+      if (!orderedScan && !(path instanceof NameRange)
+        && (long) path.estimate <= (long) driver.estimate * INTERSECT_RATIO) {
+        intersections.add(path);
+      } else {
+        skipped.add(path);
+      }
+    }
+    return new QueryPlan(query, driver, intersections, skipped);
+  }
+
+  /**
+   * Estimates how many contacts have to be visited when walking through every contact in order, until enough of them
+   * meet a condition that the given number of contacts meet. This assumes matching contacts are spread out evenly.
+   */
+  private long orderedScanCost(ContactQuery query, int matching) {
+    long wanted = (long) query.getOffset() + query.getLimit();
+    if (wanted >= Integer.MAX_VALUE || matching == 0) {
+      return Long.MAX_VALUE;
+    }
+    return wanted * entries.size() / matching;
+  }
+
+  /**
+   * A way of reading the contacts that a plan starts from, along with an estimate of how many contacts it returns.
+   */
+  abstract static class Source {
+
+    final int estimate;
+
+    Source(int estimate) {
+      this.estimate = estimate;
+    }
+
+    /**
+     * Whether or not the contacts are returned in the specified order.
+     */
+    boolean isOrderedBy(ContactQuery.Order order) {
+      return false;
+    }
+
+    /**
+     * Returns every contact this source covers that meets a condition.
+     */
+    abstract Stream<ImmutableAddressEntry> stream(Predicate<ImmutableAddressEntry> filter);
+
+  }
+
+  /**
+   * A way of getting at the contacts that meet a condition through an index. Unlike a {@link FullScan}, it can also
+   * be used to narrow down the contacts read from another source.
+   */
+  abstract static class AccessPath extends Source {
+
+    AccessPath(int estimate) {
+      super(estimate);
+    }
+
+    /**
+     * Returns every contact this path covers. Contacts may be looked up lazily.
+     */
+    abstract Iterator<ImmutableAddressEntry> iterator();
+
+    /**
+     * Returns every contact this path covers that meets a condition, in the same order as {@link #iterator()}.
+     */
+    @Override
+    Stream<ImmutableAddressEntry> stream(Predicate<ImmutableAddressEntry> filter) {
+      return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED
+        | Spliterator.NONNULL), false).filter(filter);
+    }
+
+    /**
+     * Returns the IDs of every contact this path covers.
+     */
+    abstract Set<UUID> ids();
+
+  }
+
+  /** Every contact whose last name starts with a prefix, read from the last name index in order */
+  private class NameRange extends AccessPath {
+
+    private final String prefix;
+
+    NameRange(String prefix, int estimate) {
+      super(estimate);
+      this.prefix = prefix;
+    }
+
+    @Override
+    boolean isOrderedBy(ContactQuery.Order order) {
+      return order == ContactQuery.Order.NAME;
+    }
+
+    @Override
+    Iterator<ImmutableAddressEntry> iterator() {
+      return lastNames.iterator(prefix);
+    }
+
+    @Override
+    Set<UUID> ids() {
+      Set<UUID> ids = new HashSet<>();
+      lastNames.iterator(prefix).forEachRemaining(entry -> ids.add(entry.getId()));
+      return ids;
+    }
+
+    @Override
+    public String toString() {
+      return "last name index range \"" + prefix + "\" (estimated " + estimate + " contacts)";
+    }
+
+  }
+
+  /** Every contact with a certain state code, read from the state index */
+  private class ValueLookup extends AccessPath {
+
+    private final String value;
+
+    ValueLookup(String value, int estimate) {
+      super(estimate);
+      this.value = value;
+    }
+
+    @Override
+    Iterator<ImmutableAddressEntry> iterator() {
+      return ids().stream().map(entries::get).iterator();
+    }
+
+    @Override
+    Set<UUID> ids() {
+      return states.get(value);
+    }
+
+    @Override
+    public String toString() {
+      return "state index lookup \"" + value + "\" (estimated " + estimate + " contacts)";
+    }
+
+  }
+
+  /** Every contact containing all words of a field's value, read from the full-text index */
+  private class WordsLookup extends AccessPath {
+
+    private final ContactQuery.Field field;
+    private final String value;
+
+    WordsLookup(ContactQuery.Field field, String value, int estimate) {
+      super(estimate);
+      this.field = field;
+      this.value = value;
+    }
+
+    @Override
+    Iterator<ImmutableAddressEntry> iterator() {
+      return fullText.searchWords(value).stream().map(entries::get).iterator();
+    }
+
+    @Override
+    Set<UUID> ids() {
+      return new HashSet<>(fullText.searchWords(value));
+    }
+
+    @Override
+    public String toString() {
+      return "full-text index lookup for " + field + " \"" + value + "\" (estimated at most " + estimate + " contacts)";
+    }
+
+  }
+
+  /** Every single contact, in no particular order */
+  private class FullScan extends Source {
+
+    FullScan() {
+      super(entries.size());
+    }
+
+    @Override
+    Stream<ImmutableAddressEntry> stream(Predicate<ImmutableAddressEntry> filter) {
+      // the results have to be sorted anyway, so there's nothing to gain from checking contacts lazily
+      return scanEngine.filter(entries, filter).stream();
+    }
+
+    @Override
+    public String toString() {
+      return (scanEngine.isParallel(estimate) ? "parallel full scan (" : "full scan (") + estimate + " contacts)";
+    }
+
+  }
+
+}
@@ -0,0 +1,104 @@
+package address.query;
+
+import address.data.ImmutableAddressEntry;
+import address.util.UuidMap;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Checks a condition against every contact, for conditions that no index can help with. The contacts are split into
+ * chunks that are checked in parallel on a {@link ForkJoinPool}, unless there are so few contacts that splitting them
+ * up would cost more than it saves.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class ScanEngine {
+
+  /**
+   * Below this many contacts, scans are always sequential. Checking a condition against a contact only takes a few
+   * nanoseconds, so handing chunks of a smaller book to other threads takes longer than just checking them all.
+   */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 20_000;
+
+  private final ForkJoinPool pool;
+  private final int parallelThreshold;
+
+  /**
+   * Constructor for this class.
+   * @param pool The pool to check chunks of contacts on. Its parallelism is how many cores a scan uses at most.
+   * @param parallelThreshold Scans of books with fewer contacts than this are sequential
+   */
+  public ScanEngine(ForkJoinPool pool, int parallelThreshold) {
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  /**
+   * Constructor for this class, which runs scans on the {@link ForkJoinPool#commonPool() common pool} and only runs
+   * them in parallel once there are at least {@link #DEFAULT_PARALLEL_THRESHOLD} contacts.
+   */
+  public ScanEngine() {
+    this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Whether or not scanning a certain number of contacts would be done in parallel.
+   * @param size The number of contacts
+   * @return True if scanning them is split up across several threads, false otherwise
+   */
+  public boolean isParallel(int size) {
+    return size >= parallelThreshold && pool.getParallelism() > 1;
+  }
+
+  /**
+   * Runs a stream operation over every contact, in parallel if there are enough of them.
+   */
+  private <T> T scan(UuidMap<ImmutableAddressEntry> entries, Function<Stream<ImmutableAddressEntry>, T> operation) {
+    if (!isParallel(entries.size())) {
+      return operation.apply(StreamSupport.stream(entries.values().spliterator(), false));
+    }
+    // a parallel stream runs its tasks on whichever pool its terminal operation is called from
+    try {
+      return pool.submit(() -> operation.apply(StreamSupport.stream(entries.values().spliterator(), true))).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while scanning contacts", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Finds every contact meeting a condition. The condition may be checked from several threads at once, so it must be
+   * thread-safe. The contacts must not be modified until the scan is finished.
+   * @param entries The contacts to check
+   * @param filter The condition
+   * @return Every contact meeting the condition, in no particular order
+   */
+  public List<ImmutableAddressEntry> filter(UuidMap<ImmutableAddressEntry> entries,
+                                            Predicate<? super ImmutableAddressEntry> filter) {
+    return scan(entries, stream -> stream.filter(filter).collect(Collectors.toList()));
+  }
+
+  /**
+   * Counts every contact meeting a condition, the same way as {@link #filter(UuidMap, Predicate)} but without
+   * collecting them.
+   * @param entries The contacts to check
+   * @param filter The condition
+   * @return The number of contacts meeting the condition
+   */
+  public long count(UuidMap<ImmutableAddressEntry> entries, Predicate<? super ImmutableAddressEntry> filter) {
+    return scan(entries, stream -> stream.filter(filter).count());
+  }
+
+}
@@ -0,0 +1,323 @@
+package address.replication;
+
+import address.AddressBook;
+import address.Utils;
+import address.data.ImmutableAddressEntry;
+import address.store.Mutation;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an {@link AddressBook} in step with the book of a {@link ReplicationLeader} in another process, so that this
+ * process can serve reads without loading anything from the database.
+ * <p>
+ * The follower connects to the leader on a thread of its own, and applies every change it receives to the book in the
+ * same order the leader made them, while holding the book's monitor. Anything else reading the book should either
+ * read its {@link AddressBook#snapshot() snapshots}, which needs no locking, or synchronize on the book. Nothing else
+ * may change the book.
+ * <p>
+ * If the connection is lost, the follower keeps reconnecting, waiting a little longer each time, and carries on from
+ * the last change it applied. If the leader no longer has every change since then, such as when it was restarted or
+ * the follower was away for too long, the book is replaced with a snapshot of the leader's book instead.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class ReplicationFollower implements Closeable {
+
+  private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+  private static final long MIN_RETRY_MILLIS = 100;
+  private static final long MAX_RETRY_MILLIS = 10_000;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final AddressBook book;
+  private final InetSocketAddress leader;
+  private final Thread thread;
+  /** Guards every field below, and is notified whenever the offset changes */
+  private final Object progress = new Object();
+  private long leaderId;
+  private long offset;
+  private long leaderOffset;
+  private int snapshots;
+  private boolean connected;
+  private Socket socket;
+  private volatile boolean closed;
+
+  /**
+   * Constructor for this class, for a follower carrying on from where an earlier one left off with the same book. The
+   * follower doesn't connect until it's {@link #start() started}.
+   * @param book The book to keep in step with the leader's
+   * @param leader The address the leader is listening on
+   * @param leaderId The {@link #getLeaderId() leader} the earlier follower was following, or 0 to start over
+   * @param offset The {@link #getOffset() offset} of the last change the earlier follower applied
+   */
+  public ReplicationFollower(AddressBook book, InetSocketAddress leader, long leaderId, long offset) {
+    this.book = book;
+    this.leader = leader;
+    this.leaderId = leaderId;
+    this.offset = offset;
+    leaderOffset = offset;
+    thread = new Thread(this::run, "replication-follower");
+    thread.setDaemon(true);
+  }
+
+  /**
+   * Constructor for this class. Whatever the book contains is replaced with the leader's contacts once connected.
+   * @param book The book to keep in step with the leader's
+   * @param leader The address the leader is listening on
+   */
+  public ReplicationFollower(AddressBook book, InetSocketAddress leader) {
+    this(book, leader, 0, -1);
+  }
+
+  /**
+   * Starts connecting to the leader.
+   */
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * Get the ID of the leader this follower is following, which only changes when the leader is restarted.
+   * @return The ID, or 0 if this follower hasn't connected yet
+   */
+  public long getLeaderId() {
+    synchronized (progress) {
+      return leaderId;
+    }
+  }
+
+  /**
+   * Get the offset of the last change applied to the book. The book has exactly the same contacts as the leader's had
+   * at the same offset.
+   * @return The offset, or -1 if this follower connected to a different leader than before and is still waiting for
+   *         its snapshot
+   */
+  public long getOffset() {
+    synchronized (progress) {
+      return offset;
+    }
+  }
+
+  /**
+   * Get how many changes this follower knows the leader has that it hasn't applied yet. The leader says where it is
+   * with every batch of changes it sends, and every second when there aren't any.
+   * @return The number of changes behind the leader
+   */
+  public long getLag() {
+    synchronized (progress) {
+      return Math.max(0, leaderOffset - offset);
+    }
+  }
+
+  /**
+   * Get how many times the book was replaced with a snapshot of the leader's book, rather than being caught up one
+   * change at a time.
+   * @return The number of snapshots loaded
+   */
+  public int getSnapshotCount() {
+    synchronized (progress) {
+      return snapshots;
+    }
+  }
+
+  /**
+   * Checks whether this follower is connected to the leader right now.
+   * @return True if connected, false otherwise
+   */
+  public boolean isConnected() {
+    synchronized (progress) {
+      return connected;
+    }
+  }
+
+  /**
+   * Waits until the book has caught up with a change made by the leader, such as to read back a change that was just
+   * made through the leader.
+   * @param target The offset of the change, from {@link ReplicationLeader#getOffset()}
+   * @param timeout How long to wait
+   * @param unit The unit of the timeout
+   * @return True if the book has caught up, false if the timeout ran out first
+   * @throws InterruptedException If interrupted while waiting
+   */
+  public boolean awaitOffset(long target, long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (progress) {
+      while (offset < target) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+          return false;
+        }
+        progress.wait(remaining);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Disconnects from the leader, and stops reconnecting. The book is left as it is.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    synchronized (progress) {
+      if (socket != null) {
+        try {
+          socket.close();
+        } catch (IOException e) {
+          // the thread stops either way
+        }
+      }
+    }
+    thread.interrupt();
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    long retryMillis = MIN_RETRY_MILLIS;
+    while (!closed) {
+      try (Socket socket = new Socket()) {
+        synchronized (progress) {
+          if (closed) {
+            return;
+          }
+          this.socket = socket;
+        }
+        socket.connect(leader, CONNECT_TIMEOUT_MILLIS);
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(ReplicationProtocol.TIMEOUT_MILLIS);
+        follow(socket);
+      } catch (IOException e) {
+        if (closed) {
+          return;
+        }
+        if (isConnected() && e instanceof EOFException) {
+          Utils.info("Replication leader %s closed the connection, reconnecting", leader);
+          retryMillis = MIN_RETRY_MILLIS;
+        } else if (isConnected()) {
+          Utils.warn(e, "Lost connection to replication leader %s, reconnecting", leader);
+          retryMillis = MIN_RETRY_MILLIS;
+        } else {
+          Utils.warn("Could not connect to replication leader %s, retrying in %d ms: %s", leader, retryMillis, e);
+        }
+      } finally {
+        synchronized (progress) {
+          connected = false;
+          socket = null;
+        }
+      }
+      try {
+        Thread.sleep(retryMillis);
+      } catch (InterruptedException e) {
+        return;
+      }
+      retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+    }
+  }
+
+  /**
+   * Applies everything the leader sends until the connection is lost.
+   */
+  private void follow(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    out.writeInt(ReplicationProtocol.MAGIC);
+    synchronized (progress) {
+      out.writeLong(leaderId);
+      out.writeLong(offset);
+    }
+    out.flush();
+    if (in.readInt() != ReplicationProtocol.MAGIC) {
+      throw new IOException("Not a replication leader");
+    }
+    long id = in.readLong();
+    synchronized (progress) {
+      if (id != leaderId) {
+        // offsets of different leaders can't be compared, so nothing counts as caught up until the snapshot arrives
+        offset = -1;
+        leaderOffset = -1;
+      }
+      leaderId = id;
+      connected = true;
+    }
+    Utils.info("Connected to replication leader %s", leader);
+    while (!closed) {
+      byte type = in.readByte();
+      long frameOffset = in.readLong();
+      switch (type) {
+        case ReplicationProtocol.SNAPSHOT:
+          applySnapshot(frameOffset, ReplicationProtocol.readSnapshot(in));
+          break;
+        case ReplicationProtocol.CHANGES:
+          long latest = in.readLong();
+          applyChanges(frameOffset, latest, ReplicationProtocol.readChanges(in));
+          break;
+        case ReplicationProtocol.HEARTBEAT:
+          synchronized (progress) {
+            leaderOffset = frameOffset;
+          }
+          break;
+        default:
+          throw new IOException("Unknown frame type " + type);
+      }
+    }
+  }
+
+  private void applySnapshot(long snapshotOffset, List<ImmutableAddressEntry> entries) {
+    long start = System.nanoTime();
+    synchronized (book) {
+      book.clear();
+      book.batch(() -> entries.forEach(book::add));
+    }
+    synchronized (progress) {
+      offset = snapshotOffset;
+      leaderOffset = Math.max(leaderOffset, snapshotOffset);
+      snapshots++;
+      progress.notifyAll();
+    }
+    Utils.info("Loaded snapshot of %d contacts at offset %d in %d ms", entries.size(), snapshotOffset,
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  private void applyChanges(long first, long latest, List<Mutation> changes) throws IOException {
+    synchronized (progress) {
+      if (first != offset + 1) {
+        throw new IOException("Expected changes from offset " + (offset + 1) + ", but got " + first);
+      }
+    }
+    synchronized (book) {
+      book.batch(() -> {
+        for (Mutation change : changes) {
+          switch (change.getType()) {
+            case INSERT:
+              if (!book.add(change.getEntry())) {
+                book.update(change.getEntry());
+              }
+              break;
+            case UPDATE:
+              if (!book.update(change.getEntry())) {
+                book.add(change.getEntry());
+              }
+              break;
+            case DELETE:
+              book.remove(change.getId());
+              break;
+          }
+        }
+      });
+    }
+    synchronized (progress) {
+      offset = first + changes.size() - 1;
+      leaderOffset = Math.max(latest, offset);
+      progress.notifyAll();
+    }
+  }
+
+}
@@ -0,0 +1,346 @@
+package address.replication;
+
+import address.AddressBook;
+import address.Utils;
+import address.event.ChangeListener;
+import address.event.ContactChange;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams every change made to an {@link AddressBook} over TCP to {@link ReplicationFollower}s in other processes, so
+ * that only one process has to load the contacts from the database and every other one can serve reads from a copy.
+ * <p>
+ * Every change is given an offset, which is the {@link AddressBook.Snapshot#getVersion() version} of the book right
+ * after it was made. The most recent changes are kept in a bounded log in memory. A follower that connects tells the
+ * leader the offset it has applied up to; if the log still has every change after that, it is sent just those, and
+ * otherwise it is sent a whole {@link AddressBook#snapshot() snapshot} of the book followed by every change after the
+ * snapshot's version. A follower that falls so far behind that its changes are dropped from the log is caught up the
+ * same way, so a slow follower never holds up the book or makes the log grow.
+ * <p>
+ * Each follower is served on its own thread, and the book is only ever read through snapshots, so nothing is locked
+ * while sending. Changes are added to the log on whichever thread makes them, which takes next to nothing.
+ * <p>
+ * The wire format is described by {@link ReplicationProtocol}.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class ReplicationLeader implements Closeable {
+
+  /** How many of the most recent changes are kept for followers that reconnect or fall behind, by default */
+  public static final int DEFAULT_LOG_CAPACITY = 1 << 16;
+  /** The most changes sent in a single frame */
+  private static final int MAX_FRAME_CHANGES = 1024;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final AddressBook book;
+  private final ServerSocket serverSocket;
+  private final ExecutorService executor;
+  private final ReplicationLog log;
+  private final ChangeListener listener;
+  /** Different every time a leader is made, so that followers of an earlier leader know their offsets mean nothing */
+  private final long id;
+  private final Set<Socket> followers = Collections.synchronizedSet(new HashSet<>());
+  private volatile boolean closed;
+
+  /**
+   * Constructor for this class. Must be called on the thread that changes the book, or while nothing is changing it.
+   * Followers aren't accepted until the leader is {@link #start() started}, but changes are logged from now on.
+   * @param book The book whose changes are sent to followers
+   * @param address The address to listen on, which can have port 0 to pick any free port
+   * @param logCapacity How many of the most recent changes are kept for followers that reconnect or fall behind
+   * @throws IOException If the address could not be listened on
+   */
+  public ReplicationLeader(AddressBook book, InetSocketAddress address, int logCapacity) throws IOException {
+    if (logCapacity < 1) {
+      throw new IllegalArgumentException("Log capacity must be positive: " + logCapacity);
+    }
+    this.book = book;
+    id = ThreadLocalRandom.current().nextLong() | 1; // never 0, which followers use for "no leader yet"
+    log = new ReplicationLog(logCapacity, book.snapshot().getVersion() + 1);
+    serverSocket = new ServerSocket();
+    serverSocket.setReuseAddress(true);
+    serverSocket.bind(address);
+    AtomicInteger count = new AtomicInteger();
+    executor = Executors.newCachedThreadPool(task -> {
+      Thread thread = new Thread(task, "replication-leader-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    listener = new ChangeListener() {
+      @Override
+      public void onChanges(List<ContactChange> changes) {
+        // the changes were the last ones made, so the book's version is the offset of the last one
+        log.append(book.snapshot().getVersion() - changes.size() + 1, changes);
+      }
+
+      @Override
+      public void onReset() {
+        log.reset(book.snapshot().getVersion() + 1);
+      }
+    };
+    book.getChanges().addListener(listener);
+  }
+
+  /**
+   * Constructor for this class, keeping {@link #DEFAULT_LOG_CAPACITY} changes.
+   * @param book The book whose changes are sent to followers
+   * @param address The address to listen on, which can have port 0 to pick any free port
+   * @throws IOException If the address could not be listened on
+   * @see #ReplicationLeader(AddressBook, InetSocketAddress, int)
+   */
+  public ReplicationLeader(AddressBook book, InetSocketAddress address) throws IOException {
+    this(book, address, DEFAULT_LOG_CAPACITY);
+  }
+
+  /**
+   * Starts accepting followers.
+   */
+  public void start() {
+    executor.execute(this::accept);
+    Utils.info("Replicating contacts on port %d", getPort());
+  }
+
+  /**
+   * Get the port the leader is listening on.
+   * @return The port
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Get the offset of the last change that was logged, which followers have caught up with once their
+   * {@link ReplicationFollower#getOffset() offsets} reach it.
+   * @return The offset
+   */
+  public long getOffset() {
+    return log.end() - 1;
+  }
+
+  /**
+   * Get how many followers are connected right now.
+   * @return The number of followers
+   */
+  public int getFollowerCount() {
+    return followers.size();
+  }
+
+  /**
+   * Stops accepting followers, disconnects every follower, and stops logging changes.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    book.getChanges().removeListener(listener);
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      Utils.warn(e, "Could not close replication socket");
+    }
+    synchronized (followers) {
+      for (Socket socket : followers) {
+        closeQuietly(socket);
+      }
+    }
+    log.close();
+    executor.shutdown();
+    try {
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void closeQuietly(Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      // nothing else can be done with it
+    }
+  }
+
+  private void accept() {
+    while (!closed) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException e) {
+        if (!closed) {
+          Utils.error(e, "Stopped accepting followers");
+        }
+        return;
+      }
+      followers.add(socket);
+      executor.execute(() -> serve(socket));
+    }
+  }
+
+  /**
+   * Sends changes to a single follower until it disconnects or the leader is closed.
+   */
+  private void serve(Socket socket) {
+    String follower = socket.getRemoteSocketAddress().toString();
+    try {
+      socket.setTcpNoDelay(true);
+      socket.setSoTimeout(ReplicationProtocol.TIMEOUT_MILLIS);
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+      if (in.readInt() != ReplicationProtocol.MAGIC) {
+        throw new IOException("Not a follower");
+      }
+      long followerLeader = in.readLong();
+      long offset = in.readLong();
+      out.writeInt(ReplicationProtocol.MAGIC);
+      out.writeLong(id);
+      long next;
+      // an offset newer than the book can only be from a leader that happened to have the same ID
+      if (followerLeader == id && offset <= book.snapshot().getVersion() && log.contains(offset + 1)) {
+        next = offset + 1;
+        Utils.info("Follower %s resumed from offset %d", follower, offset);
+      } else {
+        next = sendSnapshot(out, follower);
+      }
+      List<ContactChange> changes = new ArrayList<>(MAX_FRAME_CHANGES);
+      while (!closed) {
+        changes.clear();
+        // only wait for more changes once everything already sent has been flushed
+        if (!log.read(next, changes, MAX_FRAME_CHANGES, 0)) {
+          next = sendSnapshot(out, follower);
+          continue;
+        }
+        if (changes.isEmpty()) {
+          out.flush();
+          if (!log.read(next, changes, MAX_FRAME_CHANGES, ReplicationProtocol.HEARTBEAT_MILLIS)) {
+            next = sendSnapshot(out, follower);
+            continue;
+          }
+        }
+        if (changes.isEmpty()) {
+          ReplicationProtocol.writeHeartbeat(out, next - 1);
+          out.flush();
+        } else {
+          ReplicationProtocol.writeChanges(out, next, log.end() - 1, changes);
+          next += changes.size();
+        }
+      }
+    } catch (EOFException | SocketException e) {
+      if (!closed) {
+        Utils.info("Follower %s disconnected", follower);
+      }
+    } catch (IOException e) {
+      if (!closed) {
+        Utils.warn(e, "Stopped replicating to follower %s", follower);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      followers.remove(socket);
+      closeQuietly(socket);
+    }
+  }
+
+  /**
+   * Sends every contact in the book as it is right now.
+   * @return The offset of the first change after the snapshot
+   */
+  private long sendSnapshot(DataOutputStream out, String follower) throws IOException {
+    AddressBook.Snapshot snapshot = book.snapshot();
+    long start = System.nanoTime();
+    ReplicationProtocol.writeSnapshot(out, snapshot.getVersion(), snapshot.getAll());
+    out.flush();
+    Utils.info("Sent snapshot of %d contacts at offset %d to follower %s in %d ms", snapshot.count(),
+      snapshot.getVersion(), follower, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return snapshot.getVersion() + 1;
+  }
+
+  /**
+   * The most recent changes made to the book, each at its offset. Offsets only ever go up, and the log always holds
+   * every change from {@link #start} up to, but not including, {@link #end}.
+   */
+  private static final class ReplicationLog {
+
+    private final ContactChange[] changes;
+    // everything below is guarded by this
+    private long start;
+    private long end;
+    private boolean closed;
+
+    ReplicationLog(int capacity, long start) {
+      changes = new ContactChange[capacity];
+      this.start = start;
+      end = start;
+    }
+
+    synchronized long end() {
+      return end;
+    }
+
+    synchronized boolean contains(long offset) {
+      return offset >= start && offset <= end;
+    }
+
+    synchronized void append(long first, List<ContactChange> batch) {
+      if (first != end) {
+        // changes were made without being handed out, so anything older can't be followed on from
+        start = first;
+        end = first;
+      }
+      for (ContactChange change : batch) {
+        changes[(int) (end++ % changes.length)] = change;
+      }
+      start = Math.max(start, end - changes.length);
+      notifyAll();
+    }
+
+    synchronized void reset(long next) {
+      Arrays.fill(changes, null);
+      start = next;
+      end = next;
+      notifyAll();
+    }
+
+    synchronized void close() {
+      closed = true;
+      notifyAll();
+    }
+
+    /**
+     * Copies changes starting at an offset, waiting for there to be any if there aren't yet.
+     * @param offset The offset of the first change to copy
+     * @param into Where to copy the changes to
+     * @param max The most changes to copy
+     * @param timeoutMillis How long to wait for changes if there aren't any yet, or 0 to not wait at all
+     * @return False if the change at the offset has already been dropped from the log, true otherwise, even if no
+     *         changes were copied
+     */
+    synchronized boolean read(long offset, List<ContactChange> into, int max, long timeoutMillis)
+      throws InterruptedException {
+      long deadline = System.currentTimeMillis() + timeoutMillis;
+      long remaining = timeoutMillis;
+      while (offset >= end && remaining > 0 && !closed && offset >= start) {
+        wait(remaining);
+        remaining = deadline - System.currentTimeMillis();
+      }
+      if (offset < start) {
+        return false;
+      }
+      for (long i = offset; i < end && into.size() < max; i++) {
+        into.add(changes[(int) (i % changes.length)]);
+      }
+      return true;
+    }
+
+  }
+
+}
@@ -0,0 +1,149 @@
+package address.replication;
+
+import address.data.ImmutableAddressEntry;
+import address.event.ContactChange;
+import address.io.EntryCodec;
+import address.store.Mutation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * How a {@link ReplicationLeader} and its {@link ReplicationFollower}s talk to each other. Every number is big-endian.
+ * <p>
+ * Once connected, the follower sends {@link #MAGIC}, the ID of the leader it last followed (0 if none), and the offset
+ * of the last change it applied from that leader. The leader answers with {@link #MAGIC} and its own ID, and then
+ * sends frames for as long as the connection lasts. Every frame starts with a single byte saying what kind it is:
+ * <ul>
+ *   <li>{@link #SNAPSHOT}: the offset the snapshot was taken at, the number of contacts, then each contact as its
+ *       length followed by the contact encoded with {@link EntryCodec}. The follower replaces every contact it has
+ *       with these.</li>
+ *   <li>{@link #CHANGES}: the offset of the first change, the offset of the last change the leader has, the number of
+ *       changes, then each change as its
+ *       {@link ContactChange.Type} ordinal followed by either the new contact, encoded the same way as in a snapshot,
+ *       or the 16 byte ID of the removed contact</li>
+ *   <li>{@link #HEARTBEAT}: the offset of the last change the leader has, sent when there haven't been any changes for
+ *       {@link #HEARTBEAT_MILLIS}</li>
+ * </ul>
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+final class ReplicationProtocol {
+
+  private ReplicationProtocol() {}
+
+  static final int MAGIC = 0x41425231; // "ABR1"
+  static final byte SNAPSHOT = 'S';
+  static final byte CHANGES = 'C';
+  static final byte HEARTBEAT = 'H';
+
+  /** How long the leader waits without any changes before sending a heartbeat */
+  static final int HEARTBEAT_MILLIS = 1000;
+  /** How long either side waits to hear anything before giving up on the connection */
+  static final int TIMEOUT_MILLIS = 5 * HEARTBEAT_MILLIS;
+
+  /** No encoded contact can be anywhere close to this long, so a longer length means the stream is corrupt */
+  private static final int MAX_ENTRY_SIZE = 1 << 20;
+  private static final int MAX_FRAME_CHANGES = 1 << 20;
+  private static final ContactChange.Type[] TYPES = ContactChange.Type.values();
+
+  private static void writeEntry(DataOutputStream out, ImmutableAddressEntry entry) throws IOException {
+    byte[] bytes = EntryCodec.encode(entry);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static ImmutableAddressEntry readEntry(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > MAX_ENTRY_SIZE) {
+      throw new IOException("Malformed contact length " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    try {
+      return EntryCodec.decode(ByteBuffer.wrap(bytes));
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("Malformed contact", e);
+    }
+  }
+
+  static void writeSnapshot(DataOutputStream out, long offset, Collection<ImmutableAddressEntry> entries)
+    throws IOException {
+    out.writeByte(SNAPSHOT);
+    out.writeLong(offset);
+    out.writeInt(entries.size());
+    for (ImmutableAddressEntry entry : entries) {
+      writeEntry(out, entry);
+    }
+  }
+
+  /**
+   * Reads the contacts of a snapshot, after its type and offset.
+   */
+  static List<ImmutableAddressEntry> readSnapshot(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0) {
+      throw new IOException("Malformed snapshot size " + count);
+    }
+    // the count isn't trusted with allocating everything up front
+    List<ImmutableAddressEntry> entries = new ArrayList<>(Math.min(count, 1 << 16));
+    for (int i = 0; i < count; i++) {
+      entries.add(readEntry(in));
+    }
+    return entries;
+  }
+
+  static void writeChanges(DataOutputStream out, long first, long latest, List<ContactChange> changes)
+    throws IOException {
+    out.writeByte(CHANGES);
+    out.writeLong(first);
+    out.writeLong(latest);
+    out.writeInt(changes.size());
+    for (ContactChange change : changes) {
+      out.writeByte(change.getType().ordinal());
+      if (change.getType() == ContactChange.Type.REMOVED) {
+        out.writeLong(change.getId().getMostSignificantBits());
+        out.writeLong(change.getId().getLeastSignificantBits());
+      } else {
+        writeEntry(out, change.getNewEntry());
+      }
+    }
+  }
+
+  /**
+   * Reads the changes of a frame, after its type and offsets. Changes are read as the mutations that make them,
+   * since the follower only needs the new version of each contact.
+   */
+  static List<Mutation> readChanges(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0 || count > MAX_FRAME_CHANGES) {
+      throw new IOException("Malformed number of changes " + count);
+    }
+    List<Mutation> changes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int type = in.readUnsignedByte();
+      if (type >= TYPES.length) {
+        throw new IOException("Unknown change type " + type);
+      }
+      switch (TYPES[type]) {
+        case ADDED: changes.add(Mutation.insert(readEntry(in))); break;
+        case UPDATED: changes.add(Mutation.update(readEntry(in))); break;
+        default: changes.add(Mutation.delete(new UUID(in.readLong(), in.readLong())));
+      }
+    }
+    return changes;
+  }
+
+  static void writeHeartbeat(DataOutputStream out, long offset) throws IOException {
+    out.writeByte(HEARTBEAT);
+    out.writeLong(offset);
+  }
+
+}
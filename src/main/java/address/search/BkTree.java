@@ -0,0 +1,112 @@
+package address.search;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A Burkhard-Keller tree of strings, used to quickly find every stored string within a certain edit distance of a
+ * query without comparing the query against all of them. Every child of a node is filed under its distance from that
+ * node, so by the triangle inequality, only children whose distance is close to the query's distance from the node
+ * can possibly match.
+ * <p>
+ * Strings cannot be removed, since that would require rebuilding part of the tree. Callers are expected to keep track
+ * of which strings are still in use themselves.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see Phonetics#editDistance(String, String)
+ */
+class BkTree {
+
+  private static class Node {
+
+    final String term;
+    int[] childDistances = new int[0];
+    Node[] children = new Node[0];
+
+    Node(String term) {
+      this.term = term;
+    }
+
+    Node child(int distance) {
+      for (int i = 0; i < childDistances.length; i++) {
+        if (childDistances[i] == distance) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    void addChild(int distance, Node child) {
+      int n = children.length;
+      childDistances = Arrays.copyOf(childDistances, n + 1);
+      children = Arrays.copyOf(children, n + 1);
+      childDistances[n] = distance;
+      children[n] = child;
+    }
+
+  }
+
+  private Node root;
+  private int size;
+
+  /**
+   * Adds a string to this tree, if it isn't present already.
+   * @param term The string to add
+   * @return True if the string was added, false if it was already present
+   */
+  boolean add(String term) {
+    if (root == null) {
+      root = new Node(term);
+      size++;
+      return true;
+    }
+    Node node = root;
+    while (true) {
+      int distance = Phonetics.editDistance(term, node.term);
+      if (distance == 0) {
+        return false;
+      }
+      Node child = node.child(distance);
+      if (child == null) {
+        node.addChild(distance, new Node(term));
+        size++;
+        return true;
+      }
+      node = child;
+    }
+  }
+
+  /**
+   * Finds every stored string within a maximum edit distance of a query.
+   * @param query The query string
+   * @param maxDistance The maximum edit distance (inclusive)
+   * @param consumer Called with every matching string and its distance from the query
+   */
+  void search(String query, int maxDistance, ObjIntConsumer<String> consumer) {
+    if (root != null) {
+      search(root, query, maxDistance, consumer);
+    }
+  }
+
+  private static void search(Node node, String query, int maxDistance, ObjIntConsumer<String> consumer) {
+    int distance = Phonetics.editDistance(query, node.term);
+    if (distance <= maxDistance) {
+      consumer.accept(node.term, distance);
+    }
+    for (int i = 0; i < node.children.length; i++) {
+      if (Math.abs(node.childDistances[i] - distance) <= maxDistance) {
+        search(node.children[i], query, maxDistance, consumer);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    root = null;
+    size = 0;
+  }
+
+}
@@ -0,0 +1,189 @@
+package address.search;
+
+import address.data.ImmutableAddressEntry;
+
+import java.util.*;
+
+/**
+ * Remembers the results of recent last name prefix searches, so that searches that are run over and over again (like
+ * "S" or "Mc") don't have to walk through the last name index every time. The least recently used results are
+ * forgotten first once the cache is full.
+ * <p>
+ * Whenever a contact is added, changed or removed, only the results of prefixes that its last name starts with are
+ * forgotten, since no other results could possibly change.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class FindCache {
+
+  /**
+   * Snapshot of how well a cache is doing.
+   */
+  public static final class Stats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+
+    Stats(long hits, long misses, long evictions, long invalidations) {
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+      this.invalidations = invalidations;
+    }
+
+    public long getHits() {
+      return hits;
+    }
+
+    public long getMisses() {
+      return misses;
+    }
+
+    /**
+     * Get how many results were forgotten to make room for newer ones.
+     * @return The number of evictions
+     */
+    public long getEvictions() {
+      return evictions;
+    }
+
+    /**
+     * Get how many results were forgotten because a contact they could have included was changed.
+     * @return The number of invalidations
+     */
+    public long getInvalidations() {
+      return invalidations;
+    }
+
+    /**
+     * Get the fraction of lookups that were answered by the cache.
+     * @return The hit rate, between 0 and 1, or 0 if nothing has been looked up yet
+     */
+    public double getHitRate() {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("hits=%d, misses=%d, hitRate=%.3f, evictions=%d, invalidations=%d", hits, misses,
+        getHitRate(), evictions, invalidations);
+    }
+
+  }
+
+  private final int maxQueries;
+  private final int maxResultSize;
+  private final LinkedHashMap<String, List<ImmutableAddressEntry>> results;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long invalidations;
+
+  /**
+   * Constructor for this class.
+   * @param maxQueries The maximum number of prefixes to remember the results of
+   * @param maxResultSize Results with more contacts than this aren't remembered at all, so that the cache never holds
+   *                      onto a large part of the address book
+   */
+  public FindCache(int maxQueries, int maxResultSize) {
+    if (maxQueries < 1) {
+      throw new IllegalArgumentException("Must be able to remember at least one query: " + maxQueries);
+    }
+    this.maxQueries = maxQueries;
+    this.maxResultSize = maxResultSize;
+    // access order, so the eldest entry is always the least recently used one
+    results = new LinkedHashMap<String, List<ImmutableAddressEntry>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, List<ImmutableAddressEntry>> eldest) {
+        if (size() > FindCache.this.maxQueries) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Turns a prefix into the key it is remembered under. Two prefixes get the same key exactly when they match the same
+   * last names, ignoring case.
+   */
+  private static String normalize(String prefix) {
+    char[] chars = new char[prefix.length()];
+    for (int i = 0; i < chars.length; i++) {
+      // the same folding that String.regionMatches uses when ignoring case
+      chars[i] = Character.toLowerCase(Character.toUpperCase(prefix.charAt(i)));
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Looks up the remembered results of a prefix search.
+   * @param prefix The prefix that was searched for
+   * @return A read-only list of the results, or <code>null</code> if they aren't remembered
+   */
+  public List<ImmutableAddressEntry> get(String prefix) {
+    List<ImmutableAddressEntry> result = results.get(normalize(prefix));
+    if (result == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return result;
+  }
+
+  /**
+   * Remembers the results of a prefix search, unless there are too many of them.
+   * @param prefix The prefix that was searched for
+   * @param result All results of the search. The list is copied.
+   */
+  public void put(String prefix, List<ImmutableAddressEntry> result) {
+    if (result.size() <= maxResultSize) {
+      results.put(normalize(prefix), Collections.unmodifiableList(new ArrayList<>(result)));
+    }
+  }
+
+  /**
+   * Forgets the results of every prefix that a last name starts with. Must be called whenever a contact with that
+   * last name is added or removed, and for both the old and new last names when a contact is changed.
+   * @param lastName The last name of the contact
+   */
+  public void invalidate(String lastName) {
+    Iterator<String> iterator = results.keySet().iterator();
+    while (iterator.hasNext()) {
+      String prefix = iterator.next();
+      if (lastName.regionMatches(true, 0, prefix, 0, prefix.length())) {
+        iterator.remove();
+        invalidations++;
+      }
+    }
+  }
+
+  /**
+   * Forgets all results.
+   */
+  public void clear() {
+    invalidations += results.size();
+    results.clear();
+  }
+
+  /**
+   * Get the number of prefixes whose results are currently remembered.
+   * @return The number of remembered prefixes
+   */
+  public int size() {
+    return results.size();
+  }
+
+  /**
+   * Get a snapshot of how well this cache is doing so far.
+   * @return The current statistics
+   */
+  public Stats stats() {
+    return new Stats(hits, misses, evictions, invalidations);
+  }
+
+}
@@ -0,0 +1,515 @@
+package address.search;
+
+import address.data.ImmutableAddressEntry;
+import address.util.UuidMap;
+
+import java.util.*;
+
+/**
+ * Full-text index over every field of every contact, allowing contacts to be found by any word in their name, street,
+ * city, state, zip code, email address, or phone number.
+ * <p>
+ * Each contact is given an internal "document ID", a small integer that is reused once the contact is removed, so the
+ * IDs stay dense. Every term then maps to its postings list: the sorted array of document IDs of all contacts that
+ * contain it. Sorted arrays are both compact and quick to intersect or merge, and changes in the middle of one are
+ * buffered until it's next searched, so that changing a contact never shifts the list of a common term.
+ * <p>
+ * A query is a whitespace-separated list of terms, which are matched case-insensitively. A term ending with
+ * <code>*</code> matches every term starting with it (e.g. <code>sm*</code>). All terms must match for
+ * {@link Operator#AND}, and at least one for {@link Operator#OR}.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class InvertedIndex {
+
+  /**
+   * How the terms of a query are combined.
+   */
+  public enum Operator {
+    /** Only contacts that match every term */
+    AND,
+    /** Contacts that match at least one term */
+    OR
+  }
+
+  /**
+   * A growable, sorted array of document IDs. Adding or removing a document in the middle of a long list would mean
+   * shifting everything after it, so such changes are kept aside in small unsorted buffers instead, and only merged into
+   * the array by {@link #compact()} before the list is read, or once the buffers get too big.
+   * <p>
+   * Unlike lists made while searching, a stored list is only ever given documents that aren't in it yet, and only asked
+   * to remove documents that are.
+   */
+  static class Postings {
+
+    /** The fewest pending changes that are kept aside before they're merged */
+    private static final int MIN_PENDING = 64;
+
+    /** The merged documents, of which only the first {@link #size} are used */
+    int[] docs = new int[2];
+    int size;
+    /** Documents added but not merged yet, in no particular order */
+    private int[] added = new int[0];
+    private int addedCount;
+    /** Documents in {@link #docs} that were removed but not merged yet, in no particular order */
+    private int[] removed = new int[0];
+    private int removedCount;
+
+    void add(int doc) {
+      // a contact that's changed gives its document ID back and takes it again right away
+      if (take(removed, removedCount, doc)) {
+        removedCount--;
+        return;
+      }
+      // document IDs are usually handed out in increasing order, so this is almost always an append
+      if (size == 0 || docs[size - 1] < doc) {
+        if (size == docs.length) {
+          docs = Arrays.copyOf(docs, size * 2);
+        }
+        docs[size++] = doc;
+        return;
+      }
+      if (addedCount == added.length) {
+        added = Arrays.copyOf(added, Math.max(addedCount * 2, 8));
+      }
+      added[addedCount++] = doc;
+      compactIfFull();
+    }
+
+    void remove(int doc) {
+      if (take(added, addedCount, doc)) {
+        addedCount--;
+        return;
+      }
+      if (size > 0 && docs[size - 1] == doc) {
+        size--;
+        return;
+      }
+      if (removedCount == removed.length) {
+        removed = Arrays.copyOf(removed, Math.max(removedCount * 2, 8));
+      }
+      removed[removedCount++] = doc;
+      compactIfFull();
+    }
+
+    /**
+     * Removes a document from one of the pending buffers by swapping the last one into its place, looking at the most
+     * recent changes first.
+     * @return True if the document was there, in which case the caller must shrink the buffer by one
+     */
+    private static boolean take(int[] buffer, int count, int doc) {
+      for (int i = count - 1; i >= 0; i--) {
+        if (buffer[i] == doc) {
+          buffer[i] = buffer[count - 1];
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Merges the pending changes once there are enough of them. Each change costs a scan of the buffers while
+     * they're pending, and each merge costs a pass over the whole list, so letting the buffers grow to about the square
+     * root of the list's size keeps both cheap.
+     */
+    private void compactIfFull() {
+      if (addedCount + removedCount > Math.max(MIN_PENDING, 4 * (int) Math.sqrt(size))) {
+        compact();
+      }
+    }
+
+    /**
+     * Merges every pending change into {@link #docs}, so that it holds every document of this list in order.
+     */
+    void compact() {
+      if (addedCount == 0 && removedCount == 0) {
+        return;
+      }
+      Arrays.sort(added, 0, addedCount);
+      Arrays.sort(removed, 0, removedCount);
+      int[] merged = new int[Math.max(count(), 2)];
+      int i = 0, a = 0, r = 0, n = 0;
+      while (i < size || a < addedCount) {
+        if (a == addedCount || (i < size && docs[i] < added[a])) {
+          int doc = docs[i++];
+          if (r < removedCount && removed[r] == doc) {
+            r++;
+          } else {
+            merged[n++] = doc;
+          }
+        } else {
+          merged[n++] = added[a++];
+        }
+      }
+      docs = merged;
+      size = n;
+      addedCount = 0;
+      removedCount = 0;
+    }
+
+    /**
+     * Get the number of documents in this list, including pending changes.
+     * @return The number of documents
+     */
+    int count() {
+      return size + addedCount - removedCount;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(docs, size);
+    }
+
+  }
+
+  // every phone number is also indexed by its line number, and by its line number with the exchange code. indexing
+  // every possible fragment would be more flexible, but would add several mostly-unique terms for every contact
+  private static final int[] PHONE_SUFFIX_LENGTHS = {4, 7};
+
+  /** Every term, sorted so that prefix queries can be answered with a range lookup */
+  private final TreeMap<String, Postings> terms;
+  private final UuidMap<Integer> docsById;
+  private final List<UUID> idsByDoc;
+  /** Document IDs that used to belong to a removed contact and can be reused */
+  private final Deque<Integer> freeDocs;
+
+  /**
+   * Constructor for this class. The index starts off empty.
+   */
+  public InvertedIndex() {
+    terms = new TreeMap<>();
+    docsById = new UuidMap<>();
+    idsByDoc = new ArrayList<>();
+    freeDocs = new ArrayDeque<>();
+  }
+
+  private static void addWords(String text, Set<String> tokens) {
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (wordChar && start == -1) {
+        start = i;
+      } else if (!wordChar && start != -1) {
+        tokens.add(text.substring(start, i).toLowerCase());
+        start = -1;
+      }
+    }
+  }
+
+  private static String digitsOf(String text) {
+    StringBuilder sb = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      if (Character.isDigit(text.charAt(i))) {
+        sb.append(text.charAt(i));
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Splits every field of a contact into the terms it is indexed under. Besides every individual word, the whole email
+   * address is included so that it can be searched for as a whole. So is the phone number with only its digits, along
+   * with its last 7 and last 4 digits, so that the usual parts of a phone number can be found regardless of how it's
+   * formatted.
+   * @param entry The contact
+   * @return All distinct terms of the contact
+   */
+  static Set<String> tokenize(ImmutableAddressEntry entry) {
+    Set<String> tokens = new HashSet<>();
+    addWords(entry.getFirstName(), tokens);
+    addWords(entry.getLastName(), tokens);
+    addWords(entry.getStreet(), tokens);
+    addWords(entry.getCity(), tokens);
+    addWords(entry.getState(), tokens);
+    tokens.add(Integer.toString(entry.getZip()));
+    addWords(entry.getEmail(), tokens);
+    if (!entry.getEmail().isEmpty()) {
+      tokens.add(entry.getEmail().toLowerCase());
+    }
+    addWords(entry.getPhone(), tokens);
+    String phoneDigits = digitsOf(entry.getPhone());
+    for (int length : PHONE_SUFFIX_LENGTHS) {
+      if (phoneDigits.length() > length) {
+        tokens.add(phoneDigits.substring(phoneDigits.length() - length));
+      }
+    }
+    if (!phoneDigits.isEmpty()) {
+      tokens.add(phoneDigits);
+    }
+    return tokens;
+  }
+
+  /**
+   * Normalizes a single query term the same way that contacts are tokenized. Terms that look like phone numbers are
+   * reduced to only their digits.
+   */
+  private static String normalizeTerm(String term) {
+    term = term.toLowerCase();
+    boolean phoneLike = false;
+    for (int i = 0; i < term.length(); i++) {
+      char c = term.charAt(i);
+      if (Character.isDigit(c)) {
+        phoneLike = true;
+      } else if ("-().+".indexOf(c) == -1) {
+        return term;
+      }
+    }
+    return phoneLike ? digitsOf(term) : term;
+  }
+
+  /**
+   * Get the number of contacts in this index.
+   * @return The number of contacts
+   */
+  public int size() {
+    return docsById.size();
+  }
+
+  /**
+   * Adds a contact to this index.
+   * @param entry The contact to add. Its ID must not already be in this index.
+   */
+  public void add(ImmutableAddressEntry entry) {
+    int doc;
+    if (freeDocs.isEmpty()) {
+      doc = idsByDoc.size();
+      idsByDoc.add(entry.getId());
+    } else {
+      doc = freeDocs.pop();
+      idsByDoc.set(doc, entry.getId());
+    }
+    docsById.put(entry.getId(), doc);
+    for (String token : tokenize(entry)) {
+      terms.computeIfAbsent(token, t -> new Postings()).add(doc);
+    }
+  }
+
+  /**
+   * Removes a contact from this index.
+   * @param entry The contact, exactly as it was when it was added
+   */
+  public void remove(ImmutableAddressEntry entry) {
+    Integer doc = docsById.remove(entry.getId());
+    if (doc == null) {
+      return;
+    }
+    for (String token : tokenize(entry)) {
+      Postings postings = terms.get(token);
+      if (postings != null) {
+        postings.remove(doc);
+        if (postings.count() == 0) {
+          terms.remove(token);
+        }
+      }
+    }
+    idsByDoc.set(doc, null);
+    freeDocs.push(doc);
+  }
+
+  /**
+   * Removes all contacts from this index.
+   */
+  public void clear() {
+    terms.clear();
+    docsById.clear();
+    idsByDoc.clear();
+    freeDocs.clear();
+  }
+
+  /**
+   * Finds every contact matching a query.
+   * @param query The query, as described in the documentation of this class
+   * @param operator Whether contacts must match all terms or only one of them
+   * @return The IDs of all matching contacts, in no particular order. Empty if the query has no terms.
+   */
+  public List<UUID> search(String query, Operator operator) {
+    int[] docs = searchDocs(query, operator);
+    List<UUID> ids = new ArrayList<>(docs.length);
+    for (int doc : docs) {
+      ids.add(idsByDoc.get(doc));
+    }
+    return ids;
+  }
+
+  /**
+   * Counts how many contacts a query would match, without looking up any of their IDs.
+   * @param query The query, as described in the documentation of this class
+   * @param operator Whether contacts must match all terms or only one of them
+   * @return The number of matching contacts
+   */
+  public int count(String query, Operator operator) {
+    return searchDocs(query, operator).length;
+  }
+
+  /**
+   * Finds every contact that contains all words of some text, such as a city name. Unlike {@link #search(String,
+   * Operator)}, punctuation separates words here rather than being part of them, just like when contacts are
+   * tokenized. Any contact whose field equals the text is guaranteed to be found, although other contacts that happen
+   * to contain the same words in any field will be found as well.
+   * @param text The text
+   * @return The IDs of all matching contacts, in no particular order. Empty if the text has no words.
+   * @see #estimateWords(String)
+   */
+  public List<UUID> searchWords(String text) {
+    Set<String> words = new HashSet<>();
+    addWords(text, words);
+    return search(String.join(" ", words), Operator.AND);
+  }
+
+  /**
+   * Quickly estimates how many contacts {@link #searchWords(String)} would find, without actually searching. The
+   * estimate is never lower than the actual number.
+   * @param text The text
+   * @return The upper bound of matching contacts, or <code>-1</code> if the text has no words, and so can't be searched
+   *         for at all
+   */
+  public int estimateWords(String text) {
+    Set<String> words = new HashSet<>();
+    addWords(text, words);
+    if (words.isEmpty()) {
+      return -1;
+    }
+    int estimate = Integer.MAX_VALUE;
+    for (String word : words) {
+      Postings postings = terms.get(word);
+      estimate = Math.min(estimate, postings == null ? 0 : postings.count());
+    }
+    return estimate;
+  }
+
+  private int[] searchDocs(String query, Operator operator) {
+    List<List<Postings>> matches = new ArrayList<>();
+    for (String term : query.trim().split("\\s+")) {
+      if (!term.isEmpty() && !term.equals("*")) {
+        matches.add(matchTerm(term));
+      }
+    }
+    if (matches.isEmpty()) {
+      return new int[0];
+    }
+    if (operator == Operator.OR) {
+      List<Postings> all = new ArrayList<>();
+      matches.forEach(all::addAll);
+      return unionAll(all).toArray();
+    }
+    // intersecting the smallest lists first keeps every intermediate result as small as possible
+    matches.sort(Comparator.comparingLong(InvertedIndex::totalSize));
+    Postings result = unionAll(matches.get(0));
+    for (int i = 1; i < matches.size() && result.size > 0; i++) {
+      List<Postings> parts = matches.get(i);
+      if (parts.size() == 1 || (long) result.size * parts.size() > totalSize(parts)) {
+        result = intersect(result, unionAll(parts));
+      } else {
+        // when the result so far is small, intersecting it with every term of a prefix separately is much cheaper than
+        // merging all of those terms together first
+        List<Postings> intersected = new ArrayList<>(parts.size());
+        for (Postings part : parts) {
+          intersected.add(intersect(result, part));
+        }
+        result = unionAll(intersected);
+      }
+    }
+    return result.toArray();
+  }
+
+  private static long totalSize(List<Postings> parts) {
+    long size = 0;
+    for (Postings part : parts) {
+      size += part.size;
+    }
+    return size;
+  }
+
+  /**
+   * Finds the postings lists of a single query term: one list for a regular term, or one for every matching term of a
+   * prefix. Stored postings lists are {@link Postings#compact() compacted} and returned directly rather than being
+   * copied, so they must not be modified.
+   */
+  private List<Postings> matchTerm(String term) {
+    List<Postings> matches;
+    if (term.endsWith("*")) {
+      String prefix = normalizeTerm(term.substring(0, term.length() - 1));
+      matches = new ArrayList<>(terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    } else {
+      Postings postings = terms.get(normalizeTerm(term));
+      matches = postings == null ? Collections.emptyList() : Collections.singletonList(postings);
+    }
+    matches.forEach(Postings::compact);
+    return matches;
+  }
+
+  /**
+   * Intersects two sorted lists. When one list is much smaller than the other, each of its elements is looked for in
+   * the bigger list with a galloping search instead of walking through the whole bigger list, so that a rare term
+   * combined with a very common one is still cheap.
+   */
+  static Postings intersect(Postings a, Postings b) {
+    if (a.size > b.size) {
+      Postings tmp = a;
+      a = b;
+      b = tmp;
+    }
+    Postings result = new Postings();
+    result.docs = new int[Math.max(a.size, 1)];
+    boolean gallop = a.size * 32 < b.size;
+    int j = 0;
+    for (int i = 0; i < a.size && j < b.size; i++) {
+      int doc = a.docs[i];
+      if (gallop) {
+        int step = 1;
+        while (j + step < b.size && b.docs[j + step] < doc) {
+          step <<= 1;
+        }
+        int found = Arrays.binarySearch(b.docs, j, Math.min(j + step + 1, b.size), doc);
+        j = found >= 0 ? found : -found - 1;
+      } else {
+        while (j < b.size && b.docs[j] < doc) {
+          j++;
+        }
+      }
+      if (j < b.size && b.docs[j] == doc) {
+        result.docs[result.size++] = doc;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  static Postings union(Postings a, Postings b) {
+    Postings result = new Postings();
+    result.docs = new int[Math.max(a.size + b.size, 1)];
+    int[] docs = result.docs;
+    int i = 0, j = 0, n = 0;
+    while (i < a.size || j < b.size) {
+      if (j == b.size || (i < a.size && a.docs[i] < b.docs[j])) {
+        docs[n++] = a.docs[i++];
+      } else if (i == a.size || b.docs[j] < a.docs[i]) {
+        docs[n++] = b.docs[j++];
+      } else {
+        docs[n++] = a.docs[i];
+        i++;
+        j++;
+      }
+    }
+    result.size = n;
+    return result;
+  }
+
+  /**
+   * Merges any number of sorted lists by repeatedly merging them in pairs, so that no list is copied more than a
+   * logarithmic number of times.
+   */
+  private static Postings unionAll(List<Postings> lists) {
+    if (lists.isEmpty()) {
+      return new Postings();
+    }
+    while (lists.size() > 1) {
+      List<Postings> merged = new ArrayList<>((lists.size() + 1) / 2);
+      for (int i = 0; i < lists.size(); i += 2) {
+        merged.add(i + 1 < lists.size() ? union(lists.get(i), lists.get(i + 1)) : lists.get(i));
+      }
+      lists = merged;
+    }
+    return lists.get(0);
+  }
+
+}
@@ -0,0 +1,169 @@
+package address.search;
+
+import address.data.ImmutableAddressEntry;
+
+import java.util.*;
+
+/**
+ * Keeps every contact sorted by last name, so that all contacts whose last name starts with a certain prefix can be
+ * found (in order) without looking at any other contacts.
+ * <p>
+ * Contacts are grouped by their last name, ignoring case. Groups are sorted by name, and every group is kept sorted
+ * by {@link #ORDER}, so walking through the groups in order visits every contact in order.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class LastNameIndex {
+
+  /**
+   * The order contacts are kept in: by last name ignoring case, then by their natural order (see
+   * {@link ImmutableAddressEntry#compareTo(ImmutableAddressEntry)}), and finally by ID so that no two different
+   * contacts are ever considered equal.
+   */
+  public static final Comparator<ImmutableAddressEntry> ORDER =
+    Comparator.comparing(ImmutableAddressEntry::getLastName, String.CASE_INSENSITIVE_ORDER)
+      .thenComparing(Comparator.naturalOrder())
+      .thenComparing(ImmutableAddressEntry::getId);
+
+  private final TreeMap<String, List<ImmutableAddressEntry>> groups;
+  private int size;
+
+  /**
+   * Constructor for this class. The index starts off empty.
+   */
+  public LastNameIndex() {
+    groups = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+  }
+
+  /**
+   * Get the number of contacts in this index.
+   * @return The number of contacts
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds a contact to this index.
+   * @param entry The contact to add
+   */
+  public void add(ImmutableAddressEntry entry) {
+    List<ImmutableAddressEntry> group = groups.computeIfAbsent(entry.getLastName(), k -> new ArrayList<>(1));
+    int i = Collections.binarySearch(group, entry, ORDER);
+    if (i < 0) {
+      group.add(-i - 1, entry);
+      size++;
+    }
+  }
+
+  /**
+   * Removes a contact from this index.
+   * @param entry The contact, exactly as it was when it was added
+   */
+  public void remove(ImmutableAddressEntry entry) {
+    List<ImmutableAddressEntry> group = groups.get(entry.getLastName());
+    if (group == null) {
+      return;
+    }
+    int i = Collections.binarySearch(group, entry, ORDER);
+    if (i >= 0) {
+      group.remove(i);
+      size--;
+      if (group.isEmpty()) {
+        groups.remove(entry.getLastName());
+      }
+    }
+  }
+
+  /**
+   * Removes all contacts from this index.
+   */
+  public void clear() {
+    groups.clear();
+    size = 0;
+  }
+
+  private Collection<List<ImmutableAddressEntry>> groupsStartingWith(String prefix) {
+    if (prefix.isEmpty()) {
+      return groups.values();
+    }
+    return groups.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+  }
+
+  /**
+   * Counts how many contacts have a last name starting with a prefix (ignoring case). Since this has to look at every
+   * matching last name, counting can stop early once it's clear that there are at least a certain number of contacts.
+   * @param prefix The prefix
+   * @param limit Counting stops as soon as the count reaches this
+   * @return The number of matching contacts, or <code>limit</code> if there are at least that many
+   */
+  public int count(String prefix, int limit) {
+    if (prefix.isEmpty()) {
+      return Math.min(size, limit);
+    }
+    int count = 0;
+    for (List<ImmutableAddressEntry> group : groupsStartingWith(prefix)) {
+      count += group.size();
+      if (count >= limit) {
+        return limit;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Walks through every contact whose last name starts with a prefix (ignoring case), in {@link #ORDER}. Contacts are
+   * only looked up as the iterator advances, so stopping early means the remaining contacts are never visited. The
+   * index must not be modified while the iterator is in use.
+   * @param prefix The prefix
+   * @return An iterator over all matching contacts
+   */
+  public Iterator<ImmutableAddressEntry> iterator(String prefix) {
+    return iterator(prefix, 0);
+  }
+
+  /**
+   * Same as {@link #iterator(String)}, but starting at a certain position among the matching contacts. Contacts
+   * sharing a last name are skipped all at once, so skipping is much quicker than walking past every contact.
+   * @param prefix The prefix
+   * @param offset How many of the first matching contacts to skip
+   * @return An iterator over all matching contacts, except for the first <code>offset</code> of them
+   */
+  public Iterator<ImmutableAddressEntry> iterator(String prefix, int offset) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Offset cannot be negative: " + offset);
+    }
+    Iterator<List<ImmutableAddressEntry>> groupIterator = groupsStartingWith(prefix).iterator();
+    Iterator<ImmutableAddressEntry> first = Collections.emptyIterator();
+    int skip = offset;
+    while (groupIterator.hasNext()) {
+      List<ImmutableAddressEntry> group = groupIterator.next();
+      if (skip < group.size()) {
+        first = group.listIterator(skip);
+        break;
+      }
+      skip -= group.size();
+    }
+    Iterator<ImmutableAddressEntry> start = first;
+    return new Iterator<ImmutableAddressEntry>() {
+      private Iterator<ImmutableAddressEntry> current = start;
+
+      @Override
+      public boolean hasNext() {
+        while (!current.hasNext() && groupIterator.hasNext()) {
+          current = groupIterator.next().iterator();
+        }
+        return current.hasNext();
+      }
+
+      @Override
+      public ImmutableAddressEntry next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return current.next();
+      }
+    };
+  }
+
+}
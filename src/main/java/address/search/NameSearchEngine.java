@@ -0,0 +1,141 @@
+package address.search;
+
+import java.util.*;
+
+/**
+ * Index of contacts' last names that supports "fuzzy" lookups, which still find names when the query is misspelled
+ * (e.g. <code>"Smyth"</code> or <code>"Jonhson"</code>). A name matches a query if either:
+ * <ul>
+ *   <li>it is within a small edit distance of the query, found through a {@link BkTree}, or</li>
+ *   <li>it has the same {@link Phonetics#soundex(String) Soundex code} as the query</li>
+ * </ul>
+ * Names are normalized and encoded once when a contact is added, so a lookup never has to look at every contact.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class NameSearchEngine {
+
+  /** The IDs of all contacts with a specific normalized last name */
+  private final Map<String, Set<UUID>> idsByName;
+  /** All normalized last names that share a specific Soundex code */
+  private final Map<String, Set<String>> namesBySoundex;
+  /** Every normalized last name that has ever been added, including ones that are no longer in use */
+  private final BkTree names;
+
+  /**
+   * Constructor for this class. The index starts off empty.
+   */
+  public NameSearchEngine() {
+    idsByName = new HashMap<>();
+    namesBySoundex = new HashMap<>();
+    names = new BkTree();
+  }
+
+  /**
+   * Gets the default maximum edit distance for a query. Short names are only allowed a single typo, since otherwise
+   * nearly every other short name would match.
+   * @param normalizedQuery The normalized query
+   * @return The maximum edit distance
+   */
+  public static int defaultMaxDistance(String normalizedQuery) {
+    return normalizedQuery.length() <= 4 ? 1 : 2;
+  }
+
+  /**
+   * Adds a contact to this index.
+   * @param id The ID of the contact
+   * @param lastName The last name of the contact
+   */
+  public void add(UUID id, String lastName) {
+    String name = Phonetics.normalize(lastName);
+    if (name.isEmpty()) {
+      return;
+    }
+    Set<UUID> ids = idsByName.get(name);
+    if (ids == null) {
+      ids = new HashSet<>(2);
+      idsByName.put(name, ids);
+      names.add(name);
+      namesBySoundex.computeIfAbsent(Phonetics.soundex(name), k -> new HashSet<>()).add(name);
+    }
+    ids.add(id);
+  }
+
+  /**
+   * Removes a contact from this index.
+   * @param id The ID of the contact
+   * @param lastName The last name the contact had when it was added
+   */
+  public void remove(UUID id, String lastName) {
+    String name = Phonetics.normalize(lastName);
+    Set<UUID> ids = idsByName.get(name);
+    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+      // the name is left in the BK-tree since it can't be removed from there, but it won't match anything anymore
+      idsByName.remove(name);
+      Set<String> soundexNames = namesBySoundex.get(Phonetics.soundex(name));
+      soundexNames.remove(name);
+      if (soundexNames.isEmpty()) {
+        namesBySoundex.remove(Phonetics.soundex(name));
+      }
+    }
+  }
+
+  /**
+   * Removes all contacts from this index.
+   */
+  public void clear() {
+    idsByName.clear();
+    namesBySoundex.clear();
+    names.clear();
+  }
+
+  /**
+   * Finds the contacts whose last names are the closest to a query, using {@link #defaultMaxDistance(String)}.
+   * @param lastName The last name to search for
+   * @param limit The maximum number of IDs to return
+   * @return The IDs of the best matching contacts, best matches first
+   * @see #search(String, int, int)
+   */
+  public List<UUID> search(String lastName, int limit) {
+    return search(lastName, defaultMaxDistance(Phonetics.normalize(lastName)), limit);
+  }
+
+  /**
+   * Finds the contacts whose last names are the closest to a query. Matches are ranked by edit distance, and names
+   * that also sound like the query rank ahead of those that don't. Ties are broken alphabetically.
+   * @param lastName The last name to search for
+   * @param maxDistance The maximum number of typos a name can be away from the query
+   * @param limit The maximum number of IDs to return
+   * @return The IDs of the best matching contacts, best matches first
+   */
+  public List<UUID> search(String lastName, int maxDistance, int limit) {
+    String query = Phonetics.normalize(lastName);
+    if (query.isEmpty() || limit <= 0) {
+      return new ArrayList<>();
+    }
+    String soundex = Phonetics.soundex(query);
+    Map<String, Integer> scores = new HashMap<>();
+    names.search(query, maxDistance, (name, distance) -> {
+      if (idsByName.containsKey(name)) {
+        // doubled so that a matching sound can be used as a tie breaker
+        scores.put(name, distance * 2 - (Phonetics.soundex(name).equals(soundex) ? 1 : 0));
+      }
+    });
+    for (String name : namesBySoundex.getOrDefault(soundex, Collections.emptySet())) {
+      scores.computeIfAbsent(name, n -> Phonetics.editDistance(query, n) * 2 - 1);
+    }
+    List<String> ranked = new ArrayList<>(scores.keySet());
+    ranked.sort(Comparator.<String>comparingInt(scores::get).thenComparing(Comparator.naturalOrder()));
+    List<UUID> result = new ArrayList<>();
+    for (String name : ranked) {
+      for (UUID id : idsByName.get(name)) {
+        if (result.size() == limit) {
+          return result;
+        }
+        result.add(id);
+      }
+    }
+    return result;
+  }
+
+}
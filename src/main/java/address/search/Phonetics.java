@@ -0,0 +1,97 @@
+package address.search;
+
+/**
+ * String helpers used for matching names that are spelled differently, but are meant to be the same.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class Phonetics {
+
+  private Phonetics() {}
+
+  // soundex digit for each letter from a to z. 0 means the letter is a vowel (or y), and '-' means the letter is
+  // ignored entirely (h and w)
+  private static final String SOUNDEX_CODES = "0123012-02245501262301-202";
+
+  /**
+   * Strips everything but letters from a name and makes it lowercase, so that names can be compared regardless of
+   * capitalization, spacing, or punctuation (e.g. <code>"O'Neil"</code> becomes <code>"oneil"</code>).
+   * @param name The name to normalize
+   * @return The normalized name, which may be empty
+   */
+  public static String normalize(String name) {
+    StringBuilder sb = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (Character.isLetter(c)) {
+        sb.append(Character.toLowerCase(c));
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Computes the American Soundex code of a name, which is the same for names that sound alike when spoken in
+   * English. For example, both <code>"Smith"</code> and <code>"Smyth"</code> have the code <code>"S530"</code>.
+   * @param name The name to encode. Anything that isn't a letter from A to Z is ignored.
+   * @return A letter followed by 3 digits, or an empty string if the name has no letters from A to Z
+   */
+  public static String soundex(String name) {
+    char[] code = new char[] {0, '0', '0', '0'};
+    int length = 0;
+    char last = 0;
+    for (int i = 0; i < name.length() && length < 4; i++) {
+      char c = Character.toLowerCase(name.charAt(i));
+      if (c < 'a' || c > 'z') {
+        continue;
+      }
+      char digit = SOUNDEX_CODES.charAt(c - 'a');
+      if (length == 0) {
+        code[length++] = Character.toUpperCase(c);
+        last = digit;
+      } else if (digit == '-') {
+        // h and w don't separate letters with the same code, so "last" is left alone
+      } else {
+        if (digit != '0' && digit != last) {
+          code[length++] = digit;
+        }
+        last = digit;
+      }
+    }
+    return length == 0 ? "" : new String(code);
+  }
+
+  /**
+   * Computes the Levenshtein distance between two strings, which is the minimum number of single-character
+   * insertions, deletions, or substitutions needed to turn one string into the other.
+   * @param a The first string
+   * @param b The second string
+   * @return The edit distance between the two strings
+   */
+  public static int editDistance(String a, String b) {
+    if (a.length() < b.length()) {
+      String tmp = a;
+      a = b;
+      b = tmp;
+    }
+    // only two rows of the table are ever needed, and the shorter string is used for them
+    int[] prev = new int[b.length() + 1];
+    int[] curr = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      prev[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      curr[0] = i;
+      char ca = a.charAt(i - 1);
+      for (int j = 1; j <= b.length(); j++) {
+        int cost = ca == b.charAt(j - 1) ? 0 : 1;
+        curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+      }
+      int[] tmp = prev;
+      prev = curr;
+      curr = tmp;
+    }
+    return prev[b.length()];
+  }
+
+}
@@ -0,0 +1,74 @@
+package address.search;
+
+import java.util.*;
+
+/**
+ * Index of contacts by the exact value of one of their fields (ignoring case), such as their state code. Best suited
+ * for fields with relatively few distinct values.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class ValueIndex {
+
+  private final Map<String, Set<UUID>> idsByValue;
+
+  /**
+   * Constructor for this class. The index starts off empty.
+   */
+  public ValueIndex() {
+    idsByValue = new HashMap<>();
+  }
+
+  private static String normalize(String value) {
+    return value.toLowerCase();
+  }
+
+  /**
+   * Adds a contact to this index.
+   * @param id The ID of the contact
+   * @param value The value of the contact's field
+   */
+  public void add(UUID id, String value) {
+    idsByValue.computeIfAbsent(normalize(value), k -> new HashSet<>()).add(id);
+  }
+
+  /**
+   * Removes a contact from this index.
+   * @param id The ID of the contact
+   * @param value The value of the contact's field when it was added
+   */
+  public void remove(UUID id, String value) {
+    String key = normalize(value);
+    Set<UUID> ids = idsByValue.get(key);
+    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+      idsByValue.remove(key);
+    }
+  }
+
+  /**
+   * Removes all contacts from this index.
+   */
+  public void clear() {
+    idsByValue.clear();
+  }
+
+  /**
+   * Counts how many contacts have a certain value.
+   * @param value The value (ignoring case)
+   * @return The number of matching contacts
+   */
+  public int count(String value) {
+    return get(value).size();
+  }
+
+  /**
+   * Gets the IDs of every contact with a certain value.
+   * @param value The value (ignoring case)
+   * @return A read-only view of the IDs of all matching contacts
+   */
+  public Set<UUID> get(String value) {
+    Set<UUID> ids = idsByValue.get(normalize(value));
+    return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+  }
+
+}
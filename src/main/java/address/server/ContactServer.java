@@ -0,0 +1,440 @@
+package address.server;
+
+import address.AddressBook;
+import address.Utils;
+import address.data.ImmutableAddressEntry;
+import address.io.JsonContactReader;
+import address.io.JsonLinesContactWriter;
+import address.store.ContactStore;
+import address.store.Mutation;
+import address.store.UpdateResult;
+import address.util.IdGenerator;
+import address.validation.ContactValidator;
+import address.validation.ValidationResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves the contacts of an {@link AddressBook} as a JSON API over HTTP, for other services to look up contacts
+ * without going through the window. Contacts are written the same way as {@link JsonLinesContactWriter}, and read
+ * with {@link JsonContactReader}:
+ * <ul>
+ *   <li><code>GET /contacts/{id}</code> - a single contact, with its version in the <code>ETag</code> header</li>
+ *   <li><code>GET /contacts?lastName={prefix}&amp;limit={n}</code> - every contact whose last name starts with the
+ *       prefix, sorted the same way as {@link AddressBook#find(String)}, as JSON Lines. The number of matches is sent
+ *       in the <code>X-Total-Count</code> header, and the contacts are streamed as they're written, so even a result
+ *       with every contact in it never has to be built up in memory.</li>
+ *   <li><code>POST /contacts</code> - adds a contact, responding with it and its new ID</li>
+ *   <li><code>PUT /contacts/{id}</code> - changes the fields of a contact given in the request, leaving the rest. The
+ *       change is only made if nobody else has changed the contact since the version given in the
+ *       <code>If-Match</code> header, or since the version the server has if there's no such header. Otherwise, the
+ *       response is <code>409 Conflict</code> with the contact as it's stored now.</li>
+ *   <li><code>DELETE /contacts/{id}</code> - removes a contact</li>
+ * </ul>
+ * Errors are sent as <code>{"error":"..."}</code>. Connections are kept alive between requests.
+ * <p>
+ * Looking up a single contact reads the book's latest {@link AddressBook#snapshot() snapshot}, without any locking.
+ * The book itself isn't thread-safe, so searches briefly lock it while gathering their results, and then write those
+ * results without the lock held. Changes are written to the {@link ContactStore} one at a time, and only applied to
+ * the book once they've been stored. Without a store, such as when serving a
+ * {@link address.replication.ReplicationFollower follower's} copy of the contacts, the contacts are read-only.
+ * <p>
+ * Requests are handled on virtual threads when the JVM has them (Java 21 and later), and on a fixed pool of threads
+ * otherwise.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class ContactServer implements Closeable {
+
+  /** The largest request body accepted, in bytes */
+  private static final int MAX_BODY_SIZE = 64 * 1024;
+  private static final int BUFFER_SIZE = 16 * 1024;
+  private static final String CONTEXT = "/contacts";
+  private static final String JSON = "application/json; charset=utf-8";
+  private static final String JSON_LINES = "application/x-ndjson; charset=utf-8";
+  private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+  /** Thrown while handling a request to send an error response */
+  private static final class HttpError extends Exception {
+
+    final int status;
+
+    HttpError(int status, String message) {
+      super(message, null, false, false);
+      this.status = status;
+    }
+
+  }
+
+  private final AddressBook book;
+  private final ContactStore store;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  /** Held while reading or changing the book itself */
+  private final Object bookLock;
+  /** Held while writing a change, so that changes reach the store and the book in the same order */
+  private final ReentrantLock writeLock = new ReentrantLock(true);
+
+  /**
+   * Constructor for this class. The server doesn't accept connections until it's {@link #start() started}.
+   * @param book The contacts to serve
+   * @param store Where changes are written before they're applied to the book, or <code>null</code> to only serve
+   *              reads
+   * @param bookLock Held while reading or changing the book. Anything else that changes the book while the server is
+   *                 running must hold it too.
+   * @param address The address to listen on, which can have port 0 to pick any free port
+   * @param threads How many requests are handled at once if the JVM doesn't have virtual threads
+   * @throws IOException If the address could not be listened on
+   */
+  public ContactServer(AddressBook book, ContactStore store, Object bookLock, InetSocketAddress address, int threads)
+    throws IOException {
+    this.book = book;
+    this.store = store;
+    this.bookLock = bookLock;
+    // the headers and body of a response are sent separately, and without this the body waits for the client to
+    // acknowledge the headers, which it delays by up to 40 ms. It's read once, when the first server is made.
+    if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+      System.setProperty(NO_DELAY_PROPERTY, "true");
+    }
+    server = HttpServer.create(address, 0);
+    executor = newExecutor(threads);
+    server.setExecutor(executor);
+    server.createContext(CONTEXT, this::handle);
+  }
+
+  /**
+   * Constructor for this class. The server doesn't accept connections until it's {@link #start() started}.
+   * @param book The contacts to serve. Nothing else may change the book while the server is running.
+   * @param store Where changes are written before they're applied to the book
+   * @param address The address to listen on, which can have port 0 to pick any free port
+   * @param threads How many requests are handled at once if the JVM doesn't have virtual threads
+   * @throws IOException If the address could not be listened on
+   */
+  public ContactServer(AddressBook book, ContactStore store, InetSocketAddress address, int threads)
+    throws IOException {
+    this(book, store, new Object(), address, threads);
+  }
+
+  /**
+   * Makes an executor that starts a virtual thread per request if the JVM has virtual threads, or a fixed pool of
+   * threads otherwise.
+   */
+  private static ExecutorService newExecutor(int threads) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      AtomicInteger count = new AtomicInteger();
+      return Executors.newFixedThreadPool(threads, task -> {
+        Thread thread = new Thread(task, "contact-server-" + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  /**
+   * Starts accepting connections.
+   */
+  public void start() {
+    server.start();
+    Utils.info("Serving contacts on port %d", getPort());
+  }
+
+  /**
+   * Get the port the server is listening on.
+   * @return The port
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Stops accepting connections, and waits up to a second for requests that are being handled to finish.
+   */
+  @Override
+  public void close() {
+    server.stop(1);
+    executor.shutdown();
+    try {
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      // the whole request has to be read for the connection to be reused
+      byte[] body = readBody(exchange.getRequestBody());
+      String path = exchange.getRequestURI().getRawPath();
+      String id = path.length() > CONTEXT.length() + 1 ? path.substring(CONTEXT.length() + 1) : null;
+      if (path.length() > CONTEXT.length() && path.charAt(CONTEXT.length()) != '/') {
+        throw new HttpError(404, "Not found");
+      }
+      String method = exchange.getRequestMethod();
+      if (store == null && !method.equals("GET")) {
+        throw new HttpError(405, "Contacts are read-only on this server");
+      }
+      if (id == null) {
+        switch (method) {
+          case "GET": find(exchange); break;
+          case "POST": add(exchange, body); break;
+          default: throw new HttpError(405, "Method not allowed");
+        }
+      } else {
+        switch (method) {
+          case "GET": get(exchange, parseId(id)); break;
+          case "PUT": update(exchange, parseId(id), body); break;
+          case "DELETE": remove(exchange, parseId(id)); break;
+          default: throw new HttpError(405, "Method not allowed");
+        }
+      }
+    } catch (HttpError e) {
+      sendError(exchange, e.status, e.getMessage());
+    } catch (SQLException e) {
+      Utils.error(e, "Could not store change from %s %s", exchange.getRequestMethod(), exchange.getRequestURI());
+      sendError(exchange, 503, "Could not store change");
+    } catch (RuntimeException e) {
+      Utils.error(e, "Could not handle %s %s", exchange.getRequestMethod(), exchange.getRequestURI());
+      sendError(exchange, 500, "Internal error");
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static byte[] readBody(InputStream in) throws IOException, HttpError {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      if (body.size() + read > MAX_BODY_SIZE) {
+        throw new HttpError(413, "Request body is larger than " + MAX_BODY_SIZE + " bytes");
+      }
+      body.write(buffer, 0, read);
+    }
+    return body.toByteArray();
+  }
+
+  private static UUID parseId(String id) throws HttpError {
+    try {
+      return UUID.fromString(id);
+    } catch (IllegalArgumentException e) {
+      throw new HttpError(404, "Not found");
+    }
+  }
+
+  private static Map<String, String> parseQuery(String query) throws UnsupportedEncodingException {
+    Map<String, String> params = new HashMap<>();
+    if (query == null) {
+      return params;
+    }
+    for (String pair : query.split("&")) {
+      int equals = pair.indexOf('=');
+      String name = equals == -1 ? pair : pair.substring(0, equals);
+      String value = equals == -1 ? "" : pair.substring(equals + 1);
+      params.put(URLDecoder.decode(name, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+    }
+    return params;
+  }
+
+  private static String toJson(ImmutableAddressEntry entry) {
+    StringWriter json = new StringWriter(256);
+    try (JsonLinesContactWriter writer = new JsonLinesContactWriter(json)) {
+      writer.write(entry);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return json.toString();
+  }
+
+  private static void sendVersion(HttpExchange exchange, ImmutableAddressEntry entry) {
+    exchange.getResponseHeaders().set("ETag", "\"" + entry.getVersion() + "\"");
+  }
+
+  /**
+   * Reads the version of the contact a change was made to from the <code>If-Match</code> header.
+   * @return The version, or <code>null</code> if any version will do
+   */
+  private static Long readExpectedVersion(HttpExchange exchange) throws HttpError {
+    String value = exchange.getRequestHeaders().getFirst("If-Match");
+    if (value == null || value.trim().equals("*")) {
+      return null;
+    }
+    value = value.trim();
+    if (value.startsWith("W/")) {
+      value = value.substring(2);
+    }
+    try {
+      if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+        return Long.parseLong(value.substring(1, value.length() - 1));
+      }
+    } catch (NumberFormatException e) {
+      // not one of ours
+    }
+    throw new HttpError(400, "Invalid If-Match header: " + value);
+  }
+
+  private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    if (bytes.length > 0) {
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    }
+  }
+
+  private static void sendError(HttpExchange exchange, int status, String message) {
+    StringWriter json = new StringWriter();
+    json.write("{\"error\":\"");
+    for (char c : message.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        json.write('\\');
+      }
+      json.write(c < 0x20 ? ' ' : c);
+    }
+    json.write("\"}\n");
+    try {
+      send(exchange, status, JSON, json.toString());
+    } catch (IOException e) {
+      // the client has most likely gone away, or the response had already been started
+    }
+  }
+
+  private static ImmutableAddressEntry readEntry(byte[] body, ImmutableAddressEntry.Builder builder) throws HttpError {
+    try {
+      return JsonContactReader.read(new String(body, StandardCharsets.UTF_8), builder).build();
+    } catch (IllegalArgumentException e) {
+      throw new HttpError(400, e.getMessage());
+    }
+  }
+
+  private static void validate(ImmutableAddressEntry entry) throws HttpError {
+    int failures = ContactValidator.validate(entry);
+    if (failures != 0) {
+      throw new HttpError(422, ValidationResult.describe(failures));
+    }
+  }
+
+  private void get(HttpExchange exchange, UUID id) throws IOException, HttpError {
+    ImmutableAddressEntry entry = book.snapshot().get(id);
+    if (entry == null) {
+      throw new HttpError(404, "No contact with ID " + id);
+    }
+    sendVersion(exchange, entry);
+    send(exchange, 200, JSON, toJson(entry));
+  }
+
+  private void find(HttpExchange exchange) throws IOException, HttpError {
+    Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+    String prefix = params.getOrDefault("lastName", "");
+    int limit;
+    try {
+      limit = Integer.parseInt(params.getOrDefault("limit", Integer.toString(Integer.MAX_VALUE)));
+    } catch (NumberFormatException e) {
+      throw new HttpError(400, "Invalid limit");
+    }
+    if (limit < 0) {
+      throw new HttpError(400, "Invalid limit");
+    }
+    List<ImmutableAddressEntry> results;
+    synchronized (bookLock) {
+      // only references are copied, the contacts themselves are shared with the book
+      results = book.findImmutable(prefix, 0, limit);
+    }
+    exchange.getResponseHeaders().set("Content-Type", JSON_LINES);
+    exchange.getResponseHeaders().set("X-Total-Count", Integer.toString(results.size()));
+    if (results.isEmpty()) {
+      exchange.sendResponseHeaders(200, -1);
+      return;
+    }
+    // a length of 0 streams the response in chunks
+    exchange.sendResponseHeaders(200, 0);
+    try (JsonLinesContactWriter writer = new JsonLinesContactWriter(new BufferedWriter(
+      new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), BUFFER_SIZE))) {
+      writer.writeAll(results.iterator());
+    }
+  }
+
+  private void add(HttpExchange exchange, byte[] body) throws IOException, HttpError, SQLException {
+    ImmutableAddressEntry entry = readEntry(body, ImmutableAddressEntry.builder().id(IdGenerator.getDefault().next()));
+    validate(entry);
+    writeLock.lock();
+    try {
+      store.write(Collections.singletonList(Mutation.insert(entry)));
+      synchronized (bookLock) {
+        book.add(entry);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+    exchange.getResponseHeaders().set("Location", CONTEXT + "/" + entry.getId());
+    sendVersion(exchange, entry);
+    send(exchange, 201, JSON, toJson(entry));
+  }
+
+  private void update(HttpExchange exchange, UUID id, byte[] body) throws IOException, HttpError, SQLException {
+    Long expectedVersion = readExpectedVersion(exchange);
+    UpdateResult result;
+    writeLock.lock();
+    try {
+      // nothing else changes the book while the write lock is held, so the snapshot is up to date
+      ImmutableAddressEntry existing = book.snapshot().get(id);
+      if (existing == null) {
+        throw new HttpError(404, "No contact with ID " + id);
+      }
+      if (expectedVersion != null && expectedVersion != existing.getVersion()) {
+        result = UpdateResult.conflict(existing);
+      } else {
+        ImmutableAddressEntry entry = readEntry(body, existing.toBuilder());
+        validate(entry);
+        // the store only writes it if it's still at the version the book has, and otherwise says what it is now
+        result = store.update(entry);
+        synchronized (bookLock) {
+          if (result.getStatus() == UpdateResult.Status.REMOVED) {
+            book.remove(id);
+          } else {
+            book.update(result.getEntry());
+          }
+        }
+      }
+    } finally {
+      writeLock.unlock();
+    }
+    if (result.getStatus() == UpdateResult.Status.REMOVED) {
+      throw new HttpError(404, "No contact with ID " + id);
+    }
+    sendVersion(exchange, result.getEntry());
+    send(exchange, result.getStatus() == UpdateResult.Status.CONFLICT ? 409 : 200, JSON, toJson(result.getEntry()));
+  }
+
+  private void remove(HttpExchange exchange, UUID id) throws IOException, HttpError, SQLException {
+    writeLock.lock();
+    try {
+      if (book.snapshot().get(id) == null) {
+        throw new HttpError(404, "No contact with ID " + id);
+      }
+      store.write(Collections.singletonList(Mutation.delete(id)));
+      synchronized (bookLock) {
+        book.remove(id);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+    exchange.sendResponseHeaders(204, -1);
+  }
+
+}
@@ -0,0 +1,50 @@
+package address.store;
+
+import address.data.ImmutableAddressEntry;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Somewhere contacts are permanently stored, such as the remote database.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see JdbcContactStore
+ */
+public interface ContactStore {
+
+  /**
+   * Writes a batch of mutations. Either all of them are written, or none of them are.
+   * @param mutations The mutations to write, in order
+   * @throws SQLException If the mutations could not be written, in which case none of them were
+   */
+  void write(List<Mutation> mutations) throws SQLException;
+
+  /**
+   * Writes a batch of mutations that may already have been written, in full or in part, such as ones recovered from a
+   * journal, or a batch whose first attempt failed without saying whether it got written. Unlike
+   * {@link #write(List)}, inserting a contact that already exists must not fail. By default, the mutations are simply
+   * written.
+   * @param mutations The mutations to write, in order
+   * @throws SQLException If the mutations could not be written, in which case none of them were
+   */
+  default void replay(List<Mutation> mutations) throws SQLException {
+    write(mutations);
+  }
+
+  /**
+   * Writes a changed contact, but only if nobody else has changed it since it was read, which is when its
+   * {@link ImmutableAddressEntry#getVersion() version} is still the one stored. By default, the change is simply
+   * written at the next version, as if nobody else ever changed anything.
+   * @param entry The changed contact, with the version it had when it was read
+   * @return Whether the contact was written, along with the contact as it's now stored
+   * @throws SQLException If the contact could not be written or read
+   */
+  default UpdateResult update(ImmutableAddressEntry entry) throws SQLException {
+    ImmutableAddressEntry updated = entry.toBuilder().version(entry.getVersion() + 1).build();
+    write(Collections.singletonList(Mutation.update(updated)));
+    return UpdateResult.updated(updated);
+  }
+
+}
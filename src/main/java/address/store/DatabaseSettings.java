@@ -0,0 +1,115 @@
+package address.store;
+
+import address.Utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Where the database is, and the username and password used to log on to it. These are read from, in order:
+ * <ol>
+ *   <li>The <code>ADDRESSBOOK_USER</code> and <code>ADDRESSBOOK_PASSWORD</code> environment variables, so that
+ *       scripted jobs never need a file on disk.</li>
+ *   <li><code>credentials.txt</code>, with the username on the first line and the password on the second.</li>
+ * </ol>
+ * The database URL can be changed with <code>-Daddressbook.databaseUrl=</code>.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public final class DatabaseSettings {
+
+  /** The database used unless another is chosen with <code>-Daddressbook.databaseUrl=</code> */
+  public static final String DEFAULT_URL = "jdbc:oracle:thin:@adcsdb01.csueastbay.edu:1521:mcspdb.ad.csueastbay.edu";
+  /** The file credentials are read from when they aren't set in the environment */
+  public static final Path CREDENTIALS_FILE = Paths.get("credentials.txt");
+
+  private final String url;
+  private final String username;
+  private final String password;
+
+  /**
+   * Constructor for this class.
+   * @param url The JDBC URL of the database
+   * @param username The username to log on with
+   * @param password The password to log on with
+   */
+  public DatabaseSettings(String url, String username, String password) {
+    this.url = url;
+    this.username = username;
+    this.password = password;
+  }
+
+  /**
+   * Reads the settings from the environment, or {@link #CREDENTIALS_FILE} if the credentials aren't set there.
+   * @return The settings
+   * @throws NoSuchFileException If the credentials aren't set in the environment, and the file doesn't exist
+   * @throws IOException If the file could not be read, or is missing a line
+   */
+  public static DatabaseSettings load() throws IOException {
+    String url = System.getProperty("addressbook.databaseUrl", DEFAULT_URL);
+    String username = System.getenv("ADDRESSBOOK_USER");
+    String password = System.getenv("ADDRESSBOOK_PASSWORD");
+    if (username != null && password != null) {
+      return new DatabaseSettings(url, username, password);
+    }
+    try (BufferedReader reader = Files.newBufferedReader(CREDENTIALS_FILE, StandardCharsets.UTF_8)) {
+      username = reader.readLine();
+      password = reader.readLine();
+    }
+    if (username == null || password == null) {
+      throw new IOException(CREDENTIALS_FILE + " must have a username on the first line and a password on the second");
+    }
+    return new DatabaseSettings(url, username, password);
+  }
+
+  /**
+   * Get the JDBC URL of the database.
+   * @return The URL
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Get the username to log on with.
+   * @return The username
+   */
+  public String getUsername() {
+    return username;
+  }
+
+  /**
+   * Makes new connections to the database using these settings. Nothing is connected to until the factory is used, and
+   * the first connection it makes {@link JdbcContactStore#checkSchema(Connection) checks} that the table has every
+   * column it needs.
+   * @return The factory
+   */
+  public JdbcContactStore.ConnectionFactory connectionFactory() {
+    AtomicBoolean checked = new AtomicBoolean();
+    return () -> {
+      Utils.info("Establishing connection to database server...");
+      Connection conn = DriverManager.getConnection(url, username, password);
+      Utils.info("Connection successful");
+      if (!checked.get()) {
+        try {
+          JdbcContactStore.checkSchema(conn);
+        } catch (SQLException e) {
+          conn.close();
+          throw e;
+        }
+        checked.set(true);
+      }
+      return conn;
+    };
+  }
+
+}
@@ -0,0 +1,309 @@
+package address.store;
+
+import address.data.ImmutableAddressEntry;
+
+import java.sql.*;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stores contacts in the <code>ADDRESSENTRYTABLE</code> table of a database. Every batch of mutations is written in a
+ * single transaction, and consecutive mutations of the same type are sent to the database together using JDBC
+ * batching, so writing many mutations at once takes far fewer round trips than writing them one at a time.
+ * <p>
+ * If the connection is lost, a new one is made before the next batch is written. Inserting a contact that already
+ * exists fails, unless the mutations are being {@link #replay(List) replayed}, in which case it updates the existing
+ * contact instead, so that mutations replayed from a journal can safely be written twice.
+ * <p>
+ * Every row has a <code>VERSION</code> which goes up by one every time the row is changed, so that
+ * {@link #update(ImmutableAddressEntry)} can refuse to write over a change it hasn't seen. Mutations written by
+ * {@link #write(List)} don't check it, so the last one written wins, and they set it to the version of the contact they
+ * carry instead of adding one. That way the stored version stays the one the address book already gave the contact,
+ * however many changes were combined into one, and however many times a change is replayed.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class JdbcContactStore implements ContactStore, AutoCloseable {
+
+  /**
+   * Makes new connections to the database.
+   */
+  @FunctionalInterface
+  public interface ConnectionFactory {
+    Connection connect() throws SQLException;
+  }
+
+  private static final String
+    INSERT_SQL = "INSERT INTO ADDRESSENTRYTABLE (ID, FIRSTNAME, LASTNAME, STREET, CITY, STATE, ZIP, PHONE, EMAIL, VERSION) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+    UPDATE_SQL = "UPDATE ADDRESSENTRYTABLE SET FIRSTNAME=?, LASTNAME=?, STREET=?, CITY=?, STATE=?, ZIP=?, PHONE=?, EMAIL=?, "
+      + "VERSION=? WHERE ID=?",
+    CONDITIONAL_UPDATE_SQL = UPDATE_SQL + " AND VERSION=?",
+    UPSERT_SQL = "MERGE INTO ADDRESSENTRYTABLE t USING (SELECT ? AS ID, ? AS VERSION FROM DUAL) s ON (t.ID = s.ID) "
+      + "WHEN MATCHED THEN UPDATE SET FIRSTNAME=?, LASTNAME=?, STREET=?, CITY=?, STATE=?, ZIP=?, PHONE=?, EMAIL=?, "
+      + "VERSION=s.VERSION "
+      + "WHEN NOT MATCHED THEN INSERT (ID, FIRSTNAME, LASTNAME, STREET, CITY, STATE, ZIP, PHONE, EMAIL, VERSION) "
+      + "VALUES (s.ID, ?, ?, ?, ?, ?, ?, ?, ?, s.VERSION)",
+    SELECT_SQL = "SELECT * FROM ADDRESSENTRYTABLE WHERE ID=?",
+    DELETE_SQL = "DELETE FROM ADDRESSENTRYTABLE WHERE ID=?";
+
+  /** Oracle's error code for a column that doesn't exist */
+  private static final int INVALID_IDENTIFIER = 904;
+
+  private final ConnectionFactory factory;
+  private Connection conn;
+
+  /**
+   * Constructor for this class.
+   * @param conn The connection to the database
+   * @param factory Used to make a new connection whenever the current one is lost, or <code>null</code> to never
+   *                reconnect
+   */
+  public JdbcContactStore(Connection conn, ConnectionFactory factory) {
+    this.conn = conn;
+    this.factory = factory;
+  }
+
+  /**
+   * Constructor for this class, which never reconnects.
+   * @param conn The connection to the database
+   */
+  public JdbcContactStore(Connection conn) {
+    this(conn, null);
+  }
+
+  /**
+   * Checks whether an exception means the database couldn't be reached at all, as opposed to the database rejecting
+   * what was written. Writes that failed because of the former can simply be retried later.
+   * @param e The exception
+   * @return True if the exception is caused by the connection, false otherwise
+   */
+  public static boolean isConnectionProblem(SQLException e) {
+    // SQL states of class 08 are connection exceptions
+    return e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+      || e instanceof SQLRecoverableException || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+  }
+
+  /**
+   * Reads the contact at the current row of a query of <code>ADDRESSENTRYTABLE</code>.
+   * @param rs The results of the query, which must include every column
+   * @return The contact
+   * @throws SQLException If a column could not be read
+   */
+  public static ImmutableAddressEntry readContact(ResultSet rs) throws SQLException {
+    return ImmutableAddressEntry.builder()
+      .id(UUID.fromString(rs.getString("ID")))
+      .firstName(rs.getString("FIRSTNAME"))
+      .lastName(rs.getString("LASTNAME"))
+      .street(rs.getString("STREET"))
+      .city(rs.getString("CITY"))
+      .state(rs.getString("STATE"))
+      .zip(rs.getInt("ZIP"))
+      .phone(rs.getString("PHONE"))
+      .email(rs.getString("EMAIL"))
+      .version(rs.getLong("VERSION"))
+      .build();
+  }
+
+  /**
+   * Checks that <code>ADDRESSENTRYTABLE</code> has every column this class needs. The table is never changed from here;
+   * the columns added since it was first made are added by the scripts in the <code>migrations</code> directory.
+   * @param conn The connection to the database
+   * @throws SQLException If a column is missing, saying which script adds it, or if the table could not be checked
+   */
+  public static void checkSchema(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeQuery("SELECT VERSION FROM ADDRESSENTRYTABLE WHERE 1=0").close();
+    } catch (SQLException e) {
+      if (e.getErrorCode() != INVALID_IDENTIFIER) {
+        throw e;
+      }
+      throw new SQLException("ADDRESSENTRYTABLE has no VERSION column, run migrations/001_add_version.sql first",
+        e.getSQLState(), e.getErrorCode(), e);
+    }
+  }
+
+  /**
+   * Get the current connection to the database, making a new one if the last one was lost.
+   * @return The connection
+   * @throws SQLException If a new connection could not be made
+   */
+  public synchronized Connection getConnection() throws SQLException {
+    if (factory != null && (conn == null || conn.isClosed())) {
+      conn = null;
+      conn = factory.connect();
+    }
+    return conn;
+  }
+
+  /**
+   * Throws away the current connection, so that a new one is made the next time it's needed.
+   */
+  private void discardConnection() {
+    if (factory == null || conn == null) {
+      return;
+    }
+    try {
+      conn.close();
+    } catch (SQLException e) {
+      // it's already broken
+    }
+    conn = null;
+  }
+
+  private static String sqlOf(Mutation.Type type, boolean replay) {
+    switch (type) {
+      case INSERT: return replay ? UPSERT_SQL : INSERT_SQL;
+      case UPDATE: return UPDATE_SQL;
+      default: return DELETE_SQL;
+    }
+  }
+
+  private static void bind(PreparedStatement stmt, Mutation mutation, boolean replay) throws SQLException {
+    ImmutableAddressEntry entry = mutation.getEntry();
+    switch (mutation.getType()) {
+      case INSERT:
+        stmt.setString(1, entry.getId().toString());
+        if (replay) {
+          stmt.setLong(2, entry.getVersion());
+          bindFields(stmt, 3, entry);
+          bindFields(stmt, 11, entry);
+        } else {
+          bindFields(stmt, 2, entry);
+          stmt.setLong(10, entry.getVersion());
+        }
+        break;
+      case UPDATE:
+        bindFields(stmt, 1, entry);
+        stmt.setLong(9, entry.getVersion());
+        stmt.setString(10, entry.getId().toString());
+        break;
+      default:
+        stmt.setString(1, mutation.getId().toString());
+    }
+  }
+
+  private static void bindFields(PreparedStatement stmt, int start, ImmutableAddressEntry entry) throws SQLException {
+    stmt.setString(start, entry.getFirstName());
+    stmt.setString(start + 1, entry.getLastName());
+    stmt.setString(start + 2, entry.getStreet());
+    stmt.setString(start + 3, entry.getCity());
+    stmt.setString(start + 4, entry.getState());
+    stmt.setInt(start + 5, entry.getZip());
+    stmt.setString(start + 6, entry.getPhone());
+    stmt.setString(start + 7, entry.getEmail());
+  }
+
+  @Override
+  public void write(List<Mutation> mutations) throws SQLException {
+    write(mutations, false);
+  }
+
+  /**
+   * Writes a batch of mutations that may have been written before. Inserting a contact that already exists updates it
+   * instead of failing, and updating or deleting one that doesn't exist does nothing.
+   */
+  @Override
+  public void replay(List<Mutation> mutations) throws SQLException {
+    write(mutations, true);
+  }
+
+  private synchronized void write(List<Mutation> mutations, boolean replay) throws SQLException {
+    if (mutations.isEmpty()) {
+      return;
+    }
+    try {
+      write(getConnection(), mutations, replay);
+    } catch (SQLException e) {
+      if (isConnectionProblem(e)) {
+        discardConnection();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Writes a changed contact, but only if nobody else has changed it since it was read, which is when its
+   * {@link ImmutableAddressEntry#getVersion() version} is still the one stored. If somebody has, only that contact is
+   * read again, so that whoever made the change can decide what to do with both.
+   * @param entry The changed contact, with the version it had when it was read
+   * @return Whether the contact was written, along with the contact as it's now stored
+   * @throws SQLException If the contact could not be written or read
+   */
+  @Override
+  public synchronized UpdateResult update(ImmutableAddressEntry entry) throws SQLException {
+    try {
+      Connection conn = getConnection();
+      ImmutableAddressEntry updated = entry.toBuilder().version(entry.getVersion() + 1).build();
+      try (PreparedStatement stmt = conn.prepareStatement(CONDITIONAL_UPDATE_SQL)) {
+        bind(stmt, Mutation.update(updated), false);
+        stmt.setLong(11, entry.getVersion());
+        if (stmt.executeUpdate() > 0) {
+          return UpdateResult.updated(updated);
+        }
+      }
+      try (PreparedStatement stmt = conn.prepareStatement(SELECT_SQL)) {
+        stmt.setString(1, entry.getId().toString());
+        try (ResultSet rs = stmt.executeQuery()) {
+          return rs.next() ? UpdateResult.conflict(readContact(rs)) : UpdateResult.removed();
+        }
+      }
+    } catch (SQLException e) {
+      if (isConnectionProblem(e)) {
+        discardConnection();
+      }
+      throw e;
+    }
+  }
+
+  private static void executeBatch(Connection conn, List<Mutation> mutations, boolean replay) throws SQLException {
+    try (PreparedStatement stmt = conn.prepareStatement(sqlOf(mutations.get(0).getType(), replay))) {
+      for (Mutation mutation : mutations) {
+        bind(stmt, mutation, replay);
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+  }
+
+  private static void write(Connection conn, List<Mutation> mutations, boolean replay) throws SQLException {
+    boolean autoCommit = conn.getAutoCommit();
+    conn.setAutoCommit(false);
+    try {
+      int start = 0;
+      while (start < mutations.size()) {
+        Mutation.Type type = mutations.get(start).getType();
+        int end = start;
+        while (end < mutations.size() && mutations.get(end).getType() == type) {
+          end++;
+        }
+        executeBatch(conn, mutations.subList(start, end), replay);
+        start = end;
+      }
+      conn.commit();
+    } catch (SQLException e) {
+      try {
+        conn.rollback();
+        conn.setAutoCommit(autoCommit);
+      } catch (SQLException rollbackException) {
+        // the connection may well be broken, which shouldn't hide why
+        e.addSuppressed(rollbackException);
+      }
+      throw e;
+    }
+    conn.setAutoCommit(autoCommit);
+  }
+
+  /**
+   * Closes the current connection to the database, if there is one.
+   * @throws SQLException If the connection could not be closed
+   */
+  @Override
+  public synchronized void close() throws SQLException {
+    if (conn != null) {
+      conn.close();
+      conn = null;
+    }
+  }
+
+}
@@ -0,0 +1,114 @@
+package address.store;
+
+import address.data.ImmutableAddressEntry;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A single change to the stored contacts: adding a contact, replacing all of its information, or removing it.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public final class Mutation {
+
+  /**
+   * The kind of change.
+   */
+  public enum Type {
+    INSERT, UPDATE, DELETE
+  }
+
+  private final Type type;
+  private final UUID id;
+  private final ImmutableAddressEntry entry;
+
+  private Mutation(Type type, UUID id, ImmutableAddressEntry entry) {
+    this.type = type;
+    this.id = Objects.requireNonNull(id, "id");
+    this.entry = entry;
+  }
+
+  /**
+   * Creates a mutation that adds a new contact.
+   * @param entry The contact to add
+   * @return A new mutation
+   */
+  public static Mutation insert(ImmutableAddressEntry entry) {
+    return new Mutation(Type.INSERT, entry.getId(), entry);
+  }
+
+  /**
+   * Creates a mutation that replaces all the information of an existing contact.
+   * @param entry The new information of the contact, with the same ID as the existing contact
+   * @return A new mutation
+   */
+  public static Mutation update(ImmutableAddressEntry entry) {
+    return new Mutation(Type.UPDATE, entry.getId(), entry);
+  }
+
+  /**
+   * Creates a mutation that removes a contact.
+   * @param id The ID of the contact to remove
+   * @return A new mutation
+   */
+  public static Mutation delete(UUID id) {
+    return new Mutation(Type.DELETE, id, null);
+  }
+
+  /**
+   * Combines two mutations of the same contact into a single one with the same effect, so that only one of them has to
+   * be written. For example, a contact that is added and then changed can simply be added with its changes, and a
+   * contact that is added and then removed doesn't have to be written at all.
+   * @param earlier The mutation that happened first
+   * @param later The mutation that happened afterwards, of the same contact
+   * @return The combined mutation, or <code>null</code> if the two cancel each other out
+   */
+  public static Mutation coalesce(Mutation earlier, Mutation later) {
+    if (earlier.type == Type.INSERT) {
+      // the contact isn't written yet, so it can be written with its latest information right away
+      return later.type == Type.DELETE ? null : insert(later.entry);
+    }
+    // if the earlier mutation removes the contact, it must have been written before, so adding it back only changes it
+    return later.type == Type.INSERT ? update(later.entry) : later;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  /**
+   * Get the contact's information after this mutation.
+   * @return The contact's information, or <code>null</code> if this mutation removes the contact
+   */
+  public ImmutableAddressEntry getEntry() {
+    return entry;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Mutation)) {
+      return false;
+    }
+    Mutation other = (Mutation) obj;
+    return type == other.type && id.equals(other.id) && Objects.equals(entry, other.entry);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, id, entry);
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + id;
+  }
+
+}
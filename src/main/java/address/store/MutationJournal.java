@@ -0,0 +1,483 @@
+package address.store;
+
+import address.Utils;
+import address.data.ImmutableAddressEntry;
+import address.io.EntryCodec;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of every mutation that hasn't been written to the database yet, so that they survive the database
+ * being unreachable, or the application being closed or crashing.
+ * <p>
+ * The file starts with a short header, followed by one record per mutation: the length of the encoded mutation, its
+ * CRC-32 checksum, then the encoded mutation itself. If the application crashes halfway through writing a record, the
+ * torn record fails its checksum (or is simply too short), so it and anything after it is ignored and cut off the next
+ * time the journal is opened.
+ * <p>
+ * How soon records are forced to disk is decided by a {@link SyncPolicy}. With {@link SyncPolicy#GROUP_COMMIT}, every
+ * thread appending a record waits until it is on disk, but threads that append at about the same time share a single
+ * <code>fsync</code>, so the disk is synced far less often than once per record.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class MutationJournal implements Closeable {
+
+  /**
+   * When records are forced to disk.
+   */
+  public enum SyncPolicy {
+    /** Every record is forced to disk on its own before {@link #sync(long)} returns. The slowest, but simplest. */
+    EVERY_WRITE,
+    /**
+     * Every record is on disk before {@link #sync(long)} returns, but records appended at about the same time share a
+     * single sync.
+     */
+    GROUP_COMMIT,
+    /**
+     * Records are forced to disk in the background every {@link #PERIODIC_SYNC_MILLIS} milliseconds, so a crash of
+     * the whole machine can lose the last few. Records are still safe if only the application crashes.
+     */
+    PERIODIC,
+    /** Records are never explicitly forced to disk, and the operating system decides when to write them. */
+    NONE
+  }
+
+  /** How often records are forced to disk with {@link SyncPolicy#PERIODIC} */
+  public static final long PERIODIC_SYNC_MILLIS = 100;
+
+  private static final int MAGIC = 0x41424A31; // "ABJ1"
+  private static final int HEADER_SIZE = 4;
+  private static final int RECORD_HEADER_SIZE = 8;
+  /** No single encoded mutation can be anywhere close to this long, so a longer length means the record is corrupt */
+  private static final int MAX_RECORD_SIZE = 1 << 20;
+  /** With group commit, records are only written to the file once this many bytes pile up, or when syncing */
+  private static final int MAX_BUFFERED_BYTES = 1 << 16;
+
+  private final Path file;
+  private final SyncPolicy policy;
+  private final List<Mutation> recovered;
+  private final ScheduledExecutorService periodicSync;
+
+  /** Guards every field below */
+  private final Object lock = new Object();
+  private FileChannel channel;
+  private final ByteArrayOutputStream buffer;
+  /** The number of records appended so far */
+  private long appended;
+  /** How many of the records appended so far are definitely on disk */
+  private long synced;
+  private boolean syncing;
+  private boolean closed;
+
+  /**
+   * Opens a journal, creating the file if it doesn't exist yet. Any mutations already in it can be read through
+   * {@link #getRecovered()}, and new mutations are added after them.
+   * @param file The journal file
+   * @param policy When records are forced to disk
+   * @throws IOException If the file could not be opened, or isn't a journal
+   */
+  public MutationJournal(Path file, SyncPolicy policy) throws IOException {
+    this.file = file;
+    this.policy = policy;
+    buffer = new ByteArrayOutputStream();
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      List<Mutation> mutations = new ArrayList<>();
+      long validLength = readRecords(channel, mutations);
+      if (validLength < channel.size()) {
+        // cut off a torn record, so that new records aren't hidden behind it
+        channel.truncate(validLength);
+        channel.force(false);
+      }
+      channel.position(validLength);
+      recovered = Collections.unmodifiableList(mutations);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    if (policy == SyncPolicy.PERIODIC) {
+      periodicSync = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "journal-sync");
+        thread.setDaemon(true);
+        return thread;
+      });
+      periodicSync.scheduleWithFixedDelay(this::syncInBackground, PERIODIC_SYNC_MILLIS, PERIODIC_SYNC_MILLIS,
+        TimeUnit.MILLISECONDS);
+    } else {
+      periodicSync = null;
+    }
+  }
+
+  /**
+   * Opens a journal that waits until every record is on disk, sharing syncs between records appended at about the same
+   * time.
+   * @param file The journal file
+   * @throws IOException If the file could not be opened, or isn't a journal
+   * @see SyncPolicy#GROUP_COMMIT
+   */
+  public MutationJournal(Path file) throws IOException {
+    this(file, SyncPolicy.GROUP_COMMIT);
+  }
+
+  /**
+   * Reads every intact record of a journal, writing the header first if the file is empty.
+   * @return The length of the file up to the end of the last intact record
+   */
+  private static long readRecords(FileChannel channel, List<Mutation> mutations) throws IOException {
+    long size = channel.size();
+    if (size == 0) {
+      channel.write((ByteBuffer) ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).flip(), 0);
+      channel.force(false);
+      return HEADER_SIZE;
+    }
+    channel.position(0);
+    // not closed, since that would close the channel as well
+    DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+    int magic = size < HEADER_SIZE ? 0 : in.readInt();
+    if (magic != MAGIC) {
+      throw new IOException("Not a journal file");
+    }
+    long position = HEADER_SIZE;
+    CRC32 crc = new CRC32();
+    while (position + RECORD_HEADER_SIZE <= size) {
+      int length = in.readInt();
+      int checksum = in.readInt();
+      if (length < 0 || length > MAX_RECORD_SIZE || position + RECORD_HEADER_SIZE + length > size) {
+        break;
+      }
+      byte[] payload = new byte[length];
+      in.readFully(payload);
+      crc.reset();
+      crc.update(payload, 0, length);
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      mutations.add(decode(payload));
+      position += RECORD_HEADER_SIZE + length;
+    }
+    return position;
+  }
+
+  /**
+   * Reads every intact mutation in a journal file, without opening it for writing.
+   * @param file The journal file
+   * @return All intact mutations in the order they were appended, or an empty list if the file doesn't exist
+   * @throws IOException If the file could not be read, or isn't a journal
+   */
+  public static List<Mutation> read(Path file) throws IOException {
+    List<Mutation> mutations = new ArrayList<>();
+    if (Files.exists(file) && Files.size(file) > 0) {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        readRecords(channel, mutations);
+      }
+    }
+    return mutations;
+  }
+
+  /**
+   * Turns a mutation into the payload of a record: the type of the mutation as a single byte, followed by either the
+   * contact encoded with {@link EntryCodec}, or only its ID as 16 bytes if the mutation removes it.
+   */
+  static byte[] encode(Mutation mutation) {
+    ImmutableAddressEntry entry = mutation.getEntry();
+    ByteBuffer payload = ByteBuffer.allocate(1 + (entry == null ? 16 : EntryCodec.encodedSize(entry)));
+    payload.put((byte) mutation.getType().ordinal());
+    if (entry == null) {
+      payload.putLong(mutation.getId().getMostSignificantBits());
+      payload.putLong(mutation.getId().getLeastSignificantBits());
+    } else {
+      EntryCodec.encode(entry, payload);
+    }
+    return payload.array();
+  }
+
+  private static Mutation.Type decodeType(int type) throws IOException {
+    if (type >= Mutation.Type.values().length) {
+      throw new IOException("Unknown mutation type " + type);
+    }
+    return Mutation.Type.values()[type];
+  }
+
+  /**
+   * Turns the payload of a record made by {@link #encode(Mutation)} back into a mutation.
+   * @throws IOException If the payload is malformed
+   */
+  static Mutation decode(byte[] payload) throws IOException {
+    ByteBuffer in = ByteBuffer.wrap(payload);
+    try {
+      Mutation.Type type = decodeType(in.get() & 0xFF);
+      if (type == Mutation.Type.DELETE) {
+        return Mutation.delete(new UUID(in.getLong(), in.getLong()));
+      }
+      ImmutableAddressEntry entry = EntryCodec.decode(in);
+      return type == Mutation.Type.INSERT ? Mutation.insert(entry) : Mutation.update(entry);
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("Malformed record", e);
+    }
+  }
+
+  private static byte[] toRecord(Mutation mutation) {
+    byte[] payload = encode(mutation);
+    CRC32 crc = new CRC32();
+    crc.update(payload, 0, payload.length);
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+    record.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+    return record.array();
+  }
+
+  /**
+   * Get the mutations that were already in the journal when it was opened, such as those left behind by an earlier run
+   * of the application that were never written to the database.
+   * @return The recovered mutations, in the order they were appended
+   */
+  public List<Mutation> getRecovered() {
+    return recovered;
+  }
+
+  /**
+   * Writes everything buffered so far to the file. Must be called while holding the lock.
+   */
+  private void drain() throws IOException {
+    if (buffer.size() > 0) {
+      ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      buffer.reset();
+    }
+  }
+
+  /**
+   * Adds a mutation to the end of this journal, without waiting for it to reach the disk. Call {@link #sync(long)}
+   * afterwards to wait for that. Splitting the two lets callers append while holding their own locks, then wait for
+   * the disk without holding them, so that other threads' records can share the same sync.
+   * @param mutation The mutation
+   * @return The sequence number of the record, to pass to {@link #sync(long)}
+   * @throws IOException If the record could not be written
+   */
+  public long write(Mutation mutation) throws IOException {
+    byte[] record = toRecord(mutation);
+    synchronized (lock) {
+      if (closed) {
+        throw new IOException("Journal is closed");
+      }
+      buffer.write(record, 0, record.length);
+      appended++;
+      if (policy != SyncPolicy.GROUP_COMMIT || buffer.size() >= MAX_BUFFERED_BYTES) {
+        drain();
+      }
+      return appended;
+    }
+  }
+
+  /**
+   * Waits until a record is as safe as the {@link SyncPolicy} makes it. With {@link SyncPolicy#EVERY_WRITE} or
+   * {@link SyncPolicy#GROUP_COMMIT}, that means it's on disk.
+   * @param sequence The sequence number returned by {@link #write(Mutation)}
+   * @throws IOException If the record could not be forced to disk
+   */
+  public void sync(long sequence) throws IOException {
+    switch (policy) {
+      case EVERY_WRITE:
+        synchronized (lock) {
+          if (synced < sequence) {
+            drain();
+            channel.force(false);
+            synced = appended;
+          }
+        }
+        break;
+      case GROUP_COMMIT:
+        groupSync(sequence);
+        break;
+      default:
+        // records are already handed to the operating system by write()
+        break;
+    }
+  }
+
+  /**
+   * Adds a mutation to the end of this journal, and waits until it is as safe as the {@link SyncPolicy} makes it.
+   * @param mutation The mutation
+   * @throws IOException If the record could not be written
+   */
+  public void append(Mutation mutation) throws IOException {
+    sync(write(mutation));
+  }
+
+  /**
+   * Forces a record to disk, along with every other record appended before the sync starts. Only one thread syncs at a
+   * time. Any thread that arrives while a sync is in progress waits for it to finish, then syncs everything that was
+   * appended in the meantime in one go, unless another waiting thread already did.
+   */
+  private void groupSync(long sequence) throws IOException {
+    long target;
+    synchronized (lock) {
+      while (synced < sequence && syncing) {
+        try {
+          lock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for journal sync");
+        }
+      }
+      if (synced >= sequence) {
+        return;
+      }
+      syncing = true;
+      target = appended;
+      try {
+        drain();
+      } catch (IOException | RuntimeException e) {
+        syncing = false;
+        lock.notifyAll();
+        throw e;
+      }
+    }
+    // the lock is released while syncing, so other threads can keep appending
+    boolean success = false;
+    try {
+      channel.force(false);
+      success = true;
+    } finally {
+      synchronized (lock) {
+        syncing = false;
+        if (success) {
+          synced = Math.max(synced, target);
+        }
+        lock.notifyAll();
+      }
+    }
+  }
+
+  private void syncInBackground() {
+    synchronized (lock) {
+      try {
+        if (!closed && synced < appended) {
+          drain();
+          channel.force(false);
+          synced = appended;
+        }
+      } catch (IOException e) {
+        // the next periodic sync will try again
+        Utils.warn(e, "Could not sync journal %s", file);
+      }
+    }
+  }
+
+  /**
+   * Atomically replaces the contents of a journal file with the specified mutations, by writing them to a separate
+   * file which then replaces it.
+   */
+  private static void replaceFile(Path file, Collection<Mutation> mutations) throws IOException {
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteArrayOutputStream contents = new ByteArrayOutputStream();
+      new DataOutputStream(contents).writeInt(MAGIC);
+      for (Mutation mutation : mutations) {
+        byte[] record = toRecord(mutation);
+        contents.write(record, 0, record.length);
+      }
+      ByteBuffer bytes = ByteBuffer.wrap(contents.toByteArray());
+      while (bytes.hasRemaining()) {
+        tempChannel.write(bytes);
+      }
+      tempChannel.force(false);
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Replaces every mutation in this journal, once some of them have been written to the database and no longer need
+   * to be kept. The new contents are written to a separate file which then replaces the journal, so that a crash
+   * halfway through leaves either the old or the new contents behind, and never a mix of both. Every record appended
+   * before this is called must be included in the new contents if it still needs to be kept.
+   * @param mutations The mutations that still need to be kept
+   * @throws IOException If the journal could not be replaced. It is left as it was.
+   */
+  public void rewrite(Collection<Mutation> mutations) throws IOException {
+    synchronized (lock) {
+      if (closed) {
+        throw new IOException("Journal is closed");
+      }
+      while (syncing) {
+        try {
+          lock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for journal sync");
+        }
+      }
+      buffer.reset();
+      replaceFile(file, mutations);
+      channel.close();
+      channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      channel.position(channel.size());
+      synced = appended;
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Get the file this journal is stored in.
+   * @return The journal file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Get when records are forced to disk.
+   * @return The sync policy of this journal
+   */
+  public SyncPolicy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * Forces every record to disk and closes the file.
+   * @throws IOException If the records could not be forced to disk, or the file could not be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (periodicSync != null) {
+      periodicSync.shutdown();
+    }
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      while (syncing) {
+        try {
+          lock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      try {
+        drain();
+        channel.force(false);
+      } finally {
+        channel.close();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,91 @@
+package address.store;
+
+import address.data.ImmutableAddressEntry;
+
+/**
+ * What happened to a change of a contact that was only written if nobody else had changed the contact first. See
+ * {@link JdbcContactStore#update(ImmutableAddressEntry)}.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public final class UpdateResult {
+
+  /**
+   * Whether the change was written.
+   */
+  public enum Status {
+    /** The change was written */
+    UPDATED,
+    /** Someone else changed the contact first, so the change wasn't written */
+    CONFLICT,
+    /** Someone else removed the contact first, so the change wasn't written */
+    REMOVED,
+    /**
+     * The change will be written in the background, so it couldn't be checked against changes made by anyone else,
+     * and replaces them if there are any
+     */
+    PENDING
+  }
+
+  private final Status status;
+  private final ImmutableAddressEntry entry;
+
+  private UpdateResult(Status status, ImmutableAddressEntry entry) {
+    this.status = status;
+    this.entry = entry;
+  }
+
+  /**
+   * Creates a result of a change that was written.
+   * @param entry The contact as it's now stored, with its new version
+   * @return A new result
+   */
+  public static UpdateResult updated(ImmutableAddressEntry entry) {
+    return new UpdateResult(Status.UPDATED, entry);
+  }
+
+  /**
+   * Creates a result of a change that wasn't written, because someone else changed the contact first.
+   * @param current The contact as someone else stored it
+   * @return A new result
+   */
+  public static UpdateResult conflict(ImmutableAddressEntry current) {
+    return new UpdateResult(Status.CONFLICT, current);
+  }
+
+  /**
+   * Creates a result of a change that wasn't written, because someone else removed the contact first.
+   * @return A new result
+   */
+  public static UpdateResult removed() {
+    return new UpdateResult(Status.REMOVED, null);
+  }
+
+  /**
+   * Creates a result of a change that will be written in the background.
+   * @param entry The contact as it will be stored
+   * @return A new result
+   */
+  public static UpdateResult pending(ImmutableAddressEntry entry) {
+    return new UpdateResult(Status.PENDING, entry);
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  /**
+   * Get the contact as it's stored now. If the change was written (or will be), this is the changed contact, and
+   * otherwise it's the contact as someone else stored it.
+   * @return The contact, or <code>null</code> if it was {@link Status#REMOVED removed}
+   */
+  public ImmutableAddressEntry getEntry() {
+    return entry;
+  }
+
+  @Override
+  public String toString() {
+    return entry == null ? status.toString() : status + " " + entry.getId() + " at version " + entry.getVersion();
+  }
+
+}
@@ -0,0 +1,323 @@
+package address.store;
+
+import address.Utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes mutations to a {@link ContactStore} in the background, so that whoever made a change doesn't have to wait for
+ * the database. Mutations are recorded in a {@link MutationJournal} as soon as they are submitted, so they aren't lost
+ * if the application stops before they're written.
+ * <p>
+ * Pending mutations are coalesced per contact (see {@link Mutation#coalesce(Mutation, Mutation)}), then written as a
+ * single batch at most {@link #getFlushIntervalMillis()} after the first of them was submitted, or sooner once enough
+ * of them pile up. If a batch can't be written, it is kept and retried with an increasing delay, while newer mutations
+ * keep being coalesced into it. Since a failed attempt may still have been written, retries are
+ * {@link ContactStore#replay(List) replayed}, as are mutations {@link #recover(List) recovered} from the journal.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class WriteBehindQueue implements Closeable {
+
+  private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+  private final ContactStore store;
+  private final MutationJournal journal;
+  private final long flushIntervalMillis;
+  private final int maxBatchSize;
+  private final ScheduledExecutorService flusher;
+
+  /** Guards every field below, and the journal */
+  private final Object lock = new Object();
+  /** Only one batch is written at a time */
+  private final Object flushLock = new Object();
+  private LinkedHashMap<UUID, Mutation> pending;
+  private long oldestPendingNanos;
+  private long retryDelayMillis;
+  private long nextAttemptNanos;
+  private long submitted;
+  private long written;
+  private long failures;
+  /** Whether a batch is being written right now */
+  private boolean writing;
+  /** Whether some pending mutations may have been written already */
+  private boolean replaying;
+  private boolean closed;
+
+  /**
+   * Constructor for this class. The background flusher starts right away.
+   * @param store Where mutations are written to
+   * @param journal Where mutations are recorded until they are written, or <code>null</code> to not record them
+   * @param flushIntervalMillis The longest a mutation waits before being written, unless writing fails
+   * @param maxBatchSize Once this many contacts have pending mutations, they're written without waiting any longer
+   */
+  public WriteBehindQueue(ContactStore store, MutationJournal journal, long flushIntervalMillis, int maxBatchSize) {
+    this.store = store;
+    this.journal = journal;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.maxBatchSize = maxBatchSize;
+    pending = new LinkedHashMap<>();
+    retryDelayMillis = flushIntervalMillis;
+    flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "write-behind-flusher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // checking often keeps the lag close to the flush interval, since a check does nothing until a batch is due
+    long period = Math.max(1, flushIntervalMillis / 4);
+    flusher.scheduleWithFixedDelay(this::flushIfDue, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  private static void merge(Map<UUID, Mutation> pending, Mutation mutation) {
+    Mutation earlier = pending.get(mutation.getId());
+    if (earlier == null) {
+      pending.put(mutation.getId(), mutation);
+      return;
+    }
+    Mutation combined = Mutation.coalesce(earlier, mutation);
+    if (combined == null) {
+      pending.remove(mutation.getId());
+    } else {
+      pending.put(mutation.getId(), combined);
+    }
+  }
+
+  /**
+   * Queues a mutation to be written. It is recorded in the journal before this returns.
+   * @param mutation The mutation
+   * @throws IOException If the mutation could not be recorded in the journal. If it could not be added to the journal
+   *                     at all, it isn't queued either. If it was added but could not be forced to disk, it is still
+   *                     queued.
+   * @throws IllegalStateException If this queue has been closed
+   */
+  public void submit(Mutation mutation) throws IOException {
+    boolean full;
+    long sequence = 0;
+    synchronized (lock) {
+      if (closed) {
+        throw new IllegalStateException("Write-behind queue is closed");
+      }
+      if (journal != null) {
+        // records have to be in the same order as the mutations are merged, so this is done while holding the lock
+        sequence = journal.write(mutation);
+      }
+      if (pending.isEmpty()) {
+        oldestPendingNanos = System.nanoTime();
+      }
+      merge(pending, mutation);
+      submitted++;
+      full = pending.size() >= maxBatchSize && retryDelayMillis == flushIntervalMillis;
+    }
+    if (full) {
+      flusher.execute(this::flushIfDue);
+    }
+    if (journal != null) {
+      // waiting for the disk without holding the lock lets other threads' records share the same sync
+      journal.sync(sequence);
+    }
+  }
+
+  /**
+   * Queues mutations that were recorded in the journal by an earlier run of the application, but never written.
+   * Unlike {@link #submit(Mutation)}, they aren't recorded in the journal again.
+   * @param mutations The mutations read from the journal, in order
+   */
+  public void recover(List<Mutation> mutations) {
+    synchronized (lock) {
+      if (pending.isEmpty() && !mutations.isEmpty()) {
+        oldestPendingNanos = System.nanoTime();
+      }
+      for (Mutation mutation : mutations) {
+        merge(pending, mutation);
+      }
+      replaying |= !mutations.isEmpty();
+    }
+  }
+
+  /**
+   * Writes a batch if the oldest pending mutation has waited long enough, or if there are enough of them. Failures are
+   * logged and retried later.
+   */
+  private void flushIfDue() {
+    synchronized (lock) {
+      if (pending.isEmpty() || System.nanoTime() < nextAttemptNanos) {
+        return;
+      }
+      long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestPendingNanos);
+      if (waited < flushIntervalMillis && pending.size() < maxBatchSize) {
+        return;
+      }
+    }
+    try {
+      flush();
+    } catch (SQLException | RuntimeException e) {
+      Utils.warn(e, "Could not write %d pending contact changes, will retry later", getPendingCount());
+    }
+  }
+
+  /**
+   * Writes every pending mutation right away, on the calling thread.
+   * @throws SQLException If the mutations could not be written. They stay queued, and will be retried later.
+   */
+  public void flush() throws SQLException {
+    synchronized (flushLock) {
+      LinkedHashMap<UUID, Mutation> batch;
+      long batchOldestNanos;
+      boolean replay;
+      synchronized (lock) {
+        if (pending.isEmpty()) {
+          return;
+        }
+        batch = pending;
+        batchOldestNanos = oldestPendingNanos;
+        replay = replaying;
+        pending = new LinkedHashMap<>();
+        writing = true;
+        replaying = false;
+      }
+      try {
+        if (replay) {
+          store.replay(new ArrayList<>(batch.values()));
+        } else {
+          store.write(new ArrayList<>(batch.values()));
+        }
+      } catch (SQLException | RuntimeException e) {
+        synchronized (lock) {
+          // anything submitted in the meantime happened after the failed batch
+          for (Mutation mutation : pending.values()) {
+            merge(batch, mutation);
+          }
+          pending = batch;
+          oldestPendingNanos = batchOldestNanos;
+          writing = false;
+          // the failed attempt may have been written before the connection was lost
+          replaying = true;
+          failures++;
+          nextAttemptNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMillis);
+          retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+        throw e;
+      }
+      synchronized (lock) {
+        written += batch.size();
+        writing = false;
+        retryDelayMillis = flushIntervalMillis;
+        nextAttemptNanos = 0;
+        if (journal != null) {
+          try {
+            // only what's still pending has to survive a crash
+            journal.rewrite(pending.values());
+          } catch (IOException e) {
+            // not fatal, the journal just holds onto some mutations that were already written
+            Utils.warn(e, "Could not compact journal %s", journal.getFile());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Get how often pending mutations are written.
+   * @return The longest a mutation waits before being written, in milliseconds, unless writing fails
+   */
+  public long getFlushIntervalMillis() {
+    return flushIntervalMillis;
+  }
+
+  /**
+   * Get the number of contacts that have mutations waiting to be written.
+   * @return The number of pending (coalesced) mutations
+   */
+  public int getPendingCount() {
+    synchronized (lock) {
+      return pending.size();
+    }
+  }
+
+  /**
+   * Checks whether every submitted mutation has been written. Until then, any other change written to the same store
+   * must go through this queue as well, or it could be written before the changes that came before it.
+   * @return True if nothing is pending or being written right now, false otherwise
+   */
+  public boolean isIdle() {
+    synchronized (lock) {
+      return pending.isEmpty() && !writing;
+    }
+  }
+
+  /**
+   * Get how long the oldest pending mutation has been waiting.
+   * @return The time in milliseconds, or 0 if nothing is pending
+   */
+  public long getLagMillis() {
+    synchronized (lock) {
+      return pending.isEmpty() ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestPendingNanos);
+    }
+  }
+
+  /**
+   * Get the number of mutations submitted so far, before coalescing.
+   * @return The number of submitted mutations
+   */
+  public long getSubmittedCount() {
+    synchronized (lock) {
+      return submitted;
+    }
+  }
+
+  /**
+   * Get the number of mutations written so far, after coalescing.
+   * @return The number of written mutations
+   */
+  public long getWrittenCount() {
+    synchronized (lock) {
+      return written;
+    }
+  }
+
+  /**
+   * Get how many times writing a batch has failed.
+   * @return The number of failed writes
+   */
+  public long getFailureCount() {
+    synchronized (lock) {
+      return failures;
+    }
+  }
+
+  /**
+   * Stops the background flusher and makes one last attempt to write every pending mutation. Anything that still
+   * can't be written stays in the journal.
+   * @throws IOException If the journal could not be closed
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    flusher.shutdown();
+    try {
+      flusher.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      flush();
+    } catch (SQLException | RuntimeException e) {
+      Utils.warn(e, "Could not write %d pending contact changes, they will stay in the journal", getPendingCount());
+    }
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
+}
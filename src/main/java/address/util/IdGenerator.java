@@ -0,0 +1,35 @@
+package address.util;
+
+import java.util.UUID;
+
+/**
+ * Makes IDs for new contacts. Every ID made by a generator is different from every other ID it has made.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see TimeOrderedIdGenerator
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+  /**
+   * Makes random (version 4) IDs with {@link UUID#randomUUID()}, which draws from a shared
+   * {@link java.security.SecureRandom}.
+   */
+  IdGenerator RANDOM = UUID::randomUUID;
+
+  /**
+   * Makes a new ID.
+   * @return The ID
+   */
+  UUID next();
+
+  /**
+   * Get the generator used for new contacts, chosen with <code>-Daddressbook.idGenerator=</code> followed by either
+   * <code>time</code> (the default) for a {@link TimeOrderedIdGenerator}, or <code>random</code> for {@link #RANDOM}.
+   * @return The generator
+   */
+  static IdGenerator getDefault() {
+    return TimeOrderedIdGenerator.DEFAULT_CHOICE;
+  }
+
+}
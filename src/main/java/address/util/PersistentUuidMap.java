@@ -0,0 +1,436 @@
+package address.util;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * An immutable map with {@link UUID} keys, where every change makes a new map instead of modifying this one. The new
+ * map shares almost all of its structure with the old one, so a change only costs copying a handful of small arrays,
+ * and holding onto an old version of the map costs nothing until it starts to differ from the current one. That makes
+ * it a cheap way of taking consistent snapshots of something that keeps changing: just keep a reference to the map as
+ * it was.
+ * <p>
+ * The map is a hash array mapped trie. Every node has up to 32 slots, selected by the next 5 bits of the key's hash,
+ * and only the slots that are in use take up any space. A slot either holds a key and its value, or another node for
+ * keys whose hashes start out the same. Keys with exactly the same hash end up in a collision node at the bottom.
+ * <p>
+ * Since nothing is ever modified after it's made, any number of threads can read a map while others make new versions
+ * of it. Null keys and null values are not permitted.
+ * @param <V> The type of the stored values
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see UuidMap
+ */
+public final class PersistentUuidMap<V> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  /** The deepest any node can be, since 7 levels of 5 bits use up all 32 bits of a hash */
+  private static final int MAX_DEPTH = 7;
+
+  private static final PersistentUuidMap<?> EMPTY = new PersistentUuidMap<>(null, 0);
+
+  private final Node root;
+  private final int size;
+
+  private PersistentUuidMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Get the map with nothing in it.
+   * @param <V> The type of the stored values
+   * @return An empty map
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentUuidMap<V> empty() {
+    return (PersistentUuidMap<V>) EMPTY;
+  }
+
+  private static int hash(UUID key) {
+    return UuidMap.hash(key.getMostSignificantBits(), key.getLeastSignificantBits());
+  }
+
+  /**
+   * Get the number of entries in this map.
+   * @return The number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether or not this map has no entries.
+   * @return True if there are no entries, false otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Gets the value associated with a key.
+   * @param key The key
+   * @return The associated value, or <code>null</code> if there is none
+   */
+  @SuppressWarnings("unchecked")
+  public V get(UUID key) {
+    return root == null ? null : (V) root.find(0, hash(key), key);
+  }
+
+  /**
+   * Checks whether or not a key is present in this map.
+   * @param key The key
+   * @return True if the key is present, false otherwise
+   */
+  public boolean containsKey(UUID key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Makes a map with a value associated with a key, replacing any existing value.
+   * @param key The key
+   * @param value The value. Cannot be <code>null</code>.
+   * @return The new map, or this map if the key was already associated with this exact value
+   */
+  public PersistentUuidMap<V> put(UUID key, V value) {
+    Objects.requireNonNull(value, "value");
+    boolean[] added = new boolean[1];
+    Node newRoot = (root == null ? BitmapNode.EMPTY : root).put(0, hash(key), key, value, added);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentUuidMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * Makes a map without a key and its associated value.
+   * @param key The key
+   * @return The new map, or this map if the key was not present
+   */
+  public PersistentUuidMap<V> remove(UUID key) {
+    if (root == null) {
+      return this;
+    }
+    Node newRoot = root.remove(0, hash(key), key);
+    if (newRoot == root) {
+      return this;
+    }
+    return newRoot == null ? empty() : new PersistentUuidMap<>(newRoot, size - 1);
+  }
+
+  /**
+   * Get a read-only view of all values in this map. Since this map never changes, neither does the view, and it can be
+   * iterated over from any thread while new versions of the map are being made.
+   * @return A collection of all values in this map, in no particular order
+   */
+  public Collection<V> values() {
+    return new AbstractCollection<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return new ValueIterator<>(root);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public void forEach(Consumer<? super V> action) {
+        if (root != null) {
+          root.forEach((Consumer<Object>) action);
+        }
+      }
+    };
+  }
+
+  private interface Node {
+
+    /**
+     * Finds the value of a key, or <code>null</code>.
+     */
+    Object find(int depth, int hash, UUID key);
+
+    /**
+     * Makes a copy of this node with a key associated with a value, or returns this node if nothing would change.
+     * <code>added[0]</code> is set if the key wasn't already there.
+     */
+    Node put(int depth, int hash, UUID key, Object value, boolean[] added);
+
+    /**
+     * Makes a copy of this node without a key, returns this node if the key isn't there, or returns <code>null</code>
+     * if nothing would be left.
+     */
+    Node remove(int depth, int hash, UUID key);
+
+    void forEach(Consumer<Object> action);
+
+  }
+
+  /**
+   * A node with a slot for every 5 bit part of a hash, where only the slots in use take up space. Slot
+   * <code>i</code> is in use if bit <code>i</code> of the bitmap is set, and its contents are at position
+   * <code>2 * (number of set bits before bit i)</code> of the array: either a key followed by its value, or
+   * <code>null</code> followed by a node.
+   */
+  private static final class BitmapNode implements Node {
+
+    static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    final int bitmap;
+    final Object[] array;
+
+    BitmapNode(int bitmap, Object[] array) {
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    private static int bit(int depth, int hash) {
+      return 1 << ((hash >>> (depth * BITS)) & MASK);
+    }
+
+    private int index(int bit) {
+      return 2 * Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    public Object find(int depth, int hash, UUID key) {
+      int bit = bit(depth, hash);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      int i = index(bit);
+      Object k = array[i];
+      if (k == null) {
+        return ((Node) array[i + 1]).find(depth + 1, hash, key);
+      }
+      return key.equals(k) ? array[i + 1] : null;
+    }
+
+    private BitmapNode with(int i, Object value) {
+      Object[] copy = array.clone();
+      copy[i] = value;
+      return new BitmapNode(bitmap, copy);
+    }
+
+    @Override
+    public Node put(int depth, int hash, UUID key, Object value, boolean[] added) {
+      int bit = bit(depth, hash);
+      int i = index(bit);
+      if ((bitmap & bit) == 0) {
+        Object[] copy = new Object[array.length + 2];
+        System.arraycopy(array, 0, copy, 0, i);
+        copy[i] = key;
+        copy[i + 1] = value;
+        System.arraycopy(array, i, copy, i + 2, array.length - i);
+        added[0] = true;
+        return new BitmapNode(bitmap | bit, copy);
+      }
+      Object k = array[i];
+      Object v = array[i + 1];
+      if (k == null) {
+        Node child = ((Node) v).put(depth + 1, hash, key, value, added);
+        return child == v ? this : with(i + 1, child);
+      }
+      if (key.equals(k)) {
+        return v == value ? this : with(i + 1, value);
+      }
+      // a different key already has this slot, so both move down into a new node
+      added[0] = true;
+      Node child = pair(depth + 1, (UUID) k, v, hash, key, value);
+      BitmapNode copy = with(i, null);
+      copy.array[i + 1] = child;
+      return copy;
+    }
+
+    private static Node pair(int depth, UUID key1, Object value1, int hash2, UUID key2, Object value2) {
+      int hash1 = hash(key1);
+      if (hash1 == hash2) {
+        return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+      }
+      boolean[] ignored = new boolean[1];
+      return EMPTY.put(depth, hash1, key1, value1, ignored).put(depth, hash2, key2, value2, ignored);
+    }
+
+    @Override
+    public Node remove(int depth, int hash, UUID key) {
+      int bit = bit(depth, hash);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int i = index(bit);
+      Object k = array[i];
+      if (k == null) {
+        Node child = (Node) array[i + 1];
+        Node newChild = child.remove(depth + 1, hash, key);
+        if (newChild == child) {
+          return this;
+        }
+        if (newChild != null) {
+          return with(i + 1, newChild);
+        }
+      } else if (!key.equals(k)) {
+        return this;
+      }
+      if (bitmap == bit) {
+        return null;
+      }
+      Object[] copy = new Object[array.length - 2];
+      System.arraycopy(array, 0, copy, 0, i);
+      System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+      return new BitmapNode(bitmap ^ bit, copy);
+    }
+
+    @Override
+    public void forEach(Consumer<Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (array[i] == null) {
+          ((Node) array[i + 1]).forEach(action);
+        } else {
+          action.accept(array[i + 1]);
+        }
+      }
+    }
+
+  }
+
+  /**
+   * A node for keys whose hashes are exactly the same, which are simply kept in a list of keys and values.
+   */
+  private static final class CollisionNode implements Node {
+
+    final int hash;
+    final Object[] array;
+
+    CollisionNode(int hash, Object[] array) {
+      this.hash = hash;
+      this.array = array;
+    }
+
+    private int indexOf(UUID key) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (key.equals(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public Object find(int depth, int hash, UUID key) {
+      int i = hash == this.hash ? indexOf(key) : -1;
+      return i == -1 ? null : array[i + 1];
+    }
+
+    @Override
+    public Node put(int depth, int hash, UUID key, Object value, boolean[] added) {
+      if (hash != this.hash) {
+        // only possible above the deepest level, so this can go into a node of its own
+        BitmapNode parent = new BitmapNode(BitmapNode.bit(depth, this.hash), new Object[] {null, this});
+        return parent.put(depth, hash, key, value, added);
+      }
+      int i = indexOf(key);
+      if (i != -1) {
+        if (array[i + 1] == value) {
+          return this;
+        }
+        Object[] copy = array.clone();
+        copy[i + 1] = value;
+        return new CollisionNode(hash, copy);
+      }
+      Object[] copy = Arrays.copyOf(array, array.length + 2);
+      copy[array.length] = key;
+      copy[array.length + 1] = value;
+      added[0] = true;
+      return new CollisionNode(hash, copy);
+    }
+
+    @Override
+    public Node remove(int depth, int hash, UUID key) {
+      int i = hash == this.hash ? indexOf(key) : -1;
+      if (i == -1) {
+        return this;
+      }
+      if (array.length == 2) {
+        return null;
+      }
+      Object[] copy = new Object[array.length - 2];
+      System.arraycopy(array, 0, copy, 0, i);
+      System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+      return new CollisionNode(hash, copy);
+    }
+
+    @Override
+    public void forEach(Consumer<Object> action) {
+      for (int i = 1; i < array.length; i += 2) {
+        action.accept(array[i]);
+      }
+    }
+
+  }
+
+  /**
+   * Walks through every value depth first, keeping track of where it is in every node on the way down.
+   */
+  private static final class ValueIterator<V> implements Iterator<V> {
+
+    // one more level than bitmap nodes can go, for a collision node at the bottom
+    private final Object[][] arrays = new Object[MAX_DEPTH + 1][];
+    private final int[] positions = new int[MAX_DEPTH + 1];
+    private int depth = -1;
+    private Object next;
+
+    ValueIterator(Node root) {
+      if (root != null) {
+        push(root);
+        advance();
+      }
+    }
+
+    private void push(Node node) {
+      depth++;
+      // collision nodes never have null keys, so they're walked the same way as a node without children
+      arrays[depth] = node instanceof BitmapNode ? ((BitmapNode) node).array : ((CollisionNode) node).array;
+      positions[depth] = 0;
+    }
+
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        Object[] array = arrays[depth];
+        int i = positions[depth];
+        if (i >= array.length) {
+          arrays[depth--] = null;
+          continue;
+        }
+        positions[depth] = i + 2;
+        if (array[i] == null) {
+          push((Node) array[i + 1]);
+        } else {
+          next = array[i + 1];
+          return;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      V value = (V) next;
+      advance();
+      return value;
+    }
+
+  }
+
+}
@@ -0,0 +1,419 @@
+package address.util;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A hash map specialized for {@link UUID} keys. Rather than storing a {@link UUID} object and a node object per entry
+ * like {@link HashMap} does, the two <code>long</code> halves of every key are stored directly in parallel primitive
+ * arrays, and collisions are resolved with linear probing. Removals use backward-shift deletion, so no tombstones are
+ * ever left behind and lookups never degrade after many removals.
+ * <p>
+ * Null keys and null values are not permitted. Like {@link HashMap}, this class is not thread-safe.
+ * @param <V> The type of the stored values
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+public class UuidMap<V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  // kept fairly low, since linear probing gets noticeably worse as the table fills up
+  private static final float LOAD_FACTOR = 0.7f;
+
+  /** The most significant 64 bits of every key */
+  private long[] msbs;
+  /** The least significant 64 bits of every key */
+  private long[] lsbs;
+  /** The value of every key. A <code>null</code> value means the slot is empty. */
+  private Object[] values;
+  private int size;
+  private int threshold;
+
+  /**
+   * Constructor for this class, which will be able to hold at least the specified number of entries before needing to
+   * resize itself.
+   * @param expectedSize The expected number of entries
+   */
+  public UuidMap(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+    }
+    int capacity = DEFAULT_CAPACITY;
+    while (capacity * LOAD_FACTOR < expectedSize) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * Default constructor, which starts off with a small table.
+   * @see #UuidMap(int)
+   */
+  public UuidMap() {
+    this(0);
+  }
+
+  private void allocate(int capacity) {
+    msbs = new long[capacity];
+    lsbs = new long[capacity];
+    values = new Object[capacity];
+    threshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  /**
+   * Spreads the bits of both halves of a key. Random (version 4) IDs would be fine with a plain XOR, but this also
+   * copes with IDs whose high bits barely change, such as time-ordered ones.
+   */
+  static int hash(long msb, long lsb) {
+    long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+  /**
+   * Get the hash of a key that this map uses, whose bits are all equally well spread no matter what kind of IDs are
+   * used. This map picks slots using the lowest bits of the hash, so anything that splits keys up between several maps
+   * should use the highest bits.
+   * @param key The key
+   * @return The hash
+   */
+  public static int hash(UUID key) {
+    return hash(key.getMostSignificantBits(), key.getLeastSignificantBits());
+  }
+
+  /**
+   * Finds the slot that holds the specified key.
+   * @return The index of the slot, or <code>-1</code> if the key is not present
+   */
+  private int indexOf(long msb, long lsb) {
+    int mask = values.length - 1;
+    int i = hash(msb, lsb) & mask;
+    while (values[i] != null) {
+      if (msbs[i] == msb && lsbs[i] == lsb) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Get the number of entries in this map.
+   * @return The number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether or not this map has no entries.
+   * @return True if there are no entries, false otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Gets the value associated with a key, given as the two halves of a {@link UUID}.
+   * @param msb The most significant bits of the key
+   * @param lsb The least significant bits of the key
+   * @return The associated value, or <code>null</code> if there is none
+   * @see UUID#getMostSignificantBits()
+   * @see UUID#getLeastSignificantBits()
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long msb, long lsb) {
+    int i = indexOf(msb, lsb);
+    return i == -1 ? null : (V) values[i];
+  }
+
+  /**
+   * Gets the value associated with a key.
+   * @param key The key
+   * @return The associated value, or <code>null</code> if there is none
+   */
+  public V get(UUID key) {
+    return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+  }
+
+  /**
+   * Checks whether or not a key is present in this map.
+   * @param key The key
+   * @return True if the key is present, false otherwise
+   */
+  public boolean containsKey(UUID key) {
+    return indexOf(key.getMostSignificantBits(), key.getLeastSignificantBits()) != -1;
+  }
+
+  /**
+   * Associates a value with a key, replacing any existing value.
+   * @param key The key
+   * @param value The value. Cannot be <code>null</code>.
+   * @return The value that was previously associated with the key, or <code>null</code> if there was none
+   */
+  public V put(UUID key, V value) {
+    return put(key, value, true);
+  }
+
+  /**
+   * Associates a value with a key only if that key is not already present.
+   * @param key The key
+   * @param value The value. Cannot be <code>null</code>.
+   * @return The value that is already associated with the key, or <code>null</code> if the value was added
+   */
+  public V putIfAbsent(UUID key, V value) {
+    return put(key, value, false);
+  }
+
+  @SuppressWarnings("unchecked")
+  private V put(UUID key, V value, boolean replace) {
+    Objects.requireNonNull(value, "value");
+    long msb = key.getMostSignificantBits();
+    long lsb = key.getLeastSignificantBits();
+    int mask = values.length - 1;
+    int i = hash(msb, lsb) & mask;
+    while (values[i] != null) {
+      if (msbs[i] == msb && lsbs[i] == lsb) {
+        V old = (V) values[i];
+        if (replace) {
+          values[i] = value;
+        }
+        return old;
+      }
+      i = (i + 1) & mask;
+    }
+    msbs[i] = msb;
+    lsbs[i] = lsb;
+    values[i] = value;
+    if (++size > threshold) {
+      rehash(values.length << 1);
+    }
+    return null;
+  }
+
+  /**
+   * Removes a key and its associated value.
+   * @param key The key
+   * @return The value that was associated with the key, or <code>null</code> if the key was not present
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(UUID key) {
+    int i = indexOf(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    if (i == -1) {
+      return null;
+    }
+    V old = (V) values[i];
+    removeAt(i);
+    return old;
+  }
+
+  /**
+   * Empties the specified slot, then shifts any following entries of the same probe run back so that every remaining
+   * entry is still reachable from its home slot.
+   */
+  private void removeAt(int i) {
+    int mask = values.length - 1;
+    int gap = i;
+    int j = i;
+    while (true) {
+      j = (j + 1) & mask;
+      if (values[j] == null) {
+        break;
+      }
+      int home = hash(msbs[j], lsbs[j]) & mask;
+      // the entry at j can only fill the gap if its home slot isn't cyclically between the gap and j
+      if (((j - home) & mask) >= ((j - gap) & mask)) {
+        msbs[gap] = msbs[j];
+        lsbs[gap] = lsbs[j];
+        values[gap] = values[j];
+        gap = j;
+      }
+    }
+    values[gap] = null;
+    size--;
+  }
+
+  /**
+   * Removes every entry whose value satisfies the specified condition.
+   * @param filter The condition to test each value against
+   * @return Whether or not any entries were removed
+   */
+  @SuppressWarnings("unchecked")
+  public boolean removeIf(Predicate<? super V> filter) {
+    // entries get shifted around while removing, so figure out what to remove before touching anything
+    List<UUID> toRemove = new ArrayList<>();
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null && filter.test((V) values[i])) {
+        toRemove.add(new UUID(msbs[i], lsbs[i]));
+      }
+    }
+    toRemove.forEach(this::remove);
+    return !toRemove.isEmpty();
+  }
+
+  /**
+   * Removes all entries from this map. The size of the internal table is left as-is.
+   */
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  private void rehash(int newCapacity) {
+    long[] oldMsbs = msbs;
+    long[] oldLsbs = lsbs;
+    Object[] oldValues = values;
+    allocate(newCapacity);
+    int mask = newCapacity - 1;
+    for (int j = 0; j < oldValues.length; j++) {
+      if (oldValues[j] != null) {
+        int i = hash(oldMsbs[j], oldLsbs[j]) & mask;
+        while (values[i] != null) {
+          i = (i + 1) & mask;
+        }
+        msbs[i] = oldMsbs[j];
+        lsbs[i] = oldLsbs[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+
+  /**
+   * Get a read-only view of all values in this map. The view reflects later changes to this map, but it cannot be
+   * iterated over while the map is being modified.
+   * @return A collection of all values in this map, in no particular order
+   */
+  public Collection<V> values() {
+    return new AbstractCollection<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return new ValueIterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public Spliterator<V> spliterator() {
+        return new ValueSpliterator(values, 0, values.length, size);
+      }
+    };
+  }
+
+  private class ValueIterator implements Iterator<V> {
+
+    private final Object[] table = values;
+    private final int expectedSize = size;
+    private int next = advance(0);
+
+    private int advance(int from) {
+      while (from < table.length && table[from] == null) {
+        from++;
+      }
+      return from;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < table.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V next() {
+      if (table != values || expectedSize != size) {
+        throw new ConcurrentModificationException();
+      }
+      if (next >= table.length) {
+        throw new NoSuchElementException();
+      }
+      V value = (V) table[next];
+      next = advance(next + 1);
+      return value;
+    }
+
+  }
+
+  /**
+   * Splits the table into ranges of slots, so that the values can be processed in parallel. Since the values are spread
+   * evenly across the table, halving the range of slots halves the number of values as well, give or take.
+   */
+  private class ValueSpliterator implements Spliterator<V> {
+
+    private final Object[] table;
+    private final int expectedSize = size;
+    private int origin;
+    private final int fence;
+    private int estimate;
+
+    ValueSpliterator(Object[] table, int origin, int fence, int estimate) {
+      this.table = table;
+      this.origin = origin;
+      this.fence = fence;
+      this.estimate = estimate;
+    }
+
+    private void checkForComodification() {
+      if (table != values || expectedSize != size) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super V> action) {
+      while (origin < fence) {
+        Object value = table[origin++];
+        if (value != null) {
+          action.accept((V) value);
+          checkForComodification();
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super V> action) {
+      for (int i = origin; i < fence; i++) {
+        Object value = table[i];
+        if (value != null) {
+          action.accept((V) value);
+        }
+      }
+      origin = fence;
+      checkForComodification();
+    }
+
+    @Override
+    public Spliterator<V> trySplit() {
+      int mid = (origin + fence) >>> 1;
+      if (mid <= origin) {
+        return null;
+      }
+      estimate >>>= 1;
+      Spliterator<V> prefix = new ValueSpliterator(table, origin, mid, estimate);
+      origin = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+      // only the top-level size is exact, since the values aren't spread perfectly evenly
+      return (origin == 0 && fence == table.length ? Spliterator.SIZED : 0) | Spliterator.NONNULL;
+    }
+
+  }
+
+}
@@ -0,0 +1,143 @@
+package address.validation;
+
+/**
+ * Which fields of a contact failed validation. Unlike the exception thrown by
+ * {@link address.Utils#validateAddressEntry(address.data.AddressEntry)}, this lists every invalid field rather than
+ * only the first, and a single instance can be reused for any number of contacts, so validating doesn't allocate
+ * anything at all.
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ * @see ContactValidator
+ */
+public final class ValidationResult {
+
+  /**
+   * The fields of a contact that are validated, in the order they are checked.
+   */
+  public enum Field {
+    FIRST_NAME("First name cannot be empty"),
+    LAST_NAME("Last name cannot be empty"),
+    STREET("Street address cannot be empty"),
+    CITY("City name cannot be empty"),
+    STATE("State code must be 2 characters"),
+    ZIP("Zip code must be 5 characters"),
+    PHONE("Phone number must have at least 10 digits"),
+    EMAIL("Improperly formatted email address");
+
+    private static final Field[] VALUES = values();
+
+    private final String message;
+
+    Field(String message) {
+      this.message = message;
+    }
+
+    /**
+     * Get why a value of this field is invalid.
+     * @return A human-readable message
+     */
+    public String getMessage() {
+      return message;
+    }
+
+    /**
+     * Get the bit representing this field in a set of failures.
+     * @return A single bit
+     * @see ValidationResult#getFailures()
+     */
+    public int mask() {
+      return 1 << ordinal();
+    }
+  }
+
+  private int failures;
+
+  /**
+   * Forgets every failure, so that this can be reused for another contact.
+   */
+  public void clear() {
+    failures = 0;
+  }
+
+  /**
+   * Marks a field as invalid.
+   * @param field The field
+   */
+  void fail(Field field) {
+    failures |= field.mask();
+  }
+
+  /**
+   * Sets every failure at once.
+   * @param failures The failures, as a bit set of {@link Field#mask()}s
+   */
+  void setFailures(int failures) {
+    this.failures = failures;
+  }
+
+  /**
+   * Checks whether every field is valid.
+   * @return True if no field failed validation, false otherwise
+   */
+  public boolean isValid() {
+    return failures == 0;
+  }
+
+  /**
+   * Checks whether a specific field failed validation.
+   * @param field The field
+   * @return True if it's invalid, false otherwise
+   */
+  public boolean has(Field field) {
+    return (failures & field.mask()) != 0;
+  }
+
+  /**
+   * Get every failure at once.
+   * @return A bit set of the {@link Field#mask()}s of every invalid field, which is 0 if all of them are valid
+   */
+  public int getFailures() {
+    return failures;
+  }
+
+  /**
+   * Get the first field that failed validation, in the order they are checked.
+   * @return The field, or <code>null</code> if every field is valid
+   */
+  public Field getFirstFailure() {
+    return failures == 0 ? null : Field.VALUES[Integer.numberOfTrailingZeros(failures)];
+  }
+
+  /**
+   * Describes every failure.
+   * @return The messages of every invalid field separated by <code>"; "</code>, or an empty string if all of them are
+   *         valid
+   */
+  public String getMessage() {
+    return describe(failures);
+  }
+
+  /**
+   * Describes a set of failures, such as those returned by {@link ContactValidator#validateAll(java.util.List)}.
+   * @param failures A bit set of {@link Field#mask()}s
+   * @return The messages of every field in the set separated by <code>"; "</code>, or an empty string if it's empty
+   */
+  public static String describe(int failures) {
+    StringBuilder sb = new StringBuilder();
+    for (Field field : Field.VALUES) {
+      if ((failures & field.mask()) != 0) {
+        if (sb.length() > 0) {
+          sb.append("; ");
+        }
+        sb.append(field.getMessage());
+      }
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return isValid() ? "Valid" : getMessage();
+  }
+
+}
@@ -0,0 +1,76 @@
+import address.cli.AddressBookCli;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link AddressBookCli}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class AddressBookCliTest {
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+  private final AtomicInteger connections = new AtomicInteger();
+
+  /** Never reaches a database, so only commands that fail before connecting can succeed */
+  private AddressBookCli cli() {
+    return new AddressBookCli(() -> {
+      connections.incrementAndGet();
+      throw new SQLException("No database", "08001");
+    }, new PrintStream(out, true), new PrintStream(err, true));
+  }
+
+  @Test
+  void help() {
+    assertEquals(cli().execute("help"), AddressBookCli.EXIT_OK);
+    assertTrue(out.toString().contains("find <prefix>"));
+    assertEquals(connections.get(), 0);
+  }
+
+  @Test
+  void usage() {
+    assertEquals(cli().execute(), AddressBookCli.EXIT_USAGE);
+    assertEquals(cli().execute("frobnicate"), AddressBookCli.EXIT_USAGE);
+    assertEquals(cli().execute("find"), AddressBookCli.EXIT_USAGE);
+    assertEquals(cli().execute("find", "Sm", "--format", "xml"), AddressBookCli.EXIT_USAGE);
+    assertEquals(cli().execute("find", "Sm", "--limit"), AddressBookCli.EXIT_USAGE);
+    assertEquals(cli().execute("export", "out.csv", "--colour", "red"), AddressBookCli.EXIT_USAGE);
+    assertEquals(cli().execute("stats", "extra"), AddressBookCli.EXIT_USAGE);
+    assertEquals(cli().execute("add", "--first", "John"), AddressBookCli.EXIT_USAGE);
+    assertTrue(err.toString().contains("Unknown command frobnicate"));
+    assertEquals(connections.get(), 0);
+  }
+
+  @Test
+  void add_invalid() {
+    int code = cli().execute("add", "--first", "John", "--last", "Smith", "--street", "1 Main St", "--city", "Hayward",
+      "--state", "California", "--zip", "94542", "--phone", "555-1234", "--email", "john@example.com");
+    assertEquals(code, AddressBookCli.EXIT_FAILED);
+    assertTrue(err.toString().contains("Invalid contact"));
+    assertEquals(out.size(), 0);
+    // nothing is connected to when the contact is rejected anyway
+    assertEquals(connections.get(), 0);
+  }
+
+  @Test
+  void databaseUnreachable() {
+    assertEquals(cli().execute("find", "Sm"), AddressBookCli.EXIT_FAILED);
+    assertEquals(cli().execute("stats"), AddressBookCli.EXIT_FAILED);
+    assertEquals(connections.get(), 2);
+  }
+
+  @Test
+  void likePrefix() {
+    assertEquals(AddressBookCli.likePrefix(""), "%");
+    assertEquals(AddressBookCli.likePrefix("Sm"), "Sm%");
+    assertEquals(AddressBookCli.likePrefix("100%_a\\b"), "100\\%\\_a\\\\b%");
+  }
+
+}
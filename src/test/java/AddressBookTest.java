@@ -1,11 +1,17 @@
 import address.data.Address;
 import address.AddressBook;
 import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
 import address.data.Name;
+import address.search.InvertedIndex;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -78,6 +84,28 @@ class AddressBookTest {
     assertNull(ab.get(ID_E));
   }
 
+  @Test
+  void get_copy() {
+    AddressBook ab = createBook();
+    AddressEntry entry = ab.get(ID_A);
+    entry.getName().setLastName("Smyth");
+    assertEquals(ab.get(ID_A), createEntryA());
+    assertEquals(ab.getImmutable(ID_A).getLastName(), "Smith");
+    assertSame(ab.getImmutable(ID_A), ab.getImmutable(ID_A));
+  }
+
+  @Test
+  void update() {
+    AddressBook ab = createBook();
+    ImmutableAddressEntry updated = ab.getImmutable(ID_A).toBuilder().lastName("Smyth").build();
+    assertTrue(ab.update(updated));
+    assertSame(ab.getImmutable(ID_A), updated);
+    assertTrue(ab.find("Smith").isEmpty());
+    assertEquals(ab.findImmutable("Smy").size(), 1);
+    assertFalse(ab.update(createEntryD()));
+    assertEquals(ab.count(), 3);
+  }
+
   @Test
   void remove_lastName() {
     AddressBook ab = createBook();
@@ -174,6 +202,109 @@ class AddressBookTest {
     assertFalse(queryResult.contains(e3));
   }
 
+  @Test
+  void find_page() {
+    AddressBook ab = createBook();
+    ab.add(createEntryD());
+    ab.add(createEntryE());
+    // Doe (Jane), Doe (Michael), Hamilton, Roe, Smith
+    List<AddressEntry> page = ab.find("", 1, 2);
+    assertEquals(page.size(), 2);
+    assertEquals(page.get(0).getId(), ID_B);
+    assertEquals(page.get(1).getId(), ID_E);
+    page = ab.find("", 4, 10);
+    assertEquals(page.size(), 1);
+    assertEquals(page.get(0).getId(), ID_A);
+    assertTrue(ab.find("", 5, 10).isEmpty());
+    assertTrue(ab.find("do", 0, 0).isEmpty());
+    assertEquals(ab.findImmutable("do", 1, 10).get(0).getId(), ID_B);
+    assertThrows(IllegalArgumentException.class, () -> ab.find("", -1, 10));
+    assertEquals(ab.count("do"), 2);
+    assertEquals(ab.count("x"), 0);
+  }
+
+  @Test
+  void findStream() {
+    AddressBook ab = createBook();
+    ab.add(createEntryD());
+    assertEquals(ab.findStream("").limit(3).map(ImmutableAddressEntry::getId).collect(Collectors.toList()),
+      Arrays.asList(ID_C, ID_B, ID_D));
+    assertEquals(ab.findStream("doe").count(), 2);
+    assertEquals(ab.findStream("Z").count(), 0);
+  }
+
+  @Test
+  void find_cached() {
+    AddressBook ab = createBook();
+    assertEquals(ab.find("Do").size(), 2);
+    assertEquals(ab.find("do").size(), 2);
+    assertEquals(ab.getFindCacheStats().getHits(), 1);
+    // the cached results must never be handed out directly
+    ab.findImmutable("do").clear();
+    assertEquals(ab.find("do").size(), 2);
+
+    ab.add(createEntryD());
+    assertEquals(ab.find("do").size(), 2);
+    assertEquals(ab.getFindCacheStats().getInvalidations(), 0);
+    AddressEntry entry = createEntryD();
+    entry.getName().setLastName("Dorian");
+    ab.update(entry);
+    assertEquals(ab.find("do").size(), 3);
+    ab.remove(ID_B);
+    assertEquals(ab.find("do").size(), 2);
+    assertEquals(ab.getFindCacheStats().getInvalidations(), 2);
+  }
+
+  @Test
+  void findSimilar() {
+    AddressBook ab = createBook();
+    ab.add(createEntryD());
+    List<ImmutableAddressEntry> queryResult = ab.findSimilar("Smyth", 10);
+    assertEquals(queryResult.size(), 1);
+    assertEquals(queryResult.get(0).getId(), ID_A);
+
+    // both Doe entries, then Roe
+    queryResult = ab.findSimilar("Doe", 10);
+    assertEquals(queryResult.size(), 3);
+    assertEquals(queryResult.get(2).getId(), ID_D);
+
+    ab.remove(ID_A);
+    assertTrue(ab.findSimilar("Smyth", 10).isEmpty());
+    ab.clear();
+    assertTrue(ab.findSimilar("Doe", 10).isEmpty());
+  }
+
+  @Test
+  void search() {
+    AddressBook ab = createBook();
+    List<ImmutableAddressEntry> queryResult = ab.search("street", InvertedIndex.Operator.AND);
+    assertEquals(queryResult.size(), 2);
+    // sorted by name
+    assertEquals(queryResult.get(0).getId(), ID_C);
+    assertEquals(queryResult.get(1).getId(), ID_A);
+
+    assertEquals(ab.search("seattle francisco", InvertedIndex.Operator.OR).size(), 2);
+    assertTrue(ab.search("seattle francisco", InvertedIndex.Operator.AND).isEmpty());
+
+    ab.update(ab.getImmutable(ID_A).toBuilder().city("Seattle").build());
+    assertEquals(ab.search("seattle francisco", InvertedIndex.Operator.OR).size(), 2);
+    assertEquals(ab.search("seattle", InvertedIndex.Operator.AND).size(), 2);
+    ab.remove(ID_B);
+    assertEquals(ab.search("seattle", InvertedIndex.Operator.AND).size(), 1);
+  }
+
+  @Test
+  void scan() {
+    AddressBook ab = createBook();
+    ab.add(createEntryD());
+    List<ImmutableAddressEntry> queryResult = ab.scan(entry -> entry.getZip() > 40000);
+    assertEquals(queryResult.size(), 2);
+    // sorted by name
+    assertEquals(queryResult.get(0).getId(), ID_C);
+    assertEquals(queryResult.get(1).getId(), ID_B);
+    assertTrue(ab.scan(entry -> false).isEmpty());
+  }
+
   @Test
   void clear() {
     AddressBook ab = createBook();
@@ -185,4 +316,67 @@ class AddressBookTest {
     assertEquals(ab.count(), 0);
   }
 
+  @Test
+  void snapshot() {
+    AddressBook ab = createBook();
+    AddressBook.Snapshot before = ab.snapshot();
+    assertSame(ab.snapshot(), before);
+    ab.remove(ID_A);
+    ab.add(createEntryD());
+    ab.update(ImmutableAddressEntry.of(createEntryB()).toBuilder().city("Tacoma").build());
+    // the snapshot still sees the book as it was
+    assertEquals(before.count(), 3);
+    assertNotNull(before.get(ID_A));
+    assertNull(before.get(ID_D));
+    assertEquals(before.get(ID_B).getCity(), "Seattle");
+    AddressBook.Snapshot after = ab.snapshot();
+    assertEquals(after.getVersion(), before.getVersion() + 3);
+    assertEquals(after.get(ID_B).getCity(), "Tacoma");
+    assertEquals(after.sorted().stream().map(ImmutableAddressEntry::getId).collect(Collectors.toList()),
+      ab.findImmutable("").stream().map(ImmutableAddressEntry::getId).collect(Collectors.toList()));
+    assertEquals(after.find("d").stream().map(ImmutableAddressEntry::getId).collect(Collectors.toList()),
+      Arrays.asList(ID_C, ID_B));
+    ab.clear();
+    assertEquals(ab.snapshot().count(), 0);
+    assertEquals(after.getAll().size(), 3);
+  }
+
+  @Test
+  void snapshot_whileChanging() throws InterruptedException {
+    AddressBook ab = new AddressBook();
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      AddressEntry entry = createEntryA();
+      entry.setId(UUID.randomUUID());
+      ab.add(entry);
+      ids.add(entry.getId());
+    }
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread reader = new Thread(() -> {
+      try {
+        for (int i = 0; i < 200; i++) {
+          AddressBook.Snapshot snapshot = ab.snapshot();
+          int count = 0;
+          for (ImmutableAddressEntry ignored : snapshot.getAll()) {
+            count++;
+          }
+          assertEquals(count, snapshot.count());
+        }
+      } catch (Throwable t) {
+        failure.set(t);
+      }
+    });
+    reader.start();
+    for (int i = 0; i < 20_000; i++) {
+      UUID id = ids.get(i % ids.size());
+      if (ab.remove(id) && i % 2 == 0) {
+        AddressEntry entry = createEntryB();
+        entry.setId(id);
+        ab.add(entry);
+      }
+    }
+    reader.join();
+    assertNull(failure.get());
+  }
+
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ import address.data.AddressEntry;
 import address.data.Name;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +45,23 @@ class AddressEntryTest {
     assertNotEquals(entryB, entryA);
   }
 
+  @Test
+  void _hashCode() {
+    AddressEntry a = createA();
+    assertEquals(a.hashCode(), createA().hashCode());
+    // changes made directly to the name or address must still be picked up
+    a.getName().setLastName("Smyth");
+    assertNotEquals(a.hashCode(), createA().hashCode());
+    assertNotEquals(a, createA());
+    a.getName().setLastName("Smith");
+    a.setEmail("john@example.com");
+    assertNotEquals(a.hashCode(), createA().hashCode());
+    a.setEmail("john.smith@example.com");
+    assertEquals(a.hashCode(), createA().hashCode());
+    Set<AddressEntry> set = new HashSet<>(Arrays.asList(createA(), createA(), createB()));
+    assertEquals(set.size(), 2);
+  }
+
   @Test
   void isIdSet() {
     AddressEntry a = createA();
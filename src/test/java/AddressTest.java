@@ -39,6 +39,16 @@ class AddressTest {
     assertNotEquals(addressB, null);
   }
 
+  @Test
+  void _hashCode() {
+    Address a = createA();
+    assertEquals(a.hashCode(), createA().hashCode());
+    a.setZip(54321);
+    assertNotEquals(a.hashCode(), createA().hashCode());
+    a.setZip(12345);
+    assertEquals(a.hashCode(), createA().hashCode());
+  }
+
   @Test
   void getStreet() {
     assertEquals(createA().getStreet(), "123 Main Street");
@@ -0,0 +1,223 @@
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.event.ChangeListener;
+import address.event.ChangePublisher;
+import address.event.ChangeSubscriber;
+import address.event.ContactChange;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ChangePublisher}, and the changes {@link AddressBook} hands out through it
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class ChangePublisherTest {
+
+  private static final ImmutableAddressEntry
+    SMITH = ImmutableAddressEntry.builder().id(UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315"))
+      .firstName("John").lastName("Smith").street("123 Main Street").city("San Francisco").state("CA").zip(12345)
+      .phone("555-555-1234").email("john.smith@example.com").build(),
+    DOE = ImmutableAddressEntry.builder().id(UUID.fromString("15e9c516-fab6-45d1-97c3-78a172dabb49"))
+      .firstName("Michael").lastName("Doe").street("456 Elm Avenue").city("Seattle").state("WA").zip(67890)
+      .phone("123-456-7890").email("michael.doe@example.com").build();
+
+  /**
+   * Remembers every batch of changes, and counts resets.
+   */
+  private static class RecordingListener implements ChangeListener {
+    final List<List<ContactChange>> batches = new ArrayList<>();
+    int resets;
+
+    @Override
+    public void onChanges(List<ContactChange> changes) {
+      batches.add(changes);
+    }
+
+    @Override
+    public void onReset() {
+      resets++;
+    }
+  }
+
+  /**
+   * Asks for one batch at a time, and only when told to.
+   */
+  private static class RecordingSubscriber extends RecordingListener implements ChangeSubscriber {
+    Subscription subscription;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+  }
+
+  /**
+   * Runs tasks only when told to, so tests can control when subscribers are called.
+   */
+  private static class ManualExecutor implements java.util.concurrent.Executor {
+    final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.poll().run();
+      }
+    }
+  }
+
+  @Test
+  void book_addUpdateRemove() {
+    AddressBook book = new AddressBook();
+    RecordingListener listener = new RecordingListener();
+    book.getChanges().addListener(listener);
+    ImmutableAddressEntry updated = SMITH.toBuilder().city("Oakland").build();
+    book.add(SMITH);
+    // rejected changes aren't handed out
+    book.add(SMITH);
+    book.update(updated);
+    book.remove(SMITH.getId());
+    book.remove(SMITH.getId());
+    assertEquals(listener.batches.size(), 3);
+    ContactChange added = listener.batches.get(0).get(0);
+    assertEquals(added.getType(), ContactChange.Type.ADDED);
+    assertNull(added.getOldEntry());
+    assertSame(added.getNewEntry(), SMITH);
+    ContactChange update = listener.batches.get(1).get(0);
+    assertEquals(update.getType(), ContactChange.Type.UPDATED);
+    assertSame(update.getOldEntry(), SMITH);
+    assertSame(update.getNewEntry(), updated);
+    ContactChange removed = listener.batches.get(2).get(0);
+    assertEquals(removed.getType(), ContactChange.Type.REMOVED);
+    assertSame(removed.getOldEntry(), updated);
+    assertNull(removed.getNewEntry());
+    assertEquals(removed.getId(), SMITH.getId());
+  }
+
+  @Test
+  void book_batch() {
+    AddressBook book = new AddressBook();
+    RecordingListener listener = new RecordingListener();
+    book.getChanges().addListener(listener);
+    book.batch(() -> {
+      book.add(SMITH);
+      book.batch(() -> book.add(DOE));
+      // nothing is handed out until the outermost batch is done
+      assertTrue(listener.batches.isEmpty());
+      book.remove(DOE.getId());
+    });
+    assertEquals(listener.batches.size(), 1);
+    assertEquals(listener.batches.get(0).size(), 3);
+    assertEquals(listener.batches.get(0).get(1).getNewEntry(), DOE);
+    assertThrows(UnsupportedOperationException.class, () -> listener.batches.get(0).clear());
+  }
+
+  @Test
+  void book_clear() {
+    AddressBook book = new AddressBook();
+    book.add(SMITH);
+    RecordingListener listener = new RecordingListener();
+    book.getChanges().addListener(listener);
+    book.clear();
+    assertEquals(listener.resets, 1);
+    assertTrue(listener.batches.isEmpty());
+  }
+
+  @Test
+  void listener_failing() {
+    ChangePublisher publisher = new ChangePublisher();
+    RecordingListener good = new RecordingListener();
+    publisher.addListener(changes -> {
+      throw new IllegalStateException("broken");
+    });
+    publisher.addListener(good);
+    publisher.publish(Arrays.asList(ContactChange.added(SMITH)));
+    publisher.publish(Arrays.asList(ContactChange.added(DOE)));
+    assertEquals(good.batches.size(), 2);
+    assertTrue(publisher.removeListener(good));
+    assertFalse(publisher.hasListeners());
+  }
+
+  @Test
+  void subscriber_onlyWhenRequested() {
+    ChangePublisher publisher = new ChangePublisher();
+    ManualExecutor executor = new ManualExecutor();
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber, executor, 10);
+    assertNotNull(subscriber.subscription);
+    publisher.publish(Arrays.asList(ContactChange.added(SMITH)));
+    executor.runAll();
+    assertTrue(subscriber.batches.isEmpty());
+    subscriber.subscription.request(1);
+    executor.runAll();
+    assertEquals(subscriber.batches.size(), 1);
+    // everything made while nothing was requested comes in one batch
+    publisher.publish(Arrays.asList(ContactChange.added(DOE)));
+    publisher.publish(Arrays.asList(ContactChange.removed(SMITH), ContactChange.removed(DOE)));
+    subscriber.subscription.request(5);
+    executor.runAll();
+    assertEquals(subscriber.batches.size(), 2);
+    assertEquals(subscriber.batches.get(1).size(), 3);
+  }
+
+  @Test
+  void subscriber_overflow() {
+    ChangePublisher publisher = new ChangePublisher();
+    ManualExecutor executor = new ManualExecutor();
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber, executor, 2);
+    for (int i = 0; i < 3; i++) {
+      publisher.publish(Arrays.asList(ContactChange.added(SMITH)));
+    }
+    subscriber.subscription.request(Long.MAX_VALUE);
+    executor.runAll();
+    assertTrue(subscriber.batches.isEmpty());
+    assertEquals(subscriber.resets, 1);
+    // and then carries on as normal
+    publisher.publish(Arrays.asList(ContactChange.added(DOE)));
+    executor.runAll();
+    assertEquals(subscriber.batches.size(), 1);
+  }
+
+  @Test
+  void subscriber_cancel() {
+    ChangePublisher publisher = new ChangePublisher();
+    ManualExecutor executor = new ManualExecutor();
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber, executor, 10);
+    subscriber.subscription.request(1);
+    publisher.publish(Arrays.asList(ContactChange.added(SMITH)));
+    subscriber.subscription.cancel();
+    executor.runAll();
+    assertTrue(subscriber.batches.isEmpty());
+    assertFalse(publisher.hasListeners());
+    assertThrows(IllegalArgumentException.class, () -> subscriber.subscription.request(0));
+  }
+
+  @Test
+  void subscriber_failing() {
+    ChangePublisher publisher = new ChangePublisher();
+    ChangeSubscriber subscriber = new RecordingSubscriber() {
+      @Override
+      public void onChanges(List<ContactChange> changes) {
+        throw new IllegalStateException("broken");
+      }
+    };
+    publisher.subscribe(subscriber, Runnable::run, 10).request(Long.MAX_VALUE);
+    publisher.publish(Arrays.asList(ContactChange.added(SMITH)));
+    assertFalse(publisher.hasListeners());
+  }
+
+}
@@ -0,0 +1,115 @@
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.query.ContactQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ContactQuery}, run through {@link AddressBook#query(ContactQuery)}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class ContactQueryTest {
+
+  private static final UUID
+    ID_A = UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315"),
+    ID_B = UUID.fromString("15e9c516-fab6-45d1-97c3-78a172dabb49"),
+    ID_C = UUID.fromString("e1052539-c5e0-457a-bf10-cbe591c2c53f"),
+    ID_D = UUID.fromString("b8ac866d-6ba6-49c5-8bfc-c7bf2f2f4f48");
+
+  private static AddressBook createBook() {
+    AddressBook ab = new AddressBook();
+    ab.add(ImmutableAddressEntry.builder().id(ID_A).firstName("John").lastName("Smith").street("123 Main Street")
+      .city("San Francisco").state("CA").zip(12345).phone("555-555-1234").email("john.smith@example.com").build());
+    ab.add(ImmutableAddressEntry.builder().id(ID_B).firstName("Michael").lastName("Doe").street("456 Elm Avenue")
+      .city("Seattle").state("WA").zip(67890).phone("123-456-7890").email("michael.doe@example.com").build());
+    ab.add(ImmutableAddressEntry.builder().id(ID_C).firstName("Jane").lastName("Doe").street("789 Main Street")
+      .city("San Diego").state("CA").zip(76543).phone("987-654-4321").email("jdoe@website.org").build());
+    ab.add(ImmutableAddressEntry.builder().id(ID_D).firstName("Adam").lastName("Smithers").street("1 Elm Avenue")
+      .city("San Francisco").state("ca").zip(12346).phone("(555) 555-9999").email("adam@example.com").build());
+    return ab;
+  }
+
+  private static List<UUID> ids(List<ImmutableAddressEntry> entries) {
+    return entries.stream().map(ImmutableAddressEntry::getId).collect(Collectors.toList());
+  }
+
+  @Test
+  void query_all() {
+    AddressBook ab = createBook();
+    // by last name, then first name
+    assertEquals(ids(ab.query(ContactQuery.builder().build())), Arrays.asList(ID_C, ID_B, ID_A, ID_D));
+    assertEquals(ids(ab.query(ContactQuery.builder().orderBy(ContactQuery.Order.ZIP).build())),
+      Arrays.asList(ID_A, ID_D, ID_B, ID_C));
+  }
+
+  @Test
+  void query_conditions() {
+    AddressBook ab = createBook();
+    assertEquals(ids(ab.query(ContactQuery.builder().stateEquals("CA").build())), Arrays.asList(ID_C, ID_A, ID_D));
+    assertEquals(ids(ab.query(ContactQuery.builder().stateEquals("ca").lastNameStartsWith("smi").build())),
+      Arrays.asList(ID_A, ID_D));
+    assertEquals(ids(ab.query(ContactQuery.builder().lastNameEquals("Smith").build())), Arrays.asList(ID_A));
+    assertEquals(ids(ab.query(ContactQuery.builder().cityEquals("san francisco").build())),
+      Arrays.asList(ID_A, ID_D));
+    // "San Diego" shares a word with "San Francisco", but isn't equal to it
+    assertEquals(ids(ab.query(ContactQuery.builder().cityEquals("San Diego").build())), Arrays.asList(ID_C));
+    assertEquals(ids(ab.query(ContactQuery.builder().zipEquals(67890).build())), Arrays.asList(ID_B));
+    assertEquals(ids(ab.query(ContactQuery.builder().phoneEquals("5555559999").build())), Arrays.asList(ID_D));
+    assertEquals(ids(ab.query(ContactQuery.builder().phoneContains("555-55").build())), Arrays.asList(ID_A, ID_D));
+    assertEquals(ids(ab.query(ContactQuery.builder().emailEquals("JDOE@website.org").build())), Arrays.asList(ID_C));
+    assertEquals(ids(ab.query(ContactQuery.builder().streetContains("elm").firstNameStartsWith("mi").build())),
+      Arrays.asList(ID_B));
+    assertTrue(ab.query(ContactQuery.builder().stateEquals("WA").lastNameStartsWith("Smith").build()).isEmpty());
+    assertTrue(ab.query(ContactQuery.builder().cityEquals("Nowhere").build()).isEmpty());
+  }
+
+  @Test
+  void query_paging() {
+    AddressBook ab = createBook();
+    assertEquals(ids(ab.query(ContactQuery.builder().limit(2).build())), Arrays.asList(ID_C, ID_B));
+    assertEquals(ids(ab.query(ContactQuery.builder().offset(2).limit(5).build())), Arrays.asList(ID_A, ID_D));
+    assertEquals(ids(ab.query(ContactQuery.builder().stateEquals("CA").orderBy(ContactQuery.Order.ZIP)
+      .offset(1).limit(1).build())), Arrays.asList(ID_D));
+    assertTrue(ab.query(ContactQuery.builder().limit(0).build()).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> ContactQuery.builder().limit(-1));
+  }
+
+  @Test
+  void query_afterUpdate() {
+    AddressBook ab = createBook();
+    ab.update(ab.getImmutable(ID_B).toBuilder().state("CA").lastName("Smithson").build());
+    assertEquals(ids(ab.query(ContactQuery.builder().stateEquals("CA").lastNameStartsWith("Smith").build())),
+      Arrays.asList(ID_A, ID_D, ID_B));
+    assertTrue(ab.query(ContactQuery.builder().stateEquals("WA").build()).isEmpty());
+    ab.remove(ID_A);
+    assertEquals(ids(ab.query(ContactQuery.builder().lastNameStartsWith("Smith").build())),
+      Arrays.asList(ID_D, ID_B));
+    ab.clear();
+    assertTrue(ab.query(ContactQuery.builder().build()).isEmpty());
+  }
+
+  @Test
+  void explain() {
+    AddressBook ab = createBook();
+    String plan = ab.explain(ContactQuery.builder().stateEquals("WA").lastNameStartsWith("S").build());
+    assertTrue(plan.startsWith("access: state index lookup \"WA\""), plan);
+    assertTrue(plan.contains("not used: last name index range \"S\""), plan);
+    plan = ab.explain(ContactQuery.builder().lastNameStartsWith("Doe").limit(1).build());
+    assertTrue(plan.startsWith("access: last name index range \"Doe\""), plan);
+    assertTrue(plan.contains("(already in order)"), plan);
+    // most contacts are in CA, so walking through all of them by name finds the first one soonest
+    plan = ab.explain(ContactQuery.builder().stateEquals("CA").limit(1).build());
+    assertTrue(plan.startsWith("access: last name index range \"\""), plan);
+    assertTrue(plan.contains("not used: state index lookup \"CA\""), plan);
+    assertEquals(ids(ab.query(ContactQuery.builder().stateEquals("CA").limit(1).build())), Arrays.asList(ID_C));
+    plan = ab.explain(ContactQuery.builder().streetContains("Elm").orderBy(ContactQuery.Order.CITY).build());
+    assertTrue(plan.startsWith("access: full scan"), plan);
+    assertTrue(plan.contains("(full sort)"), plan);
+  }
+
+}
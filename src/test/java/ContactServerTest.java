@@ -0,0 +1,259 @@
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.io.JsonContactReader;
+import address.server.ContactServer;
+import address.store.Mutation;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ContactServer} and {@link JsonContactReader}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class ContactServerTest {
+
+  private static final ImmutableAddressEntry
+    SMITH = ImmutableAddressEntry.builder().id(new UUID(0, 1)).firstName("John").lastName("Smith")
+      .street("123 Main Street").city("San Francisco").state("CA").zip(12345).phone("555-555-1234")
+      .email("john.smith@example.com").build(),
+    SMYTHE = ImmutableAddressEntry.builder().id(new UUID(0, 2)).firstName("Anne").lastName("Smythe")
+      .street("1 Elm Street").city("Hayward").state("CA").zip(94542).phone("555-555-0000")
+      .email("anne@example.com").build();
+  private static final String NEW_CONTACT = "{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"street\":\"2 Oak Street\","
+    + "\"city\":\"Oakland\",\"state\":\"CA\",\"zip\":94601,\"phone\":\"555-555-9999\",\"email\":\"jane@example.com\"}";
+
+  private final AddressBook book = new AddressBook();
+  private final List<Mutation> written = new ArrayList<>();
+  private boolean storeFails;
+  private ContactServer server;
+
+  /** The status, headers and body of a response */
+  private static final class Response {
+    int status;
+    String body;
+    HttpURLConnection conn;
+  }
+
+  /** Serves {@link #book}, holding {@link #SMITH} and {@link #SMYTHE}, and stores changes in {@link #written} */
+  private ContactServer start() throws IOException {
+    book.add(SMITH);
+    book.add(SMYTHE);
+    server = new ContactServer(book, mutations -> {
+      if (storeFails) {
+        throw new SQLException("Database is down", "08006");
+      }
+      written.addAll(mutations);
+    }, new InetSocketAddress("127.0.0.1", 0), 4);
+    server.start();
+    return server;
+  }
+
+  private Response request(String method, String path, String body) throws IOException {
+    return request(method, path, body, null);
+  }
+
+  private Response request(String method, String path, String body, String ifMatch) throws IOException {
+    HttpURLConnection conn = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path)
+      .openConnection();
+    conn.setRequestMethod(method);
+    if (ifMatch != null) {
+      conn.setRequestProperty("If-Match", ifMatch);
+    }
+    if (body != null) {
+      conn.setDoOutput(true);
+      conn.setRequestProperty("Content-Type", "application/json");
+      try (OutputStream out = conn.getOutputStream()) {
+        out.write(body.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    Response response = new Response();
+    response.conn = conn;
+    response.status = conn.getResponseCode();
+    InputStream in = response.status >= 400 ? conn.getErrorStream() : conn.getInputStream();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    if (in != null) {
+      try (InputStream stream = in) {
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+          bytes.write(buffer, 0, read);
+        }
+      }
+    }
+    response.body = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    return response;
+  }
+
+  @Test
+  void get() throws IOException {
+    try (ContactServer ignored = start()) {
+      Response response = request("GET", "/contacts/" + SMITH.getId(), null);
+      assertEquals(response.status, 200);
+      assertEquals(JsonContactReader.read(response.body, ImmutableAddressEntry.builder().id(SMITH.getId())).build(),
+        SMITH);
+      assertEquals(request("GET", "/contacts/" + new UUID(0, 3), null).status, 404);
+      assertEquals(request("GET", "/contacts/not-an-id", null).status, 404);
+      assertEquals(request("GET", "/contactsfoo", null).status, 404);
+    }
+  }
+
+  @Test
+  void find() throws IOException {
+    try (ContactServer ignored = start()) {
+      Response response = request("GET", "/contacts?lastName=sm", null);
+      assertEquals(response.status, 200);
+      assertEquals(response.conn.getHeaderField("X-Total-Count"), "2");
+      String[] lines = response.body.split("\n");
+      assertEquals(lines.length, 2);
+      assertTrue(lines[0].contains("\"lastName\":\"Smith\""));
+      assertTrue(lines[1].contains("\"lastName\":\"Smythe\""));
+
+      response = request("GET", "/contacts?lastName=Smy&limit=5", null);
+      assertEquals(response.conn.getHeaderField("X-Total-Count"), "1");
+      assertEquals(request("GET", "/contacts?limit=1", null).body.split("\n").length, 1);
+      assertEquals(request("GET", "/contacts?lastName=Zz", null).body, "");
+      assertEquals(request("GET", "/contacts?limit=-1", null).status, 400);
+    }
+  }
+
+  @Test
+  void find_large() throws IOException {
+    try (ContactServer ignored = start()) {
+      for (int i = 0; i < 20_000; i++) {
+        book.add(SMITH.toBuilder().id(new UUID(1, i)).firstName("First" + i).build());
+      }
+      Response response = request("GET", "/contacts?lastName=Smith", null);
+      assertEquals(response.status, 200);
+      assertEquals(response.conn.getHeaderField("Transfer-Encoding"), "chunked");
+      assertEquals(response.body.split("\n").length, 20_001);
+    }
+  }
+
+  @Test
+  void add() throws IOException {
+    try (ContactServer ignored = start()) {
+      Response response = request("POST", "/contacts", NEW_CONTACT);
+      assertEquals(response.status, 201);
+      UUID id = UUID.fromString(response.conn.getHeaderField("Location").substring("/contacts/".length()));
+      ImmutableAddressEntry added = book.getImmutable(id);
+      assertNotNull(added);
+      assertEquals(added.getLastName(), "Doe");
+      assertEquals(added.getZip(), 94601);
+      assertEquals(written, Collections.singletonList(Mutation.insert(added)));
+
+      assertEquals(request("POST", "/contacts", "{\"firstName\":\"Jane\"}").status, 422);
+      assertEquals(request("POST", "/contacts", "{\"firstName\":").status, 400);
+      assertEquals(request("POST", "/contacts", "{\"zip\":\"abc\"}").status, 400);
+      assertEquals(request("DELETE", "/contacts", null).status, 405);
+      assertEquals(book.count(), 3);
+    }
+  }
+
+  @Test
+  void update() throws IOException {
+    try (ContactServer ignored = start()) {
+      Response response = request("PUT", "/contacts/" + SMITH.getId(), "{\"city\":\"Oakland\",\"zip\":\"94601\"}");
+      assertEquals(response.status, 200);
+      assertEquals(response.conn.getHeaderField("ETag"), "\"1\"");
+      ImmutableAddressEntry updated = SMITH.toBuilder().city("Oakland").zip(94601).version(1).build();
+      assertEquals(book.getImmutable(SMITH.getId()), updated);
+      assertEquals(written, Collections.singletonList(Mutation.update(updated)));
+      assertEquals(request("PUT", "/contacts/" + SMITH.getId(), "{\"state\":\"California\"}").status, 422);
+      assertEquals(request("PUT", "/contacts/" + new UUID(0, 3), "{}").status, 404);
+    }
+  }
+
+  @Test
+  void update_conflict() throws IOException {
+    try (ContactServer ignored = start()) {
+      Response response = request("GET", "/contacts/" + SMITH.getId(), null);
+      String version = response.conn.getHeaderField("ETag");
+      assertEquals(version, "\"0\"");
+      assertEquals(request("PUT", "/contacts/" + SMITH.getId(), "{\"city\":\"Oakland\"}", version).status, 200);
+
+      // somebody else changed it since the version they read, so they're given the contact as it is now
+      response = request("PUT", "/contacts/" + SMITH.getId(), "{\"city\":\"Seattle\"}", version);
+      assertEquals(response.status, 409);
+      assertEquals(response.conn.getHeaderField("ETag"), "\"1\"");
+      assertEquals(JsonContactReader.read(response.body, ImmutableAddressEntry.builder()).build().getCity(), "Oakland");
+      assertEquals(book.getImmutable(SMITH.getId()).getCity(), "Oakland");
+      assertEquals(written.size(), 1);
+
+      assertEquals(request("PUT", "/contacts/" + SMITH.getId(), "{\"city\":\"Seattle\"}", "\"1\"").status, 200);
+      assertEquals(request("PUT", "/contacts/" + SMITH.getId(), "{\"city\":\"Seattle\"}", "1").status, 400);
+      assertEquals(book.getImmutable(SMITH.getId()).getCity(), "Seattle");
+    }
+  }
+
+  @Test
+  void remove() throws IOException {
+    try (ContactServer ignored = start()) {
+      assertEquals(request("DELETE", "/contacts/" + SMITH.getId(), null).status, 204);
+      assertNull(book.getImmutable(SMITH.getId()));
+      assertEquals(written, Collections.singletonList(Mutation.delete(SMITH.getId())));
+      assertEquals(request("DELETE", "/contacts/" + SMITH.getId(), null).status, 404);
+    }
+  }
+
+  @Test
+  void storeFails() throws IOException {
+    try (ContactServer ignored = start()) {
+      storeFails = true;
+      assertEquals(request("DELETE", "/contacts/" + SMITH.getId(), null).status, 503);
+      assertEquals(request("POST", "/contacts", NEW_CONTACT).status, 503);
+      // nothing changes in the book unless it was stored
+      assertNotNull(book.getImmutable(SMITH.getId()));
+      assertEquals(book.count(), 2);
+    }
+  }
+
+  @Test
+  void readOnly() throws IOException {
+    book.add(SMITH);
+    server = new ContactServer(book, null, book, new InetSocketAddress("127.0.0.1", 0), 4);
+    try (ContactServer ignored = server) {
+      server.start();
+      assertEquals(request("GET", "/contacts/" + SMITH.getId(), null).status, 200);
+      assertEquals(request("GET", "/contacts?lastName=Sm", null).body.split("\n").length, 1);
+      assertEquals(request("POST", "/contacts", NEW_CONTACT).status, 405);
+      assertEquals(request("PUT", "/contacts/" + SMITH.getId(), "{\"city\":\"Oakland\"}").status, 405);
+      assertEquals(request("DELETE", "/contacts/" + SMITH.getId(), null).status, 405);
+      assertEquals(book.getImmutable(SMITH.getId()), SMITH);
+    }
+  }
+
+  @Test
+  void readJson() {
+    ImmutableAddressEntry entry = JsonContactReader.read(" { \"firstName\" : \"J\\u00f6rg\\n\", \"lastName\":\"O\\\"Neil\","
+      + "\"zip\":12345, \"extra\":true, \"id\":\"x\"}", ImmutableAddressEntry.builder()).build();
+    assertEquals(entry.getFirstName(), "J\u00f6rg");
+    assertEquals(entry.getLastName(), "O\"Neil");
+    assertEquals(entry.getZip(), 12345);
+    assertNull(entry.getId());
+    assertEquals(JsonContactReader.read("{}", SMITH.toBuilder()).build(), SMITH);
+    assertEquals(JsonContactReader.read("{\"phone\":null}", SMITH.toBuilder()).build().getPhone(), "");
+    assertThrows(IllegalArgumentException.class, () -> JsonContactReader.read("", ImmutableAddressEntry.builder()));
+    assertThrows(IllegalArgumentException.class,
+      () -> JsonContactReader.read("{\"zip\":1.5}", ImmutableAddressEntry.builder()));
+    assertThrows(IllegalArgumentException.class,
+      () -> JsonContactReader.read("{\"city\":5}", ImmutableAddressEntry.builder()));
+    assertThrows(IllegalArgumentException.class,
+      () -> JsonContactReader.read("{\"city\":\"a\"} x", ImmutableAddressEntry.builder()));
+    assertThrows(IllegalArgumentException.class,
+      () -> JsonContactReader.read("{\"city\":\"a\" \"state\":\"b\"}", ImmutableAddressEntry.builder()));
+  }
+
+}
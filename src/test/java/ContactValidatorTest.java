@@ -0,0 +1,144 @@
+import address.Utils;
+import address.data.ImmutableAddressEntry;
+import address.validation.ContactValidator;
+import address.validation.ValidationResult;
+import address.validation.ValidationResult.Field;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ContactValidator}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class ContactValidatorTest {
+
+  // what Utils.isEmailValid used to check with
+  private static final Pattern EMAIL_PATTERN = Pattern.compile("^.+@.+\\..+$");
+
+  private static final ImmutableAddressEntry VALID = ImmutableAddressEntry.builder().id(UUID.randomUUID())
+    .firstName("John").lastName("Smith").street("123 Main Street").city("San Francisco").state("CA").zip(12345)
+    .phone("555-555-1234").email("john.smith@example.com").build();
+
+  @Test
+  void isEmailValid_sameAsPattern() {
+    String[] emails = {
+      "", "@", ".", "a@b.c", "@b.c", "a@.c", "a@b.", "a@bc", "ab.c", "a@b.c.", "a@b..", "a.b@c", "@@b.c", "a@@b.c",
+      "@a@b.c", "a@b@c.d", "a@.b.c", "a.@b.c", "..@..", "a@b.c\n", "\na@b.c", "a@b\r.c", "a@b.c\u0085",
+      "a@b\u2028.c", "a\u2029@b.c", "a@b.\tc", "\ud83d\ude00@\ud83d\ude00.\ud83d\ude00", "a @ b . c",
+      "john.smith@example.com", "john@example", "john@.com", "john@example.c"
+    };
+    for (String email : emails) {
+      assertEquals(ContactValidator.isEmailValid(email), EMAIL_PATTERN.matcher(email).matches(), email);
+    }
+    Random random = new Random(401);
+    char[] alphabet = {'a', 'b', '@', '.', '\n', '\u2028'};
+    for (int i = 0; i < 100_000; i++) {
+      char[] email = new char[random.nextInt(8)];
+      for (int j = 0; j < email.length; j++) {
+        email[j] = alphabet[random.nextInt(alphabet.length)];
+      }
+      String s = new String(email);
+      assertEquals(ContactValidator.isEmailValid(s), EMAIL_PATTERN.matcher(s).matches(), s);
+    }
+  }
+
+  @Test
+  void countDigits() {
+    assertEquals(ContactValidator.countDigits(""), 0);
+    assertEquals(ContactValidator.countDigits("555-555-1234"), 10);
+    assertEquals(ContactValidator.countDigits("/:09"), 2);
+    // Arabic-Indic and fullwidth digits count too, same as Character.isDigit
+    assertEquals(ContactValidator.countDigits("12\u0663\u0664-\uff15x"), 5);
+    for (char c = 0; c < 0x80; c++) {
+      assertEquals(ContactValidator.countDigits(String.valueOf(c)), Character.isDigit(c) ? 1 : 0);
+    }
+  }
+
+  @Test
+  void validate_valid() {
+    ValidationResult result = new ValidationResult();
+    assertTrue(ContactValidator.validate(VALID, result));
+    assertTrue(result.isValid());
+    assertNull(result.getFirstFailure());
+    assertEquals(result.getMessage(), "");
+    assertEquals(ContactValidator.validate(VALID), 0);
+  }
+
+  @Test
+  void validate_reportsEveryField() {
+    ImmutableAddressEntry entry = VALID.toBuilder().lastName("").state("CAL").phone("555").build();
+    ValidationResult result = new ValidationResult();
+    assertFalse(ContactValidator.validate(entry, result));
+    assertTrue(result.has(Field.LAST_NAME));
+    assertTrue(result.has(Field.STATE));
+    assertTrue(result.has(Field.PHONE));
+    assertFalse(result.has(Field.FIRST_NAME));
+    assertFalse(result.has(Field.EMAIL));
+    assertEquals(result.getFirstFailure(), Field.LAST_NAME);
+    assertEquals(result.getMessage(),
+      "Last name cannot be empty; State code must be 2 characters; Phone number must have at least 10 digits");
+  }
+
+  @Test
+  void validate_reusedResult() {
+    ValidationResult result = new ValidationResult();
+    assertFalse(ContactValidator.validate(VALID.toBuilder().zip(1234).build(), result));
+    assertEquals(result.getFailures(), Field.ZIP.mask());
+    assertTrue(ContactValidator.validate(VALID, result));
+    assertTrue(result.isValid());
+  }
+
+  @Test
+  void validate_mutableEntry() {
+    ValidationResult result = new ValidationResult();
+    assertFalse(ContactValidator.validate(VALID.toBuilder().email("john").build().toEntry(), result));
+    assertEquals(result.getFirstFailure(), Field.EMAIL);
+    assertTrue(ContactValidator.validate(VALID.toEntry(), result));
+  }
+
+  @Test
+  void validateAddressEntry_firstFailure() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+      () -> Utils.validateAddressEntry(VALID.toBuilder().city("").email("").build().toEntry()));
+    assertEquals(e.getMessage(), "City name cannot be empty");
+  }
+
+  @Test
+  void validateAll() {
+    Random random = new Random(401);
+    List<ImmutableAddressEntry> entries = new ArrayList<>();
+    // enough to be checked in parallel
+    for (int i = 0; i < 50_000; i++) {
+      ImmutableAddressEntry.Builder builder = VALID.toBuilder();
+      if (random.nextInt(4) == 0) {
+        builder.zip(random.nextInt(20000));
+      }
+      if (random.nextInt(4) == 0) {
+        builder.email(random.nextBoolean() ? "john@example" : "john.smith@example.com\n");
+      }
+      entries.add(builder.build());
+    }
+    int[] failures = ContactValidator.validateAll(entries);
+    assertEquals(failures.length, entries.size());
+    for (int i = 0; i < failures.length; i++) {
+      assertEquals(failures[i], ContactValidator.validate(entries.get(i)));
+    }
+    assertArrayEquals(ContactValidator.validateAll(new ArrayList<>()), new int[0]);
+  }
+
+  @Test
+  void describe() {
+    assertEquals(ValidationResult.describe(0), "");
+    assertEquals(ValidationResult.describe(Field.FIRST_NAME.mask() | Field.EMAIL.mask()),
+      "First name cannot be empty; Improperly formatted email address");
+  }
+
+}
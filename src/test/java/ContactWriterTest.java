@@ -0,0 +1,114 @@
+import address.data.ImmutableAddressEntry;
+import address.io.ContactWriter;
+import address.io.CsvImporter;
+import address.io.CsvReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ContactWriter} and its formats
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class ContactWriterTest {
+
+  private static final ImmutableAddressEntry
+    SMITH = ImmutableAddressEntry.builder().id(new UUID(0, 1)).firstName("John").lastName("Smith")
+      .street("123 Main Street, Apt \"B\"").city("San Francisco").state("CA").zip(12345).phone("555-555-1234")
+      .email("john.smith@example.com").build(),
+    DOE = ImmutableAddressEntry.builder().id(new UUID(0, 2)).firstName("Jane").lastName("Doe; Jr.")
+      .street("1 Elm Street\nSuite 2").city("Hayward").state("CA").zip(94542).phone("555-555-0000")
+      .email("jane@example.com").build();
+
+  private static String write(ContactWriter.Format format, ImmutableAddressEntry... entries) throws IOException {
+    StringWriter out = new StringWriter();
+    try (ContactWriter writer = format.create(out)) {
+      writer.writeAll(Arrays.asList(entries).iterator());
+      assertEquals(writer.getCount(), entries.length);
+    }
+    return out.toString();
+  }
+
+  @Test
+  void csv() throws IOException {
+    String csv = write(ContactWriter.Format.CSV, SMITH, DOE);
+    assertTrue(csv.startsWith("id,firstName,lastName,street,city,state,zip,phone,email\r\n" +
+      "00000000-0000-0000-0000-000000000001,John,Smith,\"123 Main Street, Apt \"\"B\"\"\",San Francisco,CA,"));
+    // can be read back in exactly as it was
+    CsvReader reader = new CsvReader(Channels.newChannel(
+      new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))), StandardCharsets.UTF_8);
+    CsvImporter.Result result = new CsvImporter(null).importFrom(reader, Collections.emptyList());
+    assertTrue(result.getRejects().isEmpty());
+    assertEquals(result.getImported(), Arrays.asList(SMITH, DOE));
+  }
+
+  @Test
+  void csv_empty() throws IOException {
+    assertEquals(write(ContactWriter.Format.CSV), "id,firstName,lastName,street,city,state,zip,phone,email\r\n");
+  }
+
+  @Test
+  void jsonLines() throws IOException {
+    String json = write(ContactWriter.Format.JSON_LINES, SMITH, DOE.toBuilder().city("Tab\tand \\ \u0001").build());
+    String[] lines = json.split("\n");
+    assertEquals(lines.length, 2);
+    assertEquals(lines[0], "{\"id\":\"00000000-0000-0000-0000-000000000001\",\"firstName\":\"John\"," +
+      "\"lastName\":\"Smith\",\"street\":\"123 Main Street, Apt \\\"B\\\"\",\"city\":\"San Francisco\"," +
+      "\"state\":\"CA\",\"zip\":12345,\"phone\":\"555-555-1234\",\"email\":\"john.smith@example.com\"}");
+    assertTrue(lines[1].contains("\"street\":\"1 Elm Street\\nSuite 2\""));
+    assertTrue(lines[1].contains("\"city\":\"Tab\\tand \\\\ \\u0001\""));
+  }
+
+  @Test
+  void vCard() throws IOException {
+    String vcf = write(ContactWriter.Format.VCARD, DOE);
+    assertEquals(vcf, "BEGIN:VCARD\r\nVERSION:4.0\r\n" +
+      "UID:urn:uuid:00000000-0000-0000-0000-000000000002\r\n" +
+      "FN:Jane Doe\\; Jr.\r\n" +
+      "N:Doe\\; Jr.;Jane;;;\r\n" +
+      "ADR;TYPE=home:;;1 Elm Street\\nSuite 2;Hayward;CA;94542;\r\n" +
+      "TEL;VALUE=text:555-555-0000\r\n" +
+      "EMAIL:jane@example.com\r\n" +
+      "END:VCARD\r\n");
+  }
+
+  @Test
+  void vCard_folding() throws IOException {
+    String street = String.join("", Collections.nCopies(40, "\u00e9"));
+    String vcf = write(ContactWriter.Format.VCARD, SMITH.toBuilder().street(street).build());
+    for (String line : vcf.split("\r\n")) {
+      assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+    }
+    // unfolding gives back the original line
+    assertTrue(vcf.replace("\r\n ", "").contains("ADR;TYPE=home:;;" + street + ";San Francisco;CA;12345;\r\n"));
+  }
+
+  @Test
+  void open_gzip() throws IOException {
+    Path file = Files.createTempFile("contacts", ".jsonl.gz");
+    try {
+      try (ContactWriter writer = ContactWriter.open(file, ContactWriter.Format.JSON_LINES, true)) {
+        writer.write(SMITH);
+        writer.write(DOE);
+      }
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+        assertEquals(reader.readLine(), write(ContactWriter.Format.JSON_LINES, SMITH).trim());
+        assertNotNull(reader.readLine());
+        assertNull(reader.readLine());
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+}
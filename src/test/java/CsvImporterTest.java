@@ -0,0 +1,145 @@
+import address.data.ImmutableAddressEntry;
+import address.io.CsvImporter;
+import address.io.CsvReader;
+import address.store.ContactStore;
+import address.store.Mutation;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link CsvImporter} and {@link CsvReader}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class CsvImporterTest {
+
+  private static final String HEADER = "email,firstName,lastName,street,city,state,zip,phone,notes\r\n";
+  private static final String ROW = "john.smith@example.com,John,Smith,# Main Street,San Francisco,CA,12345," +
+    "555-555-1234,\r\n";
+
+  private static CsvReader reader(String csv) {
+    return new CsvReader(Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))),
+      StandardCharsets.UTF_8);
+  }
+
+  private static List<String[]> readAll(String csv) throws IOException {
+    List<String[]> records = new ArrayList<>();
+    try (CsvReader reader = reader(csv)) {
+      String[] record;
+      while ((record = reader.next()) != null) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+
+  @Test
+  void next() throws IOException {
+    List<String[]> records = readAll("\uFEFFa,\"b,c\",\"d \"\"e\"\"\"\r\n\"multi\nline\",,x\ny");
+    assertEquals(records.size(), 3);
+    assertArrayEquals(records.get(0), new String[] {"a", "b,c", "d \"e\""});
+    assertArrayEquals(records.get(1), new String[] {"multi\nline", "", "x"});
+    assertArrayEquals(records.get(2), new String[] {"y"});
+  }
+
+  @Test
+  void next_lineNumbers() throws IOException {
+    try (CsvReader reader = reader("a\r\n\"b\nc\"\nd\n")) {
+      reader.next();
+      assertEquals(reader.getLineNumber(), 1);
+      reader.next();
+      assertEquals(reader.getLineNumber(), 2);
+      reader.next();
+      assertEquals(reader.getLineNumber(), 4);
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  void next_unclosedQuote() {
+    assertThrows(IOException.class, () -> readAll("a\n\"b,c\n"));
+  }
+
+  @Test
+  void next_largeFile() throws IOException {
+    // much bigger than the reader's buffers, with multi-byte characters straddling their edges
+    StringBuilder csv = new StringBuilder();
+    for (int i = 0; i < 20_000; i++) {
+      csv.append("M\u00fcller").append(i).append(",\"\u00e9\u00e8\"\n");
+    }
+    List<String[]> records = readAll(csv.toString());
+    assertEquals(records.size(), 20_000);
+    assertArrayEquals(records.get(19_999), new String[] {"M\u00fcller19999", "\u00e9\u00e8"});
+  }
+
+  @Test
+  void importFrom() throws IOException {
+    List<List<Mutation>> batches = Collections.synchronizedList(new ArrayList<>());
+    ContactStore store = batches::add;
+    ImmutableAddressEntry existing = ImmutableAddressEntry.builder().id(new UUID(0, 1)).firstName("Jane")
+      .lastName("Doe").street("1 Elm Street").city("Hayward").state("CA").zip(94542).phone("555-555-0000")
+      .email("jane@example.com").build();
+    StringBuilder csv = new StringBuilder(HEADER);
+    for (int i = 0; i < 2000; i++) {
+      csv.append(ROW.replace("#", Integer.toString(i)));
+    }
+    // line 2002 repeats line 2, line 2003 is already in the book, line 2004 is blank
+    csv.append(ROW.replace("#", "0"));
+    csv.append("jane@example.com,Jane,Doe,1 Elm Street,Hayward,CA,94542,555-555-0000,\r\n");
+    csv.append("\r\n");
+    csv.append("not an email,John,Smith,1 Main Street,San Francisco,CA,12345,555-555-1234,\r\n");
+    csv.append("a@b.com,John,Smith,1 Main Street,San Francisco,CA,123456,555-555-1234,\r\n");
+    csv.append("a@b.com,John,Smith,1 Main Street,San Francisco,CA,zip,555-555-1234,\r\n");
+    csv.append("a@b.com,John\r\n");
+
+    CsvImporter.Result result = new CsvImporter(store, 3, 300).importFrom(reader(csv.toString()),
+      Collections.singletonList(existing));
+    assertNull(result.getError());
+    assertEquals(result.getRowCount(), 2006);
+    assertEquals(result.getImported().size(), 2000);
+    assertEquals(result.getImported().get(1999).getStreet(), "1999 Main Street");
+    assertEquals(result.getDuplicateCount(), 2);
+    List<CsvImporter.Reject> rejects = result.getRejects();
+    assertEquals(rejects.size(), 4);
+    assertEquals(rejects.get(0).getLine(), 2005);
+    assertEquals(rejects.get(0).getReason(), "Improperly formatted email address");
+    assertEquals(rejects.get(1).getLine(), 2006);
+    assertEquals(rejects.get(2).getReason(), "Zip code must be a number");
+    assertEquals(rejects.get(3).getLine(), 2008);
+
+    assertEquals(batches.size(), 7);
+    assertEquals(batches.get(0).size(), 300);
+    assertEquals(batches.get(6).size(), 200);
+    assertEquals(batches.get(0).get(0), Mutation.insert(result.getImported().get(0)));
+  }
+
+  @Test
+  void importFrom_missingColumn() {
+    assertThrows(IOException.class, () -> new CsvImporter(null).importFrom(
+      reader("firstName,lastName,street,city,state,zip,phone\n"), Collections.emptyList()));
+  }
+
+  @Test
+  void importFrom_storeFails() throws IOException {
+    ContactStore store = mutations -> {
+      throw new SQLException("Connection is down");
+    };
+    StringBuilder csv = new StringBuilder(HEADER);
+    for (int i = 0; i < 10_000; i++) {
+      csv.append(ROW.replace("#", Integer.toString(i)));
+    }
+    CsvImporter.Result result = new CsvImporter(store, 2, 100).importFrom(reader(csv.toString()),
+      Collections.emptyList());
+    assertTrue(result.getError() instanceof SQLException);
+    assertTrue(result.getImported().isEmpty());
+  }
+
+}
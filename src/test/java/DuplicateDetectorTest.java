@@ -0,0 +1,151 @@
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.dedup.DuplicateDetector;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link DuplicateDetector}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class DuplicateDetectorTest {
+
+  private static final ImmutableAddressEntry
+    JOHN = ImmutableAddressEntry.builder().id(UUID.randomUUID()).firstName("John").lastName("Smith")
+      .street("123 Main Street").city("San Francisco").state("CA").zip(94105).phone("555-555-1234")
+      .email("john.smith@example.com").build(),
+    JON = JOHN.toBuilder().id(UUID.randomUUID()).firstName("Jon").email("jon.smith@example.com").build(),
+    // same household, different person
+    JANE = JOHN.toBuilder().id(UUID.randomUUID()).firstName("Jane").email("jane.smith@example.com").build(),
+    MARIA = ImmutableAddressEntry.builder().id(UUID.randomUUID()).firstName("Maria").lastName("Garcia")
+      .street("9 Elm Road").city("Austin").state("TX").zip(73301).phone("(512) 555-0000")
+      .email("maria@example.org").build();
+
+  private static List<Set<ImmutableAddressEntry>> clusters(DuplicateDetector.Result result) {
+    List<Set<ImmutableAddressEntry>> clusters = new ArrayList<>();
+    result.getClusters().forEach(cluster -> clusters.add(new HashSet<>(cluster)));
+    return clusters;
+  }
+
+  @Test
+  void score() {
+    assertEquals(DuplicateDetector.score(JOHN, JOHN), 1.0);
+    assertTrue(DuplicateDetector.score(JOHN, JON) >= DuplicateDetector.DEFAULT_THRESHOLD);
+    assertTrue(DuplicateDetector.score(JOHN, JANE) < DuplicateDetector.DEFAULT_THRESHOLD);
+    assertTrue(DuplicateDetector.score(JOHN, MARIA) < 0.5);
+    // formatting doesn't matter
+    ImmutableAddressEntry shouting = JOHN.toBuilder().firstName("JOHN").lastName("SMITH").street("123 MAIN STREET.")
+      .phone("+1 (555) 555 1234").email("John.Smith@Example.com").build();
+    assertEquals(DuplicateDetector.score(JOHN, shouting), 1.0);
+  }
+
+  @Test
+  void score_missingFields() {
+    ImmutableAddressEntry noContact = JON.toBuilder().phone("").email("").build();
+    assertTrue(DuplicateDetector.score(JOHN, noContact) >= DuplicateDetector.DEFAULT_THRESHOLD);
+    ImmutableAddressEntry almostNothing = noContact.toBuilder().firstName("").lastName("").build();
+    assertEquals(DuplicateDetector.score(JOHN, almostNothing), 0.0);
+  }
+
+  @Test
+  void findDuplicates() {
+    DuplicateDetector.Result result = new DuplicateDetector().findDuplicates(Arrays.asList(JOHN, JON, JANE, MARIA));
+    assertEquals(clusters(result), Collections.singletonList(new HashSet<>(Arrays.asList(JOHN, JON))));
+    assertEquals(result.getDuplicateCount(), 1L);
+    assertEquals(result.getMatches(), 1L);
+    // John, Jon and Jane share all three keys, but each pair is only compared once
+    assertEquals(result.getComparisons(), 3L);
+  }
+
+  @Test
+  void findDuplicates_transitive() {
+    // only shares a phone number with Jon, and nothing at all with John
+    ImmutableAddressEntry jonny = JON.toBuilder().id(UUID.randomUUID()).lastName("Smithe").zip(94107)
+      .email("").build();
+    DuplicateDetector.Result result = new DuplicateDetector().findDuplicates(Arrays.asList(JOHN, JON, jonny));
+    assertEquals(clusters(result), Collections.singletonList(new HashSet<>(Arrays.asList(JOHN, JON, jonny))));
+    assertEquals(result.getClusters().get(0).size(), 3);
+  }
+
+  @Test
+  void findDuplicates_differentKeys() {
+    // different last name and zip code, so only the phone number and email address bring them together
+    ImmutableAddressEntry moved = JOHN.toBuilder().id(UUID.randomUUID()).lastName("Smyth").zip(10001)
+      .phone("(555) 555-1234").email("John.Smith+work@example.com").build();
+    assertEquals(clusters(new DuplicateDetector().findDuplicates(Arrays.asList(JOHN, moved))),
+      Collections.singletonList(new HashSet<>(Arrays.asList(JOHN, moved))));
+  }
+
+  @Test
+  void findDuplicates_skipsLargeBlocks() {
+    List<ImmutableAddressEntry> entries = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      entries.add(JOHN.toBuilder().id(UUID.randomUUID()).build());
+    }
+    DuplicateDetector detector = new DuplicateDetector(ForkJoinPool.commonPool(), DuplicateDetector.DEFAULT_THRESHOLD,
+      4);
+    DuplicateDetector.Result result = detector.findDuplicates(entries);
+    assertTrue(result.getClusters().isEmpty());
+    assertEquals(result.getSkippedBlocks(), 3);
+    assertEquals(result.getComparisons(), 0L);
+  }
+
+  @Test
+  void findDuplicates_sharedSkippedBlock() {
+    // too many Smiths in one zip code to compare, so John and Jon are only brought together by their phone number
+    List<ImmutableAddressEntry> entries = new ArrayList<>(Arrays.asList(JOHN, JON));
+    for (int i = 0; i < 3; i++) {
+      entries.add(JOHN.toBuilder().id(UUID.randomUUID()).firstName("Sam" + i).phone("555-000-000" + i)
+        .email("sam" + i + "@example.com").build());
+    }
+    DuplicateDetector detector = new DuplicateDetector(ForkJoinPool.commonPool(), DuplicateDetector.DEFAULT_THRESHOLD,
+      4);
+    DuplicateDetector.Result result = detector.findDuplicates(entries);
+    assertEquals(clusters(result), Collections.singletonList(new HashSet<>(Arrays.asList(JOHN, JON))));
+    assertEquals(result.getSkippedBlocks(), 1);
+    assertEquals(result.getComparisons(), 1L);
+  }
+
+  @Test
+  void findDuplicates_manyContacts() {
+    Random random = new Random(401);
+    List<ImmutableAddressEntry> entries = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      entries.add(ImmutableAddressEntry.builder().id(UUID.randomUUID()).firstName("First" + i)
+        .lastName("Last" + random.nextInt(50000)).street(i + " Main Street").city("City").state("CA")
+        .zip(10000 + random.nextInt(90000)).phone("555-" + (1000000 + i)).email("user" + i + "@example.com").build());
+    }
+    for (int i = 0; i < 100; i++) {
+      ImmutableAddressEntry original = entries.get(i * 100);
+      entries.add(original.toBuilder().id(UUID.randomUUID()).firstName(original.getFirstName() + "x").build());
+    }
+    DuplicateDetector.Result result = new DuplicateDetector().findDuplicates(entries);
+    assertEquals(result.getClusters().size(), 100);
+    for (List<ImmutableAddressEntry> cluster : result.getClusters()) {
+      assertEquals(cluster.size(), 2);
+      assertEquals(cluster.get(0).getPhone(), cluster.get(1).getPhone());
+    }
+  }
+
+  @Test
+  void addressBook_findDuplicates() {
+    AddressBook book = new AddressBook();
+    book.add(JOHN.toEntry());
+    book.add(JON.toEntry());
+    book.add(MARIA.toEntry());
+    DuplicateDetector.Result result = book.findDuplicates();
+    assertEquals(clusters(result), Collections.singletonList(new HashSet<>(Arrays.asList(JOHN, JON))));
+  }
+
+  @Test
+  void constructor_invalid() {
+    assertThrows(IllegalArgumentException.class, () -> new DuplicateDetector(ForkJoinPool.commonPool(), 1.5, 10));
+    assertThrows(IllegalArgumentException.class, () -> new DuplicateDetector(ForkJoinPool.commonPool(), 0.5, 1));
+  }
+
+}
@@ -0,0 +1,125 @@
+import address.data.Address;
+import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
+import address.data.Name;
+import address.io.EntryCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link EntryCodec}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class EntryCodecTest {
+
+  private static final ImmutableAddressEntry
+    SMITH = ImmutableAddressEntry.builder().id(UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315"))
+      .firstName("John").lastName("Smith").street("123 Main Street").city("San Francisco").state("CA").zip(12345)
+      .phone("555-555-1234").email("john.smith@example.com").version(300).build(),
+    // 2, 3 and 4 byte characters
+    MUELLER = ImmutableAddressEntry.builder().id(new UUID(-1, 0)).firstName("J\u00fcrgen").lastName("M\u00fcller")
+      .street("\u6771\u4eac").city("\ud83d\ude00").state("BY").zip(-80331).phone("").email("").build();
+
+  private static ByteBuffer encode(ImmutableAddressEntry... entries) {
+    int size = 0;
+    for (ImmutableAddressEntry entry : entries) {
+      size += EntryCodec.encodedSize(entry);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (ImmutableAddressEntry entry : entries) {
+      EntryCodec.encode(entry, buffer);
+    }
+    assertFalse(buffer.hasRemaining());
+    buffer.flip();
+    return buffer;
+  }
+
+  @Test
+  void decode() {
+    ByteBuffer buffer = encode(SMITH, MUELLER);
+    ImmutableAddressEntry smith = EntryCodec.decode(buffer);
+    assertEquals(smith, SMITH);
+    // equals() doesn't compare versions
+    assertEquals(smith.getVersion(), 300L);
+    ImmutableAddressEntry mueller = EntryCodec.decode(buffer);
+    assertEquals(mueller, MUELLER);
+    assertEquals(mueller.getVersion(), 0L);
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  void decode_directBuffer() {
+    ByteBuffer heap = encode(MUELLER);
+    ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining());
+    direct.put(heap).flip();
+    assertEquals(EntryCodec.decode(direct), MUELLER);
+  }
+
+  @Test
+  void decode_addressEntry() {
+    AddressEntry entry = new AddressEntry(null, new Name("Jane", "Doe"), new Address("1 Elm Street", "Hayward", "CA",
+      94542), "555-555-0000", "jane@example.com");
+    ByteBuffer buffer = ByteBuffer.allocate(EntryCodec.encodedSize(entry));
+    EntryCodec.encode(entry, buffer);
+    buffer.flip();
+    assertNull(EntryCodec.peekId(buffer));
+    assertEquals(EntryCodec.decodeEntry(buffer), entry);
+    // mutable and immutable entries are encoded the same way
+    assertArrayEquals(buffer.array(), EntryCodec.encode(ImmutableAddressEntry.of(entry)));
+  }
+
+  @Test
+  void encodedSize() {
+    byte[] bytes = EntryCodec.encode(SMITH);
+    // a small fraction of the text form, which doesn't even include the ID
+    assertEquals(bytes.length, 2 + 16 + 5 + 6 + 16 + 14 + 3 + 3 + 13 + 23 + 2);
+    assertTrue(bytes.length < SMITH.toString().getBytes(StandardCharsets.UTF_8).length + 36);
+  }
+
+  @Test
+  void peekId_skip() {
+    ByteBuffer buffer = encode(SMITH, MUELLER);
+    assertEquals(EntryCodec.peekId(buffer), SMITH.getId());
+    assertEquals(buffer.position(), 0);
+    EntryCodec.skip(buffer);
+    assertEquals(EntryCodec.peekId(buffer), MUELLER.getId());
+    EntryCodec.skip(buffer);
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  void decode_version1() {
+    // the same as version 2, without the row version at the end
+    byte[] bytes = EntryCodec.encode(SMITH.toBuilder().version(0).build());
+    byte[] version1 = Arrays.copyOf(bytes, bytes.length - 1);
+    version1[0] = 1;
+    ByteBuffer buffer = ByteBuffer.wrap(version1);
+    assertEquals(EntryCodec.decode(buffer), SMITH.toBuilder().version(0).build());
+    assertFalse(buffer.hasRemaining());
+    buffer.rewind();
+    EntryCodec.skip(buffer);
+    assertFalse(buffer.hasRemaining());
+    assertEquals(EntryCodec.peekId(ByteBuffer.wrap(version1)), SMITH.getId());
+  }
+
+  @Test
+  void decode_malformed() {
+    byte[] bytes = EntryCodec.encode(SMITH);
+    assertThrows(BufferUnderflowException.class, () -> EntryCodec.decode(ByteBuffer.wrap(bytes, 0, bytes.length - 1)));
+    bytes[0] = EntryCodec.VERSION + 1;
+    assertThrows(IllegalArgumentException.class, () -> EntryCodec.decode(ByteBuffer.wrap(bytes)));
+    // a first name whose length decodes to -1
+    byte[] negative = {EntryCodec.VERSION, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 0, 0, 0};
+    assertThrows(IllegalArgumentException.class, () -> EntryCodec.decode(ByteBuffer.wrap(negative)));
+    assertThrows(IllegalArgumentException.class, () -> EntryCodec.skip(ByteBuffer.wrap(negative)));
+  }
+
+}
@@ -0,0 +1,76 @@
+import address.data.ImmutableAddressEntry;
+import address.search.FindCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link FindCache}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class FindCacheTest {
+
+  private static final ImmutableAddressEntry
+    SMITH = ImmutableAddressEntry.builder().id(new UUID(0, 1)).firstName("John").lastName("Smith").build(),
+    MCDONALD = ImmutableAddressEntry.builder().id(new UUID(0, 2)).firstName("Jane").lastName("McDonald").build();
+
+  @Test
+  void get() {
+    FindCache cache = new FindCache(4, 100);
+    assertNull(cache.get("Sm"));
+    cache.put("Sm", Collections.singletonList(SMITH));
+    assertEquals(cache.get("sM"), Collections.singletonList(SMITH));
+    assertThrows(UnsupportedOperationException.class, () -> cache.get("sm").clear());
+    FindCache.Stats stats = cache.stats();
+    assertEquals(stats.getHits(), 2);
+    assertEquals(stats.getMisses(), 1);
+    assertEquals(stats.getHitRate(), 2.0 / 3, 1e-9);
+  }
+
+  @Test
+  void put_tooLarge() {
+    FindCache cache = new FindCache(4, 1);
+    cache.put("", Arrays.asList(SMITH, MCDONALD));
+    assertNull(cache.get(""));
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  void evict() {
+    FindCache cache = new FindCache(2, 100);
+    cache.put("a", Collections.emptyList());
+    cache.put("b", Collections.emptyList());
+    // "a" is now the most recently used
+    assertNotNull(cache.get("a"));
+    cache.put("c", Collections.emptyList());
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("a"));
+    assertNotNull(cache.get("c"));
+    assertEquals(cache.stats().getEvictions(), 1);
+  }
+
+  @Test
+  void invalidate() {
+    FindCache cache = new FindCache(8, 100);
+    cache.put("", Arrays.asList(MCDONALD, SMITH));
+    cache.put("S", Collections.singletonList(SMITH));
+    cache.put("Smi", Collections.singletonList(SMITH));
+    cache.put("Mc", Collections.singletonList(MCDONALD));
+    cache.put("Smy", Collections.emptyList());
+    cache.invalidate("smithers");
+    // only prefixes of "smithers" are affected
+    assertNull(cache.get(""));
+    assertNull(cache.get("s"));
+    assertNull(cache.get("SMI"));
+    assertNotNull(cache.get("mc"));
+    assertNotNull(cache.get("smy"));
+    assertEquals(cache.stats().getInvalidations(), 3);
+    cache.clear();
+    assertEquals(cache.size(), 0);
+    assertEquals(cache.stats().getInvalidations(), 5);
+  }
+
+}
@@ -0,0 +1,70 @@
+import address.util.IdGenerator;
+import address.util.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link IdGenerator} and {@link TimeOrderedIdGenerator}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class IdGeneratorTest {
+
+  @Test
+  void timeOrdered_layout() {
+    UUID id = new TimeOrderedIdGenerator(() -> 0x0123456789ABL).next();
+    assertEquals(id.version(), 7);
+    assertEquals(id.variant(), 2);
+    assertEquals(TimeOrderedIdGenerator.timestampOf(id), 0x0123456789ABL);
+    assertTrue(id.toString().startsWith("01234567-89ab-7000-"));
+    assertThrows(IllegalArgumentException.class, () -> TimeOrderedIdGenerator.timestampOf(IdGenerator.RANDOM.next()));
+  }
+
+  @Test
+  void timeOrdered_monotonic() {
+    AtomicLong clock = new AtomicLong(1_000);
+    IdGenerator generator = new TimeOrderedIdGenerator(clock::get);
+    UUID previous = generator.next();
+    for (int i = 0; i < 10_000; i++) {
+      // the clock mostly stands still, and sometimes goes backwards
+      if (i % 1000 == 0) {
+        clock.addAndGet(i % 3000 == 0 ? -5 : 1);
+      }
+      UUID id = generator.next();
+      assertTrue(id.compareTo(previous) > 0, id + " should come after " + previous);
+      // the IDs sort the same way as text, which is how the database stores them
+      assertTrue(id.toString().compareTo(previous.toString()) > 0);
+      assertEquals(id.version(), 7);
+      previous = id;
+    }
+    // more than 4096 IDs in the same millisecond run ahead of the clock, and it catches up once the clock does
+    assertTrue(TimeOrderedIdGenerator.timestampOf(previous) > clock.get());
+    clock.set(TimeOrderedIdGenerator.timestampOf(previous) + 1);
+    assertEquals(TimeOrderedIdGenerator.timestampOf(generator.next()), clock.get());
+  }
+
+  @Test
+  void timeOrdered_concurrent() {
+    IdGenerator generator = new TimeOrderedIdGenerator();
+    Set<UUID> ids = ConcurrentHashMap.newKeySet();
+    IntStream.range(0, 4).parallel().forEach(thread -> {
+      UUID previous = generator.next();
+      ids.add(previous);
+      for (int i = 0; i < 50_000; i++) {
+        UUID id = generator.next();
+        // each thread sees the IDs it made in order too
+        assertTrue(id.compareTo(previous) > 0);
+        ids.add(id);
+        previous = id;
+      }
+    });
+    assertEquals(ids.size(), 4 * 50_001);
+  }
+
+}
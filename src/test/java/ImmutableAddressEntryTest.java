@@ -0,0 +1,94 @@
+import address.data.Address;
+import address.data.AddressEntry;
+import address.data.ImmutableAddressEntry;
+import address.data.Name;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ImmutableAddressEntry}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class ImmutableAddressEntryTest {
+
+  private static AddressEntry createA() {
+    return new AddressEntry(UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315"), new Name("John", "Smith"),
+      new Address("123 Main Street", "San Francisco", "CA", 12345), "555-555-1234", "john.smith@example.com");
+  }
+
+  @Test
+  void of() {
+    AddressEntry entry = createA();
+    ImmutableAddressEntry immutable = ImmutableAddressEntry.of(entry);
+    assertEquals(immutable.getId(), entry.getId());
+    assertEquals(immutable.getFirstName(), "John");
+    assertEquals(immutable.getLastName(), "Smith");
+    assertEquals(immutable.getStreet(), "123 Main Street");
+    assertEquals(immutable.getCity(), "San Francisco");
+    assertEquals(immutable.getState(), "CA");
+    assertEquals(immutable.getZip(), 12345);
+    assertEquals(immutable.getPhone(), "555-555-1234");
+    assertEquals(immutable.getEmail(), "john.smith@example.com");
+    // changing the original must not affect the copy
+    entry.getName().setFirstName("Jim");
+    assertEquals(immutable.getFirstName(), "John");
+  }
+
+  @Test
+  void toEntry() {
+    AddressEntry entry = createA();
+    assertEquals(ImmutableAddressEntry.of(entry).toEntry(), entry);
+  }
+
+  @Test
+  void _toString() {
+    assertEquals(ImmutableAddressEntry.of(createA()).toString(), createA().toString());
+    assertEquals(ImmutableAddressEntry.of(createA()).getFullName(), createA().getName().toString());
+  }
+
+  @Test
+  void _equals() {
+    ImmutableAddressEntry a = ImmutableAddressEntry.of(createA());
+    assertEquals(a, a);
+    assertEquals(a, ImmutableAddressEntry.of(createA()));
+    assertEquals(a.hashCode(), ImmutableAddressEntry.of(createA()).hashCode());
+    assertNotEquals(a, a.toBuilder().zip(12346).build());
+    assertNotEquals(a, a.toBuilder().id(null).build());
+  }
+
+  @Test
+  void toBuilder() {
+    ImmutableAddressEntry a = ImmutableAddressEntry.of(createA());
+    ImmutableAddressEntry b = a.toBuilder().lastName("Smyth").build();
+    assertEquals(a.getLastName(), "Smith");
+    assertEquals(b.getLastName(), "Smyth");
+    assertEquals(b.getFirstName(), a.getFirstName());
+    assertEquals(b.getId(), a.getId());
+  }
+
+  @Test
+  void version() {
+    ImmutableAddressEntry a = ImmutableAddressEntry.of(createA());
+    assertEquals(a.getVersion(), 0);
+    ImmutableAddressEntry b = a.toBuilder().version(3).build();
+    assertEquals(b.getVersion(), 3);
+    assertEquals(b.toBuilder().city("Oakland").build().getVersion(), 3);
+    // the version says when the contact was read, not what it holds
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+  }
+
+  @Test
+  void compareTo() {
+    ImmutableAddressEntry a = ImmutableAddressEntry.of(createA());
+    ImmutableAddressEntry b = a.toBuilder().firstName("Jane").lastName("Doe").build();
+    assertTrue(a.compareTo(b) > 0);
+    assertTrue(b.compareTo(a) < 0);
+    assertEquals(a.compareTo(a.toBuilder().build()), 0);
+  }
+
+}
@@ -0,0 +1,136 @@
+import address.data.ImmutableAddressEntry;
+import address.search.InvertedIndex;
+import address.search.InvertedIndex.Operator;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link InvertedIndex}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class InvertedIndexTest {
+
+  private static final UUID
+    ID_A = UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315"),
+    ID_B = UUID.fromString("15e9c516-fab6-45d1-97c3-78a172dabb49"),
+    ID_C = UUID.fromString("e1052539-c5e0-457a-bf10-cbe591c2c53f");
+
+  private static ImmutableAddressEntry createA() {
+    return ImmutableAddressEntry.builder().id(ID_A).firstName("John").lastName("Smith").street("123 Main Street")
+      .city("San Francisco").state("CA").zip(12345).phone("555-555-1234").email("john.smith@example.com").build();
+  }
+
+  private static ImmutableAddressEntry createB() {
+    return ImmutableAddressEntry.builder().id(ID_B).firstName("Michael").lastName("Doe").street("456 Elm Avenue")
+      .city("Seattle").state("WA").zip(67890).phone("123-456-7890").email("michael.doe@example.com").build();
+  }
+
+  private static ImmutableAddressEntry createC() {
+    return ImmutableAddressEntry.builder().id(ID_C).firstName("Jane").lastName("Doe").street("789 Main Street")
+      .city("Washington D.C.").state("ML").zip(76543).phone("987-654-4321").email("jdoe@website.org").build();
+  }
+
+  private static InvertedIndex createIndex() {
+    InvertedIndex index = new InvertedIndex();
+    index.add(createA());
+    index.add(createB());
+    index.add(createC());
+    return index;
+  }
+
+  private static Set<UUID> search(InvertedIndex index, String query, Operator operator) {
+    return new HashSet<>(index.search(query, operator));
+  }
+
+  private static Set<UUID> ids(UUID... ids) {
+    return new HashSet<>(Arrays.asList(ids));
+  }
+
+  @Test
+  void search_terms() {
+    InvertedIndex index = createIndex();
+    assertEquals(search(index, "Main", Operator.AND), ids(ID_A, ID_C));
+    assertEquals(search(index, "seattle", Operator.AND), ids(ID_B));
+    assertEquals(search(index, "example.com", Operator.AND), ids());
+    assertEquals(search(index, "example", Operator.AND), ids(ID_A, ID_B));
+    assertEquals(search(index, "JDOE@website.org", Operator.AND), ids(ID_C));
+    assertEquals(search(index, "12345", Operator.AND), ids(ID_A));
+    assertEquals(search(index, "4321", Operator.AND), ids(ID_C));
+    assertEquals(search(index, "(555) 555-1234", Operator.AND), ids(ID_A));
+    assertEquals(search(index, "5555551234", Operator.AND), ids(ID_A));
+    assertEquals(search(index, "555-1234", Operator.AND), ids(ID_A));
+    assertEquals(search(index, "555555*", Operator.AND), ids(ID_A));
+    assertEquals(search(index, "nobody", Operator.AND), ids());
+    assertEquals(search(index, "   ", Operator.AND), ids());
+  }
+
+  @Test
+  void search_operators() {
+    InvertedIndex index = createIndex();
+    assertEquals(search(index, "main doe", Operator.AND), ids(ID_C));
+    assertEquals(search(index, "main doe", Operator.OR), ids(ID_A, ID_B, ID_C));
+    assertEquals(search(index, "seattle smith", Operator.OR), ids(ID_A, ID_B));
+    assertEquals(search(index, "seattle smith", Operator.AND), ids());
+    assertEquals(index.count("main doe", Operator.OR), 3);
+  }
+
+  @Test
+  void search_prefix() {
+    InvertedIndex index = createIndex();
+    assertEquals(search(index, "s*", Operator.AND), ids(ID_A, ID_B, ID_C));
+    assertEquals(search(index, "sea*", Operator.AND), ids(ID_B));
+    assertEquals(search(index, "mic* sea*", Operator.AND), ids(ID_B));
+    assertEquals(search(index, "555*", Operator.AND), ids(ID_A));
+    assertEquals(search(index, "zz*", Operator.AND), ids());
+  }
+
+  @Test
+  void remove() {
+    InvertedIndex index = createIndex();
+    index.remove(createA());
+    assertEquals(index.size(), 2);
+    assertEquals(search(index, "main", Operator.AND), ids(ID_C));
+    assertEquals(search(index, "smith", Operator.AND), ids());
+    // the freed document ID gets reused
+    ImmutableAddressEntry moved = createA().toBuilder().city("Seattle").build();
+    index.add(moved);
+    assertEquals(search(index, "seattle", Operator.AND), ids(ID_A, ID_B));
+    index.clear();
+    assertEquals(index.size(), 0);
+    assertEquals(search(index, "seattle", Operator.AND), ids());
+  }
+
+  @Test
+  void churn() {
+    // every contact shares "ca", so its list is changed in the middle over and over, with searches in between
+    InvertedIndex index = new InvertedIndex();
+    Map<UUID, ImmutableAddressEntry> contacts = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 20_000; i++) {
+      UUID id = new UUID(0, random.nextInt(5_000));
+      ImmutableAddressEntry old = contacts.remove(id);
+      if (old != null) {
+        index.remove(old);
+      }
+      if (old == null || random.nextBoolean()) {
+        ImmutableAddressEntry entry = createA().toBuilder().id(id).city("City" + random.nextInt(10)).build();
+        index.add(entry);
+        contacts.put(id, entry);
+      }
+      if (i % 997 == 0) {
+        assertEquals(search(index, "ca", Operator.AND), contacts.keySet());
+      }
+    }
+    assertEquals(index.size(), contacts.size());
+    assertEquals(search(index, "ca", Operator.AND), contacts.keySet());
+    Set<UUID> city3 = new HashSet<>();
+    contacts.values().stream().filter(entry -> entry.getCity().equals("City3")).forEach(entry -> city3.add(entry.getId()));
+    assertEquals(search(index, "city3 ca", Operator.AND), city3);
+    assertEquals(search(index, "city3*", Operator.AND), city3);
+  }
+
+}
@@ -0,0 +1,282 @@
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.store.JdbcContactStore;
+import address.store.Mutation;
+import address.store.MutationJournal;
+import address.store.UpdateResult;
+import address.store.WriteBehindQueue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link JdbcContactStore}, against a fake database that only understands the statements it uses
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class JdbcContactStoreTest {
+
+  private static final ImmutableAddressEntry SMITH = ImmutableAddressEntry.builder().id(new UUID(0, 1))
+    .firstName("John").lastName("Smith").street("123 Main Street").city("San Francisco").state("CA").zip(12345)
+    .phone("555-555-1234").email("john.smith@example.com").build();
+
+  private static final String[] FIELDS = {"FIRSTNAME", "LASTNAME", "STREET", "CITY", "STATE", "ZIP", "PHONE", "EMAIL"};
+
+  /**
+   * <code>ADDRESSENTRYTABLE</code> held in memory, behind a {@link Connection} that recognizes each statement
+   * {@link JdbcContactStore} prepares by how it starts, and takes its parameters in the same order.
+   */
+  private static class FakeDatabase {
+
+    final Map<String, Map<String, Object>> rows = new LinkedHashMap<>();
+    private Map<String, Map<String, Object>> beforeTransaction;
+
+    Connection connect() {
+      return proxy(Connection.class, (method, args) -> {
+        switch (method) {
+          case "prepareStatement": return prepare((String) args[0]);
+          case "getAutoCommit": return beforeTransaction == null;
+          case "setAutoCommit":
+            beforeTransaction = (Boolean) args[0] ? null : copy(rows);
+            return null;
+          case "commit":
+            beforeTransaction = copy(rows);
+            return null;
+          case "rollback":
+            rows.clear();
+            rows.putAll(beforeTransaction);
+            return null;
+          case "isClosed": return false;
+          default: return null;
+        }
+      });
+    }
+
+    private static Map<String, Map<String, Object>> copy(Map<String, Map<String, Object>> rows) {
+      Map<String, Map<String, Object>> copy = new LinkedHashMap<>();
+      rows.forEach((id, row) -> copy.put(id, new HashMap<>(row)));
+      return copy;
+    }
+
+    private PreparedStatement prepare(String sql) {
+      Map<Integer, Object> params = new HashMap<>();
+      List<Map<Integer, Object>> batch = new ArrayList<>();
+      return proxy(PreparedStatement.class, (method, args) -> {
+        switch (method) {
+          case "setString":
+          case "setInt":
+          case "setLong":
+            params.put((Integer) args[0], args[1]);
+            return null;
+          case "addBatch":
+            batch.add(new HashMap<>(params));
+            return null;
+          case "executeBatch":
+            int[] counts = new int[batch.size()];
+            for (int i = 0; i < counts.length; i++) {
+              counts[i] = execute(sql, batch.get(i));
+            }
+            batch.clear();
+            return counts;
+          case "executeUpdate": return execute(sql, params);
+          case "executeQuery":
+            Map<String, Object> row = rows.get((String) params.get(1));
+            return resultSet(row == null ? Collections.emptyList() : Collections.singletonList(row));
+          default: return null;
+        }
+      });
+    }
+
+    private static Map<String, Object> fields(Map<Integer, Object> params, int start) {
+      Map<String, Object> row = new HashMap<>();
+      for (int i = 0; i < FIELDS.length; i++) {
+        row.put(FIELDS[i], params.get(start + i));
+      }
+      return row;
+    }
+
+    private int execute(String sql, Map<Integer, Object> params) throws SQLException {
+      if (sql.startsWith("INSERT")) {
+        String id = (String) params.get(1);
+        if (rows.containsKey(id)) {
+          throw new SQLIntegrityConstraintViolationException("ORA-00001: unique constraint violated", "23000", 1);
+        }
+        Map<String, Object> row = fields(params, 2);
+        row.put("ID", id);
+        row.put("VERSION", params.get(10));
+        rows.put(id, row);
+        return 1;
+      }
+      if (sql.startsWith("MERGE")) {
+        String id = (String) params.get(1);
+        Map<String, Object> row = rows.get(id);
+        if (row == null) {
+          row = fields(params, 11);
+          row.put("ID", id);
+          rows.put(id, row);
+        } else {
+          row.putAll(fields(params, 3));
+        }
+        row.put("VERSION", params.get(2));
+        return 1;
+      }
+      if (sql.startsWith("UPDATE")) {
+        Map<String, Object> row = rows.get((String) params.get(10));
+        if (row == null || (sql.endsWith("AND VERSION=?") && !row.get("VERSION").equals(params.get(11)))) {
+          return 0;
+        }
+        row.putAll(fields(params, 1));
+        row.put("VERSION", params.get(9));
+        return 1;
+      }
+      if (sql.startsWith("DELETE")) {
+        return rows.remove((String) params.get(1)) == null ? 0 : 1;
+      }
+      throw new SQLException("Unexpected statement " + sql);
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> results) {
+      Iterator<Map<String, Object>> it = results.iterator();
+      Object[] current = new Object[1];
+      return proxy(ResultSet.class, (method, args) -> {
+        switch (method) {
+          case "next":
+            current[0] = it.hasNext() ? it.next() : null;
+            return current[0] != null;
+          case "getString":
+          case "getInt":
+          case "getLong":
+            @SuppressWarnings("unchecked")
+            Map<String, Object> row = (Map<String, Object>) current[0];
+            return row.get((String) args[0]);
+          default: return null;
+        }
+      });
+    }
+
+  }
+
+  @FunctionalInterface
+  private interface Handler {
+    Object invoke(String method, Object[] args) throws Throwable;
+  }
+
+  private static <T> T proxy(Class<T> type, Handler handler) {
+    return type.cast(Proxy.newProxyInstance(JdbcContactStoreTest.class.getClassLoader(), new Class<?>[] {type},
+      (proxy, method, args) -> handler.invoke(method.getName(), args)));
+  }
+
+  @Test
+  void update() throws SQLException {
+    FakeDatabase db = new FakeDatabase();
+    JdbcContactStore store = new JdbcContactStore(db.connect());
+    store.write(Collections.singletonList(Mutation.insert(SMITH)));
+
+    UpdateResult result = store.update(SMITH.toBuilder().city("Oakland").build());
+    assertEquals(result.getStatus(), UpdateResult.Status.UPDATED);
+    assertEquals(result.getEntry().getVersion(), 1L);
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("CITY"), "Oakland");
+
+    // still at the version it was read at, so somebody else's change is found instead of written over
+    result = store.update(SMITH.toBuilder().city("Seattle").build());
+    assertEquals(result.getStatus(), UpdateResult.Status.CONFLICT);
+    assertEquals(result.getEntry().getCity(), "Oakland");
+    assertEquals(result.getEntry().getVersion(), 1L);
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("CITY"), "Oakland");
+
+    store.write(Collections.singletonList(Mutation.delete(SMITH.getId())));
+    assertEquals(store.update(result.getEntry()).getStatus(), UpdateResult.Status.REMOVED);
+  }
+
+  @Test
+  void write_duplicate() throws SQLException {
+    FakeDatabase db = new FakeDatabase();
+    JdbcContactStore store = new JdbcContactStore(db.connect());
+    store.write(Collections.singletonList(Mutation.insert(SMITH)));
+    store.update(SMITH.toBuilder().city("Oakland").build());
+    assertThrows(SQLIntegrityConstraintViolationException.class,
+      () -> store.write(Collections.singletonList(Mutation.insert(SMITH))));
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("CITY"), "Oakland");
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("VERSION"), 1L);
+
+    // replaying updates it instead, with the version it was written with
+    store.replay(Collections.singletonList(Mutation.insert(SMITH)));
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("CITY"), "San Francisco");
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("VERSION"), 0L);
+  }
+
+  @Test
+  void updateOfflineTwice() throws IOException, SQLException {
+    FakeDatabase db = new FakeDatabase();
+    JdbcContactStore store = new JdbcContactStore(db.connect());
+    store.write(Collections.singletonList(Mutation.insert(SMITH)));
+
+    // two changes made while the database couldn't be reached, each queued at the next version, and combined into one
+    AddressBook book = new AddressBook();
+    book.add(SMITH);
+    WriteBehindQueue queue = new WriteBehindQueue(store, null, 60_000, 1000);
+    for (String city : new String[] {"Oakland", "Seattle"}) {
+      ImmutableAddressEntry current = book.getImmutable(SMITH.getId());
+      ImmutableAddressEntry pending = current.toBuilder().city(city).version(current.getVersion() + 1).build();
+      queue.submit(Mutation.update(pending));
+      book.update(pending);
+    }
+    assertEquals(queue.getPendingCount(), 1);
+    queue.flush();
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("VERSION"), 2L);
+
+    // writing it again after an attempt that may or may not have gone through leaves the version alone
+    store.replay(Collections.singletonList(Mutation.update(book.getImmutable(SMITH.getId()))));
+    queue.close();
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("VERSION"), book.getImmutable(SMITH.getId()).getVersion());
+
+    UpdateResult result = store.update(book.getImmutable(SMITH.getId()).toBuilder().zip(98101).build());
+    assertEquals(result.getStatus(), UpdateResult.Status.UPDATED);
+    assertEquals(result.getEntry().getVersion(), 3L);
+    assertEquals(db.rows.get(SMITH.getId().toString()).get("CITY"), "Seattle");
+  }
+
+  @Test
+  void recoverThenUpdate() throws IOException, SQLException {
+    FakeDatabase db = new FakeDatabase();
+    JdbcContactStore store = new JdbcContactStore(db.connect());
+    store.write(Collections.singletonList(Mutation.insert(SMITH)));
+    ImmutableAddressEntry loaded = store.update(SMITH.toBuilder().city("Oakland").build()).getEntry();
+
+    Path file = Files.createTempFile("journal", ".log");
+    try {
+      // changed while the database couldn't be reached, queued at the version the database will give it
+      ImmutableAddressEntry offline = loaded.toBuilder().city("Seattle").version(loaded.getVersion() + 1).build();
+      try (MutationJournal journal = new MutationJournal(file)) {
+        journal.append(Mutation.update(offline));
+      }
+
+      // after a restart, the contacts are loaded from the database, then the journal is applied over them
+      AddressBook book = new AddressBook();
+      book.add(loaded);
+      List<Mutation> recovered = MutationJournal.read(file);
+      assertEquals(recovered.get(0).getEntry().getVersion(), offline.getVersion());
+      WriteBehindQueue queue = new WriteBehindQueue(store, null, 60_000, 1000);
+      queue.recover(recovered);
+      queue.flush();
+      queue.close();
+      book.update(recovered.get(0).getEntry());
+      assertEquals(db.rows.get(SMITH.getId().toString()).get("VERSION"), book.getImmutable(SMITH.getId()).getVersion());
+
+      // so the next change isn't mistaken for a conflict
+      UpdateResult result = store.update(book.getImmutable(SMITH.getId()).toBuilder().zip(98101).build());
+      assertEquals(result.getStatus(), UpdateResult.Status.UPDATED);
+      assertEquals(db.rows.get(SMITH.getId().toString()).get("CITY"), "Seattle");
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+import address.data.ImmutableAddressEntry;
+import address.store.Mutation;
+import address.store.MutationJournal;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link MutationJournal}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class MutationJournalTest {
+
+  private static final ImmutableAddressEntry
+    A = ImmutableAddressEntry.builder().id(new UUID(0, 1)).firstName("John").lastName("Smith")
+      .street("123 Main\nStreet").city("San Francisco").state("CA").zip(12345).phone("555-555-1234")
+      .email("john.smith@example.com").build(),
+    B = ImmutableAddressEntry.builder().id(new UUID(0, 2)).firstName("J\u00f6hn").lastName("D\u00f8e").build();
+
+  private static List<Mutation> appendAll(Path file, MutationJournal.SyncPolicy policy) throws IOException {
+    List<Mutation> mutations = Arrays.asList(Mutation.insert(A), Mutation.update(B), Mutation.delete(A.getId()));
+    try (MutationJournal journal = new MutationJournal(file, policy)) {
+      for (Mutation mutation : mutations) {
+        journal.append(mutation);
+      }
+    }
+    return mutations;
+  }
+
+  @Test
+  void append_everyPolicy() throws IOException {
+    for (MutationJournal.SyncPolicy policy : MutationJournal.SyncPolicy.values()) {
+      Path file = Files.createTempFile("journal", ".log");
+      try {
+        List<Mutation> mutations = appendAll(file, policy);
+        assertEquals(MutationJournal.read(file), mutations);
+        // reopening keeps what's already there, and adds after it
+        try (MutationJournal journal = new MutationJournal(file, policy)) {
+          assertEquals(journal.getRecovered(), mutations);
+          journal.append(Mutation.insert(A));
+        }
+        assertEquals(MutationJournal.read(file).size(), 4);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  @Test
+  void open_tornRecord() throws IOException {
+    Path file = Files.createTempFile("journal", ".log");
+    try {
+      List<Mutation> mutations = appendAll(file, MutationJournal.SyncPolicy.NONE);
+      // a crash halfway through writing the last record
+      try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+        raf.setLength(raf.length() - 3);
+      }
+      assertEquals(MutationJournal.read(file), mutations.subList(0, 2));
+      try (MutationJournal journal = new MutationJournal(file)) {
+        assertEquals(journal.getRecovered(), mutations.subList(0, 2));
+        journal.append(Mutation.delete(B.getId()));
+      }
+      assertEquals(MutationJournal.read(file),
+        Arrays.asList(Mutation.insert(A), Mutation.update(B), Mutation.delete(B.getId())));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void open_corruptRecord() throws IOException {
+    Path file = Files.createTempFile("journal", ".log");
+    try {
+      appendAll(file, MutationJournal.SyncPolicy.NONE);
+      try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+        // flips a byte in the first record's payload, so it fails its checksum
+        raf.seek(20);
+        int b = raf.read();
+        raf.seek(20);
+        raf.write(b ^ 0xFF);
+      }
+      assertTrue(MutationJournal.read(file).isEmpty());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void open_notJournal() throws IOException {
+    Path file = Files.createTempFile("journal", ".log");
+    try {
+      Files.write(file, "INSERT\tnot a journal\n".getBytes());
+      assertThrows(IOException.class, () -> MutationJournal.read(file));
+      assertThrows(IOException.class, () -> new MutationJournal(file));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void append_concurrent() throws IOException, InterruptedException {
+    Path file = Files.createTempFile("journal", ".log");
+    try {
+      MutationJournal journal = new MutationJournal(file, MutationJournal.SyncPolicy.GROUP_COMMIT);
+      Thread[] threads = new Thread[8];
+      List<IOException> errors = Collections.synchronizedList(new ArrayList<>());
+      for (int i = 0; i < threads.length; i++) {
+        long thread = i;
+        threads[i] = new Thread(() -> {
+          try {
+            for (int j = 0; j < 50; j++) {
+              journal.append(Mutation.delete(new UUID(thread, j)));
+            }
+          } catch (IOException e) {
+            errors.add(e);
+          }
+        });
+        threads[i].start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      journal.close();
+      assertTrue(errors.isEmpty());
+      List<Mutation> mutations = MutationJournal.read(file);
+      assertEquals(mutations.size(), 400);
+      assertEquals(new HashSet<>(mutations).size(), 400);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void rewrite() throws IOException {
+    Path file = Files.createTempFile("journal", ".log");
+    try {
+      try (MutationJournal journal = new MutationJournal(file)) {
+        journal.append(Mutation.insert(A));
+        journal.append(Mutation.insert(B));
+        journal.rewrite(Collections.singletonList(Mutation.insert(B)));
+        journal.append(Mutation.delete(A.getId()));
+      }
+      assertEquals(MutationJournal.read(file), Arrays.asList(Mutation.insert(B), Mutation.delete(A.getId())));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+}
@@ -0,0 +1,39 @@
+import address.data.ImmutableAddressEntry;
+import address.store.Mutation;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link Mutation}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class MutationTest {
+
+  private static final UUID ID = UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315");
+  private static final ImmutableAddressEntry
+    V1 = ImmutableAddressEntry.builder().id(ID).firstName("John").lastName("Smith").build(),
+    V2 = V1.toBuilder().city("Seattle").build();
+
+  @Test
+  void coalesce() {
+    assertEquals(Mutation.coalesce(Mutation.insert(V1), Mutation.update(V2)), Mutation.insert(V2));
+    assertNull(Mutation.coalesce(Mutation.insert(V1), Mutation.delete(ID)));
+    assertEquals(Mutation.coalesce(Mutation.update(V1), Mutation.update(V2)), Mutation.update(V2));
+    assertEquals(Mutation.coalesce(Mutation.update(V1), Mutation.delete(ID)), Mutation.delete(ID));
+    // the contact was already written, so adding it back only has to change it
+    assertEquals(Mutation.coalesce(Mutation.delete(ID), Mutation.insert(V2)), Mutation.update(V2));
+  }
+
+  @Test
+  void getEntry() {
+    assertEquals(Mutation.insert(V1).getId(), ID);
+    assertEquals(Mutation.update(V2).getEntry(), V2);
+    assertNull(Mutation.delete(ID).getEntry());
+    assertEquals(Mutation.delete(ID).getType(), Mutation.Type.DELETE);
+  }
+
+}
@@ -0,0 +1,85 @@
+import address.search.NameSearchEngine;
+import address.search.Phonetics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link NameSearchEngine} and {@link Phonetics}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class NameSearchEngineTest {
+
+  private static final UUID
+    ID_A = UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315"),
+    ID_B = UUID.fromString("15e9c516-fab6-45d1-97c3-78a172dabb49"),
+    ID_C = UUID.fromString("e1052539-c5e0-457a-bf10-cbe591c2c53f"),
+    ID_D = UUID.fromString("b8ac866d-6ba6-49c5-8bfc-c7bf2f2f4f48");
+
+  private static NameSearchEngine createEngine() {
+    NameSearchEngine engine = new NameSearchEngine();
+    engine.add(ID_A, "Smith");
+    engine.add(ID_B, "Johnson");
+    engine.add(ID_C, "Smithers");
+    engine.add(ID_D, "Doe");
+    return engine;
+  }
+
+  @Test
+  void normalize() {
+    assertEquals(Phonetics.normalize("O'Neil"), "oneil");
+    assertEquals(Phonetics.normalize("Van Buren"), "vanburen");
+    assertEquals(Phonetics.normalize("123"), "");
+  }
+
+  @Test
+  void soundex() {
+    assertEquals(Phonetics.soundex("Robert"), "R163");
+    assertEquals(Phonetics.soundex("Rupert"), "R163");
+    assertEquals(Phonetics.soundex("Ashcraft"), "A261");
+    assertEquals(Phonetics.soundex("Tymczak"), "T522");
+    assertEquals(Phonetics.soundex("Pfister"), "P236");
+    assertEquals(Phonetics.soundex("Smith"), Phonetics.soundex("Smyth"));
+    assertEquals(Phonetics.soundex("Lee"), "L000");
+    assertEquals(Phonetics.soundex(""), "");
+  }
+
+  @Test
+  void editDistance() {
+    assertEquals(Phonetics.editDistance("kitten", "sitting"), 3);
+    assertEquals(Phonetics.editDistance("smith", "smyth"), 1);
+    assertEquals(Phonetics.editDistance("", "doe"), 3);
+    assertEquals(Phonetics.editDistance("doe", "doe"), 0);
+  }
+
+  @Test
+  void search() {
+    NameSearchEngine engine = createEngine();
+    assertEquals(engine.search("Smyth", 10), Arrays.asList(ID_A));
+    assertEquals(engine.search("jonhson", 10), Arrays.asList(ID_B));
+    assertEquals(engine.search("Smith", 10), Arrays.asList(ID_A));
+    // further away, but the closest name must come first
+    List<UUID> result = engine.search("Smither", 2, 10);
+    assertEquals(result, Arrays.asList(ID_C, ID_A));
+    assertEquals(engine.search("Smither", 2, 1), Arrays.asList(ID_C));
+    assertTrue(engine.search("Zebra", 10).isEmpty());
+    assertTrue(engine.search("", 10).isEmpty());
+  }
+
+  @Test
+  void remove() {
+    NameSearchEngine engine = createEngine();
+    engine.remove(ID_A, "Smith");
+    assertTrue(engine.search("Smyth", 10).isEmpty());
+    engine.add(ID_A, "Smith");
+    assertEquals(engine.search("Smyth", 10), Arrays.asList(ID_A));
+    engine.clear();
+    assertTrue(engine.search("Smyth", 10).isEmpty());
+  }
+
+}
@@ -43,6 +43,16 @@ class NameTest {
     assertNotEquals(a1, b1);
   }
 
+  @Test
+  void _hashCode() {
+    Name a = createA();
+    assertEquals(a.hashCode(), createA().hashCode());
+    a.setFirstName("Jim");
+    assertNotEquals(a.hashCode(), createA().hashCode());
+    a.setFirstName("John");
+    assertEquals(a.hashCode(), createA().hashCode());
+  }
+
   @Test
   void compareTo() {
     Name a = createA();
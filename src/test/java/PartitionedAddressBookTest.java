@@ -0,0 +1,105 @@
+import address.AddressBook;
+import address.PartitionedAddressBook;
+import address.data.ImmutableAddressEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link PartitionedAddressBook}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class PartitionedAddressBookTest {
+
+  private static final String[] LAST_NAMES = {"Smith", "smythe", "Smith", "Doe", "Adams", "Smithers", "Zed", "SMITH"};
+
+  private static List<ImmutableAddressEntry> randomEntries(int count, long seed) {
+    Random random = new Random(seed);
+    List<ImmutableAddressEntry> entries = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      entries.add(ImmutableAddressEntry.builder().id(new UUID(random.nextLong(), random.nextLong()))
+        .firstName("First" + random.nextInt(20)).lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+        .city("City" + i).state("CA").zip(10000 + i).build());
+    }
+    return entries;
+  }
+
+  @Test
+  void pointOperations() {
+    PartitionedAddressBook book = new PartitionedAddressBook(8);
+    List<ImmutableAddressEntry> entries = randomEntries(200, 401);
+    for (ImmutableAddressEntry entry : entries) {
+      assertTrue(book.add(entry));
+    }
+    assertFalse(book.add(entries.get(0)));
+    assertEquals(book.count(), 200);
+    for (ImmutableAddressEntry entry : entries) {
+      assertSame(book.getImmutable(entry.getId()), entry);
+    }
+    ImmutableAddressEntry updated = entries.get(5).toBuilder().lastName("Updated").build();
+    assertTrue(book.update(updated));
+    assertEquals(book.getImmutable(updated.getId()), updated);
+    assertFalse(book.update(updated.toBuilder().id(new UUID(0, 0)).build()));
+    assertTrue(book.remove(updated.getId()));
+    assertFalse(book.remove(updated.getId()));
+    assertNull(book.getImmutable(updated.getId()));
+    assertEquals(book.count(), 199);
+    book.clear();
+    assertEquals(book.count(), 0);
+    assertThrows(IllegalArgumentException.class, () -> new PartitionedAddressBook(0));
+  }
+
+  @Test
+  void find_sameAsAddressBook() {
+    List<ImmutableAddressEntry> entries = randomEntries(1000, 402);
+    AddressBook expected = new AddressBook();
+    entries.forEach(expected::add);
+    for (int partitions : new int[] {1, 3, 16}) {
+      PartitionedAddressBook book = new PartitionedAddressBook(partitions);
+      assertEquals(book.addAll(entries), 1000);
+      for (String prefix : new String[] {"", "sm", "Smith", "D", "Q"}) {
+        assertEquals(book.findImmutable(prefix), expected.findImmutable(prefix));
+        assertEquals(book.count(prefix), expected.count(prefix));
+        for (int offset : new int[] {0, 7, 500, 2000}) {
+          assertEquals(book.findImmutable(prefix, offset, 25), expected.findImmutable(prefix, offset, 25));
+        }
+      }
+      assertEquals(book.findImmutable("", 10, 0), Collections.emptyList());
+    }
+  }
+
+  @Test
+  void addAll_duplicates() {
+    PartitionedAddressBook book = new PartitionedAddressBook(4);
+    List<ImmutableAddressEntry> entries = randomEntries(100, 403);
+    assertEquals(book.addAll(entries.subList(0, 60)), 60);
+    assertEquals(book.addAll(entries), 40);
+    assertEquals(book.count(), 100);
+  }
+
+  @Test
+  void concurrentWrites() {
+    PartitionedAddressBook book = new PartitionedAddressBook(16);
+    List<ImmutableAddressEntry> entries = randomEntries(40_000, 404);
+    // each thread adds its share one at a time, then removes half of what it added
+    IntStream.range(0, 4).parallel().forEach(thread -> {
+      for (int i = thread; i < entries.size(); i += 4) {
+        assertTrue(book.add(entries.get(i)));
+      }
+      for (int i = thread; i < entries.size(); i += 8) {
+        assertTrue(book.remove(entries.get(i).getId()));
+      }
+    });
+    assertEquals(book.count(), 20_000);
+    Set<UUID> remaining = book.findImmutable("").stream().map(ImmutableAddressEntry::getId).collect(Collectors.toSet());
+    assertEquals(remaining.size(), 20_000);
+    assertFalse(remaining.contains(entries.get(1).getId()));
+    assertTrue(remaining.contains(entries.get(4).getId()));
+  }
+
+}
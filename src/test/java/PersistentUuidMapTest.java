@@ -0,0 +1,107 @@
+import address.util.PersistentUuidMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link PersistentUuidMap}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class PersistentUuidMapTest {
+
+  private static final UUID
+    ID_A = UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315"),
+    ID_B = UUID.fromString("15e9c516-fab6-45d1-97c3-78a172dabb49");
+
+  @Test
+  void putAndGet() {
+    PersistentUuidMap<String> empty = PersistentUuidMap.empty();
+    PersistentUuidMap<String> a = empty.put(ID_A, "a");
+    PersistentUuidMap<String> ab = a.put(ID_B, "b");
+    PersistentUuidMap<String> replaced = ab.put(ID_A, "c");
+    assertEquals(replaced.get(ID_A), "c");
+    assertEquals(replaced.get(ID_B), "b");
+    assertEquals(replaced.size(), 2);
+    // older versions are left alone
+    assertEquals(ab.get(ID_A), "a");
+    assertNull(a.get(ID_B));
+    assertEquals(a.size(), 1);
+    assertTrue(empty.isEmpty());
+    assertNull(empty.get(ID_A));
+    assertSame(replaced.put(ID_A, "c"), replaced);
+  }
+
+  @Test
+  void remove() {
+    PersistentUuidMap<String> a = PersistentUuidMap.<String>empty().put(ID_A, "a");
+    PersistentUuidMap<String> removed = a.remove(ID_A);
+    assertTrue(removed.isEmpty());
+    assertFalse(removed.containsKey(ID_A));
+    assertTrue(a.containsKey(ID_A));
+    assertSame(removed.remove(ID_A), removed);
+    assertSame(a.remove(ID_B), a);
+  }
+
+  @Test
+  void values() {
+    PersistentUuidMap<String> map = PersistentUuidMap.<String>empty().put(ID_A, "a").put(ID_B, "b");
+    Collection<String> values = map.values();
+    map.remove(ID_A).put(UUID.randomUUID(), "c");
+    assertEquals(new HashSet<>(values), new HashSet<>(Arrays.asList("a", "b")));
+    List<String> viaForEach = new ArrayList<>();
+    values.forEach(viaForEach::add);
+    assertEquals(new HashSet<>(viaForEach), new HashSet<>(values));
+    assertFalse(PersistentUuidMap.empty().values().iterator().hasNext());
+  }
+
+  @Test
+  void matchesHashMap() {
+    // enough keys that some of them have exactly the same 32 bit hash, and plenty of removals
+    Random random = new Random(401);
+    PersistentUuidMap<Integer> map = PersistentUuidMap.empty();
+    Map<UUID, Integer> expected = new HashMap<>();
+    List<UUID> keys = new ArrayList<>();
+    PersistentUuidMap<Integer> halfway = null;
+    Map<UUID, Integer> expectedHalfway = null;
+    for (int i = 0; i < 300_000; i++) {
+      int op = random.nextInt(10);
+      if (op < 7 || keys.isEmpty()) {
+        UUID key = new UUID(random.nextLong(), random.nextLong());
+        keys.add(key);
+        map = map.put(key, i);
+        expected.put(key, i);
+      } else if (op < 8) {
+        UUID key = keys.get(random.nextInt(keys.size()));
+        map = map.put(key, i);
+        expected.put(key, i);
+      } else {
+        UUID key = keys.get(random.nextInt(keys.size()));
+        map = map.remove(key);
+        expected.remove(key);
+      }
+      if (i == 150_000) {
+        halfway = map;
+        expectedHalfway = new HashMap<>(expected);
+      }
+    }
+    assertEquals(map.size(), expected.size());
+    for (UUID key : keys) {
+      assertEquals(map.get(key), expected.get(key));
+      assertEquals(halfway.get(key), expectedHalfway.get(key));
+    }
+    List<Integer> values = new ArrayList<>(map.values());
+    Collections.sort(values);
+    List<Integer> expectedValues = new ArrayList<>(expected.values());
+    Collections.sort(expectedValues);
+    assertEquals(values, expectedValues);
+    assertEquals(halfway.values().size(), expectedHalfway.size());
+    for (UUID key : keys) {
+      map = map.remove(key);
+    }
+    assertTrue(map.isEmpty());
+  }
+
+}
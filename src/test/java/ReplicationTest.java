@@ -0,0 +1,234 @@
+import address.AddressBook;
+import address.data.ImmutableAddressEntry;
+import address.event.ContactChange;
+import address.replication.ReplicationFollower;
+import address.replication.ReplicationLeader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ReplicationLeader} and {@link ReplicationFollower}, each running on localhost
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class ReplicationTest {
+
+  private static final InetSocketAddress ANY_PORT = new InetSocketAddress("127.0.0.1", 0);
+  /** Several times the lag seen on a single core while writing as fast as possible, so only a real slowdown fails */
+  private static final long MAX_P99_LAG_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+  private static ImmutableAddressEntry entry(int i) {
+    return ImmutableAddressEntry.builder().id(new UUID(7, i)).firstName("First" + i).lastName("Last" + (i % 100))
+      .street(i + " Main Street").city("City" + (i % 10)).state("CA").zip(90000 + i % 1000).phone("555-555-0000")
+      .email("contact" + i + "@example.com").build();
+  }
+
+  private static InetSocketAddress address(ReplicationLeader leader) {
+    return new InetSocketAddress("127.0.0.1", leader.getPort());
+  }
+
+  private static void awaitCaughtUp(ReplicationFollower follower, ReplicationLeader leader)
+    throws InterruptedException {
+    assertTrue(follower.awaitOffset(leader.getOffset(), 30, TimeUnit.SECONDS), "Follower never caught up");
+  }
+
+  private static void assertSameContacts(AddressBook follower, AddressBook leader) {
+    assertEquals(follower.snapshot().sorted(), leader.snapshot().sorted());
+  }
+
+  @Test
+  void replicates() throws IOException, InterruptedException {
+    AddressBook book = new AddressBook();
+    book.add(entry(1));
+    book.add(entry(2));
+    AddressBook copy1 = new AddressBook();
+    AddressBook copy2 = new AddressBook();
+    copy2.add(entry(99));
+    try (ReplicationLeader leader = new ReplicationLeader(book, ANY_PORT)) {
+      leader.start();
+      try (ReplicationFollower follower1 = new ReplicationFollower(copy1, address(leader));
+           ReplicationFollower follower2 = new ReplicationFollower(copy2, address(leader))) {
+        follower1.start();
+        follower2.start();
+        awaitCaughtUp(follower1, leader);
+        awaitCaughtUp(follower2, leader);
+        assertSameContacts(copy1, book);
+        assertSameContacts(copy2, book);
+        assertEquals(follower1.getSnapshotCount(), 1);
+
+        book.add(entry(3));
+        book.update(entry(1).toBuilder().city("Oakland").build());
+        book.remove(entry(2).getId());
+        book.batch(() -> {
+          for (int i = 10; i < 20; i++) {
+            book.add(entry(i));
+          }
+        });
+        awaitCaughtUp(follower1, leader);
+        awaitCaughtUp(follower2, leader);
+        assertSameContacts(copy1, book);
+        assertSameContacts(copy2, book);
+        assertEquals(copy1.getImmutable(entry(1).getId()).getCity(), "Oakland");
+        assertEquals(follower1.getLag(), 0);
+        assertEquals(leader.getFollowerCount(), 2);
+        // the followers' own indexes are kept up to date
+        assertEquals(copy1.findImmutable("Last1"), book.findImmutable("Last1"));
+
+        // clearing the book can't be sent as changes, so the followers are sent a new snapshot instead
+        book.clear();
+        book.add(entry(4));
+        awaitCaughtUp(follower1, leader);
+        assertSameContacts(copy1, book);
+        assertEquals(follower1.getSnapshotCount(), 2);
+      }
+    }
+  }
+
+  @Test
+  void resume() throws IOException, InterruptedException {
+    AddressBook book = new AddressBook();
+    AddressBook copy = new AddressBook();
+    try (ReplicationLeader leader = new ReplicationLeader(book, ANY_PORT, 20)) {
+      leader.start();
+      long leaderId;
+      long offset;
+      try (ReplicationFollower follower = new ReplicationFollower(copy, address(leader))) {
+        follower.start();
+        book.add(entry(1));
+        awaitCaughtUp(follower, leader);
+        leaderId = follower.getLeaderId();
+        offset = follower.getOffset();
+      }
+      // everything missed is still in the log, so only that is sent
+      for (int i = 2; i < 12; i++) {
+        book.add(entry(i));
+      }
+      try (ReplicationFollower follower = new ReplicationFollower(copy, address(leader), leaderId, offset)) {
+        follower.start();
+        awaitCaughtUp(follower, leader);
+        assertEquals(follower.getSnapshotCount(), 0);
+        assertSameContacts(copy, book);
+        offset = follower.getOffset();
+      }
+      // too much was missed for the log to hold, so a snapshot is sent
+      for (int i = 12; i < 50; i++) {
+        book.add(entry(i));
+      }
+      try (ReplicationFollower follower = new ReplicationFollower(copy, address(leader), leaderId, offset)) {
+        follower.start();
+        awaitCaughtUp(follower, leader);
+        assertEquals(follower.getSnapshotCount(), 1);
+        assertSameContacts(copy, book);
+      }
+    }
+  }
+
+  @Test
+  void leaderRestart() throws IOException, InterruptedException {
+    AddressBook book = new AddressBook();
+    book.add(entry(1));
+    AddressBook copy = new AddressBook();
+    ReplicationLeader leader = new ReplicationLeader(book, ANY_PORT);
+    leader.start();
+    int port = leader.getPort();
+    try (ReplicationFollower follower = new ReplicationFollower(copy, address(leader))) {
+      follower.start();
+      awaitCaughtUp(follower, leader);
+      long firstLeader = follower.getLeaderId();
+      leader.close();
+
+      // the new leader's offsets start over, so the follower must not carry on from its old offset
+      AddressBook newBook = new AddressBook();
+      newBook.add(entry(2));
+      try (ReplicationLeader newLeader = new ReplicationLeader(newBook, new InetSocketAddress("127.0.0.1", port))) {
+        newLeader.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (follower.getLeaderId() == firstLeader && System.nanoTime() < deadline) {
+          Thread.sleep(10);
+        }
+        awaitCaughtUp(follower, newLeader);
+        assertSameContacts(copy, newBook);
+        assertEquals(follower.getSnapshotCount(), 2);
+      }
+    }
+  }
+
+  @Test
+  void lagUnderLoad() throws IOException, InterruptedException {
+    final int followers = 3;
+    final int writes = 20_000;
+    AddressBook book = new AddressBook();
+    for (int i = 0; i < 10_000; i++) {
+      book.add(entry(i));
+    }
+    // when each contact was added to the leader, and how long it took to reach each follower
+    Map<UUID, Long> written = new ConcurrentHashMap<>();
+    List<long[]> lags = new ArrayList<>();
+    List<AddressBook> copies = new ArrayList<>();
+    List<ReplicationFollower> started = new ArrayList<>();
+    try (ReplicationLeader leader = new ReplicationLeader(book, ANY_PORT)) {
+      leader.start();
+      for (int f = 0; f < followers; f++) {
+        AddressBook copy = new AddressBook();
+        long[] lag = new long[writes];
+        int[] received = new int[1];
+        copy.getChanges().addListener(changes -> {
+          long now = System.nanoTime();
+          for (ContactChange change : changes) {
+            Long sent = change.getType() == ContactChange.Type.ADDED ? written.get(change.getId()) : null;
+            if (sent != null && received[0] < lag.length) {
+              lag[received[0]++] = now - sent;
+            }
+          }
+        });
+        ReplicationFollower follower = new ReplicationFollower(copy, address(leader));
+        follower.start();
+        copies.add(copy);
+        lags.add(lag);
+        started.add(follower);
+      }
+      for (ReplicationFollower follower : started) {
+        awaitCaughtUp(follower, leader);
+      }
+
+      for (int i = 10_000; i < 10_000 + writes; i++) {
+        ImmutableAddressEntry entry = entry(i);
+        written.put(entry.getId(), System.nanoTime());
+        book.add(entry);
+        // mix in some updates and removals of older contacts
+        if (i % 10 == 0) {
+          book.update(entry(i - 5000).toBuilder().phone("555-555-1111").build());
+        } else if (i % 10 == 5) {
+          book.remove(entry(i - 9000).getId());
+        }
+      }
+      for (ReplicationFollower follower : started) {
+        awaitCaughtUp(follower, leader);
+      }
+      for (AddressBook copy : copies) {
+        assertSameContacts(copy, book);
+      }
+
+      long[] all = new long[followers * writes];
+      for (int f = 0; f < followers; f++) {
+        System.arraycopy(lags.get(f), 0, all, f * writes, writes);
+      }
+      Arrays.sort(all);
+      assertTrue(all[0] > 0, "Every added contact should have reached every follower");
+      long p99 = all[all.length * 99 / 100];
+      assertTrue(p99 < MAX_P99_LAG_NANOS, "99% of changes should reach the followers within "
+        + TimeUnit.NANOSECONDS.toMillis(MAX_P99_LAG_NANOS) + " ms, but took up to "
+        + TimeUnit.NANOSECONDS.toMillis(p99) + " ms");
+    } finally {
+      started.forEach(ReplicationFollower::close);
+    }
+  }
+
+}
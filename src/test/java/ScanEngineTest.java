@@ -0,0 +1,76 @@
+import address.data.ImmutableAddressEntry;
+import address.query.ScanEngine;
+import address.util.UuidMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ScanEngine}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class ScanEngineTest {
+
+  private static UuidMap<ImmutableAddressEntry> createEntries(int size) {
+    UuidMap<ImmutableAddressEntry> entries = new UuidMap<>();
+    for (int i = 0; i < size; i++) {
+      ImmutableAddressEntry entry = ImmutableAddressEntry.builder().id(new UUID(i, i)).firstName("First" + i)
+        .lastName("Last" + i).zip(i).build();
+      entries.put(entry.getId(), entry);
+    }
+    return entries;
+  }
+
+  @Test
+  void isParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ForkJoinPool singlePool = new ForkJoinPool(1);
+    try {
+      ScanEngine engine = new ScanEngine(pool, 1000);
+      assertFalse(engine.isParallel(999));
+      assertTrue(engine.isParallel(1000));
+      assertFalse(new ScanEngine(singlePool, 1000).isParallel(1000));
+    } finally {
+      pool.shutdown();
+      singlePool.shutdown();
+    }
+  }
+
+  @Test
+  void filter() {
+    UuidMap<ImmutableAddressEntry> entries = createEntries(5000);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ScanEngine parallel = new ScanEngine(pool, 100);
+      ScanEngine sequential = new ScanEngine(pool, Integer.MAX_VALUE);
+      for (ScanEngine engine : Arrays.asList(parallel, sequential)) {
+        List<ImmutableAddressEntry> result = engine.filter(entries, entry -> entry.getZip() % 7 == 0);
+        assertEquals(result.size(), 715);
+        assertEquals(new HashSet<>(result).size(), 715);
+        assertTrue(result.stream().allMatch(entry -> entry.getZip() % 7 == 0));
+        assertEquals(engine.count(entries, entry -> entry.getZip() < 100), 100);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void filter_exception() {
+    UuidMap<ImmutableAddressEntry> entries = createEntries(1000);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      ScanEngine engine = new ScanEngine(pool, 100);
+      assertThrows(IllegalArgumentException.class, () -> engine.filter(entries, entry -> {
+        throw new IllegalArgumentException();
+      }));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+import address.util.UuidMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link UuidMap}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class UuidMapTest {
+
+  private static final UUID
+    ID_A = UUID.fromString("53cdeb31-d68d-4a2b-8be6-cdacff90e315"),
+    ID_B = UUID.fromString("15e9c516-fab6-45d1-97c3-78a172dabb49");
+
+  @Test
+  void putAndGet() {
+    UuidMap<String> map = new UuidMap<>();
+    assertNull(map.put(ID_A, "a"));
+    assertNull(map.putIfAbsent(ID_B, "b"));
+    assertEquals(map.putIfAbsent(ID_B, "c"), "b");
+    assertEquals(map.get(ID_B), "b");
+    assertEquals(map.put(ID_A, "d"), "a");
+    assertEquals(map.get(ID_A), "d");
+    assertEquals(map.get(ID_A.getMostSignificantBits(), ID_A.getLeastSignificantBits()), "d");
+    assertNull(map.get(UUID.fromString("e1052539-c5e0-457a-bf10-cbe591c2c53f")));
+    assertEquals(map.size(), 2);
+  }
+
+  @Test
+  void remove() {
+    UuidMap<String> map = new UuidMap<>();
+    map.put(ID_A, "a");
+    assertEquals(map.remove(ID_A), "a");
+    assertNull(map.remove(ID_A));
+    assertFalse(map.containsKey(ID_A));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void matchesHashMap() {
+    // lots of random operations, including enough to force several resizes and plenty of backward shifts
+    Random random = new Random(401);
+    UuidMap<Integer> map = new UuidMap<>();
+    Map<UUID, Integer> expected = new HashMap<>();
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      // only vary a few bits so plenty of keys collide
+      keys.add(new UUID(random.nextInt(64), random.nextInt(64)));
+    }
+    for (int i = 0; i < 50000; i++) {
+      UUID key = keys.get(random.nextInt(keys.size()));
+      if (random.nextInt(3) == 0) {
+        assertEquals(map.remove(key), expected.remove(key));
+      } else {
+        assertEquals(map.put(key, i), expected.put(key, i));
+      }
+    }
+    assertEquals(map.size(), expected.size());
+    for (UUID key : keys) {
+      assertEquals(map.get(key), expected.get(key));
+    }
+    assertEquals(new HashSet<>(map.values()), new HashSet<>(expected.values()));
+  }
+
+  @Test
+  void removeIf() {
+    UuidMap<Integer> map = new UuidMap<>();
+    for (int i = 0; i < 100; i++) {
+      map.put(new UUID(0, i), i);
+    }
+    assertTrue(map.removeIf(i -> i % 2 == 0));
+    assertFalse(map.removeIf(i -> i % 2 == 0));
+    assertEquals(map.size(), 50);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(map.containsKey(new UUID(0, i)), i % 2 != 0);
+    }
+  }
+
+  @Test
+  void values_parallel() {
+    UuidMap<Integer> map = new UuidMap<>();
+    for (int i = 0; i < 10000; i++) {
+      map.put(new UUID(i, i), i);
+    }
+    assertEquals(map.values().parallelStream().mapToLong(i -> i).sum(), 10000L * 9999 / 2);
+    assertEquals(map.values().parallelStream().filter(i -> i % 3 == 0).count(), 3334);
+
+    // every value ends up in exactly one half of a split
+    Spliterator<Integer> second = map.values().spliterator();
+    Spliterator<Integer> first = second.trySplit();
+    Set<Integer> seen = new HashSet<>();
+    first.forEachRemaining(i -> assertTrue(seen.add(i)));
+    second.forEachRemaining(i -> assertTrue(seen.add(i)));
+    assertEquals(seen.size(), 10000);
+  }
+
+  @Test
+  void clear() {
+    UuidMap<String> map = new UuidMap<>();
+    map.put(ID_A, "a");
+    map.put(ID_B, "b");
+    map.clear();
+    assertEquals(map.size(), 0);
+    assertNull(map.get(ID_A));
+    assertFalse(map.values().iterator().hasNext());
+  }
+
+}
@@ -0,0 +1,149 @@
+import address.data.ImmutableAddressEntry;
+import address.store.ContactStore;
+import address.store.Mutation;
+import address.store.MutationJournal;
+import address.store.WriteBehindQueue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link WriteBehindQueue} and {@link MutationJournal}
+ * @author Corneilious Eanes
+ * @since October 19, 2026
+ */
+class WriteBehindQueueTest {
+
+  private static final ImmutableAddressEntry
+    A = ImmutableAddressEntry.builder().id(new UUID(0, 1)).firstName("John").lastName("Smith")
+      .street("123 Main\tStreet").city("San Francisco").state("CA").zip(12345).phone("555-555-1234")
+      .email("john.smith@example.com").build(),
+    B = ImmutableAddressEntry.builder().id(new UUID(0, 2)).firstName("Jane").lastName("Doe\\").build();
+
+  /** Remembers every batch it was asked to write, and whether it was replayed, and can be told to fail */
+  private static class FakeStore implements ContactStore {
+
+    final List<List<Mutation>> batches = new ArrayList<>();
+    final List<Boolean> replayed = new ArrayList<>();
+    boolean failing;
+
+    @Override
+    public synchronized void write(List<Mutation> mutations) throws SQLException {
+      write(mutations, false);
+    }
+
+    @Override
+    public synchronized void replay(List<Mutation> mutations) throws SQLException {
+      write(mutations, true);
+    }
+
+    private void write(List<Mutation> mutations, boolean replay) throws SQLException {
+      if (failing) {
+        throw new SQLException("Connection is down");
+      }
+      batches.add(mutations);
+      replayed.add(replay);
+    }
+
+  }
+
+  @Test
+  void flush_coalesced() throws IOException, SQLException {
+    FakeStore store = new FakeStore();
+    // never flushes on its own during the test
+    WriteBehindQueue queue = new WriteBehindQueue(store, null, 60_000, 1000);
+    queue.submit(Mutation.insert(A));
+    queue.submit(Mutation.update(A.toBuilder().city("Seattle").build()));
+    queue.submit(Mutation.update(B));
+    queue.submit(Mutation.update(B.toBuilder().zip(1).build()));
+    queue.submit(Mutation.insert(ImmutableAddressEntry.builder().id(new UUID(0, 3)).build()));
+    queue.submit(Mutation.delete(new UUID(0, 3)));
+    assertEquals(queue.getPendingCount(), 2);
+    assertEquals(queue.getSubmittedCount(), 6);
+    queue.flush();
+    assertEquals(store.batches, Collections.singletonList(Arrays.asList(
+      Mutation.insert(A.toBuilder().city("Seattle").build()),
+      Mutation.update(B.toBuilder().zip(1).build()))));
+    assertEquals(store.replayed, Collections.singletonList(false));
+    assertEquals(queue.getPendingCount(), 0);
+    assertEquals(queue.getWrittenCount(), 2);
+    queue.close();
+  }
+
+  @Test
+  void flush_retry() throws IOException, SQLException {
+    FakeStore store = new FakeStore();
+    WriteBehindQueue queue = new WriteBehindQueue(store, null, 60_000, 1000);
+    store.failing = true;
+    queue.submit(Mutation.insert(A));
+    assertThrows(SQLException.class, queue::flush);
+    assertEquals(queue.getFailureCount(), 1);
+    // newer changes are combined with the failed batch
+    queue.submit(Mutation.delete(A.getId()));
+    queue.submit(Mutation.insert(B));
+    store.failing = false;
+    queue.flush();
+    assertEquals(store.batches, Collections.singletonList(Collections.singletonList(Mutation.insert(B))));
+    // the failed attempt might have been written after all
+    assertEquals(store.replayed, Collections.singletonList(true));
+    queue.submit(Mutation.update(B));
+    queue.flush();
+    assertEquals(store.replayed, Arrays.asList(true, false));
+    queue.close();
+  }
+
+  @Test
+  void flush_background() throws IOException, InterruptedException {
+    FakeStore store = new FakeStore();
+    WriteBehindQueue queue = new WriteBehindQueue(store, null, 20, 1000);
+    queue.submit(Mutation.insert(A));
+    long deadline = System.currentTimeMillis() + 5000;
+    while (queue.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(queue.getPendingCount(), 0);
+    assertEquals(store.batches.size(), 1);
+    queue.close();
+    assertThrows(IllegalStateException.class, () -> queue.submit(Mutation.insert(B)));
+  }
+
+  @Test
+  void journal() throws IOException, SQLException {
+    Path file = Files.createTempFile("journal", ".log");
+    try {
+      FakeStore store = new FakeStore();
+      WriteBehindQueue queue = new WriteBehindQueue(store, new MutationJournal(file), 60_000, 1000);
+      queue.submit(Mutation.insert(A));
+      queue.submit(Mutation.update(B));
+      assertEquals(MutationJournal.read(file), Arrays.asList(Mutation.insert(A), Mutation.update(B)));
+      queue.flush();
+      assertTrue(MutationJournal.read(file).isEmpty());
+
+      // mutations that couldn't be written stay in the journal
+      store.failing = true;
+      queue.submit(Mutation.delete(A.getId()));
+      queue.close();
+      assertEquals(MutationJournal.read(file), Collections.singletonList(Mutation.delete(A.getId())));
+
+      // and can be picked up again later
+      store.failing = false;
+      queue = new WriteBehindQueue(store, new MutationJournal(file), 60_000, 1000);
+      queue.recover(MutationJournal.read(file));
+      queue.submit(Mutation.insert(B));
+      queue.flush();
+      assertEquals(store.batches.get(1), Arrays.asList(Mutation.delete(A.getId()), Mutation.insert(B)));
+      assertEquals(store.replayed, Arrays.asList(false, true));
+      assertTrue(MutationJournal.read(file).isEmpty());
+      queue.close();
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+}